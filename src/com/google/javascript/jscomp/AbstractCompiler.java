@@ -24,6 +24,7 @@ import com.google.errorprone.annotations.MustBeClosed;
 import com.google.javascript.jscomp.colors.ColorRegistry;
 import com.google.javascript.jscomp.deps.ModuleLoader;
 import com.google.javascript.jscomp.diagnostic.LogFile;
+import com.google.javascript.jscomp.graph.Graph;
 import com.google.javascript.jscomp.modules.ModuleMap;
 import com.google.javascript.jscomp.modules.ModuleMetadataMap;
 import com.google.javascript.jscomp.parsing.Config;
@@ -356,6 +357,32 @@ public abstract class AbstractCompiler implements SourceExcerptProvider, Compile
    */
   abstract List<Node> getChangedScopeNodesForPass(String passName);
 
+  /**
+   * Returns a syntactic scope creator shared by the optimization passes, whose scopes are reused
+   * until the code they were created from is reported as changed.
+   */
+  abstract ScopeCreator getCachedSyntacticScopeCreator();
+
+  /**
+   * Returns the control flow graph of a function, script, or module body, with edge annotations.
+   * The graph may be handed out again to later passes until the code it was computed from is
+   * reported as changed, so it must not be modified. Callers should give it back with {@link
+   * #releaseControlFlowGraph} once they are done with it.
+   */
+  abstract ControlFlowGraph<Node> getControlFlowGraph(Node cfgRoot);
+
+  /**
+   * Gives back a graph returned by {@link #getControlFlowGraph}, so that it can be reused. Its
+   * annotations are cleared, so it must not be used afterwards.
+   */
+  abstract void releaseControlFlowGraph(ControlFlowGraph<Node> cfg);
+
+  /**
+   * Returns the budget and counters of the dataflow analyses of the optimization passes that may
+   * leave a function unchanged when its analysis is too costly.
+   */
+  abstract DataFlowBudget getDataFlowBudget();
+
   /** Called to indicate that the current change stamp has been used */
   abstract void incrementChangeStamp();
 
@@ -623,6 +650,12 @@ public abstract class AbstractCompiler implements SourceExcerptProvider, Compile
   public abstract LogFile createOrReopenIndexedLog(
       Class<?> owner, String firstNamePart, String... restNameParts);
 
+  /**
+   * Writes a graph to a log file with the specified name, followed by the extension of the debug
+   * graph format. The format and the node to start from are set in the options.
+   */
+  public abstract void logGraph(Class<?> owner, String name, Graph<?, ?> graph);
+
   /** Returns the InputId of the synthetic code input (even if it is not initialized yet). */
   abstract InputId getSyntheticCodeInputId();
 
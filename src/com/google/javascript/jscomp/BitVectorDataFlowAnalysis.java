@@ -0,0 +1,358 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.javascript.jscomp.ControlFlowGraph.Branch;
+import com.google.javascript.rhino.Node;
+import java.util.Arrays;
+import java.util.BitSet;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A framework for dataflow analyses whose facts are bits, and whose flow equations can be written
+ * with a GEN and a KILL set for each node: {@code after = (before - KILL) | GEN}.
+ *
+ * <p>Unlike {@link DataFlowAnalysis}, the states are not lattice objects annotated on the graph. The
+ * graph is copied into a {@link CompactControlFlowGraph}, and the state of every node is a range of
+ * a single {@code long} array, which is updated in place. The worklist visits the nodes in reverse
+ * postorder for a forward analysis, and in postorder for a backward analysis, so in code without
+ * loops every node is visited once. A node is only visited again when the state flowing into it
+ * changed.
+ *
+ * <p>Because the flow equations are monotone and the states are finite, the analysis always
+ * converges: each state can only change once per bit. There is no need for a step limit like
+ * {@link DataFlowAnalysis#MAX_STEPS_PER_NODE}.
+ *
+ * <p>To implement an analysis:
+ *
+ * <ol>
+ *   <li>Implement {@link #isForward()}.
+ *   <li>Implement {@link #isUnion()}: a "may" analysis joins states with a union, a "must" analysis
+ *       with an intersection.
+ *   <li>Implement {@link #computeGenKill}, which numbers the facts and sets the GEN and KILL sets of
+ *       every node.
+ * </ol>
+ *
+ * <p>After {@link #analyze()}, the states are read with {@link #isSetBefore} and {@link
+ * #isSetAfter}, or copied with {@link #getBefore} and {@link #getAfter}. "Before" and "after" are in
+ * the direction of the analysis: for a backward analysis, the state before a node is the state at
+ * its exit in the program.
+ *
+ * <p>{@link #analyze(DataFlowBudget.Meter)} counts the visited nodes on a {@link DataFlowBudget}
+ * and gives up once the budget is spent.
+ */
+abstract class BitVectorDataFlowAnalysis {
+
+  private final ControlFlowGraph<Node> cfg;
+
+  private @Nullable CompactControlFlowGraph graph;
+  private int bitCount;
+  private int words;
+  private long[] before = new long[0];
+  private long[] after = new long[0];
+  private long[] gen = new long[0];
+  private long[] kill = new long[0];
+  private int stepCount;
+
+  BitVectorDataFlowAnalysis(ControlFlowGraph<Node> cfg) {
+    this.cfg = cfg;
+  }
+
+  final ControlFlowGraph<Node> getCfg() {
+    return cfg;
+  }
+
+  /** Returns the compact copy of the control flow graph. Only available once analyzing starts. */
+  final CompactControlFlowGraph getGraph() {
+    checkState(graph != null, "Not analyzed yet");
+    return graph;
+  }
+
+  /** Whether the analysis is a forward analysis. */
+  abstract boolean isForward();
+
+  /**
+   * Whether a fact holds after a join if it holds on any incoming path. Otherwise it holds only if
+   * it holds on all incoming paths.
+   */
+  abstract boolean isUnion();
+
+  /**
+   * Numbers the facts of the analysis and computes the GEN and KILL set of every node of {@code
+   * graph}.
+   *
+   * @param graph The graph being analyzed, the node numbers of {@code sets} are its node numbers.
+   * @return The facts that hold at the boundary of the graph: before the entry for a forward
+   *     analysis, and after the implicit return for a backward analysis.
+   */
+  abstract BitSet computeGenKill(CompactControlFlowGraph graph, GenKillSets sets);
+
+  /** The GEN and KILL sets of the nodes of a graph. */
+  static final class GenKillSets {
+    private final int nodeCount;
+    private final BitSet[] gen;
+    private final BitSet[] kill;
+
+    private GenKillSets(int nodeCount) {
+      this.nodeCount = nodeCount;
+      this.gen = new BitSet[nodeCount];
+      this.kill = new BitSet[nodeCount];
+    }
+
+    /** The facts that a node makes hold. */
+    BitSet gen(int node) {
+      if (gen[node] == null) {
+        gen[node] = new BitSet();
+      }
+      return gen[node];
+    }
+
+    /** The facts that a node makes no longer hold, unless they are also in its GEN set. */
+    BitSet kill(int node) {
+      if (kill[node] == null) {
+        kill[node] = new BitSet();
+      }
+      return kill[node];
+    }
+
+    /** Removes {@code facts} from every GEN and KILL set. */
+    void removeFromAll(BitSet facts) {
+      for (int i = 0; i < nodeCount; i++) {
+        if (gen[i] != null) {
+          gen[i].andNot(facts);
+        }
+        if (kill[i] != null) {
+          kill[i].andNot(facts);
+        }
+      }
+    }
+  }
+
+  /** Finds the fixed-point solution. Any previous solution is discarded. */
+  final void analyze() {
+    analyze(null);
+  }
+
+  /**
+   * Finds the fixed-point solution, counting each visit of a node as a step of the meter. Any
+   * previous solution is discarded.
+   *
+   * @return false if the meter ran out of budget before the solution was found, in which case the
+   *     states must not be used
+   */
+  @CanIgnoreReturnValue
+  final boolean analyze(DataFlowBudget.@Nullable Meter meter) {
+    CompactControlFlowGraph graph = CompactControlFlowGraph.copyOf(cfg);
+    this.graph = graph;
+    int nodeCount = graph.getNodeCount();
+    GenKillSets sets = new GenKillSets(nodeCount);
+    BitSet boundary = computeGenKill(graph, sets);
+
+    int maxBit = boundary.length();
+    for (int i = 0; i < nodeCount; i++) {
+      maxBit = Math.max(maxBit, sets.gen[i] == null ? 0 : sets.gen[i].length());
+      maxBit = Math.max(maxBit, sets.kill[i] == null ? 0 : sets.kill[i].length());
+    }
+    this.bitCount = maxBit;
+    this.words = (maxBit + 63) >>> 6;
+    this.gen = new long[nodeCount * words];
+    this.kill = new long[nodeCount * words];
+    for (int i = 0; i < nodeCount; i++) {
+      copyInto(sets.gen[i], gen, i);
+      copyInto(sets.kill[i], kill, i);
+    }
+
+    // The initial estimate is the identity of the join.
+    this.before = new long[nodeCount * words];
+    this.after = new long[nodeCount * words];
+    if (!isUnion()) {
+      Arrays.fill(before, -1L);
+      Arrays.fill(after, -1L);
+      clearUnusedBits(before, nodeCount);
+      clearUnusedBits(after, nodeCount);
+    }
+    long[] boundaryWords = new long[words];
+    long[] boundaryBits = boundary.toLongArray();
+    System.arraycopy(boundaryBits, 0, boundaryWords, 0, boundaryBits.length);
+
+    if (!solve(graph, boundaryWords, meter)) {
+      return false;
+    }
+    afterAnalyze(graph);
+    return true;
+  }
+
+  /** Called once {@link #analyze()} found the solution, for example to annotate the graph. */
+  void afterAnalyze(CompactControlFlowGraph graph) {}
+
+  private boolean solve(
+      CompactControlFlowGraph graph, long[] boundary, DataFlowBudget.@Nullable Meter meter) {
+    int nodeCount = graph.getNodeCount();
+    boolean forward = isForward();
+    boolean union = isUnion();
+    int start = forward ? graph.getEntry() : graph.getImplicitReturn();
+    long[] joined = new long[words];
+
+    // The nodes are numbered in reverse postorder, so a forward analysis visits them in increasing
+    // order and a backward analysis in decreasing order.
+    BitSet pending = new BitSet(nodeCount);
+    pending.set(0, nodeCount);
+    stepCount = 0;
+    int cursor = forward ? 0 : nodeCount - 1;
+    while (!pending.isEmpty()) {
+      int node = forward ? pending.nextSetBit(cursor) : pending.previousSetBit(cursor);
+      if (node < 0) {
+        node = forward ? pending.nextSetBit(0) : pending.previousSetBit(nodeCount - 1);
+      }
+      pending.clear(node);
+      cursor = node;
+      stepCount++;
+      if (meter != null && !meter.step(1)) {
+        return false;
+      }
+
+      int base = node * words;
+      if (node == start) {
+        System.arraycopy(boundary, 0, before, base, words);
+      } else if (join(graph, node, forward, union, joined)) {
+        System.arraycopy(joined, 0, before, base, words);
+      }
+
+      // after = (before - KILL) | GEN, updated in place.
+      boolean changed = false;
+      for (int w = 0; w < words; w++) {
+        long value = (before[base + w] & ~kill[base + w]) | gen[base + w];
+        if (value != after[base + w]) {
+          after[base + w] = value;
+          changed = true;
+        }
+      }
+      if (!changed) {
+        continue;
+      }
+      if (forward) {
+        for (int e = graph.getOutEdgeStart(node); e < graph.getOutEdgeEnd(node); e++) {
+          pending.set(graph.getDestination(e));
+        }
+      } else {
+        for (int i = graph.getInEdgeStart(node); i < graph.getInEdgeEnd(node); i++) {
+          pending.set(graph.getSource(graph.getInEdge(i)));
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Joins the states flowing into {@code node} into {@code result}.
+   *
+   * @return false if nothing flows into the node, in which case its state is left as it is.
+   */
+  private boolean join(
+      CompactControlFlowGraph graph, int node, boolean forward, boolean union, long[] result) {
+    int first = forward ? graph.getInEdgeStart(node) : graph.getOutEdgeStart(node);
+    int end = forward ? graph.getInEdgeEnd(node) : graph.getOutEdgeEnd(node);
+    if (first == end) {
+      return false;
+    }
+    for (int i = first; i < end; i++) {
+      int neighbor = forward ? graph.getSource(graph.getInEdge(i)) : graph.getDestination(i);
+      int base = neighbor * words;
+      for (int w = 0; w < words; w++) {
+        long value = after[base + w];
+        if (i == first) {
+          result[w] = value;
+        } else if (union) {
+          result[w] |= value;
+        } else {
+          result[w] &= value;
+        }
+      }
+    }
+    return true;
+  }
+
+  /** Returns the number of nodes visited by the last {@link #analyze()}. */
+  final int getStepCount() {
+    return stepCount;
+  }
+
+  /** Whether a fact holds before a node, in the direction of the analysis. */
+  final boolean isSetBefore(int node, int bit) {
+    return isSet(before, node, bit);
+  }
+
+  /** Whether a fact holds after a node, in the direction of the analysis. */
+  final boolean isSetAfter(int node, int bit) {
+    return isSet(after, node, bit);
+  }
+
+  /** Returns a copy of the facts that hold before a node, in the direction of the analysis. */
+  final BitSet getBefore(int node) {
+    return copyOf(before, node);
+  }
+
+  /** Returns a copy of the facts that hold after a node, in the direction of the analysis. */
+  final BitSet getAfter(int node) {
+    return copyOf(after, node);
+  }
+
+  private boolean isSet(long[] states, int node, int bit) {
+    checkArgument(bit >= 0, bit);
+    if (bit >= bitCount) {
+      return false;
+    }
+    return (states[node * words + (bit >>> 6)] & (1L << bit)) != 0;
+  }
+
+  private BitSet copyOf(long[] states, int node) {
+    return BitSet.valueOf(Arrays.copyOfRange(states, node * words, (node + 1) * words));
+  }
+
+  private void copyInto(@Nullable BitSet bits, long[] states, int node) {
+    if (bits == null) {
+      return;
+    }
+    long[] values = bits.toLongArray();
+    System.arraycopy(values, 0, states, node * words, values.length);
+  }
+
+  /** Clears the bits past {@link #bitCount} in the last word of every state. */
+  private void clearUnusedBits(long[] states, int nodeCount) {
+    if ((bitCount & 63) == 0) {
+      return;
+    }
+    long mask = (1L << bitCount) - 1;
+    for (int i = 0; i < nodeCount; i++) {
+      states[i * words + words - 1] &= mask;
+    }
+  }
+
+  /** Whether a node may end abruptly with an exception. */
+  static boolean hasExceptionEdge(CompactControlFlowGraph graph, int node) {
+    for (int e = graph.getOutEdgeStart(node); e < graph.getOutEdgeEnd(node); e++) {
+      if (graph.getBranch(e) == Branch.ON_EX) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -89,7 +89,6 @@ final class CheckSuper implements CompilerPass, NodeTraversal.Callback {
   public void process(Node externs, Node root) {
 
     NodeTraversal.traverse(compiler, root, this);
-    checkState(this.contextStack.isEmpty(), ImmutableList.of(this.contextStack));
   }
 
   private final ArrayDeque<Context> contextStack = new ArrayDeque<>();
@@ -191,6 +190,11 @@ final class CheckSuper implements CompilerPass, NodeTraversal.Callback {
       currentContext.visitContextNode(t);
       this.contextStack.pop();
     }
+    if (n.isRoot()) {
+      // The end of the traversal, which PhaseOptimizer may share with other passes without calling
+      // process().
+      checkState(this.contextStack.isEmpty(), ImmutableList.of(this.contextStack));
+    }
   }
 
   private boolean isSuperConstructorCall(Node superNode) {
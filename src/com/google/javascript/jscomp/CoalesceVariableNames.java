@@ -18,7 +18,6 @@ package com.google.javascript.jscomp;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
-import static java.util.Comparator.comparingInt;
 
 import com.google.common.base.Joiner;
 import com.google.javascript.jscomp.AbstractCompiler.LifeCycleStage;
@@ -27,11 +26,7 @@ import com.google.javascript.jscomp.DataFlowAnalysis.LinearFlowState;
 import com.google.javascript.jscomp.LiveVariablesAnalysis.LiveVariableLattice;
 import com.google.javascript.jscomp.NodeUtil.AllVarsDeclaredInFunction;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
-import com.google.javascript.jscomp.graph.GraphColoring;
-import com.google.javascript.jscomp.graph.GraphColoring.GreedyGraphColoring;
-import com.google.javascript.jscomp.graph.GraphNode;
-import com.google.javascript.jscomp.graph.LinkedUndirectedGraph;
-import com.google.javascript.jscomp.graph.UndiGraph;
+import com.google.javascript.jscomp.graph.InterferenceGraph;
 import com.google.javascript.jscomp.parsing.parser.FeatureSet;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
@@ -40,7 +35,6 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
-import java.util.Comparator;
 import java.util.Deque;
 import java.util.List;
 import java.util.Set;
@@ -65,22 +59,19 @@ import org.jspecify.annotations.Nullable;
  * <p>The pass operates similar to a typical register allocator found in an
  * optimizing compiler by first computing live ranges with
  * {@link LiveVariablesAnalysis} and a variable interference graph. Then it uses
- * graph coloring in {@link GraphColoring} to determine which two variables can
+ * graph coloring in {@link InterferenceGraph} to determine which two variables can
  * be merge together safely.
  */
 class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements CompilerPass {
 
   private final AbstractCompiler compiler;
-  private final MemoizedScopeCreator scopeCreator;
-  private final Deque<GraphColoring<Var, Void>> colorings;
+  private final ScopeCreator scopeCreator;
+  private final Deque<InterferenceGraph> colorings;
   private final Deque<LiveVariablesAnalysis> liveAnalyses;
   private final boolean usePseudoNames;
   private final AstFactory astFactory;
   private LiveVariablesAnalysis liveness;
 
-  private final Comparator<Var> coloringTieBreaker =
-      comparingInt((Var arg) -> liveness.getVarIndex(arg.getName()));
-
   /** A stack of shouldOptimizeScope results. */
   private final Deque<Boolean> shouldOptimizeScopeStack = new ArrayDeque<>();
 
@@ -99,7 +90,7 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
     liveAnalyses = new ArrayDeque<>();
     this.usePseudoNames = usePseudoNames;
     this.astFactory = compiler.createAstFactory();
-    this.scopeCreator = new MemoizedScopeCreator(new SyntacticScopeCreator(compiler));
+    this.scopeCreator = compiler.getCachedSyntacticScopeCreator();
   }
 
   @Override
@@ -140,7 +131,6 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
       shouldOptimizeScopeStack.push(false);
       return;
     }
-    shouldOptimizeScopeStack.push(true);
 
     Scope scope = t.getScope();
     checkState(scope.isFunctionScope(), scope);
@@ -163,21 +153,30 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
       }
     }
 
-    liveness.analyze();
+    DataFlowBudget.Meter meter =
+        compiler.getDataFlowBudget().start("CoalesceVariableNames", scope.getRootNode());
+    boolean analyzed = liveness.analyze(meter);
+    if (!meter.finish() || !analyzed) {
+      // Too costly to analyze, leave the names of the function as they are.
+      liveness = liveAnalyses.peek();
+      shouldOptimizeScopeStack.push(false);
+      return;
+    }
+    shouldOptimizeScopeStack.push(true);
     liveAnalyses.push(liveness);
 
     // The interference graph has the function's variables as its nodes and any interference
     // between the variables as the edges. Interference between two variables means that they are
-    // alive at overlapping times, which means that their variable names cannot be coalesced.
-    UndiGraph<Var, Void> interferenceGraph =
+    // alive at overlapping times, which means that their variable names cannot be coalesced. The
+    // nodes are the variables' indices in the liveness analysis.
+    InterferenceGraph interferenceGraph =
         computeVariableNamesInterferenceGraph(cfg, liveness.getEscapedLocals());
 
     // Color any interfering variables with different colors and any variables that can be safely
-    // coalesced wih the same color.
-    GraphColoring<Var, Void> coloring =
-        new GreedyGraphColoring<>(interferenceGraph, coloringTieBreaker);
-    coloring.color();
-    colorings.push(coloring);
+    // coalesced wih the same color. Among variables that interfere equally often, the ones that
+    // appear earlier in the code are colored first.
+    interferenceGraph.color();
+    colorings.push(interferenceGraph);
   }
 
   @Override
@@ -198,15 +197,17 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
     }
 
     Var var = liveness.getAllVariables().get(n.getString());
-    GraphNode<Var, Void> vNode = colorings.peek().getGraph().getNode(var);
-    if (vNode == null) {
+    InterferenceGraph coloring = colorings.peek();
+    int vIndex = var == null ? -1 : liveness.getVarIndex(var.getName());
+    if (!coloring.hasNode(vIndex)) {
       // This is not a local.
       return;
     }
-    Var coalescedVar = colorings.peek().getPartitionSuperNode(var);
+    int coalescedIndex = coloring.getPartitionSuperNode(vIndex);
+    Var coalescedVar = liveness.getAllVariablesInOrder().get(coalescedIndex);
 
     if (!usePseudoNames) {
-      if (vNode.getValue().equals(coalescedVar)) {
+      if (vIndex == coalescedIndex) {
         // The coalesced name is itself, nothing to do.
         return;
       }
@@ -220,12 +221,12 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
       // we should not sacrifice performance for non-debugging compilation to
       // make this fast.
       Set<String> allMergedNames = new TreeSet<>();
-      for (Var iVar : liveness.getAllVariablesInOrder()) {
+      List<Var> orderedVariables = liveness.getAllVariablesInOrder();
+      for (int i = 0; i < orderedVariables.size(); i++) {
         // Look for all the variables that can be merged (in the graph by now)
         // and it is merged with the current coalescedVar.
-        if (colorings.peek().getGraph().getNode(iVar) != null
-            && colorings.peek().haveSameColor(iVar, coalescedVar)) {
-          allMergedNames.add(iVar.getName());
+        if (coloring.hasNode(i) && coloring.haveSameColor(i, coalescedIndex)) {
+          allMergedNames.add(orderedVariables.get(i).getName());
         }
       }
 
@@ -244,7 +245,7 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
       n.setString(pseudoName);
       compiler.reportChangeToEnclosingScope(n);
 
-      if (vNode.getValue().equals(coalescedVar)) {
+      if (vIndex == coalescedIndex) {
         return;
       }
       updateDeclarationsPostCoalescing(n, coalescedVar, parent);
@@ -320,20 +321,15 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
    * that can safely be coalesced are assigned the same color group.
    *
    * @param escaped we don't want to coalesce any escaped variables
-   * @return graph with variable nodes and edges representing variable interference
+   * @return graph with variable index nodes and edges representing variable interference
    */
-  private UndiGraph<Var, Void> computeVariableNamesInterferenceGraph(
+  private InterferenceGraph computeVariableNamesInterferenceGraph(
       ControlFlowGraph<Node> cfg, Set<? extends Var> escaped) {
-    UndiGraph<Var, Void> interferenceGraph = LinkedUndirectedGraph.create();
-
-    // First create a node for each non-escaped variable. We add these nodes in the order in which
-    // they appear in the code because we want the names that appear earlier in the code to be used
-    // when coalescing to variables that appear later in the code.
+    // First create a node for each non-escaped variable. The nodes are numbered in the order in
+    // which the variables appear in the code because we want the names that appear earlier in the
+    // code to be used when coalescing to variables that appear later in the code.
     Var[] orderedVariables = liveness.getAllVariablesInOrder().toArray(new Var[0]);
-
-    // index i in interferenceGraphNodes is set to true when interferenceGraph
-    // has node orderedVariables[i]
-    BitSet interferenceGraphNodes = new BitSet();
+    InterferenceGraph interferenceGraph = new InterferenceGraph(orderedVariables.length);
 
     // interferenceBitSet[i] = indices of all variables that should have an edge with
     // orderedVariables[i]
@@ -374,8 +370,7 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
         continue;
       }
 
-      interferenceGraph.createNode(v);
-      interferenceGraphNodes.set(vIndex);
+      interferenceGraph.createNode(vIndex);
     }
 
     // Go through every CFG node in the program and look at variables that are live.
@@ -409,28 +404,30 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
       liveRangeChecker.setCrossingVariables(interferenceBitSet);
     }
 
-    // Go through each variable and try to connect them.
-    int v1Index = -1;
-    for (Var v1 : orderedVariables) {
-      v1Index++;
-
-      int v2Index = -1;
-      for (Var v2 : orderedVariables) {
-        v2Index++;
-        // Skip duplicate pairs. Also avoid merging a variable with itself.
-        if (v1Index > v2Index) {
-          continue;
-        }
-
-        if (!interferenceGraphNodes.get(v1Index) || !interferenceGraphNodes.get(v2Index)) {
-          // Skip nodes that were not added. They are globals and escaped locals.
-          continue;
-        }
-
-        if ((v1.isParam() && v2.isParam()) || interferenceBitSet[v1Index].get(v2Index)) {
-          // Add an edge between variable pairs that are both parameters
-          // because we don't want parameters to share a name.
-          interferenceGraph.connectIfNotFound(v1, null, v2);
+    // Go through each variable and try to connect them. Nodes that were not added are skipped; they
+    // are globals and escaped locals.
+    BitSet params = new BitSet();
+    for (int i = 0; i < orderedVariables.length; i++) {
+      if (orderedVariables[i].isParam() && interferenceGraph.hasNode(i)) {
+        params.set(i);
+      }
+    }
+    for (int v1Index = 0; v1Index < orderedVariables.length; v1Index++) {
+      if (!interferenceGraph.hasNode(v1Index)) {
+        continue;
+      }
+      // Add an edge between variable pairs that are both parameters
+      // because we don't want parameters to share a name.
+      BitSet interfering = interferenceBitSet[v1Index];
+      if (params.get(v1Index)) {
+        interfering.or(params);
+      }
+      // Only visit each pair once, starting with the variable itself.
+      for (int v2Index = interfering.nextSetBit(v1Index);
+          v2Index >= 0;
+          v2Index = interfering.nextSetBit(v2Index + 1)) {
+        if (interferenceGraph.hasNode(v2Index)) {
+          interferenceGraph.connect(v1Index, v2Index);
         }
       }
     }
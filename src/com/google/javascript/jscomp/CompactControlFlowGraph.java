@@ -0,0 +1,588 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.ControlFlowGraph.Branch;
+import com.google.javascript.jscomp.graph.Annotation;
+import com.google.javascript.jscomp.graph.DiGraph;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
+import com.google.javascript.jscomp.graph.GraphNode;
+import com.google.javascript.jscomp.graph.SubGraph;
+import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An immutable control flow graph stored in flat arrays.
+ *
+ * <p>Nodes are numbered from 0 in reverse postorder from the entry, so the entry is node 0 and,
+ * outside of loops, every node comes after its predecessors. Nodes that are not reachable from the
+ * entry come last, in the order of the graph they were copied from. The implicit return is the node
+ * whose value is null.
+ *
+ * <p>Edges are numbered by source node: the out edges of node {@code n} are the edges from {@link
+ * #getOutEdgeStart} to {@link #getOutEdgeEnd}, exclusive. The in edges of a node are listed
+ * separately by {@link #getInEdge}. Edge sources, destinations and branches are kept in parallel
+ * arrays, so analyses can walk the graph without allocating.
+ *
+ * <p>{@link #asDiGraph} gives a read-only {@link DiGraph} view for code that uses the graph API.
+ */
+public final class CompactControlFlowGraph {
+
+  private static final Branch[] BRANCHES = Branch.values();
+
+  private final @Nullable Node[] values;
+
+  /**
+   * An open addressing hash table from the identity of an AST node to its graph node plus one, or
+   * to 0 for an empty slot. Its size is a power of two, at least twice the number of nodes.
+   */
+  private final int[] indexTable;
+
+  private final int implicitReturn;
+
+  private final int[] outEdgeStarts;
+  private final int[] edgeSources;
+  private final int[] edgeDestinations;
+  private final byte[] edgeBranches;
+
+  private final int[] inEdgeStarts;
+  private final int[] inEdges;
+
+  private @Nullable DiGraphView view = null;
+
+  private CompactControlFlowGraph(
+      @Nullable Node[] values,
+      int[] indexTable,
+      int implicitReturn,
+      int[] outEdgeStarts,
+      int[] edgeSources,
+      int[] edgeDestinations,
+      byte[] edgeBranches,
+      int[] inEdgeStarts,
+      int[] inEdges) {
+    this.values = values;
+    this.indexTable = indexTable;
+    this.implicitReturn = implicitReturn;
+    this.outEdgeStarts = outEdgeStarts;
+    this.edgeSources = edgeSources;
+    this.edgeDestinations = edgeDestinations;
+    this.edgeBranches = edgeBranches;
+    this.inEdgeStarts = inEdgeStarts;
+    this.inEdges = inEdges;
+  }
+
+  /**
+   * Copies a control flow graph. Out edges keep the order they have in {@code cfg}; in edges are
+   * listed by source node.
+   */
+  public static CompactControlFlowGraph copyOf(ControlFlowGraph<Node> cfg) {
+    List<DiGraphNode<Node, Branch>> order = reversePostorder(cfg);
+    int nodeCount = order.size();
+
+    @Nullable Node[] values = new Node[nodeCount];
+    int[] indexTable = new int[Integer.highestOneBit(nodeCount * 2 + 1) * 2];
+    int implicitReturn = -1;
+    int[] outEdgeStarts = new int[nodeCount + 1];
+    int edgeCount = 0;
+    for (int i = 0; i < nodeCount; i++) {
+      DiGraphNode<Node, Branch> node = order.get(i);
+      Node value = node.getValue();
+      values[i] = value;
+      if (value != null) {
+        int slot = hash(value) & (indexTable.length - 1);
+        while (indexTable[slot] != 0) {
+          slot = (slot + 1) & (indexTable.length - 1);
+        }
+        indexTable[slot] = i + 1;
+      } else if (node == cfg.getImplicitReturn()) {
+        implicitReturn = i;
+      }
+      outEdgeStarts[i] = edgeCount;
+      edgeCount += node.getOutEdges().size();
+    }
+    outEdgeStarts[nodeCount] = edgeCount;
+
+    CompactControlFlowGraph graph =
+        new CompactControlFlowGraph(
+            values,
+            indexTable,
+            implicitReturn,
+            outEdgeStarts,
+            new int[edgeCount],
+            new int[edgeCount],
+            new byte[edgeCount],
+            new int[nodeCount + 1],
+            new int[edgeCount]);
+    int edge = 0;
+    for (int i = 0; i < nodeCount; i++) {
+      for (DiGraphEdge<Node, Branch> outEdge : order.get(i).getOutEdges()) {
+        Node destination = outEdge.getDestination().getValue();
+        int destinationIndex = destination != null ? graph.getIndex(destination) : implicitReturn;
+        graph.edgeSources[edge] = i;
+        graph.edgeDestinations[edge] = destinationIndex;
+        graph.edgeBranches[edge] = (byte) outEdge.getValue().ordinal();
+        graph.inEdgeStarts[destinationIndex + 1]++;
+        edge++;
+      }
+    }
+
+    // A counting sort of the edges by destination.
+    int[] inEdgeStarts = graph.inEdgeStarts;
+    for (int i = 0; i < nodeCount; i++) {
+      inEdgeStarts[i + 1] += inEdgeStarts[i];
+    }
+    int[] nextInEdge = inEdgeStarts.clone();
+    for (edge = 0; edge < edgeCount; edge++) {
+      graph.inEdges[nextInEdge[graph.edgeDestinations[edge]]++] = edge;
+    }
+    return graph;
+  }
+
+  private static int hash(Node value) {
+    int h = System.identityHashCode(value) * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Returns the nodes of {@code cfg} in reverse postorder from the entry, followed by the nodes
+   * that are not reachable from it.
+   */
+  private static List<DiGraphNode<Node, Branch>> reversePostorder(ControlFlowGraph<Node> cfg) {
+    Map<DiGraphNode<Node, Branch>, Boolean> visited = new IdentityHashMap<>();
+    List<DiGraphNode<Node, Branch>> postorder = new ArrayList<>(cfg.getNodeCount());
+    // Each frame is a node and the position of the next out edge to follow.
+    ArrayList<DiGraphNode<Node, Branch>> stackNodes = new ArrayList<>();
+    int[] stackPositions = new int[cfg.getNodeCount()];
+    visited.put(cfg.getEntry(), true);
+    stackNodes.add(cfg.getEntry());
+    while (!stackNodes.isEmpty()) {
+      int top = stackNodes.size() - 1;
+      DiGraphNode<Node, Branch> node = stackNodes.get(top);
+      List<? extends DiGraphEdge<Node, Branch>> outEdges = node.getOutEdges();
+      if (stackPositions[top] < outEdges.size()) {
+        DiGraphNode<Node, Branch> successor = outEdges.get(stackPositions[top]++).getDestination();
+        if (visited.put(successor, true) == null) {
+          stackPositions[stackNodes.size()] = 0;
+          stackNodes.add(successor);
+        }
+      } else {
+        stackNodes.remove(top);
+        postorder.add(node);
+      }
+    }
+
+    List<DiGraphNode<Node, Branch>> order = new ArrayList<>(cfg.getNodeCount());
+    for (int i = postorder.size() - 1; i >= 0; i--) {
+      order.add(postorder.get(i));
+    }
+    for (DiGraphNode<Node, Branch> node : cfg.getNodes()) {
+      if (!visited.containsKey(node)) {
+        order.add(node);
+      }
+    }
+    return order;
+  }
+
+  public int getNodeCount() {
+    return values.length;
+  }
+
+  public int getEdgeCount() {
+    return edgeSources.length;
+  }
+
+  /** Returns the entry node, which is always 0. */
+  public int getEntry() {
+    return 0;
+  }
+
+  public int getImplicitReturn() {
+    return implicitReturn;
+  }
+
+  /** Returns the AST node of a graph node, or null for the implicit return. */
+  public @Nullable Node getValue(int node) {
+    return values[node];
+  }
+
+  /** Returns the graph node of an AST node, or -1 if it is not in the graph. */
+  public int getIndex(Node value) {
+    checkNotNull(value);
+    int mask = indexTable.length - 1;
+    for (int slot = hash(value) & mask; indexTable[slot] != 0; slot = (slot + 1) & mask) {
+      if (values[indexTable[slot] - 1] == value) {
+        return indexTable[slot] - 1;
+      }
+    }
+    return -1;
+  }
+
+  /** Returns the first out edge of a node. */
+  public int getOutEdgeStart(int node) {
+    return outEdgeStarts[node];
+  }
+
+  /** Returns the edge after the last out edge of a node. */
+  public int getOutEdgeEnd(int node) {
+    return outEdgeStarts[node + 1];
+  }
+
+  /** Returns the position of the first in edge of a node, see {@link #getInEdge}. */
+  public int getInEdgeStart(int node) {
+    return inEdgeStarts[node];
+  }
+
+  /** Returns the position after the last in edge of a node, see {@link #getInEdge}. */
+  public int getInEdgeEnd(int node) {
+    return inEdgeStarts[node + 1];
+  }
+
+  /** Returns the in edge at a position from {@link #getInEdgeStart} to {@link #getInEdgeEnd}. */
+  public int getInEdge(int position) {
+    return inEdges[position];
+  }
+
+  public int getSource(int edge) {
+    return edgeSources[edge];
+  }
+
+  public int getDestination(int edge) {
+    return edgeDestinations[edge];
+  }
+
+  public Branch getBranch(int edge) {
+    return BRANCHES[edgeBranches[edge]];
+  }
+
+  /**
+   * Returns a read-only view of this graph. Nodes and edges can be annotated, but not added or
+   * removed. The priority of a node is its number.
+   */
+  public DiGraph<Node, Branch> asDiGraph() {
+    if (view == null) {
+      view = new DiGraphView();
+    }
+    return view;
+  }
+
+  private final class DiGraphView extends DiGraph<Node, Branch> {
+    private final ImmutableList<ViewNode> nodes;
+    private final ImmutableList<ViewEdge> edges;
+
+    DiGraphView() {
+      int nodeCount = CompactControlFlowGraph.this.getNodeCount();
+      ImmutableList.Builder<ViewNode> nodes = ImmutableList.builderWithExpectedSize(nodeCount);
+      for (int i = 0; i < nodeCount; i++) {
+        nodes.add(new ViewNode(i));
+      }
+      this.nodes = nodes.build();
+      int edgeCount = CompactControlFlowGraph.this.getEdgeCount();
+      ImmutableList.Builder<ViewEdge> edges = ImmutableList.builderWithExpectedSize(edgeCount);
+      for (int i = 0; i < edgeCount; i++) {
+        edges.add(new ViewEdge(i));
+      }
+      this.edges = edges.build();
+    }
+
+    private @Nullable ViewNode find(@Nullable Node value) {
+      int index = value == null ? implicitReturn : getIndex(value);
+      return index >= 0 ? nodes.get(index) : null;
+    }
+
+    private ViewNode findOrFail(@Nullable Node value) {
+      ViewNode node = find(value);
+      checkArgument(node != null, "%s does not exist in graph", value);
+      return node;
+    }
+
+    private ViewNode cast(DiGraphNode<Node, Branch> node) {
+      checkArgument(node instanceof ViewNode viewNode && viewNode.graph() == this, node);
+      return (ViewNode) node;
+    }
+
+    @Override
+    public DiGraphNode<Node, Branch> createNode(Node nodeValue) {
+      ViewNode node = find(nodeValue);
+      if (node == null) {
+        throw new UnsupportedOperationException("The graph can't be modified");
+      }
+      return node;
+    }
+
+    @Override
+    public void connect(Node n1, Branch edge, Node n2) {
+      throw new UnsupportedOperationException("The graph can't be modified");
+    }
+
+    @Override
+    public void disconnect(Node n1, Node n2) {
+      throw new UnsupportedOperationException("The graph can't be modified");
+    }
+
+    @Override
+    public void disconnectInDirection(Node n1, Node n2) {
+      throw new UnsupportedOperationException("The graph can't be modified");
+    }
+
+    @Override
+    public SubGraph<Node, Branch> newSubGraph() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<ViewNode> getNodes() {
+      return nodes;
+    }
+
+    @Override
+    public int getNodeCount() {
+      return nodes.size();
+    }
+
+    @Override
+    public @Nullable DiGraphNode<Node, Branch> getNode(Node nodeValue) {
+      return find(nodeValue);
+    }
+
+    @Override
+    public List<ViewEdge> getEdges() {
+      return edges;
+    }
+
+    @Override
+    public List<ViewEdge> getEdges(Node n1, Node n2) {
+      List<ViewEdge> result = new ArrayList<>(getEdgesInDirection(n1, n2));
+      result.addAll(getEdgesInDirection(n2, n1));
+      return result;
+    }
+
+    @Override
+    public List<ViewEdge> getEdgesInDirection(Node n1, Node n2) {
+      int source = findOrFail(n1).index;
+      int destination = findOrFail(n2).index;
+      List<ViewEdge> result = new ArrayList<>();
+      for (int edge = getOutEdgeStart(source); edge < getOutEdgeEnd(source); edge++) {
+        if (edgeDestinations[edge] == destination) {
+          result.add(edges.get(edge));
+        }
+      }
+      return result;
+    }
+
+    @Override
+    public @Nullable ViewEdge getFirstEdge(Node n1, Node n2) {
+      List<ViewEdge> result = getEdges(n1, n2);
+      return result.isEmpty() ? null : result.get(0);
+    }
+
+    @Override
+    public List<ViewEdge> getOutEdges(Node nodeValue) {
+      return findOrFail(nodeValue).getOutEdges();
+    }
+
+    @Override
+    public List<ViewEdge> getInEdges(Node nodeValue) {
+      return findOrFail(nodeValue).getInEdges();
+    }
+
+    @Override
+    public List<ViewNode> getDirectedPredNodes(DiGraphNode<Node, Branch> n) {
+      int node = cast(n).index;
+      List<ViewNode> result = new ArrayList<>(getInEdgeEnd(node) - getInEdgeStart(node));
+      for (int i = getInEdgeStart(node); i < getInEdgeEnd(node); i++) {
+        result.add(nodes.get(edgeSources[inEdges[i]]));
+      }
+      return result;
+    }
+
+    @Override
+    public List<ViewNode> getDirectedPredNodes(Node nodeValue) {
+      return getDirectedPredNodes(findOrFail(nodeValue));
+    }
+
+    @Override
+    public List<ViewNode> getDirectedSuccNodes(DiGraphNode<Node, Branch> n) {
+      int node = cast(n).index;
+      List<ViewNode> result = new ArrayList<>(getOutEdgeEnd(node) - getOutEdgeStart(node));
+      for (int edge = getOutEdgeStart(node); edge < getOutEdgeEnd(node); edge++) {
+        result.add(nodes.get(edgeDestinations[edge]));
+      }
+      return result;
+    }
+
+    @Override
+    public List<ViewNode> getDirectedSuccNodes(Node nodeValue) {
+      return getDirectedSuccNodes(findOrFail(nodeValue));
+    }
+
+    @Override
+    public List<GraphNode<Node, Branch>> getNeighborNodes(Node value) {
+      ViewNode node = findOrFail(value);
+      List<GraphNode<Node, Branch>> result = new ArrayList<>();
+      result.addAll(getDirectedPredNodes(node));
+      result.addAll(getDirectedSuccNodes(node));
+      return result;
+    }
+
+    @Override
+    public int getNodeDegree(Node value) {
+      int node = findOrFail(value).index;
+      return (getOutEdgeEnd(node) - getOutEdgeStart(node))
+          + (getInEdgeEnd(node) - getInEdgeStart(node));
+    }
+
+    @Override
+    public boolean isConnectedInDirection(Node n1, Node n2) {
+      return !getEdgesInDirection(n1, n2).isEmpty();
+    }
+
+    @Override
+    public boolean isConnectedInDirection(Node n1, Branch edgeValue, Node n2) {
+      for (ViewEdge edge : getEdgesInDirection(n1, n2)) {
+        if (edge.getValue() == edgeValue) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private final class ViewNode implements DiGraphNode<Node, Branch> {
+      private final int index;
+      private int priority;
+      private @Nullable Annotation annotation = null;
+
+      ViewNode(int index) {
+        this.index = index;
+        this.priority = index;
+      }
+
+      DiGraphView graph() {
+        return DiGraphView.this;
+      }
+
+      @Override
+      public @Nullable Node getValue() {
+        return values[index];
+      }
+
+      @Override
+      public List<ViewEdge> getOutEdges() {
+        return edges.subList(getOutEdgeStart(index), getOutEdgeEnd(index));
+      }
+
+      @Override
+      public List<ViewEdge> getInEdges() {
+        ViewEdge[] result = new ViewEdge[getInEdgeEnd(index) - getInEdgeStart(index)];
+        for (int i = 0; i < result.length; i++) {
+          result[i] = edges.get(inEdges[getInEdgeStart(index) + i]);
+        }
+        return Arrays.asList(result);
+      }
+
+      @Override
+      public boolean hasPriority() {
+        return true;
+      }
+
+      @Override
+      public int getPriority() {
+        return priority;
+      }
+
+      @Override
+      public void setPriority(int priority) {
+        this.priority = priority;
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public <A extends Annotation> A getAnnotation() {
+        return (A) annotation;
+      }
+
+      @Override
+      public void setAnnotation(Annotation data) {
+        this.annotation = data;
+      }
+
+      @Override
+      public String toString() {
+        return String.valueOf(getValue());
+      }
+    }
+
+    private final class ViewEdge implements DiGraphEdge<Node, Branch> {
+      private final int index;
+      private @Nullable Annotation annotation = null;
+
+      ViewEdge(int index) {
+        this.index = index;
+      }
+
+      @Override
+      public ViewNode getSource() {
+        return nodes.get(edgeSources[index]);
+      }
+
+      @Override
+      public ViewNode getDestination() {
+        return nodes.get(edgeDestinations[index]);
+      }
+
+      @Override
+      public Branch getValue() {
+        return getBranch(index);
+      }
+
+      @Override
+      public ViewNode getNodeA() {
+        return getSource();
+      }
+
+      @Override
+      public ViewNode getNodeB() {
+        return getDestination();
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public <A extends Annotation> A getAnnotation() {
+        return (A) annotation;
+      }
+
+      @Override
+      public void setAnnotation(Annotation data) {
+        this.annotation = data;
+      }
+
+      @Override
+      public String toString() {
+        return getSource() + " -> " + getValue() + " -> " + getDestination();
+      }
+    }
+  }
+}
@@ -63,6 +63,8 @@ import com.google.javascript.jscomp.deps.NodeModuleResolver;
 import com.google.javascript.jscomp.deps.SortedDependencies.MissingProvideException;
 import com.google.javascript.jscomp.deps.WebpackModuleResolver;
 import com.google.javascript.jscomp.diagnostic.LogFile;
+import com.google.javascript.jscomp.graph.Graph;
+import com.google.javascript.jscomp.graph.GraphExporter;
 import com.google.javascript.jscomp.instrumentation.CoverageInstrumentationPass;
 import com.google.javascript.jscomp.instrumentation.CoverageInstrumentationPass.CoverageReach;
 import com.google.javascript.jscomp.modules.ModuleMap;
@@ -295,6 +297,15 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
   private final Timeline<Node> changeTimeline = new Timeline<>();
 
+  private @Nullable MemoizedScopeCreator cachedSyntacticScopeCreator;
+  // The hits and misses of the scope creators that were dropped.
+  private long syntacticScopeCacheHits;
+  private long syntacticScopeCacheMisses;
+
+  private final ControlFlowGraphCache controlFlowGraphCache = new ControlFlowGraphCache(this);
+
+  private @Nullable DataFlowBudget dataFlowBudget;
+
   /**
    * When mapping symbols from a source map, we must repeatedly combine the path of the original
    * file with the path from the source map to compute the SourceFile of the underlying code. When
@@ -783,8 +794,8 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     // This graph is often too big to reasonably render.
     // Using gvpr(1) is recommended to extract the parts of the graph that are of interest.
     // `dot -Tpng graph_file.dot > graph_file.png` will render an image.
-    try (LogFile chunkGraphLog = createOrReopenLog(this.getClass(), "chunk_graph.dot")) {
-      chunkGraphLog.log(DotFormatter.toDot(chunkGraph.toGraphvizGraph()));
+    if (isDebugLoggingEnabled()) {
+      logGraph(this.getClass(), "chunk_graph", chunkGraph.toGraphvizGraph());
     }
   }
 
@@ -1125,6 +1136,13 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     }
 
     if (tracker != null) {
+      clearCachedSyntacticScopeCreator();
+      tracker.setSyntacticScopeCacheSummary(
+          PerformanceTracker.describeCache(syntacticScopeCacheHits, syntacticScopeCacheMisses));
+      if (dataFlowBudget != null) {
+        tracker.setDataFlowSummary(
+            dataFlowBudget.getSummary(), dataFlowBudget.getSlowestAnalyses());
+      }
       if (options.getTracerOutput() == null) {
         tracker.outputTracerReport(this.outStream);
       } else {
@@ -1310,6 +1328,8 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     phaseOptimizer = createPhaseOptimizer();
     phaseOptimizer.consume(getPassConfig().getChecks().build());
     phaseOptimizer.process(externsRoot, jsRoot);
+    clearCachedSyntacticScopeCreator();
+    clearControlFlowGraphCache();
     if (hasErrors()) {
       return;
     }
@@ -1486,6 +1506,24 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     return this.createOrReopenLog(owner, firstNamePart, restNameParts);
   }
 
+  @Override
+  public final void logGraph(Class<?> owner, String name, Graph<?, ?> graph) {
+    GraphExporter.Format format = getOptions().getDebugGraphFormat();
+    try (LogFile log = createOrReopenLog(owner, name + format.getFileExtension())) {
+      if (!log.isLogging()) {
+        return;
+      }
+      GraphExporter<?, ?> exporter = GraphExporter.of(graph);
+      if (getOptions().getDebugGraphRoot() != null) {
+        exporter.rootedAtLabel(getOptions().getDebugGraphRoot());
+      }
+      switch (format) {
+        case DOT -> log.log(exporter::writeDot);
+        case BINARY -> log.logBytes(exporter::writeBinary);
+      }
+    }
+  }
+
   private void maybePrintSourceAfterEachPass(String passName) {
     if (!options.printSourceAfterEachPass) {
       return;
@@ -3112,6 +3150,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     phaseOptimizer.consume(optimizationPassesToRunInCurrentSegment);
     phaseOptimizer.process(externsRoot, jsRoot);
     phaseOptimizer = null;
+    // The cached scopes and control flow graphs are only shared by the passes of a single phase.
+    clearCachedSyntacticScopeCreator();
+    clearControlFlowGraphCache();
   }
 
   void performFinalizations() {
@@ -3295,6 +3336,59 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     return changedScopeNodes;
   }
 
+  @Override
+  ScopeCreator getCachedSyntacticScopeCreator() {
+    if (cachedSyntacticScopeCreator == null) {
+      cachedSyntacticScopeCreator =
+          MemoizedScopeCreator.createChangeAware(new SyntacticScopeCreator(this), this);
+    }
+    return cachedSyntacticScopeCreator;
+  }
+
+  private void clearCachedSyntacticScopeCreator() {
+    if (cachedSyntacticScopeCreator != null) {
+      syntacticScopeCacheHits += cachedSyntacticScopeCreator.getHitCount();
+      syntacticScopeCacheMisses += cachedSyntacticScopeCreator.getMissCount();
+      cachedSyntacticScopeCreator = null;
+    }
+  }
+
+  @Override
+  ControlFlowGraph<Node> getControlFlowGraph(Node cfgRoot) {
+    if (phaseOptimizer == null) {
+      // Without a phase optimizer there is no guarantee that changes are reported.
+      return ControlFlowGraphCache.computeCfg(this, cfgRoot);
+    }
+    return controlFlowGraphCache.getCfg(cfgRoot);
+  }
+
+  @Override
+  void releaseControlFlowGraph(ControlFlowGraph<Node> cfg) {
+    controlFlowGraphCache.release(cfg);
+  }
+
+  @Override
+  DataFlowBudget getDataFlowBudget() {
+    if (dataFlowBudget == null) {
+      dataFlowBudget =
+          new DataFlowBudget(
+              this,
+              options.dataFlowStepBudgetPerFunction,
+              options.dataFlowTimeBudgetMillisPerFunction);
+    }
+    return dataFlowBudget;
+  }
+
+  private void clearControlFlowGraphCache() {
+    controlFlowGraphCache.clear();
+    if (tracker == null) {
+      return;
+    }
+    tracker.setControlFlowGraphCacheSummary(
+        PerformanceTracker.describeCache(
+            controlFlowGraphCache.getHitCount(), controlFlowGraphCache.getMissCount()));
+  }
+
   @Override
   public void incrementChangeStamp() {
     changeStamp++;
@@ -37,6 +37,7 @@ import com.google.javascript.jscomp.annotations.LegacySetFeatureSetCaller;
 import com.google.javascript.jscomp.base.Tri;
 import com.google.javascript.jscomp.deps.ModuleLoader;
 import com.google.javascript.jscomp.deps.ModuleLoader.ResolutionMode;
+import com.google.javascript.jscomp.graph.GraphExporter;
 import com.google.javascript.jscomp.parsing.Config;
 import com.google.javascript.jscomp.parsing.parser.FeatureSet;
 import com.google.javascript.rhino.IR;
@@ -259,6 +260,20 @@ public class CompilerOptions {
     return this.typedAstOutputFile;
   }
 
+  private @Nullable Path incrementalCheckStateFile = null;
+
+  /**
+   * Sets the file in which a checks-only build keeps what it learned about each input, so that the
+   * next build only type checks the inputs that may be affected by the changes in between.
+   */
+  public void setIncrementalCheckStateFile(@Nullable Path file) {
+    this.incrementalCheckStateFile = file;
+  }
+
+  @Nullable Path getIncrementalCheckStateFile() {
+    return this.incrementalCheckStateFile;
+  }
+
   private boolean mergedPrecompiledLibraries = false;
 
   void setMergedPrecompiledLibraries(boolean mergedPrecompiledLibraries) {
@@ -481,6 +496,15 @@ public class CompilerOptions {
   // Remove this.
   public boolean flowSensitiveInlineVariables;
 
+  /**
+   * The most steps that dead assignment elimination, variable name coalescing and flow sensitive
+   * inlining may spend analyzing a single function before leaving it unchanged, or 0 for no limit.
+   */
+  int dataFlowStepBudgetPerFunction = 0;
+
+  /** Like {@link #dataFlowStepBudgetPerFunction}, but a time limit in milliseconds. */
+  long dataFlowTimeBudgetMillisPerFunction = 0;
+
   /** Removes code associated with unused global names */
   public boolean smartNameRemoval;
 
@@ -638,6 +662,12 @@ public class CompilerOptions {
   /** Rename unrelated properties to the same name to reduce code size. */
   private boolean ambiguateProperties;
 
+  /**
+   * Record each pair of mismatched types only once, in a compact form, instead of keeping every
+   * type mismatch found by the type checker.
+   */
+  private boolean compactTypeMismatches = false;
+
   /** Input sourcemap files, indexed by the JS files they refer to */
   ImmutableMap<String, SourceMapInput> inputSourceMaps;
 
@@ -943,6 +973,17 @@ public class CompilerOptions {
    */
   private String debugLogFilter;
 
+  /** The format that graphs are written to the debug log directory in. */
+  private GraphExporter.Format debugGraphFormat = GraphExporter.Format.DOT;
+
+  /**
+   * The label of the node that graphs written to the debug log directory start from. Only the nodes
+   * that can be reached from it are written.
+   *
+   * <p>{@code null} indicates that whole graphs are written.
+   */
+  private @Nullable String debugGraphRoot;
+
   private boolean serializeExtraDebugInfo;
 
   /** Whether to write keyword properties as foo['class'] instead of foo.class; needed for IE8. */
@@ -2153,6 +2194,18 @@ public class CompilerOptions {
     this.flowSensitiveInlineVariables = enabled;
   }
 
+  /**
+   * Limits the dataflow analysis of each function by dead assignment elimination, variable name
+   * coalescing and flow sensitive inlining. A function whose analysis takes more steps or time is
+   * left unchanged by the pass, and is listed in the debug log. 0 means no limit.
+   */
+  public void setDataFlowBudgetPerFunction(int maxSteps, long maxMillis) {
+    checkArgument(maxSteps >= 0, "Negative step budget: %s", maxSteps);
+    checkArgument(maxMillis >= 0, "Negative time budget: %s", maxMillis);
+    this.dataFlowStepBudgetPerFunction = maxSteps;
+    this.dataFlowTimeBudgetMillisPerFunction = maxMillis;
+  }
+
   public void setSmartNameRemoval(boolean smartNameRemoval) {
     // TODO(bradfordcsmith): Remove the smart name removal option.
     this.smartNameRemoval = smartNameRemoval;
@@ -2326,6 +2379,19 @@ public class CompilerOptions {
     return this.disambiguateProperties;
   }
 
+  /**
+   * Sets whether the type checker records each pair of mismatched types only once, at the first
+   * location where it is found. The optimizations that use type mismatches only care about the
+   * types, so this saves memory on large programs without changing their output.
+   */
+  public void setCompactTypeMismatches(boolean compactTypeMismatches) {
+    this.compactTypeMismatches = compactTypeMismatches;
+  }
+
+  boolean shouldCompactTypeMismatches() {
+    return this.compactTypeMismatches;
+  }
+
   public void setAmbiguateProperties(boolean ambiguateProperties) {
     this.ambiguateProperties = ambiguateProperties;
   }
@@ -2534,6 +2600,22 @@ public class CompilerOptions {
     return debugLogFilter;
   }
 
+  public void setDebugGraphFormat(GraphExporter.Format format) {
+    this.debugGraphFormat = checkNotNull(format);
+  }
+
+  public GraphExporter.Format getDebugGraphFormat() {
+    return debugGraphFormat;
+  }
+
+  public void setDebugGraphRoot(@Nullable String label) {
+    this.debugGraphRoot = label;
+  }
+
+  public @Nullable String getDebugGraphRoot() {
+    return debugGraphRoot;
+  }
+
   boolean shouldSerializeExtraDebugInfo() {
     // NOTE: this is tied to debug logging (via checking getDebugLogDirectory()) for convenience,
     // and it's possible to split up the two options if this begins to trigger memory issues.
@@ -2882,6 +2964,7 @@ public class CompilerOptions {
         .add("collapseProperties", collapsePropertiesLevel)
         .add("collapseVariableDeclarations", collapseVariableDeclarations)
         .add("colorizeErrorOutput", shouldColorizeErrorOutput())
+        .add("compactTypeMismatches", compactTypeMismatches)
         .add("computeFunctionSideEffects", computeFunctionSideEffects)
         .add("conformanceConfigs", getConformanceConfigs())
         .add("conformanceRemoveRegexFromPath", conformanceRemoveRegexFromPath)
@@ -2894,7 +2977,11 @@ public class CompilerOptions {
         .add("cssRenamingMap", cssRenamingMap)
         .add("cssRenamingSkiplist", cssRenamingSkiplist)
         .add("customPasses", customPasses)
+        .add("dataFlowStepBudgetPerFunction", dataFlowStepBudgetPerFunction)
+        .add("dataFlowTimeBudgetMillisPerFunction", dataFlowTimeBudgetMillisPerFunction)
         .add("deadAssignmentElimination", deadAssignmentElimination)
+        .add("debugGraphFormat", debugGraphFormat)
+        .add("debugGraphRoot", debugGraphRoot)
         .add("debugLogDirectory", debugLogDirectory)
         .add("defineReplacements", getDefineReplacements())
         .add("dependencyOptions", getDependencyOptions())
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.javascript.rhino.Node;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the control flow graphs of functions, scripts and module bodies, so that the passes that
+ * need the same graph don't each recompute it.
+ *
+ * <p>A graph is reused as long as its change scope (see {@link NodeUtil#isChangeScopeRoot}) has not
+ * been reported as changed since the graph was computed, which is what {@link
+ * AbstractCompiler#hasScopeChanged} looks at as well. Nested functions are not part of the graph,
+ * so changes inside them don't invalidate it.
+ *
+ * <p>The graphs are computed with edge annotations and without traversing functions, which is what
+ * every pass that uses this cache needs. A graph handed out by {@link #getCfg} belongs to its
+ * caller until it is given back with {@link #release}; meanwhile, other requests for the same root
+ * get a graph of their own, so the annotations a pass sets are never cleared under it. Node and
+ * edge annotations are cleared when a graph is given back, so that the cache doesn't keep the
+ * state of the analyses that ran on it.
+ *
+ * <p>The least recently used graphs are evicted once more than {@link #MAX_CACHED_GRAPHS} are kept.
+ */
+final class ControlFlowGraphCache {
+
+  /** The most graphs kept at once. */
+  @VisibleForTesting static final int MAX_CACHED_GRAPHS = 2_000;
+
+  private final AbstractCompiler compiler;
+
+  /** The graphs that can be handed out, least recently used first. */
+  private final LinkedHashMap<Node, CachedGraph> graphsByRoot =
+      new LinkedHashMap<Node, CachedGraph>(16, 0.75f, /* accessOrder= */ true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Node, CachedGraph> eldest) {
+          return size() > MAX_CACHED_GRAPHS;
+        }
+      };
+
+  /** The graphs handed out and not given back yet. */
+  private final IdentityHashMap<ControlFlowGraph<Node>, CachedGraph> inUse =
+      new IdentityHashMap<>();
+
+  private long hits;
+  private long misses;
+
+  ControlFlowGraphCache(AbstractCompiler compiler) {
+    this.compiler = compiler;
+  }
+
+  /**
+   * Returns the control flow graph of {@code cfgRoot}, computing it if needed. The graph should be
+   * given back with {@link #release} once the caller is done with it.
+   */
+  synchronized ControlFlowGraph<Node> getCfg(Node cfgRoot) {
+    checkArgument(NodeUtil.isValidCfgRoot(cfgRoot), cfgRoot);
+    CachedGraph cached = graphsByRoot.remove(cfgRoot);
+    if (cached != null && cached.isUpToDate()) {
+      hits++;
+    } else {
+      misses++;
+      Node changeScopeRoot = NodeUtil.getEnclosingChangeScopeRoot(cfgRoot);
+      int createdAt = compiler.getChangeStamp();
+      ControlFlowGraph<Node> cfg = computeCfg(compiler, cfgRoot);
+      if (changeScopeRoot == null) {
+        return cfg;
+      }
+      cached = new CachedGraph(cfgRoot, cfg, changeScopeRoot, createdAt);
+    }
+    inUse.put(cached.cfg, cached);
+    return cached.cfg;
+  }
+
+  /**
+   * Gives back a graph returned by {@link #getCfg}, so that it can be handed out again as long as
+   * its code is unchanged. Its annotations are cleared. Graphs that didn't come from this cache are
+   * ignored.
+   */
+  synchronized void release(ControlFlowGraph<Node> cfg) {
+    CachedGraph cached = inUse.remove(cfg);
+    if (cached == null || !cached.isUpToDate()) {
+      return;
+    }
+    cfg.clearNodeAnnotations();
+    cfg.clearEdgeAnnotations();
+    graphsByRoot.put(cached.cfgRoot, cached);
+  }
+
+  /** Computes the control flow graph of {@code cfgRoot} the same way, without caching it. */
+  static ControlFlowGraph<Node> computeCfg(AbstractCompiler compiler, Node cfgRoot) {
+    return ControlFlowAnalysis.builder()
+        .setCompiler(compiler)
+        .setCfgRoot(checkNotNull(cfgRoot))
+        .setIncludeEdgeAnnotations(true)
+        .computeCfg();
+  }
+
+  /** Drops all graphs, including the ones not given back yet. The hit and miss counts are kept. */
+  synchronized void clear() {
+    graphsByRoot.clear();
+    inUse.clear();
+  }
+
+  synchronized long getHitCount() {
+    return hits;
+  }
+
+  synchronized long getMissCount() {
+    return misses;
+  }
+
+  @VisibleForTesting
+  synchronized int size() {
+    return graphsByRoot.size();
+  }
+
+  /** A graph along with what is needed to tell whether it is still up to date. */
+  private record CachedGraph(
+      Node cfgRoot, ControlFlowGraph<Node> cfg, Node changeScopeRoot, int createdAt) {
+    boolean isUpToDate() {
+      // Changes are stamped with the change stamp current at the time, which is then incremented,
+      // so anything changed after the graph was computed has a time >= createdAt.
+      return !changeScopeRoot.isDeleted() && changeScopeRoot.getChangeTime() < createdAt;
+    }
+  }
+}
@@ -79,6 +79,13 @@ class CrossChunkCodeMotion implements CompilerPass {
    */
   private final Map<JSChunk, Node> moduleInsertionPointMap = new LinkedHashMap<>();
 
+  /**
+   * Map from a chunk and the set of chunks with immovable references to statements in it to the
+   * chunk those statements should move to, since many names are referenced from the same chunks.
+   * Cleaned up by process().
+   */
+  private final Map<JSChunk, Map<BitSet, JSChunk>> preferredChunkMap = new LinkedHashMap<>();
+
   private final boolean parentModuleCanSeeSymbolsDeclaredInChildren;
 
   /**
@@ -114,6 +121,7 @@ class CrossChunkCodeMotion implements CompilerPass {
       }
     } finally {
       cccmLog = null;
+      preferredChunkMap.clear();
     }
   }
 
@@ -659,7 +667,16 @@ class CrossChunkCodeMotion implements CompilerPass {
       } else if (!allStatementsCanMove()) {
         return currentChunk;
       } else {
-        return graph.getSmallestCoveringSubtree(currentChunk, modulesWithImmovableReferences);
+        Map<BitSet, JSChunk> preferredChunks =
+            preferredChunkMap.computeIfAbsent(currentChunk, (chunk) -> new LinkedHashMap<>());
+        JSChunk preferredChunk = preferredChunks.get(modulesWithImmovableReferences);
+        if (preferredChunk == null) {
+          preferredChunk =
+              graph.getSmallestCoveringSubtree(currentChunk, modulesWithImmovableReferences);
+          // The caller goes on to change the bit set, so the key must be a copy.
+          preferredChunks.put((BitSet) modulesWithImmovableReferences.clone(), preferredChunk);
+        }
+        return preferredChunk;
       }
     }
 
@@ -367,7 +367,7 @@ abstract class DataFlowAnalysis<N, L extends LatticeElement> {
     private L in;
     private L out;
 
-    private LinearFlowState(L in, L out) {
+    LinearFlowState(L in, L out) {
       checkNotNull(in);
       checkNotNull(out);
       this.in = in;
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Comparator.comparingLong;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.diagnostic.LogFile;
+import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-function limits on the dataflow analyses of the optimization passes that can leave a
+ * function alone, and counters of the work those analyses do.
+ *
+ * <p>{@link DeadAssignmentsElimination}, {@link CoalesceVariableNames} and {@link
+ * FlowSensitiveInlineVariables} measure the analysis of each function with a {@link Meter}. Without
+ * a budget, which is the default, the meters only count. With a budget, an analysis that takes more
+ * steps or more time than allowed stops early, and the pass leaves the function unchanged, which is
+ * always safe. The skipped functions are listed in the {@code skipped_functions.log} debug log.
+ *
+ * <p>A step is a visit of a control flow graph node by a {@link BitVectorDataFlowAnalysis} or by
+ * {@link SsaForm}, or a value of a variable created by {@link SsaForm}.
+ *
+ * <p>The passes that use this run on one thread.
+ */
+final class DataFlowBudget {
+
+  private static final int SLOWEST_ANALYSES_TO_REPORT = 10;
+
+  // How many steps may be taken between two looks at the clock.
+  private static final int STEPS_PER_CLOCK_CHECK = 256;
+
+  private final AbstractCompiler compiler;
+  private final Ticker ticker;
+  // 0 for no limit.
+  private final long maxSteps;
+  private final long maxNanos;
+
+  private int analysisCount;
+  private int skippedCount;
+  private long totalSteps;
+  private long totalNanos;
+  // The slowest analyses so far, the fastest of them first.
+  private final PriorityQueue<Meter> slowest = new PriorityQueue<>(comparingLong((m) -> m.nanos));
+
+  /**
+   * @param maxStepsPerFunction the most steps that the analysis of one function may take, or 0
+   * @param maxMillisPerFunction the most time that the analysis of one function may take, or 0
+   */
+  DataFlowBudget(AbstractCompiler compiler, long maxStepsPerFunction, long maxMillisPerFunction) {
+    this(compiler, maxStepsPerFunction, maxMillisPerFunction, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  DataFlowBudget(
+      AbstractCompiler compiler,
+      long maxStepsPerFunction,
+      long maxMillisPerFunction,
+      Ticker ticker) {
+    checkArgument(maxStepsPerFunction >= 0, maxStepsPerFunction);
+    checkArgument(maxMillisPerFunction >= 0, maxMillisPerFunction);
+    this.compiler = compiler;
+    this.ticker = ticker;
+    this.maxSteps = maxStepsPerFunction;
+    this.maxNanos = TimeUnit.MILLISECONDS.toNanos(maxMillisPerFunction);
+  }
+
+  /** Starts measuring the analysis of a function by a pass. */
+  Meter start(String passName, Node function) {
+    return new Meter(passName, function);
+  }
+
+  /** The work done by one analysis of one function. */
+  final class Meter {
+    private final String passName;
+    private final Node function;
+    private final long startNanos;
+    private long steps;
+    private long nextClockCheck = STEPS_PER_CLOCK_CHECK;
+    private long nanos = -1;
+    private boolean overBudget;
+
+    private Meter(String passName, Node function) {
+      this.passName = passName;
+      this.function = function;
+      this.startNanos = ticker.read();
+    }
+
+    /**
+     * Counts steps of the analysis.
+     *
+     * @return false if the function is over its budget, in which case the analysis should stop
+     */
+    boolean step(long count) {
+      steps += count;
+      if (maxSteps > 0 && steps > maxSteps) {
+        overBudget = true;
+      } else if (maxNanos > 0 && steps >= nextClockCheck) {
+        nextClockCheck = steps + STEPS_PER_CLOCK_CHECK;
+        if (ticker.read() - startNanos > maxNanos) {
+          overBudget = true;
+        }
+      }
+      return !overBudget;
+    }
+
+    /**
+     * Stops measuring and records the analysis.
+     *
+     * @return whether the analysis stayed within the budget. If not, the pass must leave the
+     *     function unchanged.
+     */
+    boolean finish() {
+      checkState(nanos < 0, "Already finished");
+      nanos = ticker.read() - startNanos;
+      if (maxNanos > 0 && nanos > maxNanos) {
+        overBudget = true;
+      }
+      record(this);
+      return !overBudget;
+    }
+
+    private String describe() {
+      String name = NodeUtil.getNearestFunctionName(function);
+      return (name == null ? "<anonymous>" : name) + " at " + function.getLocation();
+    }
+  }
+
+  private void record(Meter meter) {
+    analysisCount++;
+    totalSteps += meter.steps;
+    totalNanos += meter.nanos;
+    slowest.add(meter);
+    if (slowest.size() > SLOWEST_ANALYSES_TO_REPORT) {
+      slowest.poll();
+    }
+    if (meter.overBudget) {
+      skippedCount++;
+      try (LogFile log =
+          compiler.createOrReopenLog(DataFlowBudget.class, "skipped_functions.log")) {
+        log.log(
+            "%s skipped %s after %d steps and %d ms",
+            meter.passName,
+            meter.describe(),
+            meter.steps,
+            TimeUnit.NANOSECONDS.toMillis(meter.nanos));
+      }
+    }
+  }
+
+  /** Returns the number of functions that passes left unchanged because of the budget. */
+  int getSkippedCount() {
+    return skippedCount;
+  }
+
+  /** Returns a one line summary of all the analyses. */
+  String getSummary() {
+    return String.format(
+        "%d analyses, %d steps, %d ms, %d functions skipped",
+        analysisCount, totalSteps, TimeUnit.NANOSECONDS.toMillis(totalNanos), skippedCount);
+  }
+
+  /**
+   * Returns the slowest analyses, slowest first, as lines of comma separated pass name, function,
+   * runtime in milliseconds, steps and whether the function was skipped.
+   */
+  ImmutableList<String> getSlowestAnalyses() {
+    List<Meter> meters = new ArrayList<>(slowest);
+    meters.sort(comparingLong((Meter m) -> m.nanos).reversed());
+    ImmutableList.Builder<String> lines = ImmutableList.builder();
+    for (Meter meter : meters) {
+      lines.add(
+          String.format(
+              "%s,%s,%d,%d,%b",
+              meter.passName,
+              meter.describe(),
+              TimeUnit.NANOSECONDS.toMillis(meter.nanos),
+              meter.steps,
+              meter.overBudget));
+    }
+    return lines.build();
+  }
+}
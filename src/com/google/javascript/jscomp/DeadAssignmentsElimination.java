@@ -58,7 +58,11 @@ class DeadAssignmentsElimination extends NodeTraversal.AbstractCfgCallback imple
     checkNotNull(externs);
     checkNotNull(root);
     checkState(compiler.getLifeCycleStage().isNormalized());
-    NodeTraversal.traverse(compiler, root, this);
+    NodeTraversal.builder()
+        .setCompiler(compiler)
+        .setCallback(this)
+        .setScopeCreator(compiler.getCachedSyntacticScopeCreator())
+        .traverse(root);
   }
 
   @Override
@@ -120,13 +124,21 @@ class DeadAssignmentsElimination extends NodeTraversal.AbstractCfgCallback imple
 
     // Computes liveness information first.
     ControlFlowGraph<Node> cfg = getControlFlowGraph(compiler);
-    SyntacticScopeCreator scopeCreator = new SyntacticScopeCreator(compiler);
+    ScopeCreator scopeCreator = t.getScopeCreator();
     AllVarsDeclaredInFunction allVarsDeclaredInFunction =
         NodeUtil.getAllVarsDeclaredInFunction(compiler, scopeCreator, functionScope);
     liveness =
         new LiveVariablesAnalysis(
             cfg, functionScope, blockScope, compiler, scopeCreator, allVarsDeclaredInFunction);
-    liveness.analyze();
+    DataFlowBudget.Meter meter =
+        compiler
+            .getDataFlowBudget()
+            .start("DeadAssignmentsElimination", functionScope.getRootNode());
+    boolean analyzed = liveness.analyze(meter);
+    if (!meter.finish() || !analyzed) {
+      // Too costly to analyze, leave the function as it is.
+      return;
+    }
     Map<String, Var> allVarsInFn = liveness.getAllVariables();
     tryRemoveDeadAssignments(t, cfg, allVarsInFn);
   }
@@ -406,6 +406,12 @@ public final class DefaultPassConfig extends PassConfig {
       checks.maybeAdd(clearTopTypedScopePass);
     }
 
+    // Runs ahead of suspiciousCode, so that it does not separate the traversals of suspiciousCode
+    // and checkControlFlow, which PhaseOptimizer can then fuse.
+    if (options.j2clPassMode.shouldAddJ2clPasses()) {
+      checks.maybeAdd(j2clSourceFileChecker);
+    }
+
     // CheckSuspiciousCode requires type information, so must run after the type checker.
     if (options.checkSuspiciousCode
         || options.enables(DiagnosticGroups.GLOBAL_THIS)
@@ -413,10 +419,6 @@ public final class DefaultPassConfig extends PassConfig {
       checks.maybeAdd(suspiciousCode);
     }
 
-    if (options.j2clPassMode.shouldAddJ2clPasses()) {
-      checks.maybeAdd(j2clSourceFileChecker);
-    }
-
     if (!options.disables(DiagnosticGroups.CHECK_USELESS_CODE)
         || !options.disables(DiagnosticGroups.MISSING_RETURN)) {
       checks.maybeAdd(checkControlFlow);
@@ -1185,7 +1187,7 @@ public final class DefaultPassConfig extends PassConfig {
   private final PassFactory suspiciousCode =
       PassFactory.builder()
           .setName("suspiciousCode")
-          .setInternalFactory(
+          .setTraversalCallback(
               (compiler) -> {
                 List<NodeTraversal.Callback> sharedCallbacks = new ArrayList<>();
                 if (options.checkSuspiciousCode) {
@@ -1357,7 +1359,7 @@ public final class DefaultPassConfig extends PassConfig {
   private final PassFactory checkMissingRequires =
       PassFactory.builder()
           .setName("checkMissingRequires")
-          .setInternalFactory(
+          .setTraversalCallback(
               (compiler) -> new CheckMissingRequires(compiler, compiler.getModuleMetadataMap()))
           .build();
 
@@ -1370,7 +1372,7 @@ public final class DefaultPassConfig extends PassConfig {
   private final PassFactory checkJsDocAndEs6Modules =
       PassFactory.builder()
           .setName("checkJsDocAndEs6Modules")
-          .setInternalFactory(
+          .setTraversalCallback(
               (compiler) ->
                   combineChecks(
                       compiler,
@@ -1599,14 +1601,14 @@ public final class DefaultPassConfig extends PassConfig {
   private final PassFactory checkTypeImportCodeReferences =
       PassFactory.builder()
           .setName("checkTypeImportCodeReferences")
-          .setInternalFactory(CheckTypeImportCodeReferences::new)
+          .setTraversalCallback(CheckTypeImportCodeReferences::new)
           .build();
 
   /** Checks of correct usage of goog.module */
   private final PassFactory closureCheckModule =
       PassFactory.builder()
           .setName("closureCheckModule")
-          .setInternalFactory(
+          .setTraversalCallback(
               (compiler) -> new ClosureCheckModule(compiler, compiler.getModuleMetadataMap()))
           .build();
 
@@ -1837,7 +1839,7 @@ public final class DefaultPassConfig extends PassConfig {
           .build();
 
   private final PassFactory checkSuper =
-      PassFactory.builder().setName("checkSuper").setInternalFactory(CheckSuper::new).build();
+      PassFactory.builder().setName("checkSuper").setTraversalCallback(CheckSuper::new).build();
 
   /** Clears the typed scope creator and all local typed scopes. */
   private final PassFactory clearTypedScopeCreatorPass =
@@ -1907,7 +1909,13 @@ public final class DefaultPassConfig extends PassConfig {
                             .reportMissingProperties(
                                 !options.disables(
                                     DiagnosticGroup.forType(TypeCheck.INEXISTENT_PROPERTY)));
-                    check.process(externs, root);
+                    if (options.checksOnly && options.getIncrementalCheckStateFile() != null) {
+                      new IncrementalTypeCheck(
+                              compiler, check, options.getIncrementalCheckStateFile())
+                          .process(externs, root);
+                    } else {
+                      check.process(externs, root);
+                    }
                     compiler.getErrorManager().setTypedPercent(check.getTypedPercent());
                   })
           .build();
@@ -1919,7 +1927,7 @@ public final class DefaultPassConfig extends PassConfig {
   private final PassFactory checkControlFlow =
       PassFactory.builder()
           .setName("checkControlFlow")
-          .setInternalFactory(
+          .setTraversalCallback(
               (compiler) -> {
                 List<NodeTraversal.Callback> callbacks = new ArrayList<>();
                 if (!options.disables(DiagnosticGroups.CHECK_USELESS_CODE)) {
@@ -2002,7 +2010,7 @@ public final class DefaultPassConfig extends PassConfig {
           .build();
 
   /** Executes the given callbacks with a {@link CombinedCompilerPass}. */
-  private static CompilerPass combineChecks(
+  private static CombinedCompilerPass combineChecks(
       AbstractCompiler compiler, List<NodeTraversal.Callback> callbacks) {
     checkArgument(!callbacks.isEmpty());
     return new CombinedCompilerPass(compiler, callbacks);
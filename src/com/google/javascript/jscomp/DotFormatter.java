@@ -21,6 +21,7 @@ import static java.util.Comparator.comparing;
 import com.google.javascript.jscomp.ControlFlowGraph.Branch;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
+import com.google.javascript.jscomp.graph.GraphExporter;
 import com.google.javascript.jscomp.graph.GraphvizGraph;
 import com.google.javascript.jscomp.graph.GraphvizGraph.GraphvizEdge;
 import com.google.javascript.jscomp.graph.GraphvizGraph.GraphvizNode;
@@ -106,6 +107,9 @@ public final class DotFormatter {
   /**
    * Outputs a string in DOT format that presents the graph.
    *
+   * <p>The output is sorted, and built in memory. {@link GraphExporter} streams large graphs
+   * instead.
+   *
    * @param graph Input graph.
    * @return A string in Dot format that presents the graph.
    */
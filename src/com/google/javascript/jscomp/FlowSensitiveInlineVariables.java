@@ -24,10 +24,10 @@ import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
 import com.google.javascript.jscomp.ControlFlowGraph.AbstractCfgNodeTraversalCallback;
 import com.google.javascript.jscomp.ControlFlowGraph.Branch;
-import com.google.javascript.jscomp.MustBeReachingVariableDef.Definition;
 import com.google.javascript.jscomp.NodeTraversal.AbstractShallowCallback;
 import com.google.javascript.jscomp.NodeTraversal.ScopedCallback;
 import com.google.javascript.jscomp.NodeUtil.AllVarsDeclaredInFunction;
+import com.google.javascript.jscomp.VariableDefEffects.Definition;
 import com.google.javascript.jscomp.graph.CheckPathsBetweenNodes;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
@@ -40,10 +40,9 @@ import java.util.Set;
 import org.jspecify.annotations.Nullable;
 
 /**
- * Inline variables when possible. Using the information from {@link MaybeReachingVariableUse} and
- * {@link MustBeReachingVariableDef}, this pass attempts to inline a variable by placing the value
- * at the definition where the variable is used. The basic requirements for inlining are the
- * following:
+ * Inline variables when possible. Using the reaching definitions and uses from {@link SsaForm},
+ * this pass attempts to inline a variable by placing the value at the definition where the variable
+ * is used. The basic requirements for inlining are the following:
  *
  * <ul>
  *   <li>There is exactly one reaching definition at the use of that variable
@@ -65,8 +64,8 @@ class FlowSensitiveInlineVariables implements CompilerPass, ScopedCallback {
    * to inline with {@link Candidate#canInline(Scope)} and finally perform
    * inlining using {@link Candidate#inlineVariable()}.
    *
-   * The reason for the delayed evaluation of the candidates is because we
-   * need two separate dataflow result.
+   * The reason for the delayed evaluation of the candidates is because the
+   * definitions are checked before the uses.
    */
   private final AbstractCompiler compiler;
 
@@ -76,8 +75,7 @@ class FlowSensitiveInlineVariables implements CompilerPass, ScopedCallback {
   // scope.
   private ControlFlowGraph<Node> cfg;
   private Set<Candidate> candidates;
-  private MustBeReachingVariableDef reachingDef;
-  private MaybeReachingVariableUse reachingUses;
+  private SsaForm ssa;
 
   private class SideEffectPredicate implements Predicate<Node> {
     // Check if there are side effects affecting the value of any of these names
@@ -174,16 +172,18 @@ class FlowSensitiveInlineVariables implements CompilerPass, ScopedCallback {
       return;
     }
 
-    SyntacticScopeCreator scopeCreator = (SyntacticScopeCreator) t.getScopeCreator();
-
-    // Compute the forward reaching definition.
-    cfg =
-        ControlFlowAnalysis.builder()
-            .setCompiler(compiler)
-            .setCfgRoot(functionScopeRoot)
-            .setIncludeEdgeAnnotations(true)
-            .computeCfg();
+    cfg = compiler.getControlFlowGraph(functionScopeRoot);
+    try {
+      inlineVariables(t, functionScopeRoot);
+    } finally {
+      compiler.releaseControlFlowGraph(cfg);
+      cfg = null;
+    }
+  }
 
+  /** Inlines the variables of the function whose body scope is entered, using its {@link #cfg}. */
+  private void inlineVariables(NodeTraversal t, Node functionScopeRoot) {
+    ScopeCreator scopeCreator = t.getScopeCreator();
     LinkedHashSet<Var> escaped = new LinkedHashSet<>();
     Scope scope = t.getScope();
     AllVarsDeclaredInFunction allVarsDeclaredInFunction =
@@ -192,17 +192,19 @@ class FlowSensitiveInlineVariables implements CompilerPass, ScopedCallback {
     DataFlowAnalysis.computeEscaped(
         scope.getParent(), escaped, compiler, scopeCreator, allVarsInFn);
 
-    reachingDef = new MustBeReachingVariableDef(cfg, compiler, escaped, allVarsInFn);
-    reachingDef.analyze();
+    // The reaching definitions and uses of the variables, in static single assignment form.
+    DataFlowBudget.Meter meter =
+        compiler.getDataFlowBudget().start("FlowSensitiveInlineVariables", functionScopeRoot);
+    ssa = SsaForm.build(compiler, cfg, escaped, allVarsInFn, meter);
+    if (!meter.finish() || ssa == null) {
+      // Too costly to analyze, leave the function as it is.
+      return;
+    }
     candidates = new LinkedHashSet<>();
 
-    // Using the forward reaching definition search to find all the inline
-    // candidates
+    // Using the reaching definitions to find all the inline candidates
     NodeTraversal.traverse(compiler, t.getScopeRoot(), new GatherCandidates());
 
-    // Compute the backward reaching use. The CFG and per-function variable info can be reused.
-    reachingUses = new MaybeReachingVariableUse(cfg, escaped, allVarsInFn);
-    reachingUses.analyze();
     while (!candidates.isEmpty()) {
       Candidate c = candidates.iterator().next();
       Var candidateVar = checkNotNull(allVarsInFn.get(c.varName));
@@ -211,8 +213,8 @@ class FlowSensitiveInlineVariables implements CompilerPass, ScopedCallback {
         candidates.remove(c);
 
         // If candidate "c" has dependencies, then inlining it may have introduced new dependencies
-        // for our other inlining candidates. MustBeReachingVariableDef uses a dependency graph in
-        // its analysis. Generating a new dependency graph will need another CFG computation.
+        // for our other inlining candidates. The reaching definitions depend on what each
+        // definition reads. Recomputing them will need another CFG computation.
         // Ideally we should iterate to a fixed point, but that can be costly. Therefore, we use
         // a conservative heuristic here: For each candidate "other", we back off if its set of
         // dependencies cannot contain all of "c"'s dependencies.
@@ -273,6 +275,7 @@ class FlowSensitiveInlineVariables implements CompilerPass, ScopedCallback {
     NodeTraversal.builder()
         .setCompiler(compiler)
         .setCallback(this)
+        .setScopeCreator(compiler.getCachedSyntacticScopeCreator())
         .traverseRoots(externs, root);
   }
 
@@ -319,10 +322,10 @@ class FlowSensitiveInlineVariables implements CompilerPass, ScopedCallback {
           return;
         }
 
-        Definition def = reachingDef.getDef(name, cfgNode);
+        Definition def = ssa.getDef(name, cfgNode);
         // TODO(nicksantos): We need to add some notion of @const outer
         // scope vars. We can inline those just fine.
-        if (def != null && !reachingDef.dependsOnOuterScopeVars(def)) {
+        if (def != null && !VariableDefEffects.dependsOnOuterScopeVars(def)) {
           candidates.add(new Candidate(name, def, n, cfgNode));
         }
       }
@@ -330,10 +333,9 @@ class FlowSensitiveInlineVariables implements CompilerPass, ScopedCallback {
   }
 
   /**
-   * Gathers a list of possible candidates for inlining based only on information from {@link
-   * MustBeReachingVariableDef}. The list will be stored in {@code candidates} and the validity of
-   * each inlining Candidate should be later verified with {@link Candidate#canInline(Scope)} when
-   * {@link MaybeReachingVariableUse} has been performed.
+   * Gathers a list of possible candidates for inlining based only on the reaching definitions. The
+   * list will be stored in {@code candidates} and the validity of each inlining Candidate should be
+   * later verified with {@link Candidate#canInline(Scope)}, which also looks at the reaching uses.
    */
   private class GatherCandidates extends AbstractShallowCallback {
     final GatherCandidatesCfgNodeCallback gatherCb = new GatherCandidatesCfgNodeCallback();
@@ -448,7 +450,7 @@ class FlowSensitiveInlineVariables implements CompilerPass, ScopedCallback {
         return false;
       }
 
-      if (!hasExactlyOne(reachingUses.getUses(varName, getDefCfgNode()))) {
+      if (!hasExactlyOne(ssa.getUses(varName, getDefCfgNode()))) {
         return false;
       }
 
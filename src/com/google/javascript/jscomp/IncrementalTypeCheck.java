@@ -0,0 +1,624 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.javascript.jscomp.NodeTraversal.AbstractPostOrderCallback;
+import com.google.javascript.rhino.JSDocInfo;
+import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.jstype.FunctionType;
+import com.google.javascript.rhino.jstype.JSType;
+import com.google.javascript.rhino.jstype.ObjectType;
+import com.google.javascript.rhino.jstype.Property;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Type checks only the inputs that may be affected by the changes made since the previous build,
+ * and reports the diagnostics remembered from that build for the other inputs.
+ *
+ * <p>The state kept between builds records, for each input:
+ *
+ * <ul>
+ *   <li>a hash of its source code;
+ *   <li>a hash of its summary: the top-level names, the properties and the class members it
+ *       declares, with their types as inferred in that build, and for the classes and interfaces
+ *       it declares, their supertypes, their interfaces and whether they are structs, dicts or
+ *       records;
+ *   <li>the inputs it depends on: those that define the names, properties and types it was seen to
+ *       use while it was checked;
+ *   <li>the diagnostics {@link TypeCheck} found in it, before any warnings guards were applied,
+ *       and how many of its nodes were typed.
+ * </ul>
+ *
+ * <p>Summaries are only recomputed for the inputs whose source changed, and then for the inputs
+ * that depend on an input whose summary changed; the other inputs keep the summaries of the
+ * previous build. An input is checked again if its source changed or if the summary of an input it
+ * depends on changed. Inputs that had diagnostics are also checked again whenever any summary
+ * changed, since a missing property may have been defined anywhere. All inputs are checked when the
+ * externs or the configuration of the checker change. An input is also checked again when one of
+ * its cached diagnostics can't be attached back to a single node.
+ *
+ * <p>Only {@link TypeCheck} is incremental. Scope creation and type inference still run over all
+ * inputs, because they build the global types that every input sees. Type mismatches are not
+ * recorded for the inputs that are not checked, so this is only meant for checks-only builds.
+ */
+final class IncrementalTypeCheck implements CompilerPass {
+
+  static final DiagnosticType READ_ERROR =
+      DiagnosticType.warning(
+          "JSC_INCREMENTAL_CHECK_STATE_READ_ERROR",
+          "Could not read the incremental check state from {0}, checking all inputs: {1}");
+
+  static final DiagnosticType WRITE_ERROR =
+      DiagnosticType.warning(
+          "JSC_INCREMENTAL_CHECK_STATE_WRITE_ERROR",
+          "Could not write the incremental check state to {0}: {1}");
+
+  /** Changed whenever the format of the state changes, so that older states are ignored. */
+  private static final int FORMAT_VERSION = 3;
+
+  private static final HashFunction FARM_64 = Hashing.farmHashFingerprint64();
+
+  private final AbstractCompiler compiler;
+  private final TypeCheck typeCheck;
+  private final Path stateFile;
+  private final Gson gson = new Gson();
+
+  private int checkedInputCount = 0;
+  private int reusedInputCount = 0;
+
+  IncrementalTypeCheck(AbstractCompiler compiler, TypeCheck typeCheck, Path stateFile) {
+    this.compiler = compiler;
+    this.typeCheck = typeCheck;
+    this.stateFile = stateFile;
+  }
+
+  @Override
+  public void process(Node externs, Node root) {
+    State previous = readState();
+    State next = new State();
+    next.configuration = describeConfiguration(externs);
+    if (previous != null
+        && (previous.version != FORMAT_VERSION
+            || !next.configuration.equals(previous.configuration))) {
+      previous = null;
+    }
+
+    Map<String, Node> scripts = new LinkedHashMap<>();
+    for (Node script = root.getFirstChild(); script != null; script = script.getNext()) {
+      InputState input = new InputState();
+      input.contentHash = hashContent(script);
+      next.inputs.put(script.getSourceFileName(), input);
+      scripts.put(script.getSourceFileName(), script);
+    }
+    // Every summary is needed up front, since an input may depend on inputs that come after it.
+    boolean anySummaryChanged = summarizeInputs(previous, next, scripts);
+
+    State previousState = previous;
+    typeCheck.process(
+        externs,
+        root,
+        (script) -> {
+          InputState input = next.inputs.get(script.getSourceFileName());
+          InputState cached =
+              previousState != null ? previousState.inputs.get(script.getSourceFileName()) : null;
+          List<JSError> cachedErrors =
+              cached != null && !needsCheck(input, cached, previousState, next, anySummaryChanged)
+                  ? restoreErrors(script, cached.errors)
+                  : null;
+          if (cachedErrors != null) {
+            input.dependencies = cached.dependencies;
+            input.errors = cached.errors;
+            input.typedCount = cached.typedCount;
+            input.unknownCount = cached.unknownCount;
+            input.untypedCount = cached.untypedCount;
+            cachedErrors.forEach(compiler::report);
+            typeCheck.addTypedCounts(
+                new TypeCheck.TypedCounts(
+                    cached.typedCount, cached.unknownCount, cached.untypedCount));
+            reusedInputCount++;
+          } else {
+            TypeCheck.TypedCounts before = typeCheck.getTypedCounts();
+            ImmutableList<JSError> errors = typeCheck.checkScript(script);
+            TypeCheck.TypedCounts after = typeCheck.getTypedCounts();
+            input.dependencies = findDependencies(script, next.inputs.keySet());
+            input.errors = new ArrayList<>();
+            for (JSError error : errors) {
+              input.errors.add(CachedError.of(error));
+            }
+            input.typedCount = after.typed() - before.typed();
+            input.unknownCount = after.unknown() - before.unknown();
+            input.untypedCount = after.untyped() - before.untyped();
+            checkedInputCount++;
+          }
+        });
+
+    writeState(next);
+  }
+
+  /** Returns how many inputs were type checked by the last call to {@link #process}. */
+  int getCheckedInputCount() {
+    return checkedInputCount;
+  }
+
+  /** Returns how many inputs reused the diagnostics of the previous build. */
+  int getReusedInputCount() {
+    return reusedInputCount;
+  }
+
+  private String describeConfiguration(Node externs) {
+    Hasher hasher = FARM_64.newHasher();
+    hasher.putString(typeCheck.getReportingConfiguration(), UTF_8);
+    for (Node script = externs.getFirstChild(); script != null; script = script.getNext()) {
+      hasher.putString(String.valueOf(script.getSourceFileName()), UTF_8);
+      hasher.putString(String.valueOf(hashContent(script)), UTF_8);
+    }
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Sets the summary hash of every input of {@code next}, summarizing only the inputs whose summary
+   * may differ from the one in {@code previous}. Returns whether any input was added or removed or
+   * has a different summary.
+   */
+  private boolean summarizeInputs(
+      @Nullable State previous, State next, Map<String, Node> scripts) {
+    if (previous == null) {
+      for (Map.Entry<String, InputState> entry : next.inputs.entrySet()) {
+        entry.getValue().summaryHash = summarize(scripts.get(entry.getKey()));
+      }
+      return true;
+    }
+
+    Map<String, List<String>> dependents = new HashMap<>();
+    for (Map.Entry<String, InputState> entry : previous.inputs.entrySet()) {
+      for (String dependency : entry.getValue().dependencies) {
+        dependents.computeIfAbsent(dependency, (k) -> new ArrayList<>()).add(entry.getKey());
+      }
+    }
+
+    boolean anySummaryChanged = false;
+    ArrayDeque<String> worklist = new ArrayDeque<>();
+    for (Map.Entry<String, InputState> entry : next.inputs.entrySet()) {
+      InputState input = entry.getValue();
+      InputState cached = previous.inputs.get(entry.getKey());
+      if (cached == null) {
+        anySummaryChanged = true;
+        worklist.add(entry.getKey());
+      } else if (input.contentHash == null || !input.contentHash.equals(cached.contentHash)) {
+        worklist.add(entry.getKey());
+      } else {
+        input.summaryHash = cached.summaryHash;
+      }
+    }
+    for (String name : previous.inputs.keySet()) {
+      if (!next.inputs.containsKey(name)) {
+        anySummaryChanged = true;
+        worklist.addAll(dependents.getOrDefault(name, ImmutableList.of()));
+      }
+    }
+
+    // The summary of an unchanged input can only change through the types it gets from the inputs
+    // it depends on.
+    Set<String> summarized = new HashSet<>();
+    while (!worklist.isEmpty()) {
+      String name = worklist.remove();
+      InputState input = next.inputs.get(name);
+      if (input == null || !summarized.add(name)) {
+        continue;
+      }
+      input.summaryHash = summarize(scripts.get(name));
+      InputState cached = previous.inputs.get(name);
+      if (cached == null || !input.summaryHash.equals(cached.summaryHash)) {
+        anySummaryChanged = true;
+        worklist.addAll(dependents.getOrDefault(name, ImmutableList.of()));
+      }
+    }
+    return anySummaryChanged;
+  }
+
+  private static boolean needsCheck(
+      InputState input,
+      InputState cached,
+      State previous,
+      State next,
+      boolean anySummaryChanged) {
+    if (input.contentHash == null || !input.contentHash.equals(cached.contentHash)) {
+      return true;
+    } else if (anySummaryChanged && !cached.errors.isEmpty()) {
+      return true;
+    }
+    for (String dependency : cached.dependencies) {
+      InputState before = previous.inputs.get(dependency);
+      InputState now = next.inputs.get(dependency);
+      if (before == null || now == null || !before.summaryHash.equals(now.summaryHash)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns a hash of the source code of a SCRIPT, or null if it can't be read. */
+  private @Nullable String hashContent(Node script) {
+    CompilerInput input =
+        script.getInputId() != null ? compiler.getInput(script.getInputId()) : null;
+    if (input == null) {
+      return null;
+    }
+    try {
+      return FARM_64.hashString(input.getSourceFile().getCode(), UTF_8).toString();
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /** Returns a hash of the declarations in a SCRIPT that other inputs can see. */
+  private String summarize(Node script) {
+    Hasher hasher = FARM_64.newHasher();
+    NodeTraversal.traverse(
+        compiler,
+        script,
+        new AbstractPostOrderCallback() {
+          @Override
+          public void visit(NodeTraversal t, Node n, Node parent) {
+            String declaration = describeDeclaration(t, n);
+            if (declaration != null) {
+              hasher.putString(declaration, UTF_8).putByte((byte) 0);
+            }
+          }
+        });
+    return hasher.hash().toString();
+  }
+
+  private static @Nullable String describeDeclaration(NodeTraversal t, Node n) {
+    switch (n.getToken()) {
+      case NAME -> {
+        if (!t.inGlobalOrModuleScope()
+            || !(NodeUtil.isLValue(n) || NodeUtil.isFunctionDeclaration(n.getParent()))) {
+          return null;
+        }
+        return "name " + n.getString() + ": " + describeType(n);
+      }
+      case GETPROP -> {
+        if (!NodeUtil.isLValue(n) && !n.getParent().isExprResult()) {
+          return null;
+        }
+        String name = n.getQualifiedName();
+        if (name == null) {
+          name = "(" + n.getFirstChild().getJSType() + ")." + n.getString();
+        }
+        return "property " + name + ": " + describeType(n);
+      }
+      case MEMBER_FUNCTION_DEF, GETTER_DEF, SETTER_DEF, MEMBER_FIELD_DEF -> {
+        Node owner = n.getGrandparent();
+        return "member "
+            + (owner != null ? owner.getJSType() : null)
+            + (n.isStaticMember() ? " static " : " ")
+            + n.getString()
+            + ": "
+            + describeType(n);
+      }
+      default -> {
+        return null;
+      }
+    }
+  }
+
+  private static String describeType(Node n) {
+    JSType type = n.getJSType();
+    if (type == null && n.hasChildren()) {
+      type = n.getFirstChild().getJSType();
+    }
+    JSType typedefType = n.getTypedefTypeProp();
+    String description =
+        typedefType != null ? type + " typedef " + typedefType : String.valueOf(type);
+    FunctionType constructor = type != null ? type.toMaybeFunctionType() : null;
+    if (constructor != null && (constructor.isConstructor() || constructor.isInterface())) {
+      description += describeConstructor(constructor);
+    }
+    return description;
+  }
+
+  /**
+   * Describes what the JSDoc of a class or an interface says about its instances beyond their
+   * properties, which the string of its type leaves out.
+   */
+  private static String describeConstructor(FunctionType constructor) {
+    StringBuilder description = new StringBuilder();
+    if (constructor.isStructuralInterface()) {
+      description.append(" record");
+    } else if (constructor.isInterface()) {
+      description.append(" interface");
+    } else {
+      FunctionType superClass = constructor.getSuperClassConstructor();
+      description
+          .append(" class extends ")
+          .append(superClass != null ? superClass.getInstanceType() : null);
+    }
+    if (constructor.makesStructs()) {
+      description.append(" struct");
+    } else if (constructor.makesDicts()) {
+      description.append(" dict");
+    }
+    if (constructor.isInterface()) {
+      description.append(" extends ").append(constructor.getExtendedInterfaces());
+    } else {
+      description.append(" implements ").append(constructor.getOwnImplementedInterfaces());
+    }
+    return description.toString();
+  }
+
+  /**
+   * Returns the names of the other inputs that define the names, properties and types used in a
+   * SCRIPT.
+   */
+  private List<String> findDependencies(Node script, Set<String> inputNames) {
+    TypedScope topScope = compiler.getTopScope();
+    Set<String> dependencies = new TreeSet<>();
+    Set<JSType> seenTypes = Sets.newIdentityHashSet();
+    NodeUtil.visitPreOrder(
+        script,
+        (n) -> {
+          JSType type = n.getJSType();
+          if (type != null) {
+            addDefiningInputs(type, dependencies, seenTypes);
+          }
+          if (n.isGetProp() || n.isOptChainGetProp()) {
+            JSType receiverType = n.getFirstChild().getJSType();
+            if (receiverType != null) {
+              addPropertyDefinitions(receiverType, n.getString(), dependencies);
+            }
+          }
+          if (topScope != null && (n.isName() || n.isGetProp())) {
+            String name = n.getQualifiedName();
+            if (name != null) {
+              addVarDefinition(topScope.getVar(name), dependencies);
+            }
+          }
+          JSDocInfo info = n.getJSDocInfo();
+          if (topScope != null && info != null) {
+            for (Node typeRoot : info.getTypeNodes()) {
+              NodeUtil.visitPreOrder(
+                  typeRoot,
+                  (typeNode) -> {
+                    if (typeNode.isStringLit()) {
+                      addVarDefinition(topScope.getVar(typeNode.getString()), dependencies);
+                    }
+                  });
+            }
+          }
+        });
+    dependencies.retainAll(inputNames);
+    dependencies.remove(script.getSourceFileName());
+    return new ArrayList<>(dependencies);
+  }
+
+  private static void addDefiningInputs(
+      JSType type, Set<String> dependencies, Set<JSType> seenTypes) {
+    if (!seenTypes.add(type)) {
+      return;
+    }
+    if (type.isUnionType()) {
+      for (JSType alternate : type.toMaybeUnionType().getAlternates()) {
+        addDefiningInputs(alternate, dependencies, seenTypes);
+      }
+      return;
+    }
+    Node source = null;
+    if (type.isFunctionType()) {
+      source = type.toMaybeFunctionType().getSource();
+    } else if (type.isEnumType()) {
+      source = type.toMaybeEnumType().getSource();
+    } else if (type.isEnumElementType()) {
+      source = type.toMaybeEnumElementType().getEnumType().getSource();
+    } else {
+      ObjectType objectType = type.toObjectType();
+      FunctionType constructor = objectType != null ? objectType.getConstructor() : null;
+      if (constructor != null) {
+        source = constructor.getSource();
+      }
+    }
+    addInputOf(source, dependencies);
+    ObjectType objectType = type.toObjectType();
+    if (objectType != null) {
+      for (JSType templateType : objectType.getTemplateTypes()) {
+        addDefiningInputs(templateType, dependencies, seenTypes);
+      }
+    }
+  }
+
+  private static void addPropertyDefinitions(
+      JSType receiverType, String propertyName, Set<String> dependencies) {
+    JSType type = receiverType.restrictByNotNullOrUndefined();
+    if (type.isUnionType()) {
+      for (JSType alternate : type.toMaybeUnionType().getAlternates()) {
+        addPropertyDefinitions(alternate, propertyName, dependencies);
+      }
+      return;
+    }
+    ObjectType objectType = type.toObjectType();
+    Property property = objectType != null ? objectType.getSlot(propertyName) : null;
+    if (property != null) {
+      addInputOf(property.getNode(), dependencies);
+    }
+  }
+
+  private static void addVarDefinition(@Nullable TypedVar var, Set<String> dependencies) {
+    if (var != null) {
+      addInputOf(var.getNameNode(), dependencies);
+    }
+  }
+
+  private static void addInputOf(@Nullable Node n, Set<String> dependencies) {
+    if (n != null && n.getSourceFileName() != null) {
+      dependencies.add(n.getSourceFileName());
+    }
+  }
+
+  /**
+   * Returns the diagnostics cached for a SCRIPT, attached to the same nodes, or null if a node
+   * can't be found again because no node or several nodes have its token and position.
+   */
+  private static @Nullable List<JSError> restoreErrors(Node script, List<CachedError> errors) {
+    Map<String, Node> nodesByPosition = null;
+    List<JSError> restored = new ArrayList<>(errors.size());
+    for (CachedError cached : errors) {
+      Node node = null;
+      if (cached.nodeToken != null) {
+        if (nodesByPosition == null) {
+          nodesByPosition = indexNodesByPosition(script);
+        }
+        node =
+            nodesByPosition.get(
+                positionKey(
+                    cached.nodeToken, cached.nodeLineno, cached.nodeCharno, cached.nodeLength));
+        if (node == null) {
+          return null;
+        }
+      }
+      restored.add(cached.toError(node));
+    }
+    return restored;
+  }
+
+  /** Maps the token and position of each node to the node, or to null if several nodes share it. */
+  private static Map<String, @Nullable Node> indexNodesByPosition(Node script) {
+    Map<String, @Nullable Node> nodesByPosition = new HashMap<>();
+    NodeUtil.visitPreOrder(
+        script,
+        (n) -> {
+          String key = positionKey(n.getToken().name(), n.getLineno(), n.getCharno(), n.getLength());
+          nodesByPosition.put(key, nodesByPosition.containsKey(key) ? null : n);
+        });
+    return nodesByPosition;
+  }
+
+  private static String positionKey(String token, int lineno, int charno, int length) {
+    return token + ":" + lineno + ":" + charno + ":" + length;
+  }
+
+  private @Nullable State readState() {
+    if (!Files.exists(stateFile)) {
+      return null;
+    }
+    try (Reader reader = Files.newBufferedReader(stateFile, UTF_8)) {
+      return gson.fromJson(reader, State.class);
+    } catch (IOException | JsonParseException e) {
+      compiler.report(JSError.make(READ_ERROR, stateFile.toString(), e.getMessage()));
+      return null;
+    }
+  }
+
+  private void writeState(State state) {
+    try (Writer writer = Files.newBufferedWriter(stateFile, UTF_8)) {
+      gson.toJson(state, writer);
+    } catch (IOException e) {
+      compiler.report(JSError.make(WRITE_ERROR, stateFile.toString(), e.getMessage()));
+    }
+  }
+
+  /** What is kept between builds. */
+  private static final class State {
+    int version = FORMAT_VERSION;
+    String configuration;
+    Map<String, InputState> inputs = new LinkedHashMap<>();
+  }
+
+  /** What is kept about one input, keyed by its name. */
+  private static final class InputState {
+    @Nullable String contentHash;
+    String summaryHash;
+    List<String> dependencies = new ArrayList<>();
+    List<CachedError> errors = new ArrayList<>();
+    int typedCount;
+    int unknownCount;
+    int untypedCount;
+  }
+
+  /** A diagnostic found by {@link TypeCheck}, and the position of the node it is attached to. */
+  private static final class CachedError {
+    String key;
+    String format;
+    CheckLevel typeLevel;
+    CheckLevel defaultLevel;
+    String description;
+    @Nullable String sourceName;
+    int lineno;
+    int charno;
+    int length;
+    @Nullable String nodeToken;
+    int nodeLineno;
+    int nodeCharno;
+    int nodeLength;
+
+    static CachedError of(JSError error) {
+      CachedError cached = new CachedError();
+      cached.key = error.type().key;
+      cached.format = error.type().format;
+      cached.typeLevel = error.type().level;
+      cached.defaultLevel = error.defaultLevel();
+      cached.description = error.description();
+      cached.sourceName = error.sourceName();
+      cached.lineno = error.lineno();
+      cached.charno = error.charno();
+      cached.length = error.length();
+      Node node = error.node();
+      if (node != null) {
+        cached.nodeToken = node.getToken().name();
+        cached.nodeLineno = node.getLineno();
+        cached.nodeCharno = node.getCharno();
+        cached.nodeLength = node.getLength();
+      }
+      return cached;
+    }
+
+    JSError toError(@Nullable Node node) {
+      return new JSError(
+          DiagnosticType.make(key, typeLevel, format),
+          description,
+          sourceName,
+          lineno,
+          charno,
+          length,
+          node,
+          defaultLevel,
+          null);
+    }
+  }
+}
@@ -100,7 +100,7 @@ class InlineVariables implements CompilerPass {
         new ReferenceCollector(
             compiler,
             new InliningBehavior(),
-            new SyntacticScopeCreator(compiler),
+            compiler.getCachedSyntacticScopeCreator(),
             mode.varPredicate);
     callback.process(externs, root);
   }
@@ -15,8 +15,8 @@
  */
 package com.google.javascript.jscomp;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.google.javascript.jscomp.NodeTraversal.AbstractPostOrderCallback;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
 import java.util.LinkedHashMap;
@@ -24,8 +24,7 @@ import java.util.Map;
 import org.jspecify.annotations.Nullable;
 
 /** A normalization pass to re-write Util.$getDefine calls to make them work in compiled mode. */
-public class J2clUtilGetDefineRewriterPass extends AbstractPostOrderCallback
-    implements CompilerPass {
+public class J2clUtilGetDefineRewriterPass implements CompilerPass {
   private final AbstractCompiler compiler;
   private ImmutableSet<String> defines;
 
@@ -40,21 +39,27 @@ public class J2clUtilGetDefineRewriterPass extends AbstractPostOrderCallback
     }
     defines = compiler.getDefineNames();
 
+    // Both steps only look at a few calls, so find them with one walk of the AST instead of
+    // traversing it once for each step.
+    ImmutableList<Node> calls =
+        new NodeKindIndex(compiler)
+            .getCalls(
+                (name) -> isUtilGetDefineMethodName(name) || isAddSystemPropertyMethodName(name));
+
     var checkGetDefineCalls = new CheckGetDefineCalls();
-    NodeTraversal.traverse(compiler, root, checkGetDefineCalls);
+    for (Node call : calls) {
+      checkGetDefineCalls.check(call);
+    }
     checkGetDefineCalls.validateRegisteredDefines();
 
-    NodeTraversal.traverse(compiler, root, this);
-  }
-
-  @Override
-  public void visit(NodeTraversal t, Node n, Node parent) {
-    if (isUtilGetDefineCall(n)) {
-      rewriteUtilGetDefine(t, n);
+    for (Node call : calls) {
+      if (isUtilGetDefineCall(call)) {
+        rewriteUtilGetDefine(call);
+      }
     }
   }
 
-  private void rewriteUtilGetDefine(NodeTraversal t, Node callNode) {
+  private void rewriteUtilGetDefine(Node callNode) {
     Node firstExpr = callNode.getSecondChild();
     Node secondExpr = callNode.getLastChild();
 
@@ -68,7 +73,7 @@ public class J2clUtilGetDefineRewriterPass extends AbstractPostOrderCallback
     Node replacement = getDefineReplacement(firstExpr, secondExpr);
     replacement.srcrefTreeIfMissing(callNode);
     callNode.replaceWith(replacement);
-    t.reportCodeChange();
+    compiler.reportChangeToEnclosingScope(replacement);
   }
 
   private Node getDefineReplacement(Node firstExpr, Node secondExpr) {
@@ -91,6 +96,10 @@ public class J2clUtilGetDefineRewriterPass extends AbstractPostOrderCallback
     return fnName != null && fnName.endsWith(".$getDefine") && fnName.contains("Util");
   }
 
+  private static boolean isAddSystemPropertyMethodName(String fnName) {
+    return fnName != null && fnName.endsWith("addSystemPropertyFromGoogDefine");
+  }
+
   static final DiagnosticType J2CL_SYSTEM_GET_PROPERTY_CONSTANT_NAME =
       DiagnosticType.error(
           "JSC_J2CL_SYSTEM_GET_PROPERTY_CONSTANT_NAME",
@@ -112,12 +121,11 @@ public class J2clUtilGetDefineRewriterPass extends AbstractPostOrderCallback
       DiagnosticType.error(
           "JSC_J2CL_ADD_SYSTEM_PROPERTY_UNKNOWN_DEFINE", "Unknown goog.define with name: {0}");
 
-  private final class CheckGetDefineCalls extends AbstractPostOrderCallback {
+  private final class CheckGetDefineCalls {
     private final Map<String, Node> defineNameToAddSystemPropertyCall = new LinkedHashMap<>();
     private final Map<String, Node> defineNameToGetDefineCall = new LinkedHashMap<>();
 
-    @Override
-    public void visit(NodeTraversal t, Node n, @Nullable Node parent) {
+    void check(Node n) {
       if (isAddSystemPropertyFromGoogDefine(n)) {
         String defineName = getDefineNameParameter(n);
         if (defineName != null) {
@@ -172,9 +180,7 @@ public class J2clUtilGetDefineRewriterPass extends AbstractPostOrderCallback
     }
 
     private static boolean isAddSystemPropertyFromGoogDefine(Node n) {
-      return n.isCall()
-          && n.getFirstChild().getQualifiedName() != null
-          && n.getFirstChild().getQualifiedName().endsWith("addSystemPropertyFromGoogDefine");
+      return n.isCall() && isAddSystemPropertyMethodName(n.getFirstChild().getQualifiedName());
     }
   }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * The dominator tree of the chunks of a {@link JSChunkGraph}, with constant time lowest common
+ * ancestor queries.
+ *
+ * <p>Chunk A dominates chunk B if every path of dependencies from B to a chunk without
+ * dependencies goes through A. Every chunk dominates itself, and the immediate dominator of a chunk
+ * is the deepest of its other dominators. Chunks without a dominator hang off a virtual root, so
+ * that graphs with several chunks without dependencies are also handled.
+ *
+ * <p>Lowest common ancestors are answered with a sparse table of range minima over an Euler tour of
+ * the tree.
+ */
+final class JSChunkDominatorTree {
+
+  /** Returned for chunks that have no (common) dominator. */
+  static final int NO_CHUNK = -1;
+
+  // The chunks are 0..n-1, and n is the virtual root.
+  private final int root;
+  private final int[] immediateDominator;
+  private final int[] treeDepth;
+
+  // The position of the first visit of each chunk in the Euler tour.
+  private final int[] firstVisit;
+  // sparseTable[k][i] is the shallowest chunk among positions i..i+2^k-1 of the Euler tour.
+  private final int[][] sparseTable;
+
+  /**
+   * Creates the dominator tree of the given chunks, which must be in dependency order with their
+   * indices set to their positions.
+   */
+  JSChunkDominatorTree(JSChunk[] chunksInDepOrder) {
+    int n = chunksInDepOrder.length;
+    root = n;
+    immediateDominator = new int[n + 1];
+    treeDepth = new int[n + 1];
+    immediateDominator[root] = root;
+    int[] childCount = new int[n + 1];
+
+    // The dependencies of a chunk precede it, so its immediate dominator is the lowest common
+    // ancestor of its dependencies in the part of the tree that has already been built.
+    for (int chunkIndex = 0; chunkIndex < n; chunkIndex++) {
+      JSChunk chunk = chunksInDepOrder[chunkIndex];
+      checkState(chunk.getIndex() == chunkIndex, "Chunk index not set: %s", chunk);
+      int dominator = NO_CHUNK;
+      for (JSChunk dep : chunk.getDependencies()) {
+        int depIndex = dep.getIndex();
+        checkState(depIndex < chunkIndex, "Chunks not in dependency order: %s", chunk);
+        dominator = dominator == NO_CHUNK ? depIndex : intersect(dominator, depIndex);
+        if (dominator == root) {
+          break;
+        }
+      }
+      if (dominator == NO_CHUNK) {
+        dominator = root;
+      }
+      immediateDominator[chunkIndex] = dominator;
+      treeDepth[chunkIndex] = treeDepth[dominator] + 1;
+      childCount[dominator]++;
+    }
+
+    // Lay out the children of each chunk in one array, in chunk order.
+    int[] childStart = new int[n + 2];
+    for (int i = 0; i <= n; i++) {
+      childStart[i + 1] = childStart[i] + childCount[i];
+    }
+    int[] children = new int[n];
+    int[] nextChild = childStart.clone();
+    for (int chunkIndex = 0; chunkIndex < n; chunkIndex++) {
+      children[nextChild[immediateDominator[chunkIndex]]++] = chunkIndex;
+    }
+
+    // Walk the tree from the virtual root, recording each chunk whenever it is entered or returned
+    // to. The tour has one entry per chunk plus one per edge.
+    int tourLength = 2 * n + 1;
+    int[] tour = new int[tourLength];
+    firstVisit = new int[n + 1];
+    int[] stack = new int[n + 1];
+    int[] visitedChildren = new int[n + 1];
+    int stackSize = 0;
+    int position = 0;
+    stack[stackSize++] = root;
+    firstVisit[root] = position;
+    tour[position++] = root;
+    while (stackSize > 0) {
+      int current = stack[stackSize - 1];
+      int child = childStart[current] + visitedChildren[current];
+      if (child < childStart[current + 1]) {
+        visitedChildren[current]++;
+        int next = children[child];
+        stack[stackSize++] = next;
+        firstVisit[next] = position;
+        tour[position++] = next;
+      } else {
+        stackSize--;
+        if (stackSize > 0) {
+          tour[position++] = stack[stackSize - 1];
+        }
+      }
+    }
+    checkState(position == tourLength, "Incomplete tour of the dominator tree");
+
+    int levels = 32 - Integer.numberOfLeadingZeros(tourLength);
+    sparseTable = new int[levels][];
+    sparseTable[0] = tour;
+    for (int k = 1; k < levels; k++) {
+      int[] previous = sparseTable[k - 1];
+      int half = 1 << (k - 1);
+      int[] level = new int[tourLength - (1 << k) + 1];
+      for (int i = 0; i < level.length; i++) {
+        level[i] = shallower(previous[i], previous[i + half]);
+      }
+      sparseTable[k] = level;
+    }
+  }
+
+  /**
+   * Returns the lowest common ancestor of two chunks in the part of the tree built so far, by
+   * walking up from the deeper one.
+   */
+  private int intersect(int a, int b) {
+    while (a != b) {
+      if (treeDepth[a] >= treeDepth[b]) {
+        a = immediateDominator[a];
+      } else {
+        b = immediateDominator[b];
+      }
+    }
+    return a;
+  }
+
+  private int shallower(int a, int b) {
+    return treeDepth[a] <= treeDepth[b] ? a : b;
+  }
+
+  /** Returns the index of the immediate dominator of a chunk, or {@link #NO_CHUNK} if none. */
+  int getImmediateDominator(int chunkIndex) {
+    int dominator = immediateDominator[chunkIndex];
+    return dominator == root ? NO_CHUNK : dominator;
+  }
+
+  /**
+   * Returns the index of the deepest chunk that dominates both given chunks, which may be one of
+   * them, or {@link #NO_CHUNK} if they have no common dominator.
+   */
+  int getLowestCommonDominator(int chunkIndex1, int chunkIndex2) {
+    int start = firstVisit[chunkIndex1];
+    int end = firstVisit[chunkIndex2];
+    if (start > end) {
+      int tmp = start;
+      start = end;
+      end = tmp;
+    }
+    int k = 31 - Integer.numberOfLeadingZeros(end - start + 1);
+    int[] level = sparseTable[k];
+    int result = shallower(level[start], level[end - (1 << k) + 1]);
+    return result == root ? NO_CHUNK : result;
+  }
+}
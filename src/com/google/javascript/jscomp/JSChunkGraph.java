@@ -101,6 +101,9 @@ public final class JSChunkGraph implements Serializable {
   private final LinkedIdentityHashMap<JSChunk, Set<JSChunk>> dependencyMap =
       new LinkedIdentityHashMap<>();
 
+  /** The dominator tree of the chunks, built on the first query that needs it. */
+  private transient @Nullable JSChunkDominatorTree dominatorTree;
+
   /** Creates a chunk graph from a list of chunks in dependency order. */
   public JSChunkGraph(JSChunk[] chunksInDepOrder) {
     this(Arrays.asList(chunksInDepOrder));
@@ -416,6 +419,41 @@ public final class JSChunkGraph implements Serializable {
    */
   @Nullable
   JSChunk getDeepestCommonDependency(JSChunk m1, JSChunk m2) {
+    int index1 = m1.getIndex();
+    int index2 = m2.getIndex();
+    JSChunkDominatorTree tree = getDominatorTree();
+    int dominator = tree.getLowestCommonDominator(index1, index2);
+    if (dominator == index1 || dominator == index2) {
+      // The result may not be m1 or m2 themselves.
+      dominator = tree.getImmediateDominator(dominator);
+    }
+    if (dominator == JSChunkDominatorTree.NO_CHUNK) {
+      return scanForDeepestCommonDependency(m1, m2);
+    }
+
+    // The dominator is a common dependency. Any other common dependency either is a dependency of
+    // the dominator, and so is not as deep, or is dominated by it and comes later in the chunk
+    // order. Only those later ones need to be looked at, and they come before m1 and m2.
+    // Among chunks of the same depth, the latest one is the deepest.
+    BitSet deps1 = selfPlusTransitiveDeps[index1];
+    BitSet deps2 = selfPlusTransitiveDeps[index2];
+    int end = min(index1, index2);
+    int best = dominator;
+    for (int candidate = deps1.nextSetBit(dominator + 1);
+        candidate >= 0 && candidate < end;
+        candidate = deps1.nextSetBit(candidate + 1)) {
+      if (deps2.get(candidate) && chunks[candidate].getDepth() >= chunks[best].getDepth()) {
+        best = candidate;
+      }
+    }
+    return chunks[best];
+  }
+
+  /**
+   * Finds the deepest common dependency of two chunks by looking at all chunks from the deepest
+   * down. Only used for chunks that have no common dominator.
+   */
+  private @Nullable JSChunk scanForDeepestCommonDependency(JSChunk m1, JSChunk m2) {
     int m1Depth = m1.getDepth();
     int m2Depth = m2.getDepth();
     // According our definition of depth, the result must have a strictly
@@ -462,6 +500,13 @@ public final class JSChunkGraph implements Serializable {
     return dep;
   }
 
+  private JSChunkDominatorTree getDominatorTree() {
+    if (dominatorTree == null) {
+      dominatorTree = new JSChunkDominatorTree(chunks);
+    }
+    return dominatorTree;
+  }
+
   /**
    * Creates an iterable over the transitive dependencies of chunk {@code m} in a non-increasing
    * depth ordering. The result does not include the chunk {@code m}.
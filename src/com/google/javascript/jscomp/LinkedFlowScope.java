@@ -22,6 +22,7 @@ import static com.google.javascript.jscomp.base.JSCompObjects.identical;
 import com.google.javascript.jscomp.DataFlowAnalysis.FlowJoiner;
 import com.google.javascript.jscomp.type.FlowScope;
 import com.google.javascript.rhino.HamtPMap;
+import com.google.javascript.rhino.IntPMap;
 import com.google.javascript.rhino.JSDocInfo;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.PMap;
@@ -34,6 +35,10 @@ import org.jspecify.annotations.Nullable;
 /**
  * A flow scope that tries to store as little symbol information as possible,
  * instead delegating to its parents. Optimized for low memory use.
+ *
+ * <p>The inferred slots of each syntactic scope are stored in an {@link IntPMap} keyed by the
+ * {@link TypedScope#getFlowSlotIndex slot index} of their name, so that joins at every CFG merge
+ * point compare ints and skip the subtrees shared by both sides.
  */
 class LinkedFlowScope implements FlowScope {
 
@@ -363,8 +368,8 @@ class LinkedFlowScope implements FlowScope {
         .reconcile(
             linkedB.trimScopes(commonParent),
             (scopeKey, scopeA, scopeB) -> {
-              PMap<String, OverlaySlot> slotsA = scopeA != null ? scopeA.slots : EMPTY_SLOTS;
-              PMap<String, OverlaySlot> slotsB = scopeB != null ? scopeB.slots : EMPTY_SLOTS;
+              IntPMap<OverlaySlot> slotsA = scopeA != null ? scopeA.slots : EMPTY_SLOTS;
+              IntPMap<OverlaySlot> slotsB = scopeB != null ? scopeB.slots : EMPTY_SLOTS;
               // TODO(sdh): Simplify this logic: we want the best non-bottom scope we can get,
               // for the purpose of (a) passing to the joined OverlayScope constructor, and
               // (b) joining types only present in one scope.
@@ -379,7 +384,7 @@ class LinkedFlowScope implements FlowScope {
                   bestScope,
                   slotsA.reconcile(
                       slotsB,
-                      (slotKey, slotA, slotB) -> {
+                      (slotIndex, slotA, slotB) -> {
                         // There are 5 different join cases:
                         // 1) The type is present in joinedScopeA, not in joinedScopeB,
                         //    and not in functionScope. Just use the one in A.
@@ -433,29 +438,32 @@ class LinkedFlowScope implements FlowScope {
 
   private static class OverlayScope {
     final TypedScope scope;
-    final PMap<String, OverlaySlot> slots;
+    // Keyed by TypedScope#getFlowSlotIndex on `scope`.
+    final IntPMap<OverlaySlot> slots;
 
     OverlayScope(TypedScope scope) {
       this.scope = checkNotNull(scope);
       this.slots = EMPTY_SLOTS;
     }
 
-    OverlayScope(TypedScope scope, PMap<String, OverlaySlot> slots) {
+    OverlayScope(TypedScope scope, IntPMap<OverlaySlot> slots) {
       this.scope = checkNotNull(scope);
       this.slots = slots;
     }
 
     OverlayScope infer(String name, JSType type) {
       // TODO(sdh): variants that do or don't clobber properties (i.e. look up and modify instead)
-      OverlaySlot slot = slots.get(name);
+      int index = scope.getFlowSlotIndex(name);
+      OverlaySlot slot = slots.get(index);
       if (slot != null && identical(type, slot.type)) {
         return this;
       }
-      return new OverlayScope(scope, slots.plus(name, new OverlaySlot(name, type)));
+      return new OverlayScope(scope, slots.plus(index, new OverlaySlot(name, type)));
     }
 
     StaticTypedSlot getSlot(String name) {
-      OverlaySlot slot = slots.get(name);
+      int index = scope.findFlowSlotIndex(name);
+      OverlaySlot slot = index >= 0 ? slots.get(index) : null;
       return slot != null ? slot : scope.getSlot(name);
     }
   }
@@ -501,5 +509,5 @@ class LinkedFlowScope implements FlowScope {
     }
   }
 
-  private static final PMap<String, OverlaySlot> EMPTY_SLOTS = HamtPMap.empty();
+  private static final IntPMap<OverlaySlot> EMPTY_SLOTS = IntPMap.empty();
 }
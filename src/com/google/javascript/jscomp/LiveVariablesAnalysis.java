@@ -19,8 +19,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.javascript.jscomp.ControlFlowGraph.Branch;
+import com.google.javascript.jscomp.DataFlowAnalysis.LinearFlowState;
 import com.google.javascript.jscomp.NodeUtil.AllVarsDeclaredInFunction;
-import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
 import com.google.javascript.jscomp.graph.LatticeElement;
 import com.google.javascript.rhino.Node;
 import java.util.BitSet;
@@ -43,26 +44,16 @@ import org.jspecify.annotations.Nullable;
  * <p>Due to the possibility of inner functions and closures, certain "local" variables can escape
  * the function. These variables will be considered as global and they can be retrieved with {@link
  * #getEscapedLocals()}.
+ *
+ * <p>The analysis is solved as a {@link BitVectorDataFlowAnalysis}, with a bit for each variable.
+ * Once it is solved, every node of the control flow graph is annotated with a {@link
+ * LinearFlowState} of {@link LiveVariableLattice}s: the variables that are live at the entry and at
+ * the exit of the node.
  */
-class LiveVariablesAnalysis
-    extends DataFlowAnalysis<Node, LiveVariablesAnalysis.LiveVariableLattice> {
+class LiveVariablesAnalysis extends BitVectorDataFlowAnalysis {
 
   static final int MAX_VARIABLES_TO_ANALYZE = 100;
 
-  private final class LiveVariableJoinOp implements FlowJoiner<LiveVariableLattice> {
-    final LiveVariableLattice result = new LiveVariableLattice(orderedVars.size());
-
-    @Override
-    public void joinFlow(LiveVariableLattice x) {
-      this.result.liveSet.or(x.liveSet);
-    }
-
-    @Override
-    public LiveVariableLattice finish() {
-      return result;
-    }
-  }
-
   /**
    * The lattice that stores the liveness of all local variables at a given point in the program.
    * The whole lattice is the power set of all local variables and a variable is live if it is in
@@ -71,16 +62,8 @@ class LiveVariablesAnalysis
   static class LiveVariableLattice implements LatticeElement {
     private final BitSet liveSet;
 
-    /**
-     * @param numVars Number of all local variables.
-     */
-    private LiveVariableLattice(int numVars) {
-      this.liveSet = new BitSet(numVars);
-    }
-
-    private LiveVariableLattice(LiveVariableLattice other) {
-      checkNotNull(other);
-      this.liveSet = (BitSet) other.liveSet.clone();
+    private LiveVariableLattice(BitSet liveSet) {
+      this.liveSet = checkNotNull(liveSet);
     }
 
     @Override
@@ -163,7 +146,7 @@ class LiveVariablesAnalysis
     this.orderedVars = allVarsDeclaredInFunction.getAllVariablesInOrder();
     this.allVarsInFn = allVarsDeclaredInFunction.getAllVariables();
 
-    computeEscaped(jsScope, escaped, compiler, scopeCreator, allVarsInFn);
+    DataFlowAnalysis.computeEscaped(jsScope, escaped, compiler, scopeCreator, allVarsInFn);
 
     addScopeVariables();
   }
@@ -203,39 +186,42 @@ class LiveVariablesAnalysis
   }
 
   @Override
-  LiveVariableLattice createEntryLattice() {
-    return new LiveVariableLattice(orderedVars.size());
-  }
-
-  @Override
-  LiveVariableLattice createInitialEstimateLattice() {
-    return new LiveVariableLattice(orderedVars.size());
+  boolean isUnion() {
+    return true;
   }
 
   @Override
-  FlowJoiner<LiveVariableLattice> createFlowJoiner() {
-    return new LiveVariableJoinOp();
+  BitSet computeGenKill(CompactControlFlowGraph graph, GenKillSets sets) {
+    for (int i = 0; i < graph.getNodeCount(); i++) {
+      Node node = graph.getValue(i);
+      if (node != null) {
+        // Make kills conditional if the node can end abruptly by an exception.
+        computeGenKill(node, sets.gen(i), sets.kill(i), hasExceptionEdge(graph, i));
+      }
+    }
+    // A use of `arguments` escapes the parameters, possibly after some of their uses were seen.
+    BitSet escapedVars = new BitSet();
+    for (Map.Entry<String, Integer> variable : scopeVariables.entrySet()) {
+      if (escaped.contains(allVarsInFn.get(variable.getKey()))) {
+        escapedVars.set(variable.getValue());
+      }
+    }
+    sets.removeFromAll(escapedVars);
+    // Nothing is live after the function returns.
+    return new BitSet();
   }
 
   @Override
-  LiveVariableLattice flowThrough(Node node, LiveVariableLattice input) {
-    final BitSet gen = new BitSet(input.liveSet.size());
-    final BitSet kill = new BitSet(input.liveSet.size());
-
-    // Make kills conditional if the node can end abruptly by an exception.
-    boolean conditional = false;
-    List<? extends DiGraphEdge<Node, Branch>> edgeList = getCfg().getOutEdges(node);
-    for (DiGraphEdge<Node, Branch> edge : edgeList) {
-      if (Branch.ON_EX.equals(edge.getValue())) {
-        conditional = true;
-      }
+  void afterAnalyze(CompactControlFlowGraph graph) {
+    for (int i = 0; i < graph.getNodeCount(); i++) {
+      Node value = graph.getValue(i);
+      DiGraphNode<Node, Branch> node =
+          value == null ? getCfg().getImplicitReturn() : getCfg().getNode(value);
+      // L_in = L_out - Kill + Gen
+      node.setAnnotation(
+          new LinearFlowState<>(
+              new LiveVariableLattice(getAfter(i)), new LiveVariableLattice(getBefore(i))));
     }
-    computeGenKill(node, gen, kill, conditional);
-    LiveVariableLattice result = new LiveVariableLattice(input);
-    // L_in = L_out - Kill + Gen
-    result.liveSet.andNot(kill);
-    result.liveSet.or(gen);
-    return result;
   }
 
   /**
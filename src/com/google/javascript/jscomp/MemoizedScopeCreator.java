@@ -18,9 +18,14 @@ package com.google.javascript.jscomp;
 
 import static com.google.common.base.Preconditions.checkState;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Memoize a scope creator.
@@ -31,28 +36,195 @@ import java.util.Map;
  * On the other hand, you also have to be more aware of what your passes
  * are doing. Scopes are memoized stupidly, so if the underlying tree
  * changes, the scope may be out of sync.
+ *
+ * <p>Unless it is {@linkplain #createChangeAware change aware}: then a memoized scope is only
+ * reused as long as none of the change scopes it was built from have been reported as changed
+ * since, and its parent scope is reused as well. See {@link
+ * AbstractCompiler#getCachedSyntacticScopeCreator}.
  */
 class MemoizedScopeCreator implements ScopeCreator {
 
-  private final Map<Node, AbstractScope<?, ?>> scopesByScopeRoot = new LinkedHashMap<>();
+  // The fewest memoized scopes for which change aware creators look for scopes to evict.
+  private static final int MIN_SCOPES_BEFORE_EVICTION = 256;
+
+  private final Map<Node, CachedScope> scopesByScopeRoot = new LinkedHashMap<>();
   private final ScopeCreator delegate;
+  private final @Nullable AbstractCompiler compiler;
+  private int hits;
+  private int misses;
+  private int scopesBeforeEviction = MIN_SCOPES_BEFORE_EVICTION;
 
   /**
    * @param delegate The real source of Scope objects.
    */
   MemoizedScopeCreator(ScopeCreator delegate) {
     this.delegate = delegate;
+    this.compiler = null;
+  }
+
+  private MemoizedScopeCreator(ScopeCreator delegate, AbstractCompiler compiler) {
+    this.delegate = delegate;
+    this.compiler = compiler;
+  }
+
+  /**
+   * Creates a scope creator whose scopes stay valid across AST changes, by checking the change
+   * times of the change scopes (see {@link NodeUtil#isChangeScopeRoot}) they were created from.
+   */
+  static MemoizedScopeCreator createChangeAware(ScopeCreator delegate, AbstractCompiler compiler) {
+    return new MemoizedScopeCreator(delegate, compiler);
   }
 
   @Override
   public AbstractScope<?, ?> createScope(Node n, AbstractScope<?, ?> parent) {
-    AbstractScope<?, ?> scope = scopesByScopeRoot.get(n);
-    if (scope == null) {
-      scope = delegate.createScope(n, parent);
-      scopesByScopeRoot.put(n, scope);
-    } else {
-      checkState(parent == scope.getParent());
+    CachedScope cached = scopesByScopeRoot.get(n);
+    if (cached != null) {
+      if (compiler == null) {
+        checkState(parent == cached.scope.getParent());
+        return cached.scope;
+      } else if (parent == cached.scope.getParent() && cached.isUpToDate()) {
+        hits++;
+        return cached.scope;
+      }
+    }
+    if (compiler == null) {
+      AbstractScope<?, ?> scope = delegate.createScope(n, parent);
+      scopesByScopeRoot.put(n, new CachedScope(scope, 0, ImmutableList.of(), ImmutableList.of()));
+      return scope;
     }
+
+    misses++;
+    if (parent == null) {
+      // Every other scope descends from this one, so none of them can be reused any more.
+      scopesByScopeRoot.clear();
+    }
+    if (scopesByScopeRoot.size() >= scopesBeforeEviction) {
+      evictDetachedScopes();
+      scopesBeforeEviction = Math.max(MIN_SCOPES_BEFORE_EVICTION, 2 * scopesByScopeRoot.size());
+    }
+    int createdAt = compiler.getChangeStamp();
+    AbstractScope<?, ?> scope = delegate.createScope(n, parent);
+    scopesByScopeRoot.put(n, createCachedScope(n, scope, createdAt));
     return scope;
   }
+
+  /**
+   * Forgets the scopes of roots that are no longer in an AST, like those of deleted functions,
+   * which would otherwise never be looked up or replaced again.
+   */
+  @VisibleForTesting
+  void evictDetachedScopes() {
+    scopesByScopeRoot.keySet().removeIf(MemoizedScopeCreator::isDetached);
+  }
+
+  private static boolean isDetached(Node n) {
+    while (n.hasParent()) {
+      n = n.getParent();
+    }
+    return !n.isRoot();
+  }
+
+  private static CachedScope createCachedScope(Node n, AbstractScope<?, ?> scope, int createdAt) {
+    List<Node> changeScopeRoots = new ArrayList<>();
+    Node changeScopeRoot = NodeUtil.getEnclosingChangeScopeRoot(n);
+    if (changeScopeRoot != null) {
+      changeScopeRoots.add(changeScopeRoot);
+    } else {
+      // The global scope of one or more ROOT nodes.
+      addScripts(n, changeScopeRoots);
+    }
+
+    // Function declarations are their own change scopes, so renaming a declared function is not
+    // reported to the scope that declares it. Check the names of those explicitly.
+    List<Node> functionNameNodes = new ArrayList<>();
+    for (AbstractVar<?, ?> v : scope.getVarIterable()) {
+      Node nameNode = v.getNameNode();
+      if (nameNode != null
+          && nameNode.hasParent()
+          && nameNode.getParent().isFunction()
+          && nameNode.getParent() != changeScopeRoot) {
+        functionNameNodes.add(nameNode);
+      }
+    }
+    return new CachedScope(
+        scope,
+        createdAt,
+        ImmutableList.copyOf(changeScopeRoots),
+        ImmutableList.copyOf(functionNameNodes));
+  }
+
+  private static void addScripts(Node n, List<Node> scripts) {
+    for (Node child = n.getFirstChild(); child != null; child = child.getNext()) {
+      if (child.isScript()) {
+        scripts.add(child);
+      } else if (child.isRoot()) {
+        addScripts(child, scripts);
+      }
+    }
+  }
+
+  int getHitCount() {
+    return hits;
+  }
+
+  int getMissCount() {
+    return misses;
+  }
+
+  @VisibleForTesting
+  int getMemoizedScopeCount() {
+    return scopesByScopeRoot.size();
+  }
+
+  /** A memoized scope along with what is needed to tell whether it is still up to date. */
+  private static final class CachedScope {
+    final AbstractScope<?, ?> scope;
+
+    /** The compiler change stamp when the scope was created. */
+    final int createdAt;
+
+    /** The change scopes the scope was created from. */
+    final ImmutableList<Node> changeScopeRoots;
+
+    /** The name nodes of function declarations in the scope. */
+    final ImmutableList<Node> functionNameNodes;
+
+    /** The names of the declared functions, in the same order as {@link #functionNameNodes}. */
+    final ImmutableList<String> functionNames;
+
+    CachedScope(
+        AbstractScope<?, ?> scope,
+        int createdAt,
+        ImmutableList<Node> changeScopeRoots,
+        ImmutableList<Node> functionNameNodes) {
+      this.scope = scope;
+      this.createdAt = createdAt;
+      this.changeScopeRoots = changeScopeRoots;
+      this.functionNameNodes = functionNameNodes;
+      ImmutableList.Builder<String> names = ImmutableList.builder();
+      for (Node nameNode : functionNameNodes) {
+        names.add(nameNode.getString());
+      }
+      this.functionNames = names.build();
+    }
+
+    boolean isUpToDate() {
+      for (Node changeScopeRoot : changeScopeRoots) {
+        // Changes are stamped with the change stamp current at the time, which is then
+        // incremented, so anything changed after the scope was created has a time >= createdAt.
+        if (changeScopeRoot.isDeleted() || changeScopeRoot.getChangeTime() >= createdAt) {
+          return false;
+        }
+      }
+      for (int i = 0; i < functionNameNodes.size(); i++) {
+        Node nameNode = functionNameNodes.get(i);
+        if (!nameNode.hasParent()
+            || nameNode.getParent().getFirstChild() != nameNode
+            || !nameNode.getString().equals(functionNames.get(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static java.util.Comparator.comparingInt;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.Token;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * An index of the nodes of the main AST by token and of calls by callee name.
+ *
+ * <p>A pass that looks for a handful of node shapes, like calls to a few functions, can query the
+ * index instead of traversing the whole program once for each shape. The index is built by one walk
+ * of the AST on first use and is not updated afterwards, so it only suits passes that query it
+ * before they change the AST.
+ *
+ * <p>Tokens and calls are only indexed once the pass has asked for them, which costs one more walk
+ * of the AST when the index was already built for other keys.
+ *
+ * <p>Query results are in the order a {@link NodeTraversal} visits the nodes.
+ */
+final class NodeKindIndex {
+
+  private final AbstractCompiler compiler;
+
+  /** The tokens that are indexed. */
+  private final EnumSet<Token> indexedTokens = EnumSet.noneOf(Token.class);
+
+  /** Whether calls are indexed by callee name. */
+  private boolean indexCalls;
+
+  /** Whether the index has to be rebuilt for newly requested keys. */
+  private boolean stale = true;
+
+  /** Maps a Token or a callee qualified name to the nodes with that key, in visiting order. */
+  private final Map<Object, List<Node>> nodesByKey = new HashMap<>();
+
+  /** The position of each indexed node in visiting order. */
+  private final Map<Node, Integer> visitOrder = new HashMap<>();
+
+  NodeKindIndex(AbstractCompiler compiler) {
+    this.compiler = compiler;
+  }
+
+  /** Returns the nodes of the main AST with any of the given tokens. */
+  ImmutableList<Node> getNodes(Token... tokens) {
+    for (Token token : tokens) {
+      if (indexedTokens.add(token)) {
+        stale = true;
+      }
+    }
+    buildIfStale();
+    List<Node> result = new ArrayList<>();
+    for (Token token : tokens) {
+      result.addAll(nodesByKey.getOrDefault(token, ImmutableList.of()));
+    }
+    return inVisitOrder(result, tokens.length > 1);
+  }
+
+  /**
+   * Returns the CALL nodes of the main AST whose callee has a qualified name accepted by the given
+   * filter. Indirect calls like {@code (0, a.b)()} are included, as by {@link
+   * NodeUtil#getCallTargetResolvingIndirectCalls}.
+   */
+  ImmutableList<Node> getCalls(Predicate<String> calleeNameFilter) {
+    if (!indexCalls) {
+      indexCalls = true;
+      stale = true;
+    }
+    buildIfStale();
+    List<Node> result = new ArrayList<>();
+    int matchingNames = 0;
+    for (Map.Entry<Object, List<Node>> entry : nodesByKey.entrySet()) {
+      if (entry.getKey() instanceof String calleeName && calleeNameFilter.test(calleeName)) {
+        result.addAll(entry.getValue());
+        matchingNames++;
+      }
+    }
+    return inVisitOrder(result, matchingNames > 1);
+  }
+
+  private ImmutableList<Node> inVisitOrder(List<Node> nodes, boolean fromSeveralKeys) {
+    if (fromSeveralKeys) {
+      nodes.sort(comparingInt(visitOrder::get));
+    }
+    return ImmutableList.copyOf(nodes);
+  }
+
+  private void buildIfStale() {
+    if (!stale) {
+      return;
+    }
+    stale = false;
+    nodesByKey.clear();
+    visitOrder.clear();
+    NodeUtil.visitPostOrder(compiler.getJsRoot(), this::index);
+  }
+
+  private void index(Node n) {
+    if (indexedTokens.contains(n.getToken())) {
+      add(n.getToken(), n);
+    }
+    if (indexCalls && n.isCall()) {
+      String calleeName = NodeUtil.getCallTargetResolvingIndirectCalls(n).getQualifiedName();
+      if (calleeName != null) {
+        add(calleeName, n);
+      }
+    }
+  }
+
+  private void add(Object key, Node n) {
+    nodesByKey.computeIfAbsent(key, (k) -> new ArrayList<>()).add(n);
+    visitOrder.putIfAbsent(n, visitOrder.size());
+  }
+}
@@ -20,6 +20,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.javascript.jscomp.base.JSCompObjects.identical;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.javascript.jscomp.modules.ModuleMetadataMap;
 import com.google.javascript.jscomp.modules.ModuleMetadataMap.ModuleMetadata;
@@ -28,6 +29,7 @@ import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.QualifiedName;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Deque;
 import java.util.List;
 import org.jspecify.annotations.Nullable;
@@ -201,12 +203,7 @@ public class NodeTraversal {
       Object o = cfgs.peek();
       checkState(o != null);
       if (o instanceof Node cfgRoot) {
-        result =
-            ControlFlowAnalysis.builder()
-                .setCompiler(compiler)
-                .setCfgRoot(cfgRoot)
-                .setIncludeEdgeAnnotations(true)
-                .computeCfg();
+        result = compiler.getControlFlowGraph(cfgRoot);
         cfgs.pop();
         cfgs.push(result);
       } else {
@@ -225,11 +222,15 @@ public class NodeTraversal {
     }
 
     @Override
+    @SuppressWarnings("unchecked") // The type is always ControlFlowGraph<Node>
     public final void exitScope(NodeTraversal t) {
       exitScopeWithCfg(t);
       Node currentScopeRoot = t.getScopeRoot();
       if (NodeUtil.isValidCfgRoot(currentScopeRoot)) {
-        cfgs.pop();
+        Object o = cfgs.pop();
+        if (o instanceof ControlFlowGraph) {
+          t.getCompiler().releaseControlFlowGraph((ControlFlowGraph<Node>) o);
+        }
       }
     }
 
@@ -521,7 +522,8 @@ public class NodeTraversal {
   }
 
   /** Traverses a parse tree recursively. */
-  private void traverse(Node root) {
+  @VisibleForTesting
+  void traverse(Node root) {
     try {
       initTraversal(root);
       currentNode = root;
@@ -829,6 +831,198 @@ public class NodeTraversal {
     return currentNode;
   }
 
+  // Kinds of pending work on the explicit traversal stack, see #runTasks. Each task has up to
+  // two node operands, called A and B below.
+
+  /** Traverses the branch rooted at A, whose parent is B. */
+  private static final byte TRAVERSE_BRANCH = 0;
+
+  /** Traverses A and then its following siblings. B is their parent. */
+  private static final byte TRAVERSE_SIBLINGS = 1;
+
+  /** Sets the current node to A and then visits A, whose parent is B. */
+  private static final byte VISIT = 2;
+
+  /** Visits A, whose parent is B, without changing the current node. */
+  private static final byte VISIT_IN_CURRENT_NODE = 3;
+
+  /** Sets the current node to B and then visits class member A of B. */
+  private static final byte VISIT_CLASS_MEMBER = 4;
+
+  /** Sets the current node to A and enters the scope rooted at A. */
+  private static final byte ENTER_SCOPE = 5;
+
+  /** Exits the current scope. */
+  private static final byte EXIT_SCOPE = 6;
+
+  /** Sets the current hoist scope root to A. */
+  private static final byte SET_HOIST_SCOPE_ROOT = 7;
+
+  /** Sets the current function to A. */
+  private static final byte SET_FUNCTION = 8;
+
+  /** Sets the current change scope to A. */
+  private static final byte SET_CHANGE_SCOPE = 9;
+
+  /** Sets the current node to function A, makes it the current function and enters its scope. */
+  private static final byte ENTER_FUNCTION = 10;
+
+  /** Traverses the parameters and body following the name node A of function B. */
+  private static final byte TRAVERSE_FUNCTION_PARAMS_AND_BODY = 11;
+
+  /** Traverses the keys of computed members among A and its following siblings, members of B. */
+  private static final byte TRAVERSE_COMPUTED_MEMBER_KEYS = 12;
+
+  /** Traverses the members of CLASS_MEMBERS node A, excluding keys of computed members. */
+  private static final byte TRAVERSE_CLASS_MEMBERS = 13;
+
+  /** Traverses member A, if non-null, and then its following siblings, members of B. */
+  private static final byte TRAVERSE_CLASS_MEMBER_SIBLINGS = 14;
+
+  /**
+   * Pending work of the traversal. Branches are traversed with this explicit stack rather than by
+   * recursion, so that the Java stack depth of a traversal does not grow with the depth of the AST.
+   */
+  private byte[] taskKinds = new byte[32];
+
+  /** The two node operands of each task in {@link #taskKinds}. */
+  private @Nullable Node[] taskNodes = new Node[2 * 32];
+
+  private int taskCount;
+
+  private void pushTask(byte kind, @Nullable Node a, @Nullable Node b) {
+    if (taskCount == taskKinds.length) {
+      taskKinds = Arrays.copyOf(taskKinds, 2 * taskCount);
+      taskNodes = Arrays.copyOf(taskNodes, 2 * 2 * taskCount);
+    }
+    taskKinds[taskCount] = kind;
+    int base = 2 * taskCount;
+    taskNodes[base] = a;
+    taskNodes[base + 1] = b;
+    taskCount++;
+  }
+
+  /**
+   * Runs tasks until the stack is back down to {@code depth} tasks. If a callback throws, the tasks
+   * above {@code depth} are dropped so that the traversal can be used again.
+   */
+  private void runTasksFrom(int depth) {
+    try {
+      runTasks(depth);
+    } finally {
+      if (taskCount > depth) {
+        Arrays.fill(taskNodes, 2 * depth, 2 * taskCount, null);
+        taskCount = depth;
+      }
+    }
+  }
+
+  /**
+   * Runs tasks until the stack is back down to {@code depth} tasks.
+   *
+   * <p>Each handler below does the work that precedes the first child traversal directly and pushes
+   * the remaining steps as tasks, in reverse order of execution, so that they run in the same order
+   * as a recursive traversal would run them.
+   */
+  private void runTasks(int depth) {
+    while (taskCount > depth) {
+      taskCount--;
+      byte kind = taskKinds[taskCount];
+      int base = 2 * taskCount;
+      Node a = taskNodes[base];
+      Node b = taskNodes[base + 1];
+      taskNodes[base] = null;
+      taskNodes[base + 1] = null;
+
+      switch (kind) {
+        case TRAVERSE_BRANCH -> handleBranch(a, b);
+        case TRAVERSE_SIBLINGS -> handleSiblings(a, b);
+        case VISIT -> {
+          currentNode = a;
+          callback.visit(this, a, b);
+        }
+        case VISIT_IN_CURRENT_NODE -> callback.visit(this, a, b);
+        case VISIT_CLASS_MEMBER -> {
+          currentNode = b;
+          callback.visit(this, a, b);
+        }
+        case ENTER_SCOPE -> {
+          currentNode = a;
+          pushScope(a);
+        }
+        case EXIT_SCOPE -> popScope();
+        case SET_HOIST_SCOPE_ROOT -> currentHoistScopeRoot = a;
+        case SET_FUNCTION -> currentFunction = a;
+        case SET_CHANGE_SCOPE -> setChangeScope(a);
+        case ENTER_FUNCTION -> {
+          currentNode = a;
+          // may nest within class static blocks
+          currentHoistScopeRoot = a;
+          currentFunction = a;
+          pushScope(a);
+        }
+        case TRAVERSE_FUNCTION_PARAMS_AND_BODY -> {
+          Node args = a.getNext();
+          // ES6 "arrow" function may not have a block as a body.
+          Node body = args.getNext();
+          pushTask(TRAVERSE_BRANCH, body, b);
+          pushTask(TRAVERSE_BRANCH, args, b);
+        }
+        case TRAVERSE_COMPUTED_MEMBER_KEYS -> {
+          if (a != null) {
+            pushTask(TRAVERSE_COMPUTED_MEMBER_KEYS, a.getNext(), b);
+            if (a.isComputedProp() || a.isComputedFieldDef()) {
+              pushTask(TRAVERSE_BRANCH, a.getFirstChild(), a);
+            }
+          }
+        }
+        case TRAVERSE_CLASS_MEMBERS ->
+            pushTask(TRAVERSE_CLASS_MEMBER_SIBLINGS, a.getFirstChild(), a);
+        case TRAVERSE_CLASS_MEMBER_SIBLINGS -> {
+          if (a != null) {
+            pushTask(TRAVERSE_CLASS_MEMBER_SIBLINGS, a.getNext(), b);
+            handleClassMember(b, a);
+          }
+        }
+        default -> throw new IllegalStateException("Unexpected task: " + kind);
+      }
+    }
+  }
+
+  /**
+   * Traverses {@code n} and its following siblings. Siblings that are traversed without leaving
+   * work on the stack, which is the case for most leaves, are handled in a loop rather than by a
+   * task each.
+   */
+  private void handleSiblings(Node n, Node parent) {
+    while (true) {
+      // n could be replaced, in which case it would no longer point to the true next
+      Node next = n.getNext();
+      if (next == null) {
+        handleBranch(n, parent);
+        return;
+      }
+      pushTask(TRAVERSE_SIBLINGS, next, parent);
+      int depth = taskCount;
+      handleBranch(n, parent);
+      if (taskCount != depth) {
+        return;
+      }
+      taskCount--;
+      taskNodes[2 * taskCount] = null;
+      taskNodes[2 * taskCount + 1] = null;
+      n = next;
+    }
+  }
+
+  /** Pushes the traversal of the children of {@code n}, if it has any. */
+  private void pushChildren(Node n) {
+    Node first = n.getFirstChild();
+    if (first != null) {
+      pushTask(TRAVERSE_SIBLINGS, first, n);
+    }
+  }
+
   private void handleScript(Node n, Node parent) {
     if (Platform.isThreadInterrupted()) {
       throw new RuntimeException(new InterruptedException());
@@ -839,11 +1033,12 @@ public class NodeTraversal {
     currentScript = n;
     clearScriptState();
     if (callback.shouldTraverse(this, n, parent)) {
-      traverseChildren(n);
-      currentNode = n;
-      callback.visit(this, n, parent);
+      pushTask(SET_CHANGE_SCOPE, null, null);
+      pushTask(VISIT, n, parent);
+      pushChildren(n);
+    } else {
+      setChangeScope(null);
     }
-    setChangeScope(null);
   }
 
   private void handleFunction(Node n, Node parent) {
@@ -851,11 +1046,12 @@ public class NodeTraversal {
     setChangeScope(n);
     currentNode = n;
     if (callback.shouldTraverse(this, n, parent)) {
+      pushTask(SET_CHANGE_SCOPE, changeScope, null);
+      pushTask(VISIT, n, parent);
       traverseFunction(n, parent);
-      currentNode = n;
-      callback.visit(this, n, parent);
+    } else {
+      setChangeScope(changeScope);
     }
-    setChangeScope(changeScope);
   }
 
   /** Traverses a module. */
@@ -865,12 +1061,15 @@ public class NodeTraversal {
     currentNode = n;
     if (callback.shouldTraverse(this, n, parent)) {
       currentNode = n;
-      traverseChildren(n);
-      callback.visit(this, n, parent);
+      // Module bodies don't nest
+      pushTask(SET_HOIST_SCOPE_ROOT, null, null);
+      pushTask(EXIT_SCOPE, null, null);
+      pushTask(VISIT_IN_CURRENT_NODE, n, parent);
+      pushChildren(n);
+    } else {
+      popScope();
+      currentHoistScopeRoot = null;
     }
-    popScope();
-    // Module bodies don't nest
-    currentHoistScopeRoot = null;
   }
 
   private void handleDestructuringOrDefaultValue(Node n, Node parent) {
@@ -879,19 +1078,24 @@ public class NodeTraversal {
       Node first = n.getFirstChild();
       Node second = first.getNext();
 
+      pushTask(VISIT, n, parent);
+      pushTask(TRAVERSE_BRANCH, first, n);
       if (second != null) {
         checkState(second.getNext() == null, second);
-        traverseBranch(second, n);
+        pushTask(TRAVERSE_BRANCH, second, n);
       }
-      traverseBranch(first, n);
-
-      currentNode = n;
-      callback.visit(this, n, parent);
     }
   }
 
   /** Traverses a branch. */
   private void traverseBranch(Node n, @Nullable Node parent) {
+    int depth = taskCount;
+    pushTask(TRAVERSE_BRANCH, n, parent);
+    runTasksFrom(depth);
+  }
+
+  /** Starts the traversal of a branch, leaving the remaining work on the task stack. */
+  private void handleBranch(Node n, @Nullable Node parent) {
     switch (n.getToken()) {
       case SCRIPT:
         handleScript(n, parent);
@@ -925,37 +1129,26 @@ public class NodeTraversal {
       return;
     }
 
+    Node first = n.getFirstChild();
     boolean createsBlockScope = NodeUtil.createsBlockScope(n);
-    Node previousHoistScopeRoot = currentHoistScopeRoot;
+    if (first == null && !createsBlockScope) {
+      // A leaf is visited right away.
+      callback.visit(this, n, parent);
+      return;
+    }
+
+    pushTask(VISIT, n, parent);
     if (createsBlockScope) {
+      pushTask(SET_HOIST_SCOPE_ROOT, currentHoistScopeRoot, null);
+      pushTask(EXIT_SCOPE, null, null);
       pushScope(n);
       if (NodeUtil.isClassStaticBlock(n)) {
         currentHoistScopeRoot = n;
       }
     }
-
-    /*
-     * Intentionally inlined call to traverseChildren.
-     *
-     * <p>Calling traverseChildren here would double the maximum stack depth seen during
-     * compilation. That can cause stack overflows on some very deep ASTs (e.g. b/188616350).
-     * Inlining side-steps the issue.
-     */
-    for (Node child = n.getFirstChild(); child != null; ) {
-      // child could be replaced, in which case our child node
-      // would no longer point to the true next
-      Node next = child.getNext();
-      traverseBranch(child, n);
-      child = next;
-    }
-
-    if (createsBlockScope) {
-      popScope();
-      currentHoistScopeRoot = previousHoistScopeRoot;
+    if (first != null) {
+      pushTask(TRAVERSE_SIBLINGS, first, n);
     }
-
-    currentNode = n;
-    callback.visit(this, n, parent);
   }
 
   /** Traverses a function. */
@@ -972,39 +1165,20 @@ public class NodeTraversal {
     // call this method), so that the name node is just always traversed inside the scope anyway.
     boolean isFunctionDeclaration = parent != null && NodeUtil.isFunctionDeclaration(n);
 
-    if (isFunctionDeclaration) {
-      // Function declarations are in the scope containing the declaration.
-      traverseBranch(fnName, n);
-    }
-
-    currentNode = n;
-
-    // may nest within class static blocks
-    Node previousHoistScopeRoot = currentHoistScopeRoot;
-    currentHoistScopeRoot = n;
-    Node previousFunction = currentFunction;
-    currentFunction = n;
-    pushScope(n);
-
+    pushTask(SET_HOIST_SCOPE_ROOT, currentHoistScopeRoot, null);
+    pushTask(SET_FUNCTION, currentFunction, null);
+    pushTask(EXIT_SCOPE, null, null);
+    pushTask(TRAVERSE_FUNCTION_PARAMS_AND_BODY, fnName, n);
     if (!isFunctionDeclaration) {
       // Function expression names are only accessible within the function
       // scope.
-      traverseBranch(fnName, n);
+      pushTask(TRAVERSE_BRANCH, fnName, n);
+    }
+    pushTask(ENTER_FUNCTION, n, null);
+    if (isFunctionDeclaration) {
+      // Function declarations are in the scope containing the declaration.
+      pushTask(TRAVERSE_BRANCH, fnName, n);
     }
-
-    final Node args = fnName.getNext();
-    final Node body = args.getNext();
-
-    // Args
-    traverseBranch(args, n);
-
-    // Body
-    // ES6 "arrow" function may not have a block as a body.
-    traverseBranch(body, n);
-
-    popScope();
-    currentFunction = previousFunction;
-    currentHoistScopeRoot = previousHoistScopeRoot;
   }
 
   /**
@@ -1027,29 +1201,21 @@ public class NodeTraversal {
 
     boolean isClassExpression = NodeUtil.isClassExpression(n);
 
-    traverseBranch(extendsClause, n);
-
-    if (!isClassExpression) {
-      // Class declarations are in the scope containing the declaration.
-      traverseBranch(className, n);
-    }
-
-    currentNode = n;
-    pushScope(n);
-
+    pushTask(VISIT, n, parent);
+    pushTask(EXIT_SCOPE, null, null);
+    // Body
+    pushTask(TRAVERSE_BRANCH, body, n);
     if (isClassExpression) {
       // Class expression names are only accessible within the function
       // scope.
-      traverseBranch(className, n);
+      pushTask(TRAVERSE_BRANCH, className, n);
     }
-
-    // Body
-    traverseBranch(body, n);
-
-    popScope();
-
-    this.currentNode = n;
-    callback.visit(this, n, parent);
+    pushTask(ENTER_SCOPE, n, null);
+    if (!isClassExpression) {
+      // Class declarations are in the scope containing the declaration.
+      pushTask(TRAVERSE_BRANCH, className, n);
+    }
+    pushTask(TRAVERSE_BRANCH, extendsClause, n);
   }
 
   /** Traverse class members, excluding keys of computed props. */
@@ -1059,82 +1225,68 @@ public class NodeTraversal {
       return;
     }
 
-    for (Node child = n.getFirstChild(); child != null; ) {
-      Node next = child.getNext(); // see traverseChildren
-      if (child.isComputedProp() || child.isComputedFieldDef()) {
-        traverseBranch(child.getFirstChild(), child);
-      }
-      child = next;
-    }
-
-    for (Node child = n.getFirstChild(); child != null; ) {
-      Node next = child.getNext(); // see traverseChildren
-
-      switch (child.getToken()) {
-        case COMPUTED_PROP:
-          currentNode = n;
+    pushTask(VISIT, n, parent);
+    pushTask(TRAVERSE_CLASS_MEMBERS, n, null);
+    pushTask(TRAVERSE_COMPUTED_MEMBER_KEYS, n.getFirstChild(), n);
+  }
 
-          if (callback.shouldTraverse(this, child, n)) {
-            traverseBranch(child.getLastChild(), child);
-            currentNode = n;
-            callback.visit(this, child, n);
-          }
-          break;
-        case COMPUTED_FIELD_DEF:
-          currentNode = n;
+  /** Traverses a single class member, excluding the key of a computed member. */
+  private void handleClassMember(Node n, Node child) {
+    switch (child.getToken()) {
+      case COMPUTED_PROP:
+        currentNode = n;
 
-          Node previousHoistScopeRoot = currentHoistScopeRoot;
-          currentHoistScopeRoot = n;
-          pushScope(child);
+        if (callback.shouldTraverse(this, child, n)) {
+          pushTask(VISIT_CLASS_MEMBER, child, n);
+          pushTask(TRAVERSE_BRANCH, child.getLastChild(), child);
+        }
+        break;
+      case COMPUTED_FIELD_DEF:
+        currentNode = n;
 
-          if (callback.shouldTraverse(this, child, n)) {
-            if (child.hasTwoChildren()) { // No RHS to traverse in `[x];` computed field case
-              traverseBranch(child.getLastChild(), child);
-            }
-            currentNode = n;
-            callback.visit(this, child, n);
+        Node previousHoistScopeRoot = currentHoistScopeRoot;
+        currentHoistScopeRoot = n;
+        pushScope(child);
+
+        if (callback.shouldTraverse(this, child, n)) {
+          pushTask(SET_HOIST_SCOPE_ROOT, previousHoistScopeRoot, null);
+          pushTask(EXIT_SCOPE, null, null);
+          pushTask(VISIT_CLASS_MEMBER, child, n);
+          if (child.hasTwoChildren()) { // No RHS to traverse in `[x];` computed field case
+            pushTask(TRAVERSE_BRANCH, child.getLastChild(), child);
           }
-
+        } else {
           popScope();
           currentHoistScopeRoot = previousHoistScopeRoot;
-          break;
-        case MEMBER_FIELD_DEF:
-          handleMemberFieldDef(n, child);
-          break;
-        case BLOCK:
-        case MEMBER_FUNCTION_DEF:
-        case MEMBER_VARIABLE_DEF:
-        case GETTER_DEF:
-        case SETTER_DEF:
-          traverseBranch(child, n);
-          break;
-        default:
-          throw new IllegalStateException("Invalid class member: " + child.getToken());
-      }
-      child = next;
+        }
+        break;
+      case MEMBER_FIELD_DEF:
+        handleMemberFieldDef(n, child);
+        break;
+      case BLOCK:
+      case MEMBER_FUNCTION_DEF:
+      case MEMBER_VARIABLE_DEF:
+      case GETTER_DEF:
+      case SETTER_DEF:
+        pushTask(TRAVERSE_BRANCH, child, n);
+        break;
+      default:
+        throw new IllegalStateException("Invalid class member: " + child.getToken());
     }
-
-    this.currentNode = n;
-    callback.visit(this, n, parent);
   }
 
   private void handleMemberFieldDef(Node n, Node child) {
-    Node previousHoistScopeRoot = currentHoistScopeRoot;
+    pushTask(SET_HOIST_SCOPE_ROOT, currentHoistScopeRoot, null);
+    pushTask(EXIT_SCOPE, null, null);
+    pushTask(TRAVERSE_BRANCH, child, n);
     currentHoistScopeRoot = n;
     pushScope(child);
-    traverseBranch(child, n);
-    popScope();
-    currentHoistScopeRoot = previousHoistScopeRoot;
   }
 
   private void traverseChildren(Node n) {
-    for (Node child = n.getFirstChild(); child != null; ) {
-      // child could be replaced, in which case our child node
-      // would no longer point to the true next
-      Node next = child.getNext();
-      traverseBranch(child, n);
-      child = next;
-    }
+    int depth = taskCount;
+    pushChildren(n);
+    runTasksFrom(depth);
   }
 
   /**
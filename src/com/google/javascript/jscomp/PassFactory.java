@@ -21,6 +21,7 @@ import static com.google.common.base.Preconditions.checkState;
 import com.google.auto.value.AutoValue;
 import com.google.errorprone.annotations.ForOverride;
 import java.util.function.Function;
+import org.jspecify.annotations.Nullable;
 
 /**
  * A factory for creating JSCompiler passes based on the Options injected.
@@ -46,6 +47,18 @@ public abstract class PassFactory {
    */
   abstract Function<AbstractCompiler, ? extends CompilerPass> getInternalFactory();
 
+  /**
+   * Creates the callback of a pass that is just one traversal of the main AST, or null for any other
+   * kind of pass.
+   *
+   * <p>{@link PhaseOptimizer} may run consecutive passes that have a callback in a single combined
+   * traversal.
+   *
+   * @see Builder#setTraversalCallback
+   */
+  abstract @Nullable Function<AbstractCompiler, ? extends NodeTraversal.Callback>
+      getTraversalCallbackFactory();
+
   public abstract Builder toBuilder();
 
   PassFactory() {
@@ -64,6 +77,27 @@ public abstract class PassFactory {
     public abstract Builder setInternalFactory(
         Function<AbstractCompiler, ? extends CompilerPass> x);
 
+    abstract Builder setTraversalCallbackFactory(
+        @Nullable Function<AbstractCompiler, ? extends NodeTraversal.Callback> x);
+
+    /**
+     * Declares the pass as a single {@link NodeTraversal} of the main AST (not the externs) with
+     * the callback created by the given factory.
+     *
+     * <p>The callback must not modify the AST and must not depend on other nodes having been
+     * visited by the previous passes, nor call back into the {@link NodeTraversal} to traverse
+     * other subtrees. This allows {@link PhaseOptimizer} to fuse it with the neighbouring passes
+     * with the same property, as by {@link CombinedCompilerPass}.
+     */
+    public final Builder setTraversalCallback(
+        Function<AbstractCompiler, ? extends NodeTraversal.Callback> callbackFactory) {
+      return setTraversalCallbackFactory(callbackFactory)
+          .setInternalFactory(
+              (compiler) ->
+                  (externs, root) ->
+                      NodeTraversal.traverse(compiler, root, callbackFactory.apply(compiler)));
+    }
+
     @ForOverride
     abstract PassFactory autoBuild();
 
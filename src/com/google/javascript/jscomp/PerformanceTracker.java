@@ -24,6 +24,7 @@ import static java.lang.Math.max;
 import static java.util.Comparator.comparingLong;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultiset;
 import com.google.javascript.jscomp.CompilerOptions.TracerMode;
@@ -357,6 +358,40 @@ public final class PerformanceTracker {
     this.ambiguatePropertiesSummary = summary;
   }
 
+  private String controlFlowGraphCacheSummary = "not used";
+
+  /** Sets the summary of the control flow graphs shared between passes. */
+  public void setControlFlowGraphCacheSummary(String summary) {
+    this.controlFlowGraphCacheSummary = summary;
+  }
+
+  private String syntacticScopeCacheSummary = "not used";
+
+  /** Sets the summary of the syntactic scopes shared between passes. */
+  public void setSyntacticScopeCacheSummary(String summary) {
+    this.syntacticScopeCacheSummary = summary;
+  }
+
+  /** Returns a one line summary of the use of a cache. */
+  static String describeCache(long hits, long misses) {
+    long total = hits + misses;
+    return String.format(
+        "%d hits, %d misses, %.1f%% hit rate",
+        hits, misses, total == 0 ? 0.0 : (100.0 * hits) / total);
+  }
+
+  private String dataFlowSummary = "not used";
+  private ImmutableList<String> slowestDataFlowAnalyses = ImmutableList.of();
+
+  /**
+   * Sets the summary of the dataflow analyses measured by a {@link DataFlowBudget}, and the slowest
+   * of them as lines of comma separated pass, function, runtime, steps and whether it was skipped.
+   */
+  public void setDataFlowSummary(String summary, ImmutableList<String> slowestAnalyses) {
+    this.dataFlowSummary = summary;
+    this.slowestDataFlowAnalyses = slowestAnalyses;
+  }
+
   /**
    * Prints a summary, which contains aggregate stats for all runs of each pass and a log, which
    * contains stats for each individual run.
@@ -386,7 +421,10 @@ public final class PerformanceTracker {
             "Estimated GzSize(bytes): " + this.gzCodeSize,
             "",
             "DisambiguateProperties: " + this.disambiguatePropertiesSummary,
-            "AmbiguateProperties: " + this.ambiguatePropertiesSummary));
+            "AmbiguateProperties: " + this.ambiguatePropertiesSummary,
+            "ControlFlowGraphCache: " + this.controlFlowGraphCacheSummary,
+            "SyntacticScopeCache: " + this.syntacticScopeCacheSummary,
+            "DataFlow: " + this.dataFlowSummary));
 
     output.println(
         lines(
@@ -441,6 +479,15 @@ public final class PerformanceTracker {
           stats.gzSize);
     }
 
+    if (!this.slowestDataFlowAnalyses.isEmpty()) {
+      output.println(
+          lines(
+              "", //
+              "Slowest dataflow analyses:",
+              "pass,function,runtime(ms),steps,skipped"));
+      this.slowestDataFlowAnalyses.forEach(output::println);
+    }
+
     if (this.astManifest != null) {
       output.println(
           lines(
@@ -17,6 +17,7 @@
 package com.google.javascript.jscomp;
 
 import static com.google.common.base.Preconditions.checkState;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
@@ -29,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
+import org.jspecify.annotations.Nullable;
 
 /** An object that optimizes the order of compiler passes. */
 class PhaseOptimizer implements CompilerPass {
@@ -113,23 +115,52 @@ class PhaseOptimizer implements CompilerPass {
    */
   void consume(List<PassFactory> factories) {
     Loop currentLoop = new Loop();
+    List<PassFactory> currentFusion = new ArrayList<>();
     for (PassFactory factory : factories) {
       if (factory.isRunInFixedPointLoop()) {
+        addFusedPasses(currentFusion);
         currentLoop.addLoopedPass(factory);
       } else {
         if (currentLoop.isPopulated()) {
           passes.add(currentLoop);
           currentLoop = new Loop();
         }
-        addOneTimePass(factory);
+        if (canFuse(factory)) {
+          currentFusion.add(factory);
+        } else {
+          addFusedPasses(currentFusion);
+          addOneTimePass(factory);
+        }
       }
     }
 
+    addFusedPasses(currentFusion);
     if (currentLoop.isPopulated()) {
       passes.add(currentLoop);
     }
   }
 
+  /**
+   * Whether the given one-time pass may share its traversal with its neighbours. Fusion is turned
+   * off in the development modes that inspect the AST or write logs for every single pass.
+   */
+  private boolean canFuse(PassFactory factory) {
+    return factory.getTraversalCallbackFactory() != null
+        && validityCheck == null
+        && !printAstHashcodes
+        && !compiler.isDebugLoggingEnabled();
+  }
+
+  /** Adds the given consecutive traversal passes to the compile sequence and clears the list. */
+  private void addFusedPasses(List<PassFactory> factories) {
+    if (factories.size() == 1) {
+      addOneTimePass(factories.get(0));
+    } else if (factories.size() > 1) {
+      passes.add(new FusedPass(ImmutableList.copyOf(factories)));
+    }
+    factories.clear();
+  }
+
   /**
    * Add the pass generated by the given factory to the compile sequence. This pass will be run
    * once.
@@ -264,6 +295,123 @@ class PhaseOptimizer implements CompilerPass {
     }
   }
 
+  /**
+   * One-time passes declared with {@link PassFactory.Builder#setTraversalCallback} that run
+   * together in a single {@link CombinedCompilerPass} traversal.
+   *
+   * <p>With a {@link PerformanceTracker}, each pass is reported on its own with the time spent in
+   * its callback. The time of the shared walk itself is counted in the first pass, which would
+   * have made the walk without fusion as well.
+   */
+  @VisibleForTesting
+  class FusedPass implements CompilerPass {
+    private final ImmutableList<PassFactory> factories;
+    private final String name;
+
+    FusedPass(ImmutableList<PassFactory> factories) {
+      checkState(factories.size() > 1, factories);
+      this.factories = factories;
+      List<String> names = new ArrayList<>();
+      for (PassFactory factory : factories) {
+        checkState(canFuse(factory), factory);
+        names.add(factory.getName());
+      }
+      this.name = "fused(" + String.join(",", names) + ")";
+    }
+
+    @Override
+    public void process(Node externs, Node root) {
+      logger.fine("Running fused passes " + name);
+      Tracer tracer = new Tracer("Compiler", name);
+
+      // The passes do not change the AST, so the traversal can stand in for the first pass and the
+      // others can be done straight after it, in the same order as without fusion.
+      compiler.beforePass(factories.get(0).getName());
+      List<NodeTraversal.Callback> callbacks = new ArrayList<>(factories.size());
+      List<TimedCallback> timedCallbacks = new ArrayList<>(factories.size());
+      for (PassFactory factory : factories) {
+        NodeTraversal.Callback callback = factory.getTraversalCallbackFactory().apply(compiler);
+        if (tracker != null) {
+          TimedCallback timedCallback = new TimedCallback(callback);
+          timedCallbacks.add(timedCallback);
+          callback = timedCallback;
+        }
+        callbacks.add(callback);
+      }
+      long startNanos = System.nanoTime();
+      new CombinedCompilerPass(compiler, callbacks).process(externs, root);
+      long walkNanos = System.nanoTime() - startNanos;
+      compiler.afterPass(factories.get(0).getName());
+      for (PassFactory factory : factories.subList(1, factories.size())) {
+        compiler.beforePass(factory.getName());
+        compiler.afterPass(factory.getName());
+      }
+      tracer.stop();
+
+      if (tracker != null) {
+        for (TimedCallback timedCallback : timedCallbacks) {
+          walkNanos -= timedCallback.nanos;
+        }
+        for (int i = 0; i < factories.size(); i++) {
+          long nanos = timedCallbacks.get(i).nanos + (i == 0 ? walkNanos : 0);
+          tracker.recordPassStart(factories.get(i).getName(), true);
+          tracker.recordPassStop(factories.get(i).getName(), NANOSECONDS.toMillis(nanos));
+        }
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "pass: " + name;
+    }
+  }
+
+  /** Measures the time spent in a callback of a {@link FusedPass}. */
+  private static final class TimedCallback implements NodeTraversal.ScopedCallback {
+    private final NodeTraversal.Callback callback;
+    private final NodeTraversal.@Nullable ScopedCallback scopedCallback;
+    private long nanos;
+
+    TimedCallback(NodeTraversal.Callback callback) {
+      this.callback = callback;
+      this.scopedCallback =
+          callback instanceof NodeTraversal.ScopedCallback scoped ? scoped : null;
+    }
+
+    @Override
+    public boolean shouldTraverse(NodeTraversal t, Node n, Node parent) {
+      long start = System.nanoTime();
+      boolean result = callback.shouldTraverse(t, n, parent);
+      nanos += System.nanoTime() - start;
+      return result;
+    }
+
+    @Override
+    public void visit(NodeTraversal t, Node n, Node parent) {
+      long start = System.nanoTime();
+      callback.visit(t, n, parent);
+      nanos += System.nanoTime() - start;
+    }
+
+    @Override
+    public void enterScope(NodeTraversal t) {
+      if (scopedCallback != null) {
+        long start = System.nanoTime();
+        scopedCallback.enterScope(t);
+        nanos += System.nanoTime() - start;
+      }
+    }
+
+    @Override
+    public void exitScope(NodeTraversal t) {
+      if (scopedCallback != null) {
+        long start = System.nanoTime();
+        scopedCallback.exitScope(t);
+        nanos += System.nanoTime() - start;
+      }
+    }
+  }
+
   boolean hasScopeChanged(Node n) {
     // Outside loops we don't track changed scopes, so we visit them all.
     if (!inLoop) {
@@ -19,6 +19,7 @@ package com.google.javascript.jscomp;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static java.lang.Math.max;
 import static java.util.stream.Collectors.joining;
 
 import com.google.common.base.MoreObjects;
@@ -35,7 +36,7 @@ import com.google.javascript.jscomp.OptimizeCalls.ReferenceMap;
 import com.google.javascript.jscomp.graph.DiGraph;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
 import com.google.javascript.jscomp.graph.FixedPointGraphTraversal;
-import com.google.javascript.jscomp.graph.LinkedDirectedGraph;
+import com.google.javascript.jscomp.graph.IndexedDiGraph;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.JSDocInfo;
 import com.google.javascript.rhino.Node;
@@ -138,8 +139,8 @@ class PureFunctionIdentifier implements OptimizeCalls.CallGraphCompilerPass {
    * propagate side-effect information across it's entire structure. The resultant side-effects can
    * then be attached to invocation sites.
    */
-  private final LinkedDirectedGraph<AmbiguatedFunctionSummary, SideEffectPropagation>
-      reverseCallGraph = LinkedDirectedGraph.createWithoutAnnotations();
+  private final IndexedDiGraph<AmbiguatedFunctionSummary, SideEffectPropagation>
+      reverseCallGraph = IndexedDiGraph.createWithoutAnnotations();
 
   /**
    * A summary for a function for which no definition was found.
@@ -537,12 +538,17 @@ class PureFunctionIdentifier implements OptimizeCalls.CallGraphCompilerPass {
    *
    * <p>This is an iterative process executed until a fixed point, where no caller summary would be
    * given new side-effects from from any callee summary, is reached.
+   *
+   * <p>Side effects only accumulate and {@link SideEffectPropagation#propagate} only updates the
+   * caller, so each group of mutually recursive functions can be solved on its own, and groups that
+   * don't call each other can be solved in parallel.
    */
   private void propagateSideEffects() {
     FixedPointGraphTraversal.newTraversal(
             (AmbiguatedFunctionSummary source,
                 SideEffectPropagation edge,
                 AmbiguatedFunctionSummary destination) -> edge.propagate(source, destination))
+        .byComponents(max(1, compiler.getOptions().numParallelThreads))
         .computeFixedPoint(reverseCallGraph);
   }
 
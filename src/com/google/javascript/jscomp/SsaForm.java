@@ -0,0 +1,823 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.VariableDefEffects.DefEffect;
+import com.google.javascript.jscomp.VariableDefEffects.Definition;
+import com.google.javascript.jscomp.VariableUseEffects.ReachingUses;
+import com.google.javascript.rhino.Node;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The static single assignment form of the variables of a function, built from its control flow
+ * graph.
+ *
+ * <p>Every definition of a variable is a distinct value, and so is every node where different
+ * values of a variable meet (a phi). Phis are placed on the iterated dominance frontiers of the
+ * definitions, and a single walk of the dominator tree then finds the operands of the phis and the
+ * values that the nodes leave the variables they change with. Only those are kept: the value of a
+ * variable at any other node is the one left by its closest dominator that changes the variable or
+ * has a phi for it. This finds the must-be-reaching definitions and the maybe-reaching uses of the
+ * variables, from the effects of each node computed by {@link VariableDefEffects} and {@link
+ * VariableUseEffects}, without iterating to a fixed point:
+ *
+ * <ul>
+ *   <li>{@link #getDef} returns the unique definition that reaches a use, if any. The walk records
+ *       the values that each node sees of the variables it reads or changes, and of what their
+ *       definitions read, so this is a lookup of the value of the variable at the use.
+ *   <li>{@link #getUses} returns the uses that a definition may reach. They are computed once per
+ *       value, by following the phis that the value flows into.
+ * </ul>
+ *
+ * <p>This works at the granularity of CFG nodes. A definition that may or may not happen, like one
+ * in a conditional expression, is a value with no known definition; uses still see the previous
+ * value through it. The values of escaped variables are tracked too, since a definition no longer
+ * reaches once a variable it reads is redefined, but they never have a reaching definition or uses.
+ * Nodes that are not reachable from the entry have neither.
+ */
+final class SsaForm {
+
+  /** The kinds of values. */
+  private enum Kind {
+    /** The value of a variable when the function is entered. */
+    ENTRY,
+    /** The value assigned by a definition. */
+    DEFINITION,
+    /** A value that may or may not have been assigned by a definition. */
+    UNKNOWN,
+    /** The value at a node where different values meet. */
+    PHI,
+  }
+
+  /** A value of a variable. */
+  private static final class Value {
+    final int var;
+    final Kind kind;
+    final @Nullable Definition definition;
+
+    // For a definition, the other variables that it reads, and their values when it is evaluated.
+    final int[] dependencyVars;
+    final Value[] dependencyValues;
+
+    // For a phi, the values it merges. For any other value, the previous value of the variable, if
+    // uses may still see it.
+    final List<Value> operands = new ArrayList<>();
+
+    // The value that this phi turned out to always be.
+    @Nullable Value replacement;
+
+    // For a phi, the definition it must be, or CONFLICT. Null until known.
+    @Nullable Value mustBe;
+
+    // The values that may be this value, and the nodes that use this value.
+    final List<Value> users = new ArrayList<>();
+    final BitSet usedAt = new BitSet();
+    @Nullable ImmutableList<Node> reachingUses;
+
+    Value(
+        int var,
+        Kind kind,
+        @Nullable Definition definition,
+        int[] dependencyVars,
+        Value[] dependencyValues) {
+      this.var = var;
+      this.kind = kind;
+      this.definition = definition;
+      this.dependencyVars = dependencyVars;
+      this.dependencyValues = dependencyValues;
+    }
+
+    Value(int var, Kind kind, @Nullable Definition definition) {
+      this(var, kind, definition, NO_DEPENDENCIES, new Value[0]);
+    }
+  }
+
+  private static final int[] NO_DEPENDENCIES = new int[0];
+
+  /** The definition of a value that may be one of several definitions. */
+  private static final Value CONFLICT = new Value(-1, Kind.UNKNOWN, null);
+
+  private final CompactControlFlowGraph graph;
+  private final Set<Var> escaped;
+  private final Map<String, Integer> indicesByName = new HashMap<>();
+  private final Map<Var, Integer> indicesByVar = new HashMap<>();
+  private final Var[] vars;
+  private final DataFlowBudget.@Nullable Meter meter;
+
+  // The immediate dominator of every node, or -1 for the nodes that are not reachable.
+  private int[] idom;
+
+  // The value of every variable when the function is entered.
+  private final Value[] initialValues;
+
+  // The phis of every node. Null for the nodes that have none.
+  private final @Nullable List<Value>[] phis;
+
+  // By node and variable, see key(): the values of the variables that the node reads or changes,
+  // and of the variables their definitions read, when the node is entered. And the values that the
+  // node leaves the variables it has a phi for or changes with.
+  private final Map<Long, Value> entryValues = new HashMap<>();
+  private final Map<Long, Value> valuesLeft = new HashMap<>();
+
+  @SuppressWarnings("unchecked") // Generic array creation.
+  private SsaForm(
+      CompactControlFlowGraph graph,
+      Set<Var> escaped,
+      Map<String, Var> allVarsInFn,
+      DataFlowBudget.@Nullable Meter meter) {
+    this.graph = graph;
+    this.escaped = escaped;
+    this.meter = meter;
+    this.vars = allVarsInFn.values().toArray(new Var[0]);
+    this.initialValues = new Value[vars.length];
+    for (int i = 0; i < vars.length; i++) {
+      indicesByName.put(vars[i].getName(), i);
+      indicesByVar.put(vars[i], i);
+      initialValues[i] =
+          new Value(i, Kind.ENTRY, new Definition(vars[i].getScope().getRootNode()));
+    }
+    this.phis = (List<Value>[]) new List<?>[graph.getNodeCount()];
+  }
+
+  /**
+   * Builds the static single assignment form of the variables of a function.
+   *
+   * @param cfg The control flow graph of the function.
+   * @param escaped The variables that escape the function, see {@link
+   *     DataFlowAnalysis#computeEscaped}.
+   * @param allVarsInFn All variables declared in the function, by name.
+   */
+  static SsaForm build(
+      AbstractCompiler compiler,
+      ControlFlowGraph<Node> cfg,
+      Set<Var> escaped,
+      Map<String, Var> allVarsInFn) {
+    return checkNotNull(build(compiler, cfg, escaped, allVarsInFn, null));
+  }
+
+  /**
+   * Like {@link #build(AbstractCompiler, ControlFlowGraph, Set, Map)}, but counts each visit of a
+   * node and each value created as a step of the meter, and gives up once it is out of budget.
+   *
+   * @return null if the meter ran out of budget before the form was built
+   */
+  static @Nullable SsaForm build(
+      AbstractCompiler compiler,
+      ControlFlowGraph<Node> cfg,
+      Set<Var> escaped,
+      Map<String, Var> allVarsInFn,
+      DataFlowBudget.@Nullable Meter meter) {
+    SsaForm ssa = new SsaForm(CompactControlFlowGraph.copyOf(cfg), escaped, allVarsInFn, meter);
+    boolean built =
+        ssa.construct(
+            new VariableDefEffects(compiler, escaped, allVarsInFn),
+            new VariableUseEffects(escaped, allVarsInFn));
+    return built ? ssa : null;
+  }
+
+  /** Counts steps on the meter, if any. Returns false once it is out of budget. */
+  private boolean step(long count) {
+    return meter == null || meter.step(count);
+  }
+
+  /** Builds the form. Returns false if the meter ran out of budget. */
+  private boolean construct(VariableDefEffects defs, VariableUseEffects uses) {
+    int nodeCount = graph.getNodeCount();
+    idom = computeImmediateDominators(graph);
+
+    // What each reachable node defines and uses, and where each variable is defined.
+    List<List<DefEffect>> effects = new ArrayList<>(Collections.nCopies(nodeCount, null));
+    List<ReachingUses> reachingUses = new ArrayList<>(Collections.nCopies(nodeCount, null));
+    BitSet[] definedAt = new BitSet[vars.length];
+    // The variables that the definitions of each variable read.
+    BitSet[] readByDefinitions = new BitSet[vars.length];
+    for (int i = 0; i < vars.length; i++) {
+      definedAt[i] = new BitSet();
+      readByDefinitions[i] = new BitSet();
+    }
+    for (int node = 0; node < nodeCount; node++) {
+      Node n = graph.getValue(node);
+      if (n == null || idom[node] < 0) {
+        continue;
+      }
+      if (!step(1)) {
+        return false;
+      }
+      List<DefEffect> effect = defs.computeEffects(n);
+      ReachingUses use =
+          uses.computeReachingUses(n, BitVectorDataFlowAnalysis.hasExceptionEdge(graph, node));
+      effects.set(node, effect);
+      reachingUses.set(node, use);
+      for (DefEffect change : effect) {
+        int var = indicesByVar.get(change.var());
+        definedAt[var].set(node);
+        if (change.definition() != null) {
+          for (Var dependency : change.definition().depends) {
+            Integer index = indicesByVar.get(dependency);
+            if (index != null && index != var) {
+              readByDefinitions[var].set(index);
+            }
+          }
+        }
+      }
+      for (Var var : use.killed) {
+        definedAt[indicesByVar.get(var)].set(node);
+      }
+    }
+
+    if (!placePhis(computeDominanceFrontiers(graph, idom), definedAt)) {
+      return false;
+    }
+    List<Value> throughValues = rename(effects, reachingUses, readByDefinitions);
+    if (throughValues == null) {
+      return false;
+    }
+
+    List<Value> allPhis = new ArrayList<>();
+    for (List<Value> nodePhis : phis) {
+      if (nodePhis != null) {
+        allPhis.addAll(nodePhis);
+      }
+    }
+    removeTrivialPhis(allPhis);
+    resolvePhiDefinitions(allPhis);
+
+    // Link each value to the values that may be it, and to the nodes that use it.
+    for (Value phi : allPhis) {
+      if (phi.replacement == null) {
+        for (Value operand : phi.operands) {
+          Value value = find(operand);
+          if (value != phi) {
+            value.users.add(phi);
+          }
+        }
+      }
+    }
+    for (Value value : throughValues) {
+      find(value.operands.get(0)).users.add(value);
+    }
+    // The uses were recorded on the values seen while renaming.
+    for (Value phi : allPhis) {
+      if (phi.replacement != null) {
+        find(phi).usedAt.or(phi.usedAt);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Computes the immediate dominator of every node, or -1 for nodes that are not reachable. This is
+   * the algorithm of Cooper, Harvey and Kennedy, which relies on the nodes being numbered in
+   * reverse postorder.
+   */
+  private static int[] computeImmediateDominators(CompactControlFlowGraph graph) {
+    int nodeCount = graph.getNodeCount();
+    int entry = graph.getEntry();
+    int[] idom = new int[nodeCount];
+    Arrays.fill(idom, -1);
+    idom[entry] = entry;
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (int node = 0; node < nodeCount; node++) {
+        if (node == entry) {
+          continue;
+        }
+        int newIdom = -1;
+        for (int i = graph.getInEdgeStart(node); i < graph.getInEdgeEnd(node); i++) {
+          int pred = graph.getSource(graph.getInEdge(i));
+          if (idom[pred] >= 0) {
+            newIdom = newIdom < 0 ? pred : intersect(idom, pred, newIdom);
+          }
+        }
+        if (newIdom != idom[node]) {
+          idom[node] = newIdom;
+          changed = true;
+        }
+      }
+    }
+    return idom;
+  }
+
+  /** Returns the closest common dominator of two nodes. */
+  private static int intersect(int[] idom, int a, int b) {
+    while (a != b) {
+      while (a > b) {
+        a = idom[a];
+      }
+      while (b > a) {
+        b = idom[b];
+      }
+    }
+    return a;
+  }
+
+  /** Computes the dominance frontier of every reachable node. */
+  private static int[][] computeDominanceFrontiers(CompactControlFlowGraph graph, int[] idom) {
+    int nodeCount = graph.getNodeCount();
+    int[] sizes = new int[nodeCount];
+    int[][] frontiers = new int[nodeCount][];
+    // Walk the dominator tree up from the predecessors of each join, once to size the frontiers
+    // and once to fill them. A node may be reached from several predecessors of the same join, but
+    // the join is only added once.
+    int[] lastJoin = new int[nodeCount];
+    for (int pass = 0; pass < 2; pass++) {
+      Arrays.fill(lastJoin, -1);
+      for (int join = 0; join < nodeCount; join++) {
+        if (idom[join] < 0 || graph.getInEdgeEnd(join) - graph.getInEdgeStart(join) < 2) {
+          continue;
+        }
+        for (int i = graph.getInEdgeStart(join); i < graph.getInEdgeEnd(join); i++) {
+          int pred = graph.getSource(graph.getInEdge(i));
+          if (idom[pred] < 0) {
+            continue;
+          }
+          for (int runner = pred; runner != idom[join]; runner = idom[runner]) {
+            if (lastJoin[runner] == join) {
+              break;
+            }
+            lastJoin[runner] = join;
+            if (pass == 0) {
+              sizes[runner]++;
+            } else {
+              frontiers[runner][--sizes[runner]] = join;
+            }
+          }
+        }
+      }
+      if (pass == 0) {
+        for (int node = 0; node < nodeCount; node++) {
+          frontiers[node] = new int[sizes[node]];
+        }
+      }
+    }
+    return frontiers;
+  }
+
+  /**
+   * Places a phi for each variable on the iterated dominance frontier of its definitions. Returns
+   * false if the meter ran out of budget.
+   */
+  private boolean placePhis(int[][] frontiers, BitSet[] definedAt) {
+    int nodeCount = graph.getNodeCount();
+    // The variable that each node last got a phi for, and was last queued for, plus one.
+    int[] hasPhi = new int[nodeCount];
+    int[] queued = new int[nodeCount];
+    Deque<Integer> worklist = new ArrayDeque<>();
+    for (int var = 0; var < vars.length; var++) {
+      BitSet sites = definedAt[var];
+      for (int node = sites.nextSetBit(0); node >= 0; node = sites.nextSetBit(node + 1)) {
+        queued[node] = var + 1;
+        worklist.add(node);
+      }
+      while (!worklist.isEmpty()) {
+        for (int join : frontiers[worklist.remove()]) {
+          if (hasPhi[join] == var + 1) {
+            continue;
+          }
+          hasPhi[join] = var + 1;
+          if (!step(1)) {
+            return false;
+          }
+          if (phis[join] == null) {
+            phis[join] = new ArrayList<>();
+          }
+          phis[join].add(new Value(var, Kind.PHI, null));
+          if (queued[join] != var + 1) {
+            queued[join] = var + 1;
+            worklist.add(join);
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Walks the dominator tree to find the values that the nodes leave the variables they change
+   * with, the operands of the phis, and the values that the nodes use.
+   *
+   * @param readByDefinitions The variables that the definitions of each variable read.
+   * @return The values that nodes leave variables with, through which the previous values may be
+   *     seen, or null if the meter ran out of budget.
+   */
+  private @Nullable List<Value> rename(
+      List<List<DefEffect>> effects,
+      List<ReachingUses> reachingUses,
+      BitSet[] readByDefinitions) {
+    int nodeCount = graph.getNodeCount();
+
+    // The children of every node in the dominator tree.
+    int[] childStarts = new int[nodeCount + 1];
+    for (int node = 0; node < nodeCount; node++) {
+      if (idom[node] >= 0 && node != graph.getEntry()) {
+        childStarts[idom[node] + 1]++;
+      }
+    }
+    for (int node = 0; node < nodeCount; node++) {
+      childStarts[node + 1] += childStarts[node];
+    }
+    int[] children = new int[childStarts[nodeCount]];
+    int[] next = Arrays.copyOf(childStarts, nodeCount);
+    for (int node = 0; node < nodeCount; node++) {
+      if (idom[node] >= 0 && node != graph.getEntry()) {
+        children[next[idom[node]]++] = node;
+      }
+    }
+
+    Value[] current = initialValues.clone();
+    // The values replaced while visiting the nodes being visited, to restore them afterwards.
+    List<Value> replaced = new ArrayList<>();
+    int[] replacedMark = new int[nodeCount];
+    List<Value> throughValues = new ArrayList<>();
+    // The node that last mentioned and recorded the value of each variable, plus one, and the
+    // variables it mentioned.
+    int[] mentionedBy = new int[vars.length];
+    int[] recordedBy = new int[vars.length];
+    List<Integer> mentionedVars = new ArrayList<>();
+    // The node that last changed each variable, plus one, and the variables it changed.
+    int[] changedBy = new int[vars.length];
+    List<Integer> changedVars = new ArrayList<>();
+
+    // The nodes to visit, and the bitwise complement of the nodes to leave.
+    Deque<Integer> stack = new ArrayDeque<>();
+    stack.push(graph.getEntry());
+    while (!stack.isEmpty()) {
+      int node = stack.pop();
+      if (node < 0) {
+        for (int i = replaced.size() - 1; i >= replacedMark[~node]; i--) {
+          Value value = replaced.remove(i);
+          current[value.var] = value;
+        }
+        continue;
+      }
+      if (!step(1)) {
+        return null;
+      }
+      replacedMark[node] = replaced.size();
+      stack.push(~node);
+
+      if (phis[node] != null) {
+        for (Value phi : phis[node]) {
+          replaced.add(current[phi.var]);
+          current[phi.var] = phi;
+          valuesLeft.put(key(node, phi.var), phi);
+        }
+      }
+      ReachingUses use = reachingUses.get(node);
+      List<DefEffect> effect = effects.get(node);
+      if (effect != null) {
+        for (Var var : use.used) {
+          current[indicesByVar.get(var)].usedAt.set(node);
+        }
+        // Record the values that getDef looks up for the variables the node reads or changes.
+        mentionedVars.clear();
+        for (DefEffect change : effect) {
+          mention(node, indicesByVar.get(change.var()), mentionedBy, mentionedVars);
+        }
+        for (Var var : use.used) {
+          mention(node, indicesByVar.get(var), mentionedBy, mentionedVars);
+        }
+        for (Var var : use.killed) {
+          mention(node, indicesByVar.get(var), mentionedBy, mentionedVars);
+        }
+        int recordCount = entryValues.size();
+        for (int var : mentionedVars) {
+          recordEntryValue(node, var, current, recordedBy);
+          BitSet read = readByDefinitions[var];
+          for (int dep = read.nextSetBit(0); dep >= 0; dep = read.nextSetBit(dep + 1)) {
+            recordEntryValue(node, dep, current, recordedBy);
+          }
+        }
+        if (!step(entryValues.size() - recordCount)) {
+          return null;
+        }
+        // The values that the changed variables had when the node was entered are the ones it
+        // replaces, once per variable.
+        int entryMark = replaced.size();
+        changedVars.clear();
+        for (DefEffect change : effect) {
+          int var = indicesByVar.get(change.var());
+          Value value;
+          if (change.redefines() && change.definition() != null) {
+            value = newDefinition(var, change.definition(), current);
+          } else {
+            value = new Value(var, Kind.UNKNOWN, null);
+          }
+          setValue(node, var, value, current, replaced, changedBy, changedVars);
+        }
+        for (Var killed : use.killed) {
+          int var = indicesByVar.get(killed);
+          if (changedBy[var] != node + 1) {
+            // Not a definition as far as reaching definitions are concerned. Giving it a value of
+            // its own is conservative.
+            Value value = new Value(var, Kind.UNKNOWN, null);
+            setValue(node, var, value, current, replaced, changedBy, changedVars);
+          }
+        }
+        if (!step(changedVars.size())) {
+          return null;
+        }
+        for (int var : changedVars) {
+          valuesLeft.put(key(node, var), current[var]);
+        }
+        for (int i = entryMark; i < replaced.size(); i++) {
+          Value entryValue = replaced.get(i);
+          if (!use.killed.contains(vars[entryValue.var])) {
+            // The node may not redefine the variable, so its uses may still see the previous value.
+            Value value = current[entryValue.var];
+            value.operands.add(entryValue);
+            throughValues.add(value);
+          }
+        }
+      }
+
+      for (int e = graph.getOutEdgeStart(node); e < graph.getOutEdgeEnd(node); e++) {
+        List<Value> successorPhis = phis[graph.getDestination(e)];
+        if (successorPhis != null) {
+          for (Value phi : successorPhis) {
+            phi.operands.add(current[phi.var]);
+          }
+        }
+      }
+      for (int i = childStarts[node]; i < childStarts[node + 1]; i++) {
+        stack.push(children[i]);
+      }
+    }
+    return throughValues;
+  }
+
+  /** Sets the value of a variable while a node is visited. */
+  private static void setValue(
+      int node,
+      int var,
+      Value value,
+      Value[] current,
+      List<Value> replaced,
+      int[] changedBy,
+      List<Integer> changedVars) {
+    if (changedBy[var] != node + 1) {
+      changedBy[var] = node + 1;
+      changedVars.add(var);
+      replaced.add(current[var]);
+    }
+    current[var] = value;
+  }
+
+  /** Adds a variable to those that a node reads or changes, once. */
+  private static void mention(int node, int var, int[] mentionedBy, List<Integer> mentionedVars) {
+    if (mentionedBy[var] != node + 1) {
+      mentionedBy[var] = node + 1;
+      mentionedVars.add(var);
+    }
+  }
+
+  /** Records the value of a variable when a node is entered, once. */
+  private void recordEntryValue(int node, int var, Value[] current, int[] recordedBy) {
+    if (recordedBy[var] != node + 1) {
+      recordedBy[var] = node + 1;
+      entryValues.put(key(node, var), current[var]);
+    }
+  }
+
+  /** The key of a variable at a node in entryValues and valuesLeft. */
+  private long key(int node, int var) {
+    return (long) node * vars.length + var;
+  }
+
+  /** Creates the value of a definition, which depends on the current values of what it reads. */
+  private Value newDefinition(int var, Definition definition, Value[] current) {
+    int[] dependencyVars = new int[definition.depends.size()];
+    int count = 0;
+    for (Var dependency : definition.depends) {
+      Integer index = indicesByVar.get(dependency);
+      // The variable itself is read before it is redefined, so its previous value doesn't matter.
+      if (index != null && index != var) {
+        dependencyVars[count++] = index;
+      }
+    }
+    dependencyVars = Arrays.copyOf(dependencyVars, count);
+    Value[] dependencyValues = new Value[count];
+    for (int i = 0; i < count; i++) {
+      dependencyValues[i] = current[dependencyVars[i]];
+    }
+    return new Value(var, Kind.DEFINITION, definition, dependencyVars, dependencyValues);
+  }
+
+  /** Replaces the phis whose operands are all the same value, or the phi itself, by that value. */
+  private static void removeTrivialPhis(List<Value> phis) {
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (Value phi : phis) {
+        if (phi.replacement != null) {
+          continue;
+        }
+        Value same = null;
+        boolean trivial = true;
+        for (Value operand : phi.operands) {
+          Value value = find(operand);
+          if (value == phi || value == same) {
+            continue;
+          }
+          if (same != null) {
+            trivial = false;
+            break;
+          }
+          same = value;
+        }
+        if (trivial && same != null) {
+          phi.replacement = same;
+          changed = true;
+        }
+      }
+    }
+  }
+
+  /** Returns the value that a value turned out to always be. */
+  private static Value find(Value value) {
+    while (value.replacement != null) {
+      value = value.replacement;
+    }
+    return value;
+  }
+
+  /**
+   * Finds the definition that each phi must be. Like for the must-be-reaching definitions, the
+   * phis start out optimistically unknown, so loops don't prevent a definition from reaching.
+   */
+  private static void resolvePhiDefinitions(List<Value> phis) {
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (Value phi : phis) {
+        if (phi.replacement != null) {
+          continue;
+        }
+        Value mustBe = null;
+        for (Value operand : phi.operands) {
+          Value operandMustBe = mustBe(find(operand));
+          if (operandMustBe == null || operandMustBe == mustBe) {
+            continue;
+          }
+          if (mustBe != null) {
+            mustBe = CONFLICT;
+            break;
+          }
+          mustBe = operandMustBe;
+        }
+        if (mustBe != null && mustBe != phi.mustBe) {
+          phi.mustBe = mustBe;
+          changed = true;
+        }
+      }
+    }
+    for (Value phi : phis) {
+      if (phi.mustBe == null) {
+        phi.mustBe = CONFLICT;
+      }
+    }
+  }
+
+  /** Returns the definition a value must be, CONFLICT, or null if not known yet. */
+  private static @Nullable Value mustBe(Value value) {
+    return switch (value.kind) {
+      case ENTRY, DEFINITION -> value;
+      case UNKNOWN -> CONFLICT;
+      case PHI -> value.mustBe;
+    };
+  }
+
+  /**
+   * Returns the value of a variable when a reachable node is entered. This is a lookup if the node
+   * reads or changes the variable, or a definition it reads does. Otherwise it is its phi there,
+   * or the value left by its closest dominator that has a phi for the variable or changes it.
+   */
+  private Value getEntryValue(int node, int var) {
+    Value value = entryValues.get(key(node, var));
+    if (value != null) {
+      return value;
+    }
+    value = valuesLeft.get(key(node, var));
+    while (value == null && node != graph.getEntry()) {
+      node = idom[node];
+      value = valuesLeft.get(key(node, var));
+    }
+    return value != null ? value : initialValues[var];
+  }
+
+  /**
+   * Gets the must-be-reaching definition of a given use node.
+   *
+   * @param name name of a variable of the function. Escaped variables have no must-be-reaching
+   *     definition.
+   * @param useNode the CFG node of the use.
+   */
+  @Nullable Definition getDef(String name, Node useNode) {
+    int node = graph.getIndex(useNode);
+    checkArgument(node >= 0, useNode);
+    Integer var = indicesByName.get(name);
+    if (var == null || escaped.contains(vars[var])) {
+      return null;
+    }
+    if (idom[node] < 0) {
+      return null; // Not reachable.
+    }
+    Value definition = mustBe(find(getEntryValue(node, var)));
+    if (definition == CONFLICT) {
+      return null;
+    }
+    // The definition no longer reaches if a variable it reads has changed since.
+    for (int i = 0; i < definition.dependencyVars.length; i++) {
+      Value dependency = getEntryValue(node, definition.dependencyVars[i]);
+      if (find(dependency) != find(definition.dependencyValues[i])) {
+        return null;
+      }
+    }
+    return definition.definition;
+  }
+
+  @Nullable Node getDefNode(String name, Node useNode) {
+    Definition def = getDef(name, useNode);
+    return def == null ? null : def.node;
+  }
+
+  /**
+   * Gets the nodes that may be using the value assigned to {@code name} in {@code defNode}.
+   *
+   * @param name name of a variable of the function. Escaped variables have no uses.
+   * @param defNode the CFG node of the definition. If it doesn't define the variable, the result
+   *     also includes the uses of the same value elsewhere.
+   * @return the uses that the value of the variable after {@code defNode} may reach, in the order
+   *     of the nodes of the graph.
+   */
+  ImmutableList<Node> getUses(String name, Node defNode) {
+    int node = graph.getIndex(defNode);
+    checkArgument(node >= 0, defNode);
+    Integer var = indicesByName.get(name);
+    if (var == null || escaped.contains(vars[var])) {
+      return ImmutableList.of();
+    }
+    if (idom[node] < 0) {
+      return ImmutableList.of(); // Not reachable.
+    }
+    Value value = valuesLeft.get(key(node, var));
+    value = find(value != null ? value : getEntryValue(node, var));
+    if (value.reachingUses == null) {
+      value.reachingUses = computeReachingUses(value);
+    }
+    return value.reachingUses;
+  }
+
+  /** Collects the uses of a value and of all the values that may be it. */
+  private ImmutableList<Node> computeReachingUses(Value value) {
+    BitSet usedAt = new BitSet();
+    Set<Value> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    Deque<Value> worklist = new ArrayDeque<>();
+    seen.add(value);
+    worklist.add(value);
+    while (!worklist.isEmpty()) {
+      Value current = worklist.remove();
+      usedAt.or(current.usedAt);
+      for (Value user : current.users) {
+        if (seen.add(user)) {
+          worklist.add(user);
+        }
+      }
+    }
+    ImmutableList.Builder<Node> uses = ImmutableList.builder();
+    for (int node = usedAt.nextSetBit(0); node >= 0; node = usedAt.nextSetBit(node + 1)) {
+      uses.add(graph.getValue(node));
+    }
+    return uses.build();
+  }
+}
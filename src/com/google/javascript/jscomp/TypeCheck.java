@@ -69,6 +69,7 @@ import com.google.javascript.rhino.jstype.TemplateType;
 import com.google.javascript.rhino.jstype.TemplateTypeMap;
 import com.google.javascript.rhino.jstype.TemplatizedType;
 import com.google.javascript.rhino.jstype.UnionType;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
@@ -77,6 +78,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.jspecify.annotations.Nullable;
 
 /** Checks the types of JS expressions against any declared type information. */
@@ -397,6 +399,9 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
   private final AbstractCompiler compiler;
   private final TypeValidator validator;
 
+  /** Also collects the errors reported while {@link #checkScript} runs. */
+  private @Nullable List<JSError> reportedErrors;
+
   private final ReverseAbstractInterpreter reverseInterpreter;
 
   private final JSTypeRegistry typeRegistry;
@@ -493,6 +498,30 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
     }
   }
 
+  /**
+   * Like {@link #process}, but hands each SCRIPT of {@code jsRoot} to {@code jsScriptHandler}, in
+   * AST order, instead of checking it. The handler may check the script with {@link #checkScript},
+   * or report diagnostics it already knows about.
+   */
+  void process(Node externsRoot, Node jsRoot, Consumer<Node> jsScriptHandler) {
+    checkNotNull(scopeCreator);
+    checkNotNull(topScope);
+    checkArgument(jsRoot.isRoot(), jsRoot);
+
+    try (DebugTypeLogger debugTypeLogger = new DebugTypeLogger()) {
+      this.debugTypeLogger = debugTypeLogger;
+
+      if (externsRoot != null) {
+        check(externsRoot, true);
+      }
+      inExterns = false;
+      for (Node script = jsRoot.getFirstChild(); script != null; script = script.getNext()) {
+        jsScriptHandler.accept(script);
+      }
+      inferJSDocInfo.process(null, jsRoot);
+    }
+  }
+
   /**
    * Main entry point of this phase for testing code.
    *
@@ -542,7 +571,38 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
   }
 
   private void report(Node n, DiagnosticType diagnosticType, String... arguments) {
-    compiler.report(JSError.make(n, diagnosticType, arguments));
+    report(JSError.make(n, diagnosticType, arguments));
+  }
+
+  private void report(JSError error) {
+    compiler.report(error);
+    if (reportedErrors != null) {
+      reportedErrors.add(error);
+    }
+  }
+
+  /**
+   * Checks a single SCRIPT of the js root. The diagnostics are reported as usual, and also
+   * returned so that the caller can tell which ones this script produced.
+   */
+  ImmutableList<JSError> checkScript(Node script) {
+    checkArgument(script.isScript(), script);
+    checkNotNull(topScope);
+    checkState(reportedErrors == null, "checkScript is not reentrant");
+    List<JSError> errors = new ArrayList<>();
+    reportedErrors = errors;
+    validator.setReportedErrors(errors);
+    try {
+      NodeTraversal.builder()
+          .setCompiler(compiler)
+          .setCallback(this)
+          .setScopeCreator(scopeCreator)
+          .traverseWithScope(script, topScope);
+    } finally {
+      reportedErrors = null;
+      validator.setReportedErrors(null);
+    }
+    return ImmutableList.copyOf(errors);
   }
 
   @Override
@@ -1214,7 +1274,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
       nullCount++;
     } else if (type.isUnknownType()) {
       if (reportUnknownTypes && !n.getParent().isExprResult()) {
-        compiler.report(JSError.make(n, UNKNOWN_EXPR_TYPE));
+        report(JSError.make(n, UNKNOWN_EXPR_TYPE));
       }
       unknownCount++;
     } else {
@@ -1718,7 +1778,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
         boolean superClassHasDeclaredProperty = !propSlot.getValue().isTypeInferred();
         if (superClassHasDeclaredProperty) {
           if (isDeclaredLocally(ctorType, propertyName) && !declaresOverride(info)) {
-            compiler.report(
+            report(
                 JSError.make(
                     n, HIDDEN_SUPERCLASS_PROPERTY, propertyName, superClass.getReferenceName()));
           }
@@ -1738,7 +1798,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
       foundProperty |= interfaceHasProperty;
 
       if (interfaceHasProperty && !declaresOverride(info)) {
-        compiler.report(
+        report(
             JSError.make(
                 n,
                 HIDDEN_INTERFACE_PROPERTY,
@@ -1748,7 +1808,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
     }
 
     if (!foundProperty && declaresOverride(info)) {
-      compiler.report(
+      report(
           JSError.make(
               n, UNKNOWN_OVERRIDE, propertyName, ctorType.getInstanceType().getReferenceName()));
     }
@@ -1798,7 +1858,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
       // TODO(b/144327372): stop loosening typechecking for forward supertype references once
       // the type system correctly models this case.
       if (declaredOverride && !receiverType.loosenTypecheckingDueToForwardReferencedSupertype()) {
-        compiler.report(
+        report(
             JSError.make(
                 n, //
                 UNKNOWN_PROTOTYPAL_OVERRIDE,
@@ -1807,7 +1867,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
       }
     } else {
       if (!declaredOverride) {
-        compiler.report(
+        report(
             JSError.make(
                 n, //
                 HIDDEN_PROTOTYPAL_SUPERTYPE_PROPERTY,
@@ -1817,7 +1877,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
 
       JSType overriddenPropertyType = supertypeWithProperty.getPropertyType(propertyName);
       if (!propertyType.isSubtypeOf(overriddenPropertyType)) {
-        compiler.report(
+        report(
             JSError.make(
                 n,
                 HIDDEN_PROTOTYPAL_SUPERTYPE_PROPERTY_MISMATCH,
@@ -1929,7 +1989,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
 
     if (rvalue.isFunction() && !NodeUtil.isEmptyBlock(NodeUtil.getFunctionBody(rvalue))) {
       String abstractMethodName = compiler.getCodingConvention().getAbstractMethodName();
-      compiler.report(JSError.make(object, INTERFACE_METHOD_NOT_EMPTY, abstractMethodName));
+      report(JSError.make(object, INTERFACE_METHOD_NOT_EMPTY, abstractMethodName));
     }
   }
 
@@ -1937,7 +1997,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
     String abstractMethodName = compiler.getCodingConvention().getAbstractMethodName();
     // This is bad i18n style but we don't localize our compiler errors.
     String abstractMethodMessage = (abstractMethodName != null) ? ", or " + abstractMethodName : "";
-    compiler.report(
+    report(
         JSError.make(interfaceNode, INVALID_INTERFACE_MEMBER_DECLARATION, abstractMethodMessage));
   }
 
@@ -2482,7 +2542,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
                     .hasEqualCallType(oPropType.toMaybeFunctionType()))) {
           continue;
         }
-        compiler.report(
+        report(
             JSError.make(
                 n,
                 INCOMPATIBLE_EXTENDED_PROPERTY_TYPE,
@@ -2542,7 +2602,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
         validator.expectExtends(n, functionType, superType.toMaybeFunctionType());
       } else if (!superType.isUnknownType()) {
         // Only give this error for supertypes *known* to be wrong - unresolved types are OK here.
-        compiler.report(
+        report(
             JSError.make(
                 n,
                 CONFLICTING_EXTENDED_TYPE,
@@ -2567,7 +2627,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
         && baseConstructor != null
         && baseConstructor.isInterface()) {
       // Warn if a class extends an interface.
-      compiler.report(
+      report(
           JSError.make(n, CONFLICTING_EXTENDED_TYPE, "constructor", getBestFunctionName(n)));
     } else {
       if (n.isFunction()
@@ -2576,7 +2636,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
           && baseConstructor.getSource().isClass()
           && !functionType.getSource().isClass()) {
         // Warn if an ES5 class extends an ES6 class.
-        compiler.report(
+        report(
             JSError.make(
                 n,
                 ES5_CLASS_EXTENDING_ES6_CLASS,
@@ -2628,11 +2688,11 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
 
   private void checkStructDictSubtyping(Node n, FunctionType subtype, FunctionType supertype) {
     if (subtype.makesDicts() && supertype.makesStructs()) {
-      compiler.report(
+      report(
           JSError.make(
               n, DICT_EXTEND_STRUCT_TYPE, subtype.getDisplayName(), supertype.getDisplayName()));
     } else if (subtype.makesStructs() && supertype.makesDicts()) {
-      compiler.report(
+      report(
           JSError.make(
               n, STRUCT_EXTEND_DICT_TYPE, subtype.getDisplayName(), supertype.getDisplayName()));
     }
@@ -2643,7 +2703,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
     // Interface must extend only interfaces
     for (ObjectType extInterface : functionType.getExtendedInterfaces()) {
       if (extInterface.getConstructor() != null && !extInterface.getConstructor().isInterface()) {
-        compiler.report(
+        report(
             JSError.make(n, CONFLICTING_EXTENDED_TYPE, "interface", getBestFunctionName(n)));
       }
     }
@@ -2664,7 +2724,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
     List<FunctionType> loopPath = functionType.checkExtendsLoop();
     if (loopPath != null) {
       String strPath = loopPath.stream().map(FunctionType::getDisplayName).collect(joining(" -> "));
-      compiler.report(
+      report(
           JSError.make(n, INTERFACE_EXTENDS_LOOP, loopPath.get(0).getDisplayName(), strPath));
     }
 
@@ -2701,7 +2761,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
             && subClass.toMaybeFunctionType() != null
             && subClass.toMaybeFunctionType().getSource() != null
             && subClass.toMaybeFunctionType().getSource().isClass()) {
-          compiler.report(JSError.make(n, ES6_CLASS_EXTENDING_CLASS_WITH_GOOG_INHERITS));
+          report(JSError.make(n, ES6_CLASS_EXTENDING_CLASS_WITH_GOOG_INHERITS));
         }
         validator.expectSuperType(n, superClassInstanceType, subClassInstance);
       }
@@ -3298,6 +3358,29 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
     return (total == 0) ? 0.0 : (100.0 * typedCount) / total;
   }
 
+  /** The numbers of nodes that {@link #getTypedPercent} is computed from. */
+  record TypedCounts(int typed, int unknown, int untyped) {}
+
+  /** Returns the numbers of nodes counted so far. */
+  TypedCounts getTypedCounts() {
+    return new TypedCounts(typedCount, unknownCount, nullCount);
+  }
+
+  /** Counts nodes that were not checked, like those of an input whose results were cached. */
+  void addTypedCounts(TypedCounts counts) {
+    typedCount += counts.typed();
+    unknownCount += counts.unknown();
+    nullCount += counts.untyped();
+  }
+
+  /** Describes the settings of this checker that change which diagnostics it reports. */
+  String getReportingConfiguration() {
+    return "reportUnknownTypes="
+        + reportUnknownTypes
+        + ",reportMissingProperties="
+        + reportMissingProperties;
+  }
+
   private JSType getNativeType(JSTypeNative typeId) {
     return typeRegistry.getNativeType(typeId);
   }
@@ -3325,7 +3408,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
       JSType objectWithBadKey =
           findObjectWithNonStringifiableKey(realType, new LinkedHashSet<JSType>());
       if (objectWithBadKey != null) {
-        compiler.report(JSError.make(n, NON_STRINGIFIABLE_OBJECT_KEY, objectWithBadKey.toString()));
+        report(JSError.make(n, NON_STRINGIFIABLE_OBJECT_KEY, objectWithBadKey.toString()));
       }
     }
   }
@@ -3512,7 +3595,7 @@ public final class TypeCheck implements NodeTraversal.Callback, CompilerPass {
     for (int i = 0; i < alternates.size(); i++) {
       JSType type = alternates.get(i);
       if (roArray.equals(type) || roArray.equals(maybeReferencedType(type))) {
-        compiler.report(JSError.make(lhs, PROPERTY_ASSIGNMENT_TO_READONLY_VALUE, type.toString()));
+        report(JSError.make(lhs, PROPERTY_ASSIGNMENT_TO_READONLY_VALUE, type.toString()));
         break;
       }
     }
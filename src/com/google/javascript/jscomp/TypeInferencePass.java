@@ -203,10 +203,7 @@ class TypeInferencePass {
   }
 
   private ControlFlowGraph<Node> computeCfg(Node n) {
-    return ControlFlowAnalysis.builder()
-        .setCompiler(compiler)
-        .setCfgRoot(n)
-        .setIncludeEdgeAnnotations(true)
-        .computeCfg();
+    // Not cached: once inferred, the graph keeps the flow state of every node as annotations.
+    return ControlFlowGraphCache.computeCfg(compiler, n);
   }
 }
@@ -28,7 +28,10 @@ import com.google.javascript.rhino.jstype.JSType;
 import com.google.javascript.rhino.jstype.ObjectType;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Signals that the first type and the second type have been used interchangeably.
@@ -73,16 +76,36 @@ public record TypeMismatch(JSType found, JSType required, Node location) impleme
 
   private static final Node TEST_LOCATION = IR.empty();
 
-  /** Collects a set of related mismatches. */
+  /**
+   * Collects a set of related mismatches.
+   *
+   * <p>In compact mode, each pair of types is only recorded once, at the first location where it
+   * is found. The types are kept once each and the pairs refer to them by index, in primitive
+   * arrays. {@link TypeMismatch} objects are only created when the mismatches are requested.
+   */
   static class Accumulator implements Serializable {
 
     private final ArrayList<TypeMismatch> mismatches = new ArrayList<>();
 
+    private final @Nullable CompactMismatches compactMismatches;
+
+    Accumulator() {
+      this(false);
+    }
+
+    Accumulator(boolean compact) {
+      this.compactMismatches = compact ? new CompactMismatches() : null;
+    }
+
     void registerMismatch(Node location, JSType found, JSType required) {
       // Don't register a mismatch for differences in null or undefined or if the
       // code didn't downcast.
       found = removeNullUndefinedAndTemplates(found);
       required = removeNullUndefinedAndTemplates(required);
+      if (compactMismatches != null && compactMismatches.contains(found, required)) {
+        // Everything below was already done for this pair.
+        return;
+      }
       if (found.isSubtypeOf(required) || required.isSubtypeOf(found)) {
         return;
       }
@@ -95,7 +118,7 @@ public record TypeMismatch(JSType found, JSType required, Node location) impleme
       }
 
       if (bothAreNotTemplateTypes(found, required)) {
-        this.mismatches.add(TypeMismatch.create(found, required, location));
+        this.add(found, required, location);
       }
 
       if (found.isFunctionType() && required.isFunctionType()) {
@@ -112,7 +135,17 @@ public record TypeMismatch(JSType found, JSType required, Node location) impleme
     }
 
     ImmutableCollection<TypeMismatch> getMismatches() {
-      return ImmutableList.copyOf(this.mismatches);
+      return compactMismatches != null
+          ? compactMismatches.toMismatches()
+          : ImmutableList.copyOf(this.mismatches);
+    }
+
+    private void add(JSType found, JSType required, Node location) {
+      if (compactMismatches != null) {
+        compactMismatches.add(found, required, location);
+      } else {
+        this.mismatches.add(TypeMismatch.create(found, required, location));
+      }
     }
 
     private void registerIfMismatch(Node location, JSType found, JSType required) {
@@ -145,4 +178,95 @@ public record TypeMismatch(JSType found, JSType required, Node location) impleme
       return result;
     }
   }
+
+  /** The mismatches of an {@link Accumulator} in compact mode. */
+  private static final class CompactMismatches implements Serializable {
+    private final IdentityHashMap<JSType, Integer> typeIds = new IdentityHashMap<>();
+    private final ArrayList<JSType> types = new ArrayList<>();
+
+    // The recorded pairs, in order. The types are indices into `types`.
+    private int[] foundIds = new int[16];
+    private int[] requiredIds = new int[16];
+    private Node[] locations = new Node[16];
+    private int size = 0;
+
+    // An open-addressing set of the recorded pairs, packed by `pack`. Zero marks an empty slot.
+    private long[] pairSet = new long[32];
+
+    boolean contains(JSType found, JSType required) {
+      Integer foundId = typeIds.get(found);
+      Integer requiredId = typeIds.get(required);
+      return foundId != null && requiredId != null && findSlot(pack(foundId, requiredId)) >= 0;
+    }
+
+    void add(JSType found, JSType required, Node location) {
+      int foundId = idOf(found);
+      int requiredId = idOf(required);
+      long pair = pack(foundId, requiredId);
+      int slot = findSlot(pair);
+      if (slot >= 0) {
+        return;
+      }
+      pairSet[-slot - 1] = pair;
+      if (size == foundIds.length) {
+        foundIds = Arrays.copyOf(foundIds, 2 * size);
+        requiredIds = Arrays.copyOf(requiredIds, 2 * size);
+        locations = Arrays.copyOf(locations, 2 * size);
+      }
+      foundIds[size] = foundId;
+      requiredIds[size] = requiredId;
+      locations[size] = location;
+      size++;
+      if (2 * size > pairSet.length) {
+        rehash();
+      }
+    }
+
+    ImmutableList<TypeMismatch> toMismatches() {
+      ImmutableList.Builder<TypeMismatch> result = ImmutableList.builderWithExpectedSize(size);
+      for (int i = 0; i < size; i++) {
+        result.add(
+            TypeMismatch.create(types.get(foundIds[i]), types.get(requiredIds[i]), locations[i]));
+      }
+      return result.build();
+    }
+
+    private int idOf(JSType type) {
+      Integer id = typeIds.get(type);
+      if (id == null) {
+        id = types.size();
+        typeIds.put(type, id);
+        types.add(type);
+      }
+      return id;
+    }
+
+    /**
+     * Returns the slot of {@code pair} in the set if it is there, or else {@code -1 - slot} for the
+     * empty slot where it belongs.
+     */
+    private int findSlot(long pair) {
+      int mask = pairSet.length - 1;
+      for (int i = Long.hashCode(pair * 0x9E3779B97F4A7C15L) & mask; ; i = (i + 1) & mask) {
+        if (pairSet[i] == pair) {
+          return i;
+        } else if (pairSet[i] == 0) {
+          return -1 - i;
+        }
+      }
+    }
+
+    private void rehash() {
+      pairSet = new long[2 * pairSet.length];
+      for (int i = 0; i < size; i++) {
+        long pair = pack(foundIds[i], requiredIds[i]);
+        pairSet[-findSlot(pair) - 1] = pair;
+      }
+    }
+
+    /** Packs a pair of type ids into a long that is never zero. */
+    private static long pack(int foundId, int requiredId) {
+      return ((long) (foundId + 1) << 32) | (requiredId + 1);
+    }
+  }
 }
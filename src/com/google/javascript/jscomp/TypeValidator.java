@@ -66,6 +66,7 @@ import com.google.javascript.rhino.jstype.Visitor;
 import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -91,7 +92,10 @@ class TypeValidator implements Serializable {
   // this field to IGNORE_NULL_UNDEFINED
   private SubtypingMode subtypingMode = SubtypingMode.NORMAL;
 
-  private final TypeMismatch.Accumulator mismatches = new TypeMismatch.Accumulator();
+  private final TypeMismatch.Accumulator mismatches;
+
+  /** Also collects the errors reported while it is set; see {@link #setReportedErrors}. */
+  private transient @Nullable List<JSError> reportedErrors;
 
   // User warnings
   private static final String FOUND_REQUIRED =
@@ -193,6 +197,9 @@ class TypeValidator implements Serializable {
   TypeValidator(AbstractCompiler compiler) {
     this.compiler = compiler;
     this.typeRegistry = compiler.getTypeRegistry();
+    this.mismatches =
+        new TypeMismatch.Accumulator(
+            compiler.getOptions() != null && compiler.getOptions().shouldCompactTypeMismatches());
     this.allBitwisableValueTypes =
         typeRegistry.createUnionType(STRING_TYPE, NUMBER_TYPE, BOOLEAN_TYPE, NULL_TYPE, VOID_TYPE);
     this.nullOrUndefined = typeRegistry.getNativeType(JSTypeNative.NULL_VOID);
@@ -227,11 +234,22 @@ class TypeValidator implements Serializable {
    * <p>NOTE(dimvar): Even though TypeMismatch is a pair, the passes that call this method never use
    * it as a pair; they just add both its elements to a set of invalidating types. Consider just
    * maintaining a set of types here instead of a set of type pairs.
+   *
+   * <p>With {@link CompilerOptions#setCompactTypeMismatches}, each pair of types is only listed
+   * once, at the first location where it was found.
    */
   Iterable<TypeMismatch> getMismatches() {
     return this.mismatches.getMismatches();
   }
 
+  /**
+   * Adds every error reported from now on to {@code reportedErrors}, in addition to reporting it
+   * to the compiler. Pass null to stop collecting.
+   */
+  void setReportedErrors(@Nullable List<JSError> reportedErrors) {
+    this.reportedErrors = reportedErrors;
+  }
+
   void setSubtypingMode(SubtypingMode mode) {
     this.subtypingMode = mode;
   }
@@ -242,7 +260,7 @@ class TypeValidator implements Serializable {
   // a warning and attempt to correct the mismatch, when possible.
 
   void expectValidTypeofName(Node n, String found) {
-    this.compiler.report(JSError.make(n, UNKNOWN_TYPEOF_VALUE, found));
+    report(JSError.make(n, UNKNOWN_TYPEOF_VALUE, found));
   }
 
   /**
@@ -568,7 +586,7 @@ class TypeValidator implements Serializable {
     } else if (dereferenced != null && dereferenced.isArrayType()) {
       expectNumberOrSymbol(indexNode, indexType, "array access");
     } else if (objType.isStruct()) {
-      this.compiler.report(JSError.make(indexNode, ILLEGAL_PROPERTY_ACCESS, "'[]'", "struct"));
+      report(JSError.make(indexNode, ILLEGAL_PROPERTY_ACCESS, "'[]'", "struct"));
     } else if (objType.matchesObjectContext()) {
       expectStringOrSymbol(indexNode, indexType, "property access");
     } else {
@@ -904,7 +922,7 @@ class TypeValidator implements Serializable {
         if (!allowDupe) {
           // Report specifically if it is not just a duplicate, but types also don't mismatch.
           if (!newType.equals(varType)) {
-            this.compiler.report(
+            report(
                 JSError.make(
                     n,
                     DUP_VAR_DECLARATION_TYPE_MISMATCH,
@@ -916,7 +934,7 @@ class TypeValidator implements Serializable {
           } else if (!var.getParentNode().isExprResult()) {
             // If the type matches and the previous declaration was a stub declaration
             // (isExprResult), then ignore the duplicate, otherwise emit an error.
-            this.compiler.report(
+            report(
                 JSError.make(
                     n,
                     DUP_VAR_DECLARATION,
@@ -1138,9 +1156,16 @@ class TypeValidator implements Serializable {
     registerMismatchAndReport(found, required, err);
   }
 
+  private void report(JSError error) {
+    compiler.report(error);
+    if (reportedErrors != null) {
+      reportedErrors.add(error);
+    }
+  }
+
   /** Registers a type mismatch into the universe of mismatches owned by this pass. */
   private void registerMismatchAndReport(JSType found, JSType required, JSError error) {
-    this.compiler.report(error);
+    report(error);
     this.mismatches.registerMismatch(error.node(), found, required);
   }
 
@@ -27,7 +27,9 @@ import com.google.javascript.rhino.jstype.FunctionType;
 import com.google.javascript.rhino.jstype.JSType;
 import com.google.javascript.rhino.jstype.ObjectType;
 import com.google.javascript.rhino.jstype.StaticTypedScope;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import org.jspecify.annotations.Nullable;
 
@@ -63,6 +65,10 @@ public class TypedScope extends AbstractScope<TypedScope, TypedVar> implements S
   // elements from an empty set)
   private Set<String> reservedNames;
 
+  // Dense indices for the names whose types are tracked by LinkedFlowScope on this scope. Created
+  // lazily, since most scopes never get an inferred type.
+  private @Nullable Map<String, Integer> flowSlotIndices;
+
   // Scope.java contains an arguments field.
   // We haven't added it here because it's unused by the passes that need typed scopes.
 
@@ -135,6 +141,28 @@ public class TypedScope extends AbstractScope<TypedScope, TypedVar> implements S
     return isBottom;
   }
 
+  /**
+   * Returns the index of the given name among the names whose types are tracked by flow scopes on
+   * this scope, assigning the next free index if it doesn't have one yet.
+   */
+  int getFlowSlotIndex(String name) {
+    if (flowSlotIndices == null) {
+      flowSlotIndices = new HashMap<>();
+    }
+    Integer index = flowSlotIndices.get(name);
+    if (index == null) {
+      index = flowSlotIndices.size();
+      flowSlotIndices.put(name, index);
+    }
+    return index;
+  }
+
+  /** Returns the index assigned by {@link #getFlowSlotIndex}, or -1 if there is none. */
+  int findFlowSlotIndex(String name) {
+    Integer index = flowSlotIndices != null ? flowSlotIndices.get(name) : null;
+    return index != null ? index : -1;
+  }
+
   @Nullable
   Module getModule() {
     return this.module;
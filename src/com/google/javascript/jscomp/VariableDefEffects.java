@@ -16,23 +16,20 @@
 
 package com.google.javascript.jscomp;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 
 import com.google.javascript.jscomp.ControlFlowGraph.AbstractCfgNodeTraversalCallback;
-import com.google.javascript.jscomp.ControlFlowGraph.Branch;
-import com.google.javascript.jscomp.graph.GraphNode;
-import com.google.javascript.jscomp.graph.LatticeElement;
 import com.google.javascript.rhino.Node;
-import java.util.Collection;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.jspecify.annotations.Nullable;
 
 /**
- * Computes must-be-reaching definition for all uses of each variable.
+ * Computes the effects of CFG nodes on the must-be-reaching definitions of the variables of a
+ * function, which {@link SsaForm} then finds.
  *
  * <p>A definition of {@code A} in {@code A = foo()} is a must-be-reaching definition of the use of
  * {@code A} in {@code alert(A)} if all paths from entry node to the use pass through that
@@ -41,20 +38,15 @@ import org.jspecify.annotations.Nullable;
  * <p>By definition, a must-be-reaching definition for a given use is always a single definition and
  * it "dominates" that use (i.e. always must execute before that use).
  */
-final class MustBeReachingVariableDef
-    extends DataFlowAnalysis<Node, MustBeReachingVariableDef.MustDef> {
+final class VariableDefEffects {
 
   // The scope of the function that we are analyzing.
   private final AbstractCompiler compiler;
   private final Set<Var> escaped;
   private final Map<String, Var> allVarsInFn;
 
-  MustBeReachingVariableDef(
-      ControlFlowGraph<Node> cfg,
-      AbstractCompiler compiler,
-      Set<Var> escaped,
-      Map<String, Var> allVarsInFn) {
-    super(cfg);
+  VariableDefEffects(
+      AbstractCompiler compiler, Set<Var> escaped, Map<String, Var> allVarsInFn) {
     this.compiler = compiler;
     this.escaped = escaped;
     this.allVarsInFn = allVarsInFn;
@@ -96,121 +88,31 @@ final class MustBeReachingVariableDef
   }
 
   /**
-   * Must reaching definition lattice representation. It captures a product lattice for each local
-   * (non-escaped) variable. The sub-lattice is a n + 2 element lattice with all the {@link
-   * Definition} in the program, TOP and BOTTOM.
-   *
-   * <p>Since this is a Must-Define analysis, BOTTOM represents the case where there might be more
-   * than one reaching definition for the variable.
-   *
-   * <p>(TOP) / | | \ N1 N2 N3 ....Nn \ | | / (BOTTOM)
+   * A change that evaluating a CFG node makes to the definitions of a variable: the definitions
+   * that read the variable no longer hold, and if {@code redefines}, the previous definitions of
+   * the variable no longer reach. {@code definition} is the definition that reaches instead, or
+   * null if it isn't known, like after a conditional assignment.
    */
-  static final class MustDef implements LatticeElement {
-
-    // TODO(user): Use bit vector instead of maps might get better
-    // performance. Change it after this is tested to be fully functional.
-
-    // When a Var "A" = "TOP", "A" does not exist in reachingDef's keySet.
-    // When a Var "A" = Node N, "A" maps to that node.
-    // When a Var "A" = "BOTTOM", "A" maps to null.
-    final LinkedHashMap<Var, Definition> reachingDef = new LinkedHashMap<>();
-
-    public MustDef() {}
-
-    public MustDef(Collection<Var> vars) {
-      for (Var var : vars) {
-        reachingDef.put(var, new Definition(var.getScope().getRootNode()));
-      }
-    }
+  record DefEffect(Var var, @Nullable Definition definition, boolean redefines) {}
 
-    /**
-     * Copy constructor.
-     *
-     * @param other The constructed object is a replicated copy of this element.
-     */
-    public MustDef(MustDef other) {
-      this.reachingDef.putAll(other.reachingDef);
-    }
-
-    @Override
-    public boolean equals(Object other) {
-      return (other instanceof MustDef mustDef) && mustDef.reachingDef.equals(this.reachingDef);
-    }
-
-    @Override
-    public int hashCode() {
-      return reachingDef.hashCode();
-    }
-  }
-
-  private static class MustDefJoin implements FlowJoiner<MustDef> {
-
-    final MustDef result = new MustDef();
-    final LinkedHashMap<Var, Definition> resultMap = result.reachingDef;
-
-    @Override
-    public void joinFlow(MustDef input) {
-      input.reachingDef.forEach(this::mergeVarDef);
-    }
-
-    private void mergeVarDef(Var var, Definition def) {
-      final Definition resultDef;
-      if (def == null) {
-        resultDef = null;
-      } else if (!this.resultMap.containsKey(var)) {
-        resultDef = def;
-      } else if (def.equals(this.resultMap.get(var))) {
-        return;
-      } else {
-        resultDef = null;
-      }
-      this.resultMap.put(var, resultDef);
-    }
-
-    @Override
-    public MustDef finish() {
-      return this.result;
-    }
-  }
-
-  @Override
-  boolean isForward() {
-    return true;
-  }
-
-  @Override
-  MustDef createEntryLattice() {
-    return new MustDef(allVarsInFn.values());
-  }
-
-  @Override
-  MustDef createInitialEstimateLattice() {
-    return new MustDef();
-  }
-
-  @Override
-  MustDefJoin createFlowJoiner() {
-    return new MustDefJoin();
-  }
-
-  @Override
-  MustDef flowThrough(Node n, MustDef input) {
-    // TODO(user): We are doing a straight copy from input to output. There
-    // might be some opportunities to cut down overhead.
-    MustDef output = new MustDef(input);
+  /** Returns the changes that evaluating {@code cfgNode} makes to the definitions, in order. */
+  List<DefEffect> computeEffects(Node cfgNode) {
+    List<DefEffect> output = new ArrayList<>();
     // TODO(user): This must know about ON_EX edges but it should handle
     // it better than what we did in liveness. Because we are in a forward mode,
     // we can used the branched forward analysis.
-    computeMustDef(n, n, output, false);
+    computeMustDef(cfgNode, cfgNode, output, false);
     return output;
   }
 
   /**
    * @param n The node in question.
    * @param cfgNode The node to add
+   * @param output The changes that {@code cfgNode} makes, in order.
    * @param conditional true if the definition is not always executed.
    */
-  private void computeMustDef(Node n, Node cfgNode, MustDef output, boolean conditional) {
+  private void computeMustDef(
+      Node n, Node cfgNode, List<DefEffect> output, boolean conditional) {
     switch (n.getToken()) {
       case BLOCK:
       case ROOT:
@@ -357,7 +259,7 @@ final class MustBeReachingVariableDef
    *     conditional define.
    */
   private void addToDefIfLocal(
-      String name, @Nullable Node node, @Nullable Node rValue, MustDef def) {
+      String name, @Nullable Node node, @Nullable Node rValue, List<DefEffect> output) {
     Var var = allVarsInFn.get(name);
 
     // var might be null if the variable is defined in the externs
@@ -365,49 +267,23 @@ final class MustBeReachingVariableDef
       return;
     }
 
-    for (Map.Entry<Var, Definition> pair : def.reachingDef.entrySet()) {
-      Definition otherDef = pair.getValue();
-      if (otherDef == null) {
-        continue;
-      }
-      if (otherDef.depends.contains(var)) {
-        pair.setValue(null);
-      }
-    }
-
-    if (!escaped.contains(var)) {
-      if (node == null) {
-        def.reachingDef.put(var, null);
-      } else {
-        Definition definition = new Definition(node);
-        if (rValue != null) {
-          computeDependence(definition, rValue);
-        }
-        def.reachingDef.put(var, definition);
+    boolean local = !escaped.contains(var);
+    Definition definition = null;
+    if (local && node != null) {
+      definition = new Definition(node);
+      if (rValue != null) {
+        computeDependence(definition, rValue);
       }
     }
+    output.add(new DefEffect(var, definition, local));
   }
 
-  private void escapeParameters(MustDef output) {
+  private void escapeParameters(List<DefEffect> output) {
     for (Var v : allVarsInFn.values()) {
       if (isParameter(v)) {
         // Assume we no longer know where the parameter comes from
-        // anymore.
-        output.reachingDef.put(v, null);
-      }
-    }
-
-    // Also, assume we no longer know anything that depends on a parameter.
-    for (Map.Entry<Var, Definition> pair : output.reachingDef.entrySet()) {
-      Definition value = pair.getValue();
-      if (value == null) {
-        continue;
-      }
-      for (Var dep : value.depends) {
-        if (isParameter(dep)) {
-          pair.setValue(null);
-          break;
-        }
+        // anymore, nor anything that depends on a parameter.
+        output.add(new DefEffect(v, null, true));
       }
     }
   }
@@ -439,26 +315,7 @@ final class MustBeReachingVariableDef
         });
   }
 
-  /**
-   * Gets the must-be-reaching definition of a given use node.
-   *
-   * @param name name of the variable. It can only be names of local variable that are not function
-   *     parameters, escaped variables or variables declared in catch.
-   * @param useNode the location of the use where the definition reaches.
-   */
-  Definition getDef(String name, Node useNode) {
-    checkArgument(getCfg().hasNode(useNode));
-    GraphNode<Node, Branch> n = getCfg().getNode(useNode);
-    LinearFlowState<MustDef> state = n.getAnnotation();
-    return state.getIn().reachingDef.get(allVarsInFn.get(name));
-  }
-
-  @Nullable Node getDefNode(String name, Node useNode) {
-    Definition def = getDef(name, useNode);
-    return def == null ? null : def.node;
-  }
-
-  boolean dependsOnOuterScopeVars(Definition def) {
+  static boolean dependsOnOuterScopeVars(Definition def) {
     if (def.unknownDependencies) {
       return true;
     }
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2009 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.javascript.rhino.Node;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes the effect of each CFG node on the uses of the variables of a function, from which
+ * {@link SsaForm} finds the "may be" reaching uses of each definition.
+ *
+ * <p>A use of {@code A} in {@code alert(A)} is a "may be" reaching use of the definition of {@code
+ * A} at {@code A = foo()} if at least one path from the definition node to the end node reaches
+ * that use and it is the last definition before the use on that path.
+ *
+ * <p>Example:
+ *
+ * <p><code>
+ * D1: var A = foo();
+ * U1: alert(A);
+ *     if(....) {
+ *        D2: A = bar();
+ *        U2: alert(A);
+ *     }
+ * U3: alert(A);
+ * </code>
+ *
+ * <p>Here, MaybeReachingUses[D1] = {U1, U3} and MaybeReachingUses[D2]={U2, U3}. The use U3 is not
+ * guaranteed to use def D1: this is a "may-be" analysis.
+ *
+ * <p>The effect of a CFG node on the upward exposed uses is:
+ *
+ * <ol>
+ *   <li>1. The uses of a variable at `cfgNode` are added to the upward exposed uses.
+ *   <li>2. All uses of a variable that `cfgNode` unconditionally redefines are removed from the
+ *       upward exposed uses, unless `cfgNode` also uses it before redefining it.
+ * </ol>
+ */
+class VariableUseEffects {
+  // The scope of the function that we are analyzing.
+  private final Set<Var> escaped;
+  private final Map<String, Var> allVarsInFn;
+
+  VariableUseEffects(Set<Var> escaped, Map<String, Var> allVarsInFn) {
+    this.escaped = escaped;
+    this.allVarsInFn = allVarsInFn;
+  }
+
+  /**
+   * The effect of a single CFG node on the set of upward exposed uses, in the order the node is
+   * traversed: backwards.
+   *
+   * <p>Consider:
+   *
+   * <p><code>
+   * N_4: print(A);
+   * N_5: y = A;
+   * N_6: A = 1;
+   * N_7: print(A);
+   * </code>
+   *
+   * <p>Before N_6, reads of A in N_7 are no longer upward exposed, so N_6 kills A. After N_4, the
+   * read of A in N_4 is upward exposed, so N_4 uses A. In {@code A = A + 1}, A is killed and then
+   * used, so the node's own use stays upward exposed.
+   */
+  static final class ReachingUses {
+    // The variables that the node uses, after the last time it kills them.
+    final Set<Var> used = new LinkedHashSet<>();
+    // The variables whose earlier uses are no longer upward exposed.
+    final Set<Var> killed = new LinkedHashSet<>();
+
+    void put(Var v) {
+      used.add(v);
+    }
+
+    void removeAll(Var v) {
+      killed.add(v);
+      used.remove(v);
+    }
+  }
+
+  /**
+   * Returns the variables that {@code cfgNode} uses before redefining them, and those that it
+   * redefines.
+   *
+   * @param hasExceptionEdge Whether the node may end abruptly with an exception. If so, it may or
+   *     may not redefine the variables, which is expressed concisely by pretending it happens in a
+   *     conditional.
+   */
+  ReachingUses computeReachingUses(Node cfgNode, boolean hasExceptionEdge) {
+    ReachingUses effect = new ReachingUses();
+    computeMayUse(cfgNode, effect, hasExceptionEdge);
+    return effect;
+  }
+
+  /**
+   * Given a cfgNode, records the effect of the node on the variables and their uses that are upward
+   * exposed at the cfgNode.
+   *
+   * @param n The explorer node which searches for variables
+   * @param output The effect of the cfgNode that {@code n} is part of.
+   * @param conditional Whether {@code n} is only conditionally evaluated given that the cfgNode is
+   *     evaluated. Do not remove conditionally redefined variables from the reaching uses set.
+   */
+  private void computeMayUse(Node n, ReachingUses output, boolean conditional) {
+    switch (n.getToken()) {
+      case BLOCK:
+      case ROOT:
+      case FUNCTION:
+        return;
+
+      case NAME:
+        if (NodeUtil.isLhsByDestructuring(n)) {
+          if (!conditional) {
+            removeFromUseIfLocal(n.getString(), output);
+          }
+        } else {
+          addToUseIfLocal(n.getString(), output);
+        }
+        return;
+
+      case WHILE:
+      case DO:
+      case IF:
+      case FOR:
+        Node condExpr = NodeUtil.getConditionExpression(n);
+        computeMayUse(condExpr, output, conditional);
+        return;
+
+      case FOR_IN:
+      case FOR_OF:
+      case FOR_AWAIT_OF:
+        // for(x in y) {...}
+        Node lhs = n.getFirstChild();
+        Node rhs = lhs.getNext();
+        if (NodeUtil.isNameDeclaration(lhs)) {
+          lhs = lhs.getLastChild(); // for(var x in y) {...}
+          if (lhs.isDestructuringLhs()) {
+            lhs = lhs.getFirstChild(); // for (let [x] of obj) {...}
+          }
+        }
+        if (lhs.isName() && !conditional) {
+          removeFromUseIfLocal(lhs.getString(), output);
+        } else if (lhs.isDestructuringPattern()) {
+          computeMayUse(lhs, output, true);
+        }
+        computeMayUse(rhs, output, conditional);
+        return;
+
+      case AND:
+      case OR:
+      case COALESCE:
+      case OPTCHAIN_GETPROP:
+      case OPTCHAIN_GETELEM:
+        computeMayUse(n.getLastChild(), output, /* conditional= */ true);
+        computeMayUse(n.getFirstChild(), output, conditional);
+        return;
+
+      case OPTCHAIN_CALL:
+        // As args are evaluated in AST order, we traverse in reverse AST order for backward
+        // dataflow analysis.
+        for (Node c = n.getLastChild(); c != n.getFirstChild(); c = c.getPrevious()) {
+          computeMayUse(c, output, /* conditional= */ true);
+        }
+        computeMayUse(n.getFirstChild(), output, conditional);
+        return;
+
+      case HOOK:
+        computeMayUse(n.getLastChild(), output, /* conditional= */ true);
+        computeMayUse(n.getSecondChild(), output, /* conditional= */ true);
+        computeMayUse(n.getFirstChild(), output, conditional);
+        return;
+
+      case VAR:
+      case LET:
+      case CONST:
+        Node varName = n.getFirstChild();
+        checkState(n.hasChildren(), "AST should be normalized (%s)", n);
+
+        if (varName.isDestructuringLhs()) {
+          // Note: since destructuring is evaluated in reverse AST order, we traverse the first
+          // child before the second in order to do our backwards data flow analysis.
+          computeMayUse(varName.getFirstChild(), output, conditional);
+          computeMayUse(varName.getSecondChild(), output, conditional);
+        } else if (varName.hasChildren()) {
+          computeMayUse(varName.getFirstChild(), output, conditional);
+          if (!conditional) {
+            removeFromUseIfLocal(varName.getString(), output);
+          }
+        } // else var name declaration with no initial value
+        return;
+
+      case DEFAULT_VALUE:
+        if (n.getFirstChild().isDestructuringPattern()) {
+          computeMayUse(n.getFirstChild(), output, conditional);
+          computeMayUse(n.getSecondChild(), output, true);
+        } else if (n.getFirstChild().isName()) {
+          // assigning to the name occurs after evaluating the default value
+          if (!conditional) {
+            removeFromUseIfLocal(n.getFirstChild().getString(), output);
+          }
+          computeMayUse(n.getSecondChild(), output, true);
+        } else {
+          computeMayUse(n.getSecondChild(), output, true);
+          computeMayUse(n.getFirstChild(), output, conditional);
+        }
+        break;
+
+      default:
+        if (NodeUtil.isAssignmentOp(n) && n.getFirstChild().isName()) {
+          checkState(!NodeUtil.isLogicalAssignmentOp(n));
+          Node name = n.getFirstChild();
+          if (!conditional) {
+            removeFromUseIfLocal(name.getString(), output);
+          }
+
+          // In case of a += "Hello". There is a read of a.
+          if (!n.isAssign()) {
+            addToUseIfLocal(name.getString(), output);
+          }
+
+          computeMayUse(name.getNext(), output, conditional);
+        } else if (n.isAssign() && n.getFirstChild().isDestructuringPattern()) {
+          // Note: the rhs of destructuring is evaluated before the lhs
+          computeMayUse(n.getFirstChild(), output, conditional);
+          computeMayUse(n.getSecondChild(), output, conditional);
+        } else {
+          /*
+           * We want to traverse in reverse order because we want the LAST
+           * definition in the sub-tree.
+           */
+          for (Node c = n.getLastChild(); c != null; c = c.getPrevious()) {
+            computeMayUse(c, output, conditional);
+          }
+        }
+    }
+  }
+
+  /**
+   * Sets the variable for the given name to the node value in the upward exposed lattice. Do
+   * nothing if the variable name is one of the escaped variable.
+   */
+  private void addToUseIfLocal(String name, ReachingUses use) {
+    Var var = allVarsInFn.get(name);
+    if (var == null) {
+      return;
+    }
+    if (!escaped.contains(var)) {
+      use.put(var);
+    }
+  }
+
+  /**
+   * Removes the variable for the given name from the node value in the upward exposed lattice. Do
+   * nothing if the variable name is one of the escaped variable.
+   */
+  private void removeFromUseIfLocal(String name, ReachingUses use) {
+    Var var = allVarsInFn.get(name);
+    if (var == null) {
+      return;
+    }
+    if (!escaped.contains(var)) {
+      use.removeAll(var);
+    }
+  }
+}
@@ -21,6 +21,7 @@ import com.google.errorprone.annotations.FormatString;
 import com.google.errorprone.annotations.MustBeClosed;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.function.Supplier;
 
@@ -42,6 +43,24 @@ public abstract class LogFile implements AutoCloseable {
     public void writeJson(JsonWriter jsonWriter) throws IOException;
   }
 
+  /**
+   * An interface allowing streaming text to a LogFile, for values too large to build as a string.
+   *
+   * <p>Use with {@link #log(StreamedTextProducer)}
+   */
+  public interface StreamedTextProducer {
+    public void writeText(Appendable out) throws IOException;
+  }
+
+  /**
+   * An interface allowing streaming bytes to a LogFile, for values in a binary format.
+   *
+   * <p>Use with {@link #logBytes(StreamedBytesProducer)}
+   */
+  public interface StreamedBytesProducer {
+    public void writeBytes(OutputStream out) throws IOException;
+  }
+
   @MustBeClosed
   public static LogFile createOrReopen(Path file) {
     return WritingLogFile.create(file);
@@ -60,6 +79,11 @@ public abstract class LogFile implements AutoCloseable {
 
   public abstract LogFile log(Supplier<String> value);
 
+  public abstract LogFile log(StreamedTextProducer producer);
+
+  /** Writes the bytes as they are, without a trailing newline. */
+  public abstract LogFile logBytes(StreamedBytesProducer producer);
+
   @FormatMethod
   public abstract LogFile log(@FormatString String template, Object... values);
 
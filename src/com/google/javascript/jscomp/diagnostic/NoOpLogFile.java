@@ -36,6 +36,16 @@ final class NoOpLogFile extends LogFile {
     return this;
   }
 
+  @Override
+  public LogFile log(StreamedTextProducer producer) {
+    return this;
+  }
+
+  @Override
+  public LogFile logBytes(StreamedBytesProducer producer) {
+    return this;
+  }
+
   @Override
   public LogFile log(String template, Object... values) {
     return this;
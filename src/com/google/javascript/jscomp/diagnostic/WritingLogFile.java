@@ -23,8 +23,10 @@ import com.google.errorprone.annotations.FormatMethod;
 import com.google.errorprone.annotations.FormatString;
 import com.google.errorprone.annotations.MustBeClosed;
 import com.google.gson.stream.JsonWriter;
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CodingErrorAction;
@@ -53,23 +55,26 @@ final class WritingLogFile extends LogFile {
       encoder
           .onMalformedInput(CodingErrorAction.REPLACE)
           .onUnmappableCharacter(CodingErrorAction.REPLACE);
+      OutputStream stream =
+          new BufferedOutputStream(
+              Files.newOutputStream(
+                  file,
+                  StandardOpenOption.CREATE,
+                  StandardOpenOption.APPEND,
+                  StandardOpenOption.WRITE));
       return new WritingLogFile(
-          new BufferedWriter(
-              new OutputStreamWriter(
-                  Files.newOutputStream(
-                      file,
-                      StandardOpenOption.CREATE,
-                      StandardOpenOption.APPEND,
-                      StandardOpenOption.WRITE),
-                  encoder)));
+          stream, new BufferedWriter(new OutputStreamWriter(stream, encoder)));
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
 
+  // The file, which the writer writes to. Bytes are written to it directly.
+  private final OutputStream stream;
   private final BufferedWriter writer;
 
-  private WritingLogFile(BufferedWriter writer) {
+  private WritingLogFile(OutputStream stream, BufferedWriter writer) {
+    this.stream = stream;
     this.writer = writer;
   }
 
@@ -88,6 +93,32 @@ final class WritingLogFile extends LogFile {
     return logInternal(value.get());
   }
 
+  @CanIgnoreReturnValue
+  @Override
+  public LogFile log(StreamedTextProducer producer) {
+    try {
+      producer.writeText(writer);
+      writer.append('\n');
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public LogFile logBytes(StreamedBytesProducer producer) {
+    try {
+      // Text that was logged before must come first.
+      writer.flush();
+      producer.writeBytes(stream);
+      stream.flush();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return this;
+  }
+
   @Override
   @FormatMethod
   public LogFile log(@FormatString String template, Object... values) {
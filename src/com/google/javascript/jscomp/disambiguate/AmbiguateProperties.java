@@ -25,7 +25,6 @@ import com.google.common.collect.ImmutableSet;
 import com.google.javascript.jscomp.AbstractCompiler;
 import com.google.javascript.jscomp.CompilerPass;
 import com.google.javascript.jscomp.DefaultNameGenerator;
-import com.google.javascript.jscomp.DotFormatter;
 import com.google.javascript.jscomp.GatherGetterAndSetterProperties;
 import com.google.javascript.jscomp.NameGenerator;
 import com.google.javascript.jscomp.NodeTraversal;
@@ -34,7 +33,6 @@ import com.google.javascript.jscomp.NodeUtil;
 import com.google.javascript.jscomp.colors.Color;
 import com.google.javascript.jscomp.colors.ColorRegistry;
 import com.google.javascript.jscomp.colors.StandardColors;
-import com.google.javascript.jscomp.diagnostic.LogFile;
 import com.google.javascript.jscomp.graph.AdjacencyGraph;
 import com.google.javascript.jscomp.graph.Annotation;
 import com.google.javascript.jscomp.graph.FixedPointGraphTraversal;
@@ -159,9 +157,7 @@ public class AmbiguateProperties implements CompilerPass {
             graphNodeFactory, LowestCommonAncestorFinder::new, this.colorRegistry);
     graphBuilder.addAll(graphNodeFactory.getAllKnownTypes());
     LinkedDirectedGraph<ColorGraphNode, Object> colorGraph = graphBuilder.build();
-    try (LogFile chunkGraphLog = compiler.createOrReopenLog(this.getClass(), "color_graph.dot")) {
-      chunkGraphLog.log(DotFormatter.toDot(colorGraph));
-    }
+    compiler.logGraph(this.getClass(), "color_graph", colorGraph);
     for (ColorGraphNode node : graphNodeFactory.getAllKnownTypes()) {
       node.getSubtypeIndices().set(node.getIndex()); // Init subtyping as reflexive.
     }
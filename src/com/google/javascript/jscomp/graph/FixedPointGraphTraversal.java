@@ -16,20 +16,38 @@
 
 package com.google.javascript.jscomp.graph;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
+import com.google.common.base.Throwables;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A utility class for doing fixed-point computations. We traverse
  * the edges over the given directed graph until the graph reaches
  * a steady state.
  *
+ * <p>By default a single worklist holds the nodes of the whole graph. A traversal returned by
+ * {@link #byComponents(int)} instead solves one strongly connected component at a time.
  *
  * @param <N> Value type that the graph node stores.
  * @param <E> Value type that the graph edge stores.
@@ -47,6 +65,10 @@ public final class FixedPointGraphTraversal<N, E> {
 
   private final TraversalDirection traversalDirection;
 
+  // Whether to solve the strongly connected components one at a time, and with how many threads.
+  // Zero means that a single worklist is used for the whole graph.
+  private final int componentThreads;
+
   public static final String NON_HALTING_ERROR_MSG =
     "Fixed point computation not halting";
 
@@ -56,21 +78,46 @@ public final class FixedPointGraphTraversal<N, E> {
    * @param callback A callback for updating the state of the graph each time an edge is traversed.
    */
   private FixedPointGraphTraversal(
-      EdgeCallback<N, E> callback, TraversalDirection traversalDirection) {
+      EdgeCallback<N, E> callback, TraversalDirection traversalDirection, int componentThreads) {
     this.callback = callback;
     this.traversalDirection = traversalDirection;
+    this.componentThreads = componentThreads;
   }
 
   /** Helper method for creating new traversals that traverse from parent to child. */
   public static <NodeT, EdgeT> FixedPointGraphTraversal<NodeT, EdgeT> newTraversal(
       EdgeCallback<NodeT, EdgeT> callback) {
-    return new FixedPointGraphTraversal<>(callback, TraversalDirection.OUTWARDS);
+    return new FixedPointGraphTraversal<>(callback, TraversalDirection.OUTWARDS, 0);
   }
 
   /** Helper method for creating new traversals that traverse from child to parent. */
   public static <NodeT, EdgeT> FixedPointGraphTraversal<NodeT, EdgeT> newReverseTraversal(
       EdgeCallback<NodeT, EdgeT> callback) {
-    return new FixedPointGraphTraversal<>(callback, TraversalDirection.INWARDS);
+    return new FixedPointGraphTraversal<>(callback, TraversalDirection.INWARDS, 0);
+  }
+
+  /**
+   * Returns a traversal with the same callback and direction that condenses the graph into its
+   * strongly connected components and solves them in topological order.
+   *
+   * <p>Each component iterates with its own worklist until it is stable. Only then are the edges
+   * that leave it traversed, once each, when the component they enter is solved. This avoids
+   * revisiting downstream nodes every time an upstream cycle changes. The result is the same fixed
+   * point as the default traversal's when the callback is monotone, i.e. when the state of a
+   * destination only grows and depends only on the final states of its sources. The number of
+   * times each edge is traversed is not the same.
+   *
+   * <p>With more than one thread, components that don't depend on each other are solved
+   * concurrently. The callback must then only read its {@code source} and only mutate its {@code
+   * destination}: no two threads ever traverse edges into the same node at the same time, and a
+   * source is only read once it no longer changes.
+   *
+   * @param numParallelThreads The number of threads to solve components on. With 1, everything
+   *     runs on the calling thread.
+   */
+  public FixedPointGraphTraversal<N, E> byComponents(int numParallelThreads) {
+    checkArgument(numParallelThreads >= 1, numParallelThreads);
+    return new FixedPointGraphTraversal<>(callback, traversalDirection, numParallelThreads);
   }
 
   /**
@@ -112,12 +159,12 @@ public final class FixedPointGraphTraversal<N, E> {
    * @param entrySet The nodes to begin traversing from.
    */
   public void computeFixedPoint(DiGraph<N, E> graph, Set<N> entrySet) {
+    if (componentThreads > 0) {
+      new ComponentTraversal(graph, entrySet).run();
+      return;
+    }
     long cycleCount = 0;
-    long nodeCount = min(graph.getNodeCount(), MAX_NODE_COUNT_FOR_ITERATION_LIMIT);
-
-    // Choose a bail-out heuristically in case the computation
-    // doesn't converge.
-    long maxIterations = max(nodeCount * nodeCount * nodeCount, 100L);
+    long maxIterations = getMaxIterations(graph);
 
     // Use a LinkedHashSet, so that the traversal is deterministic.
     LinkedHashSet<DiGraphNode<N, E>> workSet = new LinkedHashSet<>();
@@ -131,6 +178,14 @@ public final class FixedPointGraphTraversal<N, E> {
     checkState(cycleCount != maxIterations, NON_HALTING_ERROR_MSG);
   }
 
+  private static long getMaxIterations(DiGraph<?, ?> graph) {
+    long nodeCount = min(graph.getNodeCount(), MAX_NODE_COUNT_FOR_ITERATION_LIMIT);
+
+    // Choose a bail-out heuristically in case the computation
+    // doesn't converge.
+    return max(nodeCount * nodeCount * nodeCount, 100L);
+  }
+
   private void visitNode(DiGraphNode<N, E> node, LinkedHashSet<DiGraphNode<N, E>> workSet) {
     // For every out edge in the workSet, traverse that edge. If that
     // edge updates the state of the graph, then add the destination
@@ -160,6 +215,383 @@ public final class FixedPointGraphTraversal<N, E> {
     throw new AssertionError("Unrecognized direction " + traversalDirection);
   }
 
+  /**
+   * A fixed point computation over the strongly connected components of a graph.
+   *
+   * <p>Nodes are numbered in the order of {@link DiGraph#getNodes()}, which for an {@link
+   * IndexedDiGraph} is the order of its node ids. Edges are always followed in the direction of the
+   * traversal, so a "successor" is the node whose state an edge updates.
+   */
+  private final class ComponentTraversal {
+    private final Object[] values;
+    // The values of the edges of each node in the direction of the traversal, and the nodes they
+    // lead to.
+    private final Object[][] edgeValues;
+    private final int[][] successors;
+    private final boolean[] isEntry;
+
+    // The component of each node. Components are numbered in topological order.
+    private final int[] componentOf;
+    private final int[][] componentMembers;
+    // The edges that enter each node from an earlier component, as pairs of the source node and the
+    // position of the edge among the source's edges.
+    private final int[][] crossingSources;
+    private final int[][] crossingEdges;
+
+    // Written only by the task that solves the node's component.
+    private final boolean[] visited;
+    private final boolean[] queued;
+
+    private final long maxIterations;
+    private final AtomicLong cycleCount = new AtomicLong();
+
+    ComponentTraversal(DiGraph<N, E> graph, Set<N> entrySet) {
+      int nodeCount = graph.getNodeCount();
+      this.values = new Object[nodeCount];
+      this.edgeValues = new Object[nodeCount][];
+      this.successors = new int[nodeCount][];
+      this.isEntry = new boolean[nodeCount];
+      if (graph instanceof IndexedDiGraph<N, E> indexed) {
+        readEdges(indexed);
+        for (N entry : entrySet) {
+          isEntry[indexed.getIndex(entry)] = true;
+        }
+      } else {
+        Map<DiGraphNode<N, E>, Integer> indices = readEdges(graph);
+        for (N entry : entrySet) {
+          isEntry[indices.get(graph.getNode(entry))] = true;
+        }
+      }
+
+      this.componentOf = new int[nodeCount];
+      int componentCount = findComponents();
+      int[] memberCounts = new int[componentCount];
+      for (int i = 0; i < nodeCount; i++) {
+        memberCounts[componentOf[i]]++;
+      }
+      this.componentMembers = new int[componentCount][];
+      for (int c = 0; c < componentCount; c++) {
+        componentMembers[c] = new int[memberCounts[c]];
+      }
+      Arrays.fill(memberCounts, 0);
+      for (int i = 0; i < nodeCount; i++) {
+        componentMembers[componentOf[i]][memberCounts[componentOf[i]]++] = i;
+      }
+
+      int[] crossingCounts = new int[nodeCount];
+      for (int i = 0; i < nodeCount; i++) {
+        for (int t : successors[i]) {
+          if (componentOf[t] != componentOf[i]) {
+            crossingCounts[t]++;
+          }
+        }
+      }
+      this.crossingSources = new int[nodeCount][];
+      this.crossingEdges = new int[nodeCount][];
+      for (int i = 0; i < nodeCount; i++) {
+        crossingSources[i] = new int[crossingCounts[i]];
+        crossingEdges[i] = new int[crossingCounts[i]];
+      }
+      Arrays.fill(crossingCounts, 0);
+      for (int i = 0; i < nodeCount; i++) {
+        for (int k = 0; k < successors[i].length; k++) {
+          int t = successors[i][k];
+          if (componentOf[t] != componentOf[i]) {
+            crossingSources[t][crossingCounts[t]] = i;
+            crossingEdges[t][crossingCounts[t]++] = k;
+          }
+        }
+      }
+
+      this.visited = new boolean[nodeCount];
+      this.queued = new boolean[nodeCount];
+      this.maxIterations = getMaxIterations(graph);
+    }
+
+    /** Reads the edges of a graph through its node and edge ids, which doesn't allocate views. */
+    private void readEdges(IndexedDiGraph<N, E> graph) {
+      boolean outwards = traversalDirection == TraversalDirection.OUTWARDS;
+      for (int i = 0; i < values.length; i++) {
+        values[i] = graph.getValue(i);
+        int edgeCount = outwards ? graph.getOutEdgeCount(i) : graph.getInEdgeCount(i);
+        edgeValues[i] = new Object[edgeCount];
+        successors[i] = new int[edgeCount];
+        for (int k = 0; k < edgeCount; k++) {
+          int edge = outwards ? graph.getOutEdge(i, k) : graph.getInEdge(i, k);
+          edgeValues[i][k] = graph.getEdgeValue(edge);
+          successors[i][k] = outwards ? graph.getEdgeDestination(edge) : graph.getEdgeSource(edge);
+        }
+      }
+    }
+
+    /**
+     * Reads the edges of any graph, numbering its nodes in the order of {@link DiGraph#getNodes()}.
+     *
+     * @return The number of each node.
+     */
+    private Map<DiGraphNode<N, E>, Integer> readEdges(DiGraph<N, E> graph) {
+      boolean outwards = traversalDirection == TraversalDirection.OUTWARDS;
+      List<DiGraphNode<N, E>> nodes = new ArrayList<>(graph.getNodes());
+      Map<DiGraphNode<N, E>, Integer> indices = new IdentityHashMap<>();
+      for (int i = 0; i < nodes.size(); i++) {
+        indices.put(nodes.get(i), i);
+      }
+      for (int i = 0; i < nodes.size(); i++) {
+        DiGraphNode<N, E> node = nodes.get(i);
+        values[i] = node.getValue();
+        List<? extends DiGraphEdge<N, E>> nodeEdges =
+            outwards ? node.getOutEdges() : node.getInEdges();
+        edgeValues[i] = new Object[nodeEdges.size()];
+        successors[i] = new int[nodeEdges.size()];
+        for (int k = 0; k < nodeEdges.size(); k++) {
+          DiGraphEdge<N, E> edge = nodeEdges.get(k);
+          edgeValues[i][k] = edge.getValue();
+          successors[i][k] = indices.get(outwards ? edge.getDestination() : edge.getSource());
+        }
+      }
+      return indices;
+    }
+
+    /**
+     * Finds the strongly connected components with an iterative version of Tarjan's algorithm and
+     * numbers them in topological order.
+     *
+     * @return The number of components.
+     */
+    private int findComponents() {
+      int nodeCount = values.length;
+      int[] order = new int[nodeCount];
+      int[] lowLink = new int[nodeCount];
+      Arrays.fill(order, -1);
+      boolean[] onStack = new boolean[nodeCount];
+      int[] stack = new int[nodeCount];
+      int stackSize = 0;
+      // The nodes whose successors are being visited, and the position of the next successor.
+      int[] callStack = new int[nodeCount];
+      int[] nextSuccessor = new int[nodeCount];
+      int depth = 0;
+      int counter = 0;
+      int componentCount = 0;
+
+      for (int root = 0; root < nodeCount; root++) {
+        if (order[root] >= 0) {
+          continue;
+        }
+        order[root] = lowLink[root] = counter++;
+        stack[stackSize++] = root;
+        onStack[root] = true;
+        callStack[depth] = root;
+        nextSuccessor[depth++] = 0;
+        while (depth > 0) {
+          int node = callStack[depth - 1];
+          if (nextSuccessor[depth - 1] < successors[node].length) {
+            int successor = successors[node][nextSuccessor[depth - 1]++];
+            if (order[successor] < 0) {
+              order[successor] = lowLink[successor] = counter++;
+              stack[stackSize++] = successor;
+              onStack[successor] = true;
+              callStack[depth] = successor;
+              nextSuccessor[depth++] = 0;
+            } else if (onStack[successor]) {
+              lowLink[node] = min(lowLink[node], order[successor]);
+            }
+            continue;
+          }
+          depth--;
+          if (depth > 0) {
+            int parent = callStack[depth - 1];
+            lowLink[parent] = min(lowLink[parent], lowLink[node]);
+          }
+          if (lowLink[node] == order[node]) {
+            int member;
+            do {
+              member = stack[--stackSize];
+              onStack[member] = false;
+              componentOf[member] = componentCount;
+            } while (member != node);
+            componentCount++;
+          }
+        }
+      }
+
+      // Tarjan's algorithm completes a component only after all the components it leads to.
+      for (int i = 0; i < nodeCount; i++) {
+        componentOf[i] = componentCount - 1 - componentOf[i];
+      }
+      return componentCount;
+    }
+
+    void run() {
+      if (componentThreads == 1 || componentMembers.length <= 1) {
+        for (int c = 0; c < componentMembers.length; c++) {
+          solveComponent(c);
+        }
+      } else {
+        runInParallel();
+      }
+    }
+
+    /**
+     * Traverses the edges that enter a component, then iterates within it until it is stable.
+     */
+    private void solveComponent(int component) {
+      ArrayDeque<Integer> workList = new ArrayDeque<>();
+      for (int node : componentMembers[component]) {
+        boolean changed = isEntry[node];
+        int[] sources = crossingSources[node];
+        for (int i = 0; i < sources.length; i++) {
+          if (visited[sources[i]] && traverse(sources[i], crossingEdges[node][i])) {
+            changed = true;
+          }
+        }
+        if (changed) {
+          queued[node] = true;
+          workList.add(node);
+        }
+      }
+
+      while (!workList.isEmpty()) {
+        checkState(cycleCount.incrementAndGet() < maxIterations, NON_HALTING_ERROR_MSG);
+        int node = workList.remove();
+        queued[node] = false;
+        visited[node] = true;
+        for (int k = 0; k < successors[node].length; k++) {
+          int successor = successors[node][k];
+          if (componentOf[successor] == component && traverse(node, k) && !queued[successor]) {
+            queued[successor] = true;
+            workList.add(successor);
+          }
+        }
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean traverse(int source, int edgeIndex) {
+      int destination = successors[source][edgeIndex];
+      return callback.traverseEdge(
+          (N) values[source], (E) edgeValues[source][edgeIndex], (N) values[destination]);
+    }
+
+    /**
+     * Solves each component on a pool of threads as soon as all the components it depends on are
+     * solved.
+     */
+    private void runInParallel() {
+      int componentCount = componentMembers.length;
+      int[][] componentSuccessors = new int[componentCount][];
+      AtomicIntegerArray pending = new AtomicIntegerArray(componentCount);
+      for (int c = 0; c < componentCount; c++) {
+        Set<Integer> targets = new LinkedHashSet<>();
+        for (int node : componentMembers[c]) {
+          for (int successor : successors[node]) {
+            if (componentOf[successor] != c) {
+              targets.add(componentOf[successor]);
+            }
+          }
+        }
+        componentSuccessors[c] = targets.stream().mapToInt(Integer::intValue).toArray();
+        for (int target : componentSuccessors[c]) {
+          pending.incrementAndGet(target);
+        }
+      }
+
+      ThreadFactory threadFactory =
+          r -> {
+            Thread t = new Thread(null, r, "jscompiler-FixedPointGraphTraversal");
+            t.setDaemon(true); // Do not prevent the JVM from exiting.
+            return t;
+          };
+      ThreadPoolExecutor poolExecutor =
+          new ThreadPoolExecutor(
+              componentThreads,
+              componentThreads,
+              Integer.MAX_VALUE,
+              SECONDS,
+              new LinkedBlockingQueue<Runnable>(),
+              threadFactory);
+      CountDownLatch done = new CountDownLatch(componentCount);
+      AtomicReference<Throwable> failure = new AtomicReference<>();
+      ComponentTask task =
+          new ComponentTask(poolExecutor, componentSuccessors, pending, done, failure);
+      // Collect the components without dependencies before any of them runs and makes more ready.
+      List<Integer> ready = new ArrayList<>();
+      for (int c = 0; c < componentCount; c++) {
+        if (pending.get(c) == 0) {
+          ready.add(c);
+        }
+      }
+      try {
+        for (int component : ready) {
+          poolExecutor.execute(() -> task.solveFrom(component));
+        }
+        done.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      } finally {
+        poolExecutor.shutdownNow();
+      }
+      if (failure.get() != null) {
+        Throwables.throwIfUnchecked(failure.get());
+        throw new RuntimeException(failure.get());
+      }
+    }
+
+    /** Solves components on a pool thread and schedules the ones that become ready. */
+    private final class ComponentTask {
+      private final ThreadPoolExecutor poolExecutor;
+      private final int[][] componentSuccessors;
+      private final AtomicIntegerArray pending;
+      private final CountDownLatch done;
+      private final AtomicReference<Throwable> failure;
+
+      ComponentTask(
+          ThreadPoolExecutor poolExecutor,
+          int[][] componentSuccessors,
+          AtomicIntegerArray pending,
+          CountDownLatch done,
+          AtomicReference<Throwable> failure) {
+        this.poolExecutor = poolExecutor;
+        this.componentSuccessors = componentSuccessors;
+        this.pending = pending;
+        this.done = done;
+        this.failure = failure;
+      }
+
+      /**
+       * Solves a component, then keeps solving the components that it made ready on the same
+       * thread. Ready components are only handed to the pool while some of its threads are idle,
+       * because most components are small and switching threads would cost more than solving them.
+       */
+      void solveFrom(int component) {
+        ArrayDeque<Integer> ready = new ArrayDeque<>();
+        ready.add(component);
+        while (!ready.isEmpty()) {
+          int current = ready.removeFirst();
+          if (failure.get() == null) {
+            try {
+              solveComponent(current);
+            } catch (Throwable t) {
+              failure.compareAndSet(null, t);
+            }
+          }
+          for (int successor : componentSuccessors[current]) {
+            if (pending.decrementAndGet(successor) == 0) {
+              ready.add(successor);
+            }
+          }
+          while (ready.size() > 1
+              && poolExecutor.getActiveCount() + poolExecutor.getQueue().size()
+                  < componentThreads) {
+            int handedOff = ready.removeLast();
+            poolExecutor.execute(() -> solveFrom(handedOff));
+          }
+          done.countDown();
+        }
+      }
+    }
+  }
+
   /** Edge callback */
   public interface EdgeCallback<NodeT, EdgeT> {
     /**
@@ -0,0 +1,426 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.graph;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
+import com.google.javascript.jscomp.graph.Graph.GraphEdge;
+import com.google.javascript.jscomp.graph.GraphvizGraph.GraphvizEdge;
+import com.google.javascript.jscomp.graph.GraphvizGraph.GraphvizNode;
+import com.google.javascript.jscomp.graph.IndexedDiGraph.IndexedDiGraphNode;
+import com.google.javascript.jscomp.graph.UndiGraph.UndiGraphEdge;
+import com.google.javascript.jscomp.graph.UndiGraph.UndiGraphNode;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Writes a graph, or the part of it that can be reached from a given node, to a stream while
+ * walking it.
+ *
+ * <p>Unlike {@link com.google.javascript.jscomp.DotFormatter#toDot(GraphvizGraph)}, the output is
+ * never held in memory and nothing is sorted, so graphs of any size can be dumped to a file. Nodes
+ * are numbered in the order they are found: the nodes of the graph in order, each followed by the
+ * nodes that can be reached from it and have not been numbered yet, breadth first. Edges of a
+ * directed graph are its out edges; each edge of an undirected graph is written once.
+ *
+ * <p>Two formats are supported:
+ *
+ * <ul>
+ *   <li>{@link #writeDot} writes a Graphviz DOT file in which the nodes are named {@code n<i>}.
+ *   <li>{@link #writeBinary} writes an adjacency list: the bytes {@code "JSCG"}, a version byte, a
+ *       byte that is 1 for directed graphs and 0 otherwise, and then for each node in order its
+ *       label, its number of edges and, for each edge, the number of the node at its other end and
+ *       the edge's label. Numbers are unsigned LEB128 varints and labels are a varint byte length
+ *       followed by UTF-8. {@link #readBinary} reads it back.
+ * </ul>
+ *
+ * <p>The compiler writes its graphs to the debug log directory in the format and from the root
+ * that are set in its options.
+ *
+ * <p>Labels and colors come from {@link GraphvizNode} and {@link GraphvizEdge} where the graph
+ * implements them, and from the string value of the node or edge otherwise.
+ */
+public final class GraphExporter<N, E> {
+  private static final String INDENT = "  ";
+  private static final byte[] MAGIC = {'J', 'S', 'C', 'G'};
+  private static final int BINARY_VERSION = 1;
+
+  /** The formats that a graph can be written in. */
+  public enum Format {
+    DOT(".dot"),
+    BINARY(".jscg");
+
+    private final String fileExtension;
+
+    Format(String fileExtension) {
+      this.fileExtension = fileExtension;
+    }
+
+    public String getFileExtension() {
+      return fileExtension;
+    }
+  }
+
+  private final Graph<N, E> graph;
+  private final boolean directed;
+  private @Nullable GraphNode<N, E> root;
+  // Set when only the nodes reachable from a node with this label are written.
+  private @Nullable String rootLabel;
+
+  private GraphExporter(Graph<N, E> graph) {
+    checkArgument(
+        graph instanceof DiGraph || graph instanceof UndiGraph, "Unsupported graph: %s", graph);
+    this.graph = graph;
+    this.directed = graph instanceof DiGraph;
+  }
+
+  public static <N, E> GraphExporter<N, E> of(Graph<N, E> graph) {
+    return new GraphExporter<>(graph);
+  }
+
+  /** Only writes the nodes that can be reached from the given node, following edges forward. */
+  public GraphExporter<N, E> rootedAt(N value) {
+    GraphNode<N, E> node = graph.getNode(value);
+    checkArgument(node != null, "%s not found in graph", value);
+    this.root = node;
+    this.rootLabel = null;
+    return this;
+  }
+
+  /**
+   * Only writes the nodes that can be reached from the first node with the given label, following
+   * edges forward. If no node has the label, no nodes are written.
+   */
+  public GraphExporter<N, E> rootedAtLabel(String label) {
+    this.root = null;
+    this.rootLabel = checkNotNull(label);
+    return this;
+  }
+
+  /** Writes the graph in Graphviz DOT format. */
+  public void writeDot(Appendable out) throws IOException {
+    String name = graph instanceof GraphvizGraph gvGraph ? gvGraph.getName() : "Graph";
+    out.append(directed ? "digraph" : "graph").append(INDENT).append(name).append(" {\n");
+    out.append(INDENT).append("node [color=lightblue2, style=filled];\n");
+    String edgeSymbol = directed ? " -> " : " -- ";
+    new Walk() {
+      @Override
+      void visitNode(int id, GraphNode<N, E> node, List<GraphEdge<N, E>> edges)
+          throws IOException {
+        out.append(INDENT).append('n').append(Integer.toString(id));
+        appendAttributes(out, getLabel(node), getColor(node));
+        for (GraphEdge<N, E> edge : edges) {
+          out.append(INDENT).append('n').append(Integer.toString(id)).append(edgeSymbol);
+          out.append('n').append(Integer.toString(getId(getOtherEnd(node, edge))));
+          appendAttributes(out, getLabel(edge), getColor(edge));
+        }
+      }
+    }.run();
+    out.append("}\n");
+  }
+
+  /** Writes the graph in the binary adjacency format described on this class. */
+  public void writeBinary(OutputStream out) throws IOException {
+    out.write(MAGIC);
+    out.write(BINARY_VERSION);
+    out.write(directed ? 1 : 0);
+    new Walk() {
+      @Override
+      void visitNode(int id, GraphNode<N, E> node, List<GraphEdge<N, E>> edges)
+          throws IOException {
+        writeString(out, getLabel(node));
+        writeVarint(out, edges.size());
+        for (GraphEdge<N, E> edge : edges) {
+          writeVarint(out, getId(getOtherEnd(node, edge)));
+          writeString(out, getLabel(edge));
+        }
+      }
+    }.run();
+  }
+
+  /**
+   * Numbers and visits the nodes to write. Only the numbers of the nodes and the nodes that are
+   * waiting to be visited are kept.
+   */
+  private abstract class Walk {
+    // The numbers of the nodes, by their index for an IndexedDiGraph and in an identity map
+    // otherwise. Graph nodes have identity semantics, and an identity map needs no entry objects.
+    private final int @Nullable [] idsByIndex;
+    private final @Nullable Map<GraphNode<N, E>, Integer> ids;
+    private int idCount = 0;
+    private final ArrayDeque<GraphNode<N, E>> queue = new ArrayDeque<>();
+
+    Walk() {
+      if (graph instanceof IndexedDiGraph<N, E> indexed) {
+        this.idsByIndex = new int[indexed.getNodeCount()];
+        Arrays.fill(idsByIndex, -1);
+        this.ids = null;
+      } else {
+        this.idsByIndex = null;
+        this.ids = new IdentityHashMap<>();
+      }
+    }
+
+    abstract void visitNode(int id, GraphNode<N, E> node, List<GraphEdge<N, E>> edges)
+        throws IOException;
+
+    void run() throws IOException {
+      if (root != null) {
+        drainFrom(root);
+      } else if (rootLabel != null) {
+        for (GraphNode<N, E> node : graph.getNodes()) {
+          if (getLabel(node).equals(rootLabel)) {
+            drainFrom(node);
+            return;
+          }
+        }
+      } else {
+        for (GraphNode<N, E> node : graph.getNodes()) {
+          drainFrom(node);
+        }
+      }
+    }
+
+    private void drainFrom(GraphNode<N, E> start) throws IOException {
+      if (findId(start) >= 0) {
+        return;
+      }
+      int next = getId(start);
+      while (!queue.isEmpty()) {
+        GraphNode<N, E> node = queue.removeFirst();
+        List<GraphEdge<N, E>> edges = getEdgesToWrite(next, node);
+        for (GraphEdge<N, E> edge : edges) {
+          getId(getOtherEnd(node, edge));
+        }
+        visitNode(next++, node, edges);
+      }
+    }
+
+    /** Returns the number of the node, numbering it and queueing it if it is new. */
+    int getId(GraphNode<N, E> node) {
+      int id = findId(node);
+      if (id < 0) {
+        id = idCount++;
+        if (idsByIndex != null) {
+          idsByIndex[((IndexedDiGraphNode<?, ?>) node).getIndex()] = id;
+        } else {
+          ids.put(node, id);
+        }
+        queue.addLast(node);
+      }
+      return id;
+    }
+
+    /** Returns the number of the node, or -1 if it has not been numbered yet. */
+    private int findId(GraphNode<N, E> node) {
+      if (idsByIndex != null) {
+        return idsByIndex[((IndexedDiGraphNode<?, ?>) node).getIndex()];
+      }
+      Integer id = ids.get(node);
+      return id == null ? -1 : id;
+    }
+
+    private List<GraphEdge<N, E>> getEdgesToWrite(int id, GraphNode<N, E> node) {
+      if (directed) {
+        return Collections.unmodifiableList(((DiGraphNode<N, E>) node).getOutEdges());
+      }
+      // An undirected edge is listed by both of its nodes, and a loop twice by its node. Write it
+      // from whichever node is visited first. Nodes are visited in the order of their numbers.
+      List<GraphEdge<N, E>> edges = new ArrayList<>();
+      Set<UndiGraphEdge<N, E>> loops = null;
+      for (UndiGraphEdge<N, E> edge : ((UndiGraphNode<N, E>) node).getNeighborEdges()) {
+        GraphNode<N, E> other = getOtherEnd(node, edge);
+        if (other == node) {
+          if (loops == null) {
+            loops = Collections.newSetFromMap(new IdentityHashMap<>());
+          }
+          if (loops.add(edge)) {
+            edges.add(edge);
+          }
+        } else {
+          int otherId = findId(other);
+          if (otherId < 0 || otherId > id) {
+            edges.add(edge);
+          }
+        }
+      }
+      return edges;
+    }
+  }
+
+  /** A node of a graph read by {@link #readBinary}: its number in the file and its label. */
+  public record NumberedNode(int id, String label) {
+    @Override
+    public String toString() {
+      return label;
+    }
+  }
+
+  /**
+   * Reads a graph written by {@link #writeBinary}. The result is a {@link LinkedDirectedGraph} or a
+   * {@link LinkedUndirectedGraph}, with the nodes in the order of their numbers.
+   *
+   * @throws IOException If the stream can't be read or is not in the binary format.
+   */
+  public static Graph<NumberedNode, String> readBinary(InputStream in) throws IOException {
+    byte[] magic = in.readNBytes(MAGIC.length);
+    if (!Arrays.equals(magic, MAGIC)) {
+      throw new IOException("Not a graph file");
+    }
+    int version = in.read();
+    if (version != BINARY_VERSION) {
+      throw new IOException("Unsupported graph file version: " + version);
+    }
+    int directedByte = in.read();
+    if (directedByte != 0 && directedByte != 1) {
+      throw new IOException("Invalid graph kind: " + directedByte);
+    }
+
+    // Edges may lead to nodes that come later, so all nodes are read before they are connected.
+    List<NumberedNode> nodes = new ArrayList<>();
+    List<int[]> otherEnds = new ArrayList<>();
+    List<String[]> edgeLabels = new ArrayList<>();
+    for (int first = in.read(); first >= 0; first = in.read()) {
+      nodes.add(new NumberedNode(nodes.size(), readString(in, readVarint(in, first))));
+      int edgeCount = readVarint(in, readByte(in));
+      int[] nodeOtherEnds = new int[edgeCount];
+      String[] nodeEdgeLabels = new String[edgeCount];
+      for (int i = 0; i < edgeCount; i++) {
+        nodeOtherEnds[i] = readVarint(in, readByte(in));
+        nodeEdgeLabels[i] = readString(in, readVarint(in, readByte(in)));
+      }
+      otherEnds.add(nodeOtherEnds);
+      edgeLabels.add(nodeEdgeLabels);
+    }
+
+    Graph<NumberedNode, String> graph =
+        directedByte == 1
+            ? LinkedDirectedGraph.createWithoutAnnotations()
+            : LinkedUndirectedGraph.create();
+    for (NumberedNode node : nodes) {
+      graph.createNode(node);
+    }
+    for (int id = 0; id < nodes.size(); id++) {
+      for (int i = 0; i < otherEnds.get(id).length; i++) {
+        int otherEnd = otherEnds.get(id)[i];
+        if (otherEnd >= nodes.size()) {
+          throw new IOException("Edge to missing node " + otherEnd);
+        }
+        graph.connect(nodes.get(id), edgeLabels.get(id)[i], nodes.get(otherEnd));
+      }
+    }
+    return graph;
+  }
+
+  private GraphNode<N, E> getOtherEnd(GraphNode<N, E> node, GraphEdge<N, E> edge) {
+    if (directed) {
+      return ((DiGraphEdge<N, E>) edge).getDestination();
+    }
+    return edge.getNodeA() == node ? edge.getNodeB() : edge.getNodeA();
+  }
+
+  private static String getLabel(GraphNode<?, ?> node) {
+    return node instanceof GraphvizNode gvNode
+        ? gvNode.getLabel()
+        : String.valueOf(node.getValue());
+  }
+
+  private static String getColor(GraphNode<?, ?> node) {
+    return node instanceof GraphvizNode gvNode ? gvNode.getColor() : "white";
+  }
+
+  private static String getLabel(GraphEdge<?, ?> edge) {
+    return edge instanceof GraphvizEdge gvEdge
+        ? gvEdge.getLabel()
+        : String.valueOf(edge.getValue());
+  }
+
+  private static String getColor(GraphEdge<?, ?> edge) {
+    return edge instanceof GraphvizEdge gvEdge ? gvEdge.getColor() : "black";
+  }
+
+  private static void appendAttributes(Appendable out, String label, String color)
+      throws IOException {
+    out.append(" [label=\"");
+    for (int i = 0; i < label.length(); i++) {
+      char c = label.charAt(i);
+      if (c == '"' || c == '\\') {
+        out.append('\\');
+      }
+      out.append(c);
+    }
+    out.append("\" color=\"").append(color).append("\"];\n");
+  }
+
+  private static void writeString(OutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(UTF_8);
+    writeVarint(out, bytes.length);
+    out.write(bytes);
+  }
+
+  private static int readByte(InputStream in) throws IOException {
+    int b = in.read();
+    if (b < 0) {
+      throw new EOFException("Truncated graph file");
+    }
+    return b;
+  }
+
+  /** Reads a varint whose first byte has already been read. */
+  private static int readVarint(InputStream in, int first) throws IOException {
+    int result = first & 0x7F;
+    for (int shift = 7, b = first; (b & 0x80) != 0; shift += 7) {
+      if (shift > 28) {
+        throw new IOException("Varint too long");
+      }
+      b = readByte(in);
+      result |= (b & 0x7F) << shift;
+    }
+    return result;
+  }
+
+  private static String readString(InputStream in, int length) throws IOException {
+    byte[] bytes = in.readNBytes(length);
+    if (bytes.length < length) {
+      throw new EOFException("Truncated graph file");
+    }
+    return new String(bytes, UTF_8);
+  }
+
+  private static void writeVarint(OutputStream out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+}
@@ -0,0 +1,639 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.graph;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A directed graph that stores its nodes and edges in arrays indexed by int ids.
+ *
+ * <p>Nodes are numbered from 0 in the order they are created and edges are numbered from 0 in the
+ * order they are connected. Values, edge endpoints and the edge lists of each node are kept in
+ * primitive arrays, and the only hash map is the one from node values to ids. Compared to {@link
+ * LinkedDirectedGraph}, this avoids an object per edge and per node as well as the lists inside
+ * each node, which matters for graphs with millions of edges.
+ *
+ * <p>The int methods ({@link #getIndex}, {@link #connect(int, Object, int)}, {@link
+ * #getOutEdgeCount}, {@link #getOutEdge}, {@link #getEdgeDestination} and so on) don't allocate.
+ * The edges of a node are iterated with them as
+ *
+ * <pre>
+ * for (int i = 0; i &lt; graph.getOutEdgeCount(node); i++) {
+ *   int edge = graph.getOutEdge(node, i);
+ *   visit(graph.getEdgeValue(edge), graph.getEdgeDestination(edge));
+ * }
+ * </pre>
+ *
+ * <p>The {@link DiGraph} methods are supported as well: a node object is created for each node the
+ * first time it is asked for and then reused, while edge objects and edge lists are lightweight
+ * views that are created on each call, so loops that run often should use the int methods
+ * instead. Two views of the same edge are equal. {@link FixedPointGraphTraversal} reads the edges
+ * of this graph through its ids.
+ *
+ * @param <N> Value type that the graph node stores.
+ * @param <E> Value type that the graph edge stores.
+ */
+public final class IndexedDiGraph<N, E> extends DiGraph<N, E> {
+  private static final int[] NO_EDGES = new int[0];
+
+  private final Map<N, Integer> ids = new HashMap<>();
+  private final boolean useAnnotations;
+
+  private int nodeCount = 0;
+  private Object[] values = new Object[8];
+  // The edges of each node, in the order they were connected. Only the first outCounts[i] and
+  // inCounts[i] entries are used.
+  private int[][] outEdges = new int[8][];
+  private int[] outCounts = new int[8];
+  private int[][] inEdges = new int[8][];
+  private int[] inCounts = new int[8];
+  private IndexedDiGraphNode<?, ?>[] nodeViews = new IndexedDiGraphNode<?, ?>[8];
+  private Annotation @Nullable [] nodeAnnotations;
+  private int @Nullable [] priorities;
+
+  private int edgeCount = 0;
+  // The source of a disconnected edge is -1.
+  private int[] sources = new int[8];
+  private int[] destinations = new int[8];
+  private Object[] edgeValues = new Object[8];
+  private Annotation @Nullable [] edgeAnnotations;
+
+  private IndexedDiGraph(boolean useAnnotations) {
+    this.useAnnotations = useAnnotations;
+  }
+
+  public static <N, E> IndexedDiGraph<N, E> createWithoutAnnotations() {
+    return new IndexedDiGraph<>(false);
+  }
+
+  public static <N, E> IndexedDiGraph<N, E> create() {
+    return new IndexedDiGraph<>(true);
+  }
+
+  /** Returns the id of the node with the given value, creating the node if there is none. */
+  public int createNodeIndex(N nodeValue) {
+    Integer id = ids.get(nodeValue);
+    if (id != null) {
+      return id;
+    }
+    if (nodeCount == values.length) {
+      int capacity = nodeCount * 2;
+      values = Arrays.copyOf(values, capacity);
+      outEdges = Arrays.copyOf(outEdges, capacity);
+      outCounts = Arrays.copyOf(outCounts, capacity);
+      inEdges = Arrays.copyOf(inEdges, capacity);
+      inCounts = Arrays.copyOf(inCounts, capacity);
+      nodeViews = Arrays.copyOf(nodeViews, capacity);
+      if (nodeAnnotations != null) {
+        nodeAnnotations = Arrays.copyOf(nodeAnnotations, capacity);
+      }
+      if (priorities != null) {
+        priorities = Arrays.copyOf(priorities, capacity);
+        Arrays.fill(priorities, nodeCount, capacity, -1);
+      }
+    }
+    values[nodeCount] = nodeValue;
+    outEdges[nodeCount] = NO_EDGES;
+    inEdges[nodeCount] = NO_EDGES;
+    ids.put(nodeValue, nodeCount);
+    return nodeCount++;
+  }
+
+  /** Returns the id of the node with the given value, or -1 if there is none. */
+  public int getIndex(N nodeValue) {
+    Integer id = ids.get(nodeValue);
+    return id == null ? -1 : id;
+  }
+
+  @SuppressWarnings("unchecked")
+  public N getValue(int node) {
+    checkElementIndex(node, nodeCount);
+    return (N) values[node];
+  }
+
+  /**
+   * Connects two nodes and returns the id of the new edge.
+   *
+   * @param source The id of the source node.
+   * @param edgeValue The edge value.
+   * @param destination The id of the destination node.
+   */
+  public int connect(int source, E edgeValue, int destination) {
+    checkElementIndex(source, nodeCount);
+    checkElementIndex(destination, nodeCount);
+    if (edgeCount == sources.length) {
+      int capacity = edgeCount * 2;
+      sources = Arrays.copyOf(sources, capacity);
+      destinations = Arrays.copyOf(destinations, capacity);
+      edgeValues = Arrays.copyOf(edgeValues, capacity);
+      if (edgeAnnotations != null) {
+        edgeAnnotations = Arrays.copyOf(edgeAnnotations, capacity);
+      }
+    }
+    int edge = edgeCount++;
+    sources[edge] = source;
+    destinations[edge] = destination;
+    edgeValues[edge] = edgeValue;
+    outEdges[source] = append(outEdges[source], outCounts[source]++, edge);
+    inEdges[destination] = append(inEdges[destination], inCounts[destination]++, edge);
+    return edge;
+  }
+
+  private static int[] append(int[] list, int size, int value) {
+    if (size == list.length) {
+      // Most nodes have very few edges, so start small.
+      list = Arrays.copyOf(list, size == 0 ? 1 : size * 2);
+    }
+    list[size] = value;
+    return list;
+  }
+
+  /** Returns the number of edges that leave a node. */
+  public int getOutEdgeCount(int node) {
+    checkElementIndex(node, nodeCount);
+    return outCounts[node];
+  }
+
+  /** Returns the id of the {@code i}th edge that leaves a node. */
+  public int getOutEdge(int node, int i) {
+    checkElementIndex(i, getOutEdgeCount(node));
+    return outEdges[node][i];
+  }
+
+  /** Returns the number of edges that enter a node. */
+  public int getInEdgeCount(int node) {
+    checkElementIndex(node, nodeCount);
+    return inCounts[node];
+  }
+
+  /** Returns the id of the {@code i}th edge that enters a node. */
+  public int getInEdge(int node, int i) {
+    checkElementIndex(i, getInEdgeCount(node));
+    return inEdges[node][i];
+  }
+
+  public int getEdgeSource(int edge) {
+    checkEdge(edge);
+    return sources[edge];
+  }
+
+  public int getEdgeDestination(int edge) {
+    checkEdge(edge);
+    return destinations[edge];
+  }
+
+  @SuppressWarnings("unchecked")
+  public E getEdgeValue(int edge) {
+    checkEdge(edge);
+    return (E) edgeValues[edge];
+  }
+
+  private void checkEdge(int edge) {
+    checkElementIndex(edge, edgeCount);
+    checkArgument(sources[edge] >= 0, "edge %s was disconnected", edge);
+  }
+
+  @Override
+  public IndexedDiGraphNode<N, E> createNode(N nodeValue) {
+    return getNodeView(createNodeIndex(nodeValue));
+  }
+
+  @Override
+  public @Nullable IndexedDiGraphNode<N, E> getNode(N nodeValue) {
+    int node = getIndex(nodeValue);
+    return node < 0 ? null : getNodeView(node);
+  }
+
+  /** Returns the node object of a node id. */
+  @SuppressWarnings("unchecked")
+  public IndexedDiGraphNode<N, E> getNodeView(int node) {
+    checkElementIndex(node, nodeCount);
+    if (nodeViews[node] == null) {
+      nodeViews[node] = new IndexedDiGraphNode<>(this, node);
+    }
+    return (IndexedDiGraphNode<N, E>) nodeViews[node];
+  }
+
+  private int getIndexOrFail(N nodeValue) {
+    int node = getIndex(nodeValue);
+    checkArgument(node >= 0, "%s does not exist in graph", nodeValue);
+    return node;
+  }
+
+  private int getIndexOf(DiGraphNode<N, E> node) {
+    checkArgument(
+        node instanceof IndexedDiGraphNode<?, ?> indexed && indexed.graph == this,
+        "%s is not a node of this graph",
+        node);
+    return ((IndexedDiGraphNode<?, ?>) node).index;
+  }
+
+  @Override
+  public void connect(N srcValue, E edgeValue, N destValue) {
+    connect(getIndexOrFail(srcValue), edgeValue, getIndexOrFail(destValue));
+  }
+
+  /**
+   * Connects two nodes of this graph. Prefer this method over the one that takes node values if
+   * you have the nodes available, since it doesn't look them up.
+   */
+  public void connect(DiGraphNode<N, E> src, E edgeValue, DiGraphNode<N, E> dest) {
+    connect(getIndexOf(src), edgeValue, getIndexOf(dest));
+  }
+
+  @Override
+  public void disconnect(N n1, N n2) {
+    disconnectInDirection(n1, n2);
+    disconnectInDirection(n2, n1);
+  }
+
+  @Override
+  public void disconnectInDirection(N srcValue, N destValue) {
+    int source = getIndexOrFail(srcValue);
+    int destination = getIndexOrFail(destValue);
+    int[] out = outEdges[source];
+    int kept = 0;
+    for (int i = 0; i < outCounts[source]; i++) {
+      int edge = out[i];
+      if (destinations[edge] == destination) {
+        removeInEdge(destination, edge);
+        sources[edge] = -1;
+        edgeValues[edge] = null;
+      } else {
+        out[kept++] = edge;
+      }
+    }
+    outCounts[source] = kept;
+  }
+
+  private void removeInEdge(int node, int edge) {
+    int[] in = inEdges[node];
+    int count = inCounts[node];
+    for (int i = 0; i < count; i++) {
+      if (in[i] == edge) {
+        System.arraycopy(in, i + 1, in, i, count - i - 1);
+        inCounts[node] = count - 1;
+        return;
+      }
+    }
+    throw new IllegalStateException("edge " + edge + " not found");
+  }
+
+  @Override
+  public Collection<IndexedDiGraphNode<N, E>> getNodes() {
+    return new AbstractList<IndexedDiGraphNode<N, E>>() {
+      @Override
+      public IndexedDiGraphNode<N, E> get(int i) {
+        return getNodeView(i);
+      }
+
+      @Override
+      public int size() {
+        return nodeCount;
+      }
+    };
+  }
+
+  @Override
+  public int getNodeCount() {
+    return nodeCount;
+  }
+
+  /** Returns the number of edges that were connected, including disconnected ones. */
+  public int getEdgeIdCount() {
+    return edgeCount;
+  }
+
+  @Override
+  public List<IndexedDiGraphEdge<N, E>> getOutEdges(N nodeValue) {
+    return edgeList(outEdges, outCounts, getIndexOrFail(nodeValue));
+  }
+
+  @Override
+  public List<IndexedDiGraphEdge<N, E>> getInEdges(N nodeValue) {
+    return edgeList(inEdges, inCounts, getIndexOrFail(nodeValue));
+  }
+
+  /** Returns an unmodifiable view of the edges of a node. */
+  private List<IndexedDiGraphEdge<N, E>> edgeList(int[][] edgeLists, int[] counts, int node) {
+    return new AbstractList<IndexedDiGraphEdge<N, E>>() {
+      @Override
+      public IndexedDiGraphEdge<N, E> get(int i) {
+        checkElementIndex(i, counts[node]);
+        return new IndexedDiGraphEdge<>(IndexedDiGraph.this, edgeLists[node][i]);
+      }
+
+      @Override
+      public int size() {
+        return counts[node];
+      }
+    };
+  }
+
+  @Override
+  public List<IndexedDiGraphEdge<N, E>> getEdges() {
+    List<IndexedDiGraphEdge<N, E>> result = new ArrayList<>();
+    for (int node = 0; node < nodeCount; node++) {
+      for (int i = 0; i < outCounts[node]; i++) {
+        result.add(new IndexedDiGraphEdge<>(this, outEdges[node][i]));
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public List<IndexedDiGraphEdge<N, E>> getEdges(N n1, N n2) {
+    // Since this is a method from a generic graph, edges from both
+    // directions must be added to the returning list.
+    List<IndexedDiGraphEdge<N, E>> edges = getEdgesInDirection(n1, n2);
+    edges.addAll(getEdgesInDirection(n2, n1));
+    return edges;
+  }
+
+  @Override
+  public List<IndexedDiGraphEdge<N, E>> getEdgesInDirection(N n1, N n2) {
+    int source = getIndexOrFail(n1);
+    int destination = getIndexOrFail(n2);
+    List<IndexedDiGraphEdge<N, E>> edges = new ArrayList<>();
+    for (int i = 0; i < outCounts[source]; i++) {
+      int edge = outEdges[source][i];
+      if (destinations[edge] == destination) {
+        edges.add(new IndexedDiGraphEdge<>(this, edge));
+      }
+    }
+    return edges;
+  }
+
+  @Override
+  public @Nullable GraphEdge<N, E> getFirstEdge(N n1, N n2) {
+    List<IndexedDiGraphEdge<N, E>> edges = getEdges(n1, n2);
+    return edges.isEmpty() ? null : edges.get(0);
+  }
+
+  @Override
+  public boolean isConnectedInDirection(N n1, N n2) {
+    return findEdge(getIndexOrFail(n1), getIndexOrFail(n2), false, null) >= 0;
+  }
+
+  @Override
+  public boolean isConnectedInDirection(N n1, E edgeValue, N n2) {
+    return findEdge(getIndexOrFail(n1), getIndexOrFail(n2), true, edgeValue) >= 0;
+  }
+
+  /**
+   * Returns the id of an edge from one node to another, optionally with a given value, or -1 if
+   * there is none.
+   */
+  public int findEdge(int source, int destination, boolean matchValue, @Nullable E edgeValue) {
+    checkElementIndex(source, nodeCount);
+    checkElementIndex(destination, nodeCount);
+    // Search the shorter of the two edge lists.
+    if (outCounts[source] < inCounts[destination]) {
+      for (int i = 0; i < outCounts[source]; i++) {
+        int edge = outEdges[source][i];
+        if (destinations[edge] == destination
+            && (!matchValue || Objects.equals(edgeValues[edge], edgeValue))) {
+          return edge;
+        }
+      }
+    } else {
+      for (int i = 0; i < inCounts[destination]; i++) {
+        int edge = inEdges[destination][i];
+        if (sources[edge] == source
+            && (!matchValue || Objects.equals(edgeValues[edge], edgeValue))) {
+          return edge;
+        }
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public List<IndexedDiGraphNode<N, E>> getDirectedPredNodes(N nodeValue) {
+    return adjacentNodes(inEdges, inCounts, sources, getIndexOrFail(nodeValue));
+  }
+
+  @Override
+  public List<IndexedDiGraphNode<N, E>> getDirectedPredNodes(DiGraphNode<N, E> dNode) {
+    return adjacentNodes(inEdges, inCounts, sources, getIndexOf(checkNotNull(dNode)));
+  }
+
+  @Override
+  public List<IndexedDiGraphNode<N, E>> getDirectedSuccNodes(N nodeValue) {
+    return adjacentNodes(outEdges, outCounts, destinations, getIndexOrFail(nodeValue));
+  }
+
+  @Override
+  public List<IndexedDiGraphNode<N, E>> getDirectedSuccNodes(DiGraphNode<N, E> dNode) {
+    return adjacentNodes(outEdges, outCounts, destinations, getIndexOf(checkNotNull(dNode)));
+  }
+
+  private List<IndexedDiGraphNode<N, E>> adjacentNodes(
+      int[][] edgeLists, int[] counts, int[] otherEnds, int node) {
+    List<IndexedDiGraphNode<N, E>> nodeList = new ArrayList<>(counts[node]);
+    for (int i = 0; i < counts[node]; i++) {
+      nodeList.add(getNodeView(otherEnds[edgeLists[node][i]]));
+    }
+    return nodeList;
+  }
+
+  @Override
+  public List<GraphNode<N, E>> getNeighborNodes(N value) {
+    List<GraphNode<N, E>> result = new ArrayList<>();
+    result.addAll(getDirectedPredNodes(value));
+    result.addAll(getDirectedSuccNodes(value));
+    return result;
+  }
+
+  @Override
+  public int getNodeDegree(N value) {
+    int node = getIndexOrFail(value);
+    return inCounts[node] + outCounts[node];
+  }
+
+  @Override
+  public SubGraph<N, E> newSubGraph() {
+    return new SimpleSubGraph<>(this);
+  }
+
+  private void checkAnnotations(String kind) {
+    if (!useAnnotations) {
+      throw new UnsupportedOperationException(
+          "Graph initialized with " + kind + " annotations turned off");
+    }
+  }
+
+  /** A node of an {@link IndexedDiGraph}, which stores its state in the graph's arrays. */
+  public static final class IndexedDiGraphNode<N, E> implements DiGraphNode<N, E> {
+    private final IndexedDiGraph<N, E> graph;
+    private final int index;
+
+    private IndexedDiGraphNode(IndexedDiGraph<N, E> graph, int index) {
+      this.graph = graph;
+      this.index = index;
+    }
+
+    /** Returns the id of this node in its graph. */
+    public int getIndex() {
+      return index;
+    }
+
+    @Override
+    public N getValue() {
+      return graph.getValue(index);
+    }
+
+    @Override
+    public List<IndexedDiGraphEdge<N, E>> getOutEdges() {
+      return graph.edgeList(graph.outEdges, graph.outCounts, index);
+    }
+
+    @Override
+    public List<IndexedDiGraphEdge<N, E>> getInEdges() {
+      return graph.edgeList(graph.inEdges, graph.inCounts, index);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <A extends Annotation> A getAnnotation() {
+      graph.checkAnnotations("node");
+      return graph.nodeAnnotations == null ? null : (A) graph.nodeAnnotations[index];
+    }
+
+    @Override
+    public void setAnnotation(Annotation data) {
+      graph.checkAnnotations("node");
+      if (graph.nodeAnnotations == null) {
+        graph.nodeAnnotations = new Annotation[graph.values.length];
+      }
+      graph.nodeAnnotations[index] = data;
+    }
+
+    @Override
+    public boolean hasPriority() {
+      return graph.priorities != null && graph.priorities[index] >= 0;
+    }
+
+    @Override
+    public int getPriority() {
+      checkState(hasPriority(), "priority not set");
+      return graph.priorities[index];
+    }
+
+    @Override
+    public void setPriority(int priority) {
+      checkArgument(priority >= 0, "priorities must be non-negative");
+      if (graph.priorities == null) {
+        graph.priorities = new int[graph.values.length];
+        Arrays.fill(graph.priorities, -1);
+      }
+      graph.priorities[index] = priority;
+    }
+
+    @Override
+    public String toString() {
+      return String.valueOf(getValue());
+    }
+  }
+
+  /** A view of an edge of an {@link IndexedDiGraph}. */
+  public static final class IndexedDiGraphEdge<N, E> implements DiGraphEdge<N, E> {
+    private final IndexedDiGraph<N, E> graph;
+    private final int index;
+
+    private IndexedDiGraphEdge(IndexedDiGraph<N, E> graph, int index) {
+      this.graph = graph;
+      this.index = index;
+    }
+
+    /** Returns the id of this edge in its graph. */
+    public int getIndex() {
+      return index;
+    }
+
+    @Override
+    public IndexedDiGraphNode<N, E> getSource() {
+      return graph.getNodeView(graph.getEdgeSource(index));
+    }
+
+    @Override
+    public IndexedDiGraphNode<N, E> getDestination() {
+      return graph.getNodeView(graph.getEdgeDestination(index));
+    }
+
+    @Override
+    public GraphNode<N, E> getNodeA() {
+      return getSource();
+    }
+
+    @Override
+    public GraphNode<N, E> getNodeB() {
+      return getDestination();
+    }
+
+    @Override
+    public E getValue() {
+      return graph.getEdgeValue(index);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <A extends Annotation> A getAnnotation() {
+      graph.checkAnnotations("edge");
+      return graph.edgeAnnotations == null ? null : (A) graph.edgeAnnotations[index];
+    }
+
+    @Override
+    public void setAnnotation(Annotation data) {
+      graph.checkAnnotations("edge");
+      if (graph.edgeAnnotations == null) {
+        graph.edgeAnnotations = new Annotation[graph.sources.length];
+      }
+      graph.edgeAnnotations[index] = data;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof IndexedDiGraphEdge<?, ?> edge
+          && edge.graph == graph
+          && edge.index == index;
+    }
+
+    @Override
+    public int hashCode() {
+      return index;
+    }
+
+    @Override
+    public String toString() {
+      return getSource() + " -> " + getDestination();
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.graph;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * An undirected graph over the integers {@code 0..size-1} that stores the neighbors of each node
+ * as a bit set, together with a greedy coloring of it.
+ *
+ * <p>This is meant for interference graphs, whose nodes are already numbered (for example by the
+ * variable indices of a liveness analysis) and which can be dense. Unlike {@link
+ * LinkedUndirectedGraph} no object is allocated per node or per edge, and connecting two nodes
+ * twice has no effect.
+ *
+ * <p>{@link #color()} gives exactly the coloring that {@link GraphColoring.GreedyGraphColoring}
+ * gives for the same graph when nodes of the same degree are ordered by their index. As in {@link
+ * LinkedUndirectedGraph}, an edge from a node to itself adds two to its degree.
+ */
+public final class InterferenceGraph {
+  private final BitSet nodes = new BitSet();
+  private final BitSet[] neighbors;
+
+  // The color of each node, or -1 for nodes that are not in the graph.
+  private int[] colors;
+  // Maps a color to the node that represents it, or -1 if it has not been retrieved yet.
+  private int[] colorToNodeMap;
+
+  public InterferenceGraph(int size) {
+    this.neighbors = new BitSet[size];
+  }
+
+  /** Returns the number of indices that may be nodes of this graph. */
+  public int size() {
+    return neighbors.length;
+  }
+
+  public void createNode(int node) {
+    checkElementIndex(node, neighbors.length);
+    if (!nodes.get(node)) {
+      nodes.set(node);
+      neighbors[node] = new BitSet();
+    }
+  }
+
+  public boolean hasNode(int node) {
+    return node >= 0 && node < neighbors.length && nodes.get(node);
+  }
+
+  /** Connects two nodes of the graph, which may be the same node. */
+  public void connect(int a, int b) {
+    checkArgument(hasNode(a) && hasNode(b), "%s or %s not found in graph", a, b);
+    neighbors[a].set(b);
+    neighbors[b].set(a);
+  }
+
+  public boolean isConnected(int a, int b) {
+    return hasNode(a) && hasNode(b) && neighbors[a].get(b);
+  }
+
+  /** Returns the degree of a node, where an edge from the node to itself counts twice. */
+  public int getNodeDegree(int node) {
+    checkArgument(hasNode(node), "%s not found in graph", node);
+    BitSet adjacent = neighbors[node];
+    return adjacent.cardinality() + (adjacent.get(node) ? 1 : 0);
+  }
+
+  /**
+   * Greedily colors the graph so that no two connected nodes have the same color. From the
+   * highest to the lowest degree, breaking ties by the lower index, each node gets the lowest color
+   * that none of its already colored neighbors has.
+   *
+   * @return The number of colors needed.
+   */
+  public int color() {
+    int nodeCount = nodes.cardinality();
+    // Sort the nodes by decreasing degree and then by increasing index, by sorting keys that hold
+    // the negated degree in their high bits and the index in their low bits.
+    long[] worklist = new long[nodeCount];
+    int next = 0;
+    for (int node = nodes.nextSetBit(0); node >= 0; node = nodes.nextSetBit(node + 1)) {
+      worklist[next++] = ((long) -getNodeDegree(node) << 32) | node;
+    }
+    Arrays.sort(worklist);
+
+    colors = new int[neighbors.length];
+    Arrays.fill(colors, -1);
+    int count = 0;
+    int remaining = nodeCount;
+    BitSet taken = new BitSet(neighbors.length);
+    do {
+      // The neighbors of the nodes that already have this color.
+      taken.clear();
+      int kept = 0;
+      for (int i = 0; i < remaining; i++) {
+        int node = (int) worklist[i];
+        if (taken.get(node)) {
+          worklist[kept++] = worklist[i];
+        } else {
+          colors[node] = count;
+          taken.or(neighbors[node]);
+        }
+      }
+      remaining = kept;
+      count++;
+    } while (remaining > 0);
+    colorToNodeMap = new int[count];
+    Arrays.fill(colorToNodeMap, -1);
+    return count;
+  }
+
+  /** Returns the color of a node, or -1 if the node is not in the graph. */
+  public int getColor(int node) {
+    checkNotNull(colors, "No coloring founded. color() should be called first.");
+    return hasNode(node) ? colors[node] : -1;
+  }
+
+  /**
+   * Using the coloring as partitions, finds the node that represents that partition as the super
+   * node. The first to retrieve its partition will become the super node.
+   */
+  public int getPartitionSuperNode(int node) {
+    int color = getColor(node);
+    checkArgument(color >= 0, "%s not found in graph", node);
+    if (colorToNodeMap[color] < 0) {
+      colorToNodeMap[color] = node;
+    }
+    return colorToNodeMap[color];
+  }
+
+  /** Using the coloring as partitions, checks whether two given nodes have the same color */
+  public boolean haveSameColor(int first, int second) {
+    int colorFirst = getColor(first);
+    checkArgument(colorFirst >= 0, "%s not found in graph", first);
+    return colorFirst == getColor(second);
+  }
+}
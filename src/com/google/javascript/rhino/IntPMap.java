@@ -0,0 +1,432 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.rhino;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.errorprone.annotations.CheckReturnValue;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An immutable map from non-negative ints to non-null values, with efficient (persistent) updates.
+ *
+ * <p>This is a variant of {@link HamtPMap} for maps whose keys are small dense indices, such as the
+ * slots of a scope. It uses a big-endian Patricia trie (Okasaki and Gill, "Fast Mergeable Integer
+ * Maps"), so keys are compared as ints and are never boxed or hashed. The shape of the trie only
+ * depends on the set of keys, which makes binary operations cheap: {@link #reconcile} and {@link
+ * #equivalent} line up the two tries node by node and skip any subtree that both maps share.
+ */
+public final class IntPMap<V> {
+
+  /** The key of a leaf, or the bits above {@link #branchBit} shared by all keys of a branch. */
+  private final int prefix;
+
+  /** The bit on which the children of a branch differ, or zero for a leaf or the empty map. */
+  private final int branchBit;
+
+  /** The value of a leaf, or null for a branch or the empty map. */
+  private final @Nullable V value;
+
+  /** The children of a branch: keys with {@link #branchBit} clear go left, the others right. */
+  private final @Nullable IntPMap<V> left;
+
+  private final @Nullable IntPMap<V> right;
+
+  private static final IntPMap<?> EMPTY = new IntPMap<>(0, 0, null, null, null);
+
+  private IntPMap(
+      int prefix,
+      int branchBit,
+      @Nullable V value,
+      @Nullable IntPMap<V> left,
+      @Nullable IntPMap<V> right) {
+    this.prefix = prefix;
+    this.branchBit = branchBit;
+    this.value = value;
+    this.left = left;
+    this.right = right;
+  }
+
+  /** Returns an empty map. */
+  @SuppressWarnings("unchecked") // Empty immutable collection is safe to cast.
+  @CheckReturnValue
+  public static <V> IntPMap<V> empty() {
+    return (IntPMap<V>) EMPTY;
+  }
+
+  private static <V> IntPMap<V> leaf(int key, V value) {
+    return new IntPMap<>(key, 0, value, null, null);
+  }
+
+  private static <V> IntPMap<V> branch(
+      int prefix, int branchBit, IntPMap<V> left, IntPMap<V> right) {
+    return new IntPMap<>(prefix, branchBit, null, left, right);
+  }
+
+  /** Returns whether this map is empty. */
+  @CheckReturnValue
+  public boolean isEmpty() {
+    return this == EMPTY;
+  }
+
+  private boolean isLeaf() {
+    return value != null;
+  }
+
+  /** Returns an iterable for the values in this map, in increasing order of their keys. */
+  @CheckReturnValue
+  public Iterable<V> values() {
+    if (isEmpty()) {
+      return Collections.emptyList();
+    }
+    return () -> new ValueIterator<>(this);
+  }
+
+  /** Retrieves the value for the given key, or returns null if it is not present. */
+  @CheckReturnValue
+  public @Nullable V get(int key) {
+    IntPMap<V> node = this;
+    while (!node.isEmpty()) {
+      if (node.isLeaf()) {
+        return node.prefix == key ? node.value : null;
+      } else if (!matchesPrefix(key, node.prefix, node.branchBit)) {
+        return null;
+      }
+      node = (key & node.branchBit) == 0 ? node.left : node.right;
+    }
+    return null;
+  }
+
+  /**
+   * Returns a new map with the given key-value pair added. If the value is already present, then
+   * this same map will be returned.
+   */
+  @CheckReturnValue
+  public IntPMap<V> plus(int key, V value) {
+    checkArgument(key >= 0, "Negative key: %s", key);
+    checkNotNull(value);
+    return isEmpty() ? leaf(key, value) : plusNonEmpty(key, value);
+  }
+
+  private IntPMap<V> plusNonEmpty(int key, V value) {
+    if (isLeaf()) {
+      if (prefix == key) {
+        return value.equals(this.value) ? this : leaf(key, value);
+      }
+      return join(key, leaf(key, value), prefix, this);
+    } else if (!matchesPrefix(key, prefix, branchBit)) {
+      return join(key, leaf(key, value), prefix, this);
+    } else if ((key & branchBit) == 0) {
+      IntPMap<V> newLeft = left.plusNonEmpty(key, value);
+      return newLeft == left ? this : branch(prefix, branchBit, newLeft, right);
+    } else {
+      IntPMap<V> newRight = right.plusNonEmpty(key, value);
+      return newRight == right ? this : branch(prefix, branchBit, left, newRight);
+    }
+  }
+
+  /**
+   * Returns a new map with the given key removed. If the key was not present in the first place,
+   * then this same map will be returned.
+   */
+  @CheckReturnValue
+  public IntPMap<V> minus(int key) {
+    if (isEmpty()) {
+      return this;
+    } else if (isLeaf()) {
+      return prefix == key ? empty() : this;
+    } else if (!matchesPrefix(key, prefix, branchBit)) {
+      return this;
+    } else if ((key & branchBit) == 0) {
+      IntPMap<V> newLeft = left.minus(key);
+      if (newLeft == left) {
+        return this;
+      }
+      return newLeft.isEmpty() ? right : branch(prefix, branchBit, newLeft, right);
+    } else {
+      IntPMap<V> newRight = right.minus(key);
+      if (newRight == right) {
+        return this;
+      }
+      return newRight.isEmpty() ? left : branch(prefix, branchBit, left, newRight);
+    }
+  }
+
+  /**
+   * Performs a reconcile operation to merge {@code this} and {@code that}, with the same contract
+   * as {@link PMap#reconcile}: {@code joiner} is called for each key whose values are not {@link
+   * Object#equals}, including keys that are absent from one of the maps, and must not return null.
+   *
+   * <p>Subtrees that are the same object in both maps are returned as is, without calling {@code
+   * joiner}. The result also reuses the subtrees of either input whose values are all kept.
+   */
+  @CheckReturnValue
+  public IntPMap<V> reconcile(IntPMap<V> that, Reconciler<V> joiner) {
+    return reconcile(this, that, joiner);
+  }
+
+  private static <V> IntPMap<V> reconcile(IntPMap<V> t1, IntPMap<V> t2, Reconciler<V> joiner) {
+    if (t1 == t2) {
+      return t1;
+    } else if (t1.isEmpty()) {
+      return reconcileOneSided(t2, joiner, /* isLeft= */ false);
+    } else if (t2.isEmpty()) {
+      return reconcileOneSided(t1, joiner, /* isLeft= */ true);
+    } else if (t1.isLeaf()) {
+      return reconcileLeaf(t1.prefix, t1.value, t2, joiner, /* isLeft= */ true);
+    } else if (t2.isLeaf()) {
+      return reconcileLeaf(t2.prefix, t2.value, t1, joiner, /* isLeft= */ false);
+    }
+
+    if (t1.branchBit == t2.branchBit && t1.prefix == t2.prefix) {
+      return withChildren(
+          t1,
+          t2,
+          reconcile(t1.left, t2.left, joiner),
+          reconcile(t1.right, t2.right, joiner));
+    } else if (t1.branchBit > t2.branchBit
+        && matchesPrefix(t2.prefix, t1.prefix, t1.branchBit)) {
+      // t2 lies entirely within one of the children of t1.
+      return (t2.prefix & t1.branchBit) == 0
+          ? withChildren(
+              t1,
+              null,
+              reconcile(t1.left, t2, joiner),
+              reconcileOneSided(t1.right, joiner, /* isLeft= */ true))
+          : withChildren(
+              t1,
+              null,
+              reconcileOneSided(t1.left, joiner, /* isLeft= */ true),
+              reconcile(t1.right, t2, joiner));
+    } else if (t2.branchBit > t1.branchBit
+        && matchesPrefix(t1.prefix, t2.prefix, t2.branchBit)) {
+      // t1 lies entirely within one of the children of t2.
+      return (t1.prefix & t2.branchBit) == 0
+          ? withChildren(
+              null,
+              t2,
+              reconcile(t1, t2.left, joiner),
+              reconcileOneSided(t2.right, joiner, /* isLeft= */ false))
+          : withChildren(
+              null,
+              t2,
+              reconcileOneSided(t2.left, joiner, /* isLeft= */ false),
+              reconcile(t1, t2.right, joiner));
+    }
+    // The key sets are disjoint.
+    return join(
+        t1.prefix,
+        reconcileOneSided(t1, joiner, /* isLeft= */ true),
+        t2.prefix,
+        reconcileOneSided(t2, joiner, /* isLeft= */ false));
+  }
+
+  /** Reconciles the single entry {@code key}, {@code value} from one side with a whole tree. */
+  private static <V> IntPMap<V> reconcileLeaf(
+      int key, V value, IntPMap<V> tree, Reconciler<V> joiner, boolean isLeft) {
+    if (tree.isLeaf()) {
+      if (tree.prefix == key) {
+        if (Objects.equals(value, tree.value)) {
+          return tree;
+        }
+        V merged =
+            isLeft ? joiner.merge(key, value, tree.value) : joiner.merge(key, tree.value, value);
+        return merged == tree.value ? tree : leaf(key, checkNotNull(merged));
+      }
+    } else if (matchesPrefix(key, tree.prefix, tree.branchBit)) {
+      return (key & tree.branchBit) == 0
+          ? withChildren(
+              null,
+              tree,
+              reconcileLeaf(key, value, tree.left, joiner, isLeft),
+              reconcileOneSided(tree.right, joiner, !isLeft))
+          : withChildren(
+              null,
+              tree,
+              reconcileOneSided(tree.left, joiner, !isLeft),
+              reconcileLeaf(key, value, tree.right, joiner, isLeft));
+    }
+    // The key is not in the tree.
+    V merged = isLeft ? joiner.merge(key, value, null) : joiner.merge(key, null, value);
+    return join(
+        key,
+        leaf(key, checkNotNull(merged)),
+        tree.prefix,
+        reconcileOneSided(tree, joiner, !isLeft));
+  }
+
+  /**
+   * Reconciles a tree with an empty map. If {@code isLeft}, the values of {@code tree} are passed
+   * to {@code joiner} as the values of {@code this}.
+   */
+  private static <V> IntPMap<V> reconcileOneSided(
+      IntPMap<V> tree, Reconciler<V> joiner, boolean isLeft) {
+    if (tree.isEmpty()) {
+      return tree;
+    } else if (tree.isLeaf()) {
+      V merged =
+          isLeft
+              ? joiner.merge(tree.prefix, tree.value, null)
+              : joiner.merge(tree.prefix, null, tree.value);
+      return merged == tree.value ? tree : leaf(tree.prefix, checkNotNull(merged));
+    }
+    IntPMap<V> newLeft = reconcileOneSided(tree.left, joiner, isLeft);
+    IntPMap<V> newRight = reconcileOneSided(tree.right, joiner, isLeft);
+    return newLeft == tree.left && newRight == tree.right
+        ? tree
+        : branch(tree.prefix, tree.branchBit, newLeft, newRight);
+  }
+
+  /**
+   * Returns a branch with the given children and the prefix and branch bit of {@code t1} or {@code
+   * t2}, reusing whichever of them already has exactly those children.
+   */
+  private static <V> IntPMap<V> withChildren(
+      @Nullable IntPMap<V> t1, @Nullable IntPMap<V> t2, IntPMap<V> left, IntPMap<V> right) {
+    if (t1 != null && t1.left == left && t1.right == right) {
+      return t1;
+    } else if (t2 != null && t2.left == left && t2.right == right) {
+      return t2;
+    }
+    IntPMap<V> shape = t1 != null ? t1 : t2;
+    return branch(shape.prefix, shape.branchBit, left, right);
+  }
+
+  /**
+   * Checks equality recursively based on the given equivalence, with the same contract as {@link
+   * PMap#equivalent}. Shared subtrees are skipped.
+   */
+  @CheckReturnValue
+  public boolean equivalent(IntPMap<V> that, BiPredicate<V, V> equivalence) {
+    return equivalent(this, that, equivalence);
+  }
+
+  private static <V> boolean equivalent(
+      IntPMap<V> t1, IntPMap<V> t2, BiPredicate<V, V> equivalence) {
+    if (t1 == t2) {
+      return true;
+    } else if (t1.prefix != t2.prefix
+        || t1.branchBit != t2.branchBit
+        || t1.isEmpty() != t2.isEmpty()
+        || t1.isLeaf() != t2.isLeaf()) {
+      // Since the shape of the trie only depends on the keys, the key sets differ.
+      return false;
+    } else if (t1.isLeaf()) {
+      return equivalence.test(t1.value, t2.value);
+    }
+    return equivalent(t1.left, t2.left, equivalence)
+        && equivalent(t1.right, t2.right, equivalence);
+  }
+
+  /** Combines two non-empty tries whose prefixes differ. */
+  private static <V> IntPMap<V> join(int prefix1, IntPMap<V> t1, int prefix2, IntPMap<V> t2) {
+    int branchBit = Integer.highestOneBit(prefix1 ^ prefix2);
+    int prefix = prefix1 & ~(branchBit | (branchBit - 1));
+    return (prefix1 & branchBit) == 0
+        ? branch(prefix, branchBit, t1, t2)
+        : branch(prefix, branchBit, t2, t1);
+  }
+
+  /** Whether {@code key} has the given prefix above {@code branchBit}. */
+  private static boolean matchesPrefix(int key, int prefix, int branchBit) {
+    return (key & ~(branchBit | (branchBit - 1))) == prefix;
+  }
+
+  @Override
+  @CheckReturnValue
+  public String toString() {
+    StringBuilder sb = new StringBuilder().append("{");
+    appendTo(sb);
+    return sb.append("}").toString();
+  }
+
+  private void appendTo(StringBuilder sb) {
+    if (isEmpty()) {
+      return;
+    } else if (isLeaf()) {
+      if (sb.length() > 1) {
+        sb.append(", ");
+      }
+      sb.append(prefix).append(": ").append(value);
+      return;
+    }
+    left.appendTo(sb);
+    right.appendTo(sb);
+  }
+
+  /** Throws an assertion error if the trie invariants are violated. */
+  @VisibleForTesting
+  IntPMap<V> assertCorrectStructure() {
+    if (isEmpty() || isLeaf()) {
+      return this;
+    }
+    if (Integer.bitCount(branchBit) != 1
+        || left.isEmpty()
+        || right.isEmpty()
+        || !matchesPrefix(left.prefix, prefix, branchBit)
+        || !matchesPrefix(right.prefix, prefix, branchBit)
+        || (left.prefix & branchBit) != 0
+        || (right.prefix & branchBit) == 0) {
+      throw new AssertionError("Invalid trie node at prefix " + prefix + ": " + this);
+    }
+    left.assertCorrectStructure();
+    right.assertCorrectStructure();
+    return this;
+  }
+
+  /** See {@link #reconcile}. */
+  @FunctionalInterface
+  public interface Reconciler<V> {
+    V merge(int key, @Nullable V thisVal, @Nullable V thatVal);
+  }
+
+  /** Iterates over the values of a trie, in increasing order of their keys. */
+  private static final class ValueIterator<V> implements Iterator<V> {
+    final Deque<IntPMap<V>> stack = new ArrayDeque<>();
+
+    ValueIterator(IntPMap<V> map) {
+      stack.push(map);
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !stack.isEmpty();
+    }
+
+    @Override
+    public V next() {
+      if (stack.isEmpty()) {
+        throw new NoSuchElementException();
+      }
+      IntPMap<V> node = stack.pop();
+      while (!node.isLeaf()) {
+        stack.push(node.right);
+        node = node.left;
+      }
+      return node.value;
+    }
+  }
+}
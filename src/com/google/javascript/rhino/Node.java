@@ -58,7 +58,6 @@ import com.google.javascript.rhino.StaticSourceFile.SourceKind;
 import com.google.javascript.rhino.jstype.JSType;
 import java.io.IOException;
 import java.math.BigInteger;
-import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -431,39 +430,118 @@ public class Node {
     }
   }
 
+  /**
+   * Props that only ever hold the value {@code 1} when present. These are stored together as bits
+   * of a {@link FlagsPropListItem}.
+   */
+  private static final long FLAG_PROPS =
+      propMask(
+          Prop.IS_PARENTHESIZED,
+          Prop.INCRDECR,
+          Prop.QUOTED,
+          Prop.SYNTHETIC,
+          Prop.ADDED_BLOCK,
+          Prop.IS_CONSTANT_NAME,
+          Prop.IS_NAMESPACE,
+          Prop.USE_STRICT,
+          Prop.DIRECT_EVAL,
+          Prop.FREE_CALL,
+          Prop.REFLECTED_OBJECT,
+          Prop.STATIC_MEMBER,
+          Prop.GENERATOR_FN,
+          Prop.ARROW_FN,
+          Prop.ASYNC_FN,
+          Prop.YIELD_ALL,
+          Prop.EXPORT_DEFAULT,
+          Prop.EXPORT_ALL_FROM,
+          Prop.IS_GENERATOR_MARKER,
+          Prop.IS_GENERATOR_SAFE,
+          Prop.COMPUTED_PROP_METHOD,
+          Prop.COMPUTED_PROP_GETTER,
+          Prop.COMPUTED_PROP_SETTER,
+          Prop.COMPUTED_PROP_VARIABLE,
+          Prop.COLOR_FROM_CAST,
+          Prop.OPT_ES6_TYPED,
+          Prop.CONSTRUCT_SIGNATURE,
+          Prop.NON_INDEXABLE,
+          Prop.GOOG_MODULE,
+          Prop.IS_TYPESCRIPT_ABSTRACT,
+          Prop.DELETED,
+          Prop.MODULE_ALIAS,
+          Prop.IS_UNUSED_PARAMETER,
+          Prop.MODULE_EXPORT,
+          Prop.IS_SHORTHAND_PROPERTY,
+          Prop.ES6_MODULE,
+          Prop.START_OF_OPT_CHAIN,
+          Prop.TRAILING_COMMA,
+          Prop.SYNTHESIZED_UNFULFILLED_NAME_DECLARATION,
+          Prop.PRIVATE_IDENTIFIER);
+
+  /** Props that hold an int value in an {@link IntPropListItem}. */
+  private static final long INT_PROPS =
+      propMask(Prop.SIDE_EFFECT_FLAGS, Prop.CHANGE_TIME, Prop.CONSTANT_VAR_FLAGS);
+
+  /** Props that hold an Object value in an {@link ObjectPropListItem}. */
+  private static final long OBJECT_PROPS = ~(FLAG_PROPS | INT_PROPS);
+
+  static {
+    // The flags of a node are a bitmask with a bit for every Prop.
+    checkState(propValues.length <= Long.SIZE, "Too many Props: %s", propValues.length);
+  }
+
+  /**
+   * An item of the linked list of props of a node.
+   *
+   * <p>The first item may be a {@link FlagsPropListItem} holding all the boolean props of the node.
+   * Every other item holds the value of one int or Object prop. Items are never modified, so nodes
+   * share the tails of their lists (typically the {@link Prop#SOURCE_FILE} item of their file), and
+   * the props of a node change with one write of {@link #propListHead}, which a reader sees either
+   * whole or not at all.
+   */
   private abstract static class PropListItem {
     final @Nullable PropListItem next;
-    final byte propType;
 
-    PropListItem(byte propType, @Nullable PropListItem next) {
-      this.propType = propType;
+    PropListItem(@Nullable PropListItem next) {
       this.next = next;
     }
 
-    public abstract int getIntValue();
-
-    public abstract Object getObjectValue();
-
-    public abstract PropListItem chain(@Nullable PropListItem next);
+    /** Returns a copy of this item followed by the given items. */
+    abstract PropListItem chain(@Nullable PropListItem next);
   }
 
-  // A base class for Object storing props
-  private static final class ObjectPropListItem extends PropListItem {
-    private final Object objectValue;
+  private static final class FlagsPropListItem extends PropListItem {
+    /** Bitmask of the boolean props that are set, indexed by ordinal. */
+    final long bits;
 
-    ObjectPropListItem(byte propType, Object objectValue, @Nullable PropListItem next) {
-      super(propType, next);
-      this.objectValue = checkNotNull(objectValue);
+    FlagsPropListItem(long bits, @Nullable PropListItem next) {
+      super(next);
+      this.bits = bits;
+      checkState(bits != 0);
     }
 
     @Override
-    public int getIntValue() {
-      throw new UnsupportedOperationException();
+    PropListItem chain(@Nullable PropListItem next) {
+      return new FlagsPropListItem(bits, next);
     }
+  }
 
-    @Override
-    public Object getObjectValue() {
-      return objectValue;
+  // A base class for props that hold a value
+  private abstract static class ValuePropListItem extends PropListItem {
+    final byte propType;
+
+    @SuppressWarnings("EnumOrdinal") // performance tuning
+    ValuePropListItem(Prop prop, @Nullable PropListItem next) {
+      super(next);
+      this.propType = (byte) prop.ordinal();
+    }
+  }
+
+  private static final class ObjectPropListItem extends ValuePropListItem {
+    final Object objectValue;
+
+    ObjectPropListItem(Prop prop, Object objectValue, @Nullable PropListItem next) {
+      super(prop, next);
+      this.objectValue = checkNotNull(objectValue);
     }
 
     @Override
@@ -472,40 +550,42 @@ public class Node {
     }
 
     @Override
-    public PropListItem chain(@Nullable PropListItem next) {
-      return new ObjectPropListItem(propType, objectValue, next);
+    PropListItem chain(@Nullable PropListItem next) {
+      return new ObjectPropListItem(propValues[propType], objectValue, next);
     }
   }
 
-  // A base class for int storing props
-  private static final class IntPropListItem extends PropListItem {
+  private static final class IntPropListItem extends ValuePropListItem {
     final int intValue;
 
-    IntPropListItem(byte propType, int intValue, @Nullable PropListItem next) {
-      super(propType, next);
+    IntPropListItem(Prop prop, int intValue, @Nullable PropListItem next) {
+      super(prop, next);
       this.intValue = intValue;
-      checkState(this.intValue != 0);
+      checkState(intValue != 0);
     }
 
     @Override
-    public int getIntValue() {
-      return intValue;
+    public String toString() {
+      return String.valueOf(intValue);
     }
 
     @Override
-    public Object getObjectValue() {
-      throw new UnsupportedOperationException();
+    PropListItem chain(@Nullable PropListItem next) {
+      return new IntPropListItem(propValues[propType], intValue, next);
     }
+  }
 
-    @Override
-    public String toString() {
-      return String.valueOf(intValue);
-    }
+  @SuppressWarnings("EnumOrdinal") // performance tuning
+  private static long propBit(Prop prop) {
+    return 1L << prop.ordinal();
+  }
 
-    @Override
-    public PropListItem chain(@Nullable PropListItem next) {
-      return new IntPropListItem(propType, intValue, next);
+  private static long propMask(Prop... props) {
+    long mask = 0;
+    for (Prop prop : props) {
+      mask |= propBit(prop);
     }
+    return mask;
   }
 
   public Node(Token token) {
@@ -968,14 +1048,76 @@ public class Node {
   }
 
   @VisibleForTesting
+  final boolean hasProp(Prop prop) {
+    long bit = propBit(prop);
+    return (FLAG_PROPS & bit) != 0
+        ? (getFlagBits(propListHead) & bit) != 0
+        : lookupValue(prop) != null;
+  }
+
+  /** Returns the bitmask of the boolean props in the given list. */
+  private static long getFlagBits(@Nullable PropListItem head) {
+    return head instanceof FlagsPropListItem flags ? flags.bits : 0;
+  }
+
+  /** Returns the items of the given list that hold the values of int and Object props. */
+  private static @Nullable PropListItem getValueItems(@Nullable PropListItem head) {
+    return head instanceof FlagsPropListItem ? head.next : head;
+  }
+
+  /** Returns the bitmask of all the props of this node, indexed by ordinal. */
+  private long getPropBits() {
+    PropListItem head = propListHead;
+    long bits = getFlagBits(head);
+    for (PropListItem x = getValueItems(head); x != null; x = x.next) {
+      bits |= 1L << ((ValuePropListItem) x).propType;
+    }
+    return bits;
+  }
+
   @SuppressWarnings("EnumOrdinal") // performance tuning
-  final @Nullable PropListItem lookupProperty(Prop prop) {
+  private @Nullable ValuePropListItem lookupValue(Prop prop) {
     byte propType = (byte) prop.ordinal();
-    PropListItem x = propListHead;
-    while (x != null && propType != x.propType) {
-      x = x.next;
+    for (PropListItem x = getValueItems(propListHead); x != null; x = x.next) {
+      ValuePropListItem item = (ValuePropListItem) x;
+      if (item.propType == propType) {
+        return item;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @param item The item to inspect
+   * @param prop The property to look for
+   * @return The replacement list if the property was removed, or 'item' otherwise.
+   */
+  @SuppressWarnings("EnumOrdinal") // performance tuning
+  private static @Nullable PropListItem rebuildListWithoutProp(
+      @Nullable PropListItem item, Prop prop) {
+    if (item == null) {
+      return null;
+    } else if (((ValuePropListItem) item).propType == prop.ordinal()) {
+      return item.next;
+    } else {
+      PropListItem result = rebuildListWithoutProp(item.next, prop);
+      return (result == item.next) ? item : item.chain(result);
     }
-    return x;
+  }
+
+  /** Replaces the props of this node with the given flags followed by the given value items. */
+  private void setProps(long flagBits, @Nullable PropListItem valueItems) {
+    this.propListHead = flagBits == 0 ? valueItems : new FlagsPropListItem(flagBits, valueItems);
+  }
+
+  /** Returns a printable form of the value of a prop that is present on this node. */
+  private String propValueToString(Prop prop) {
+    return (FLAG_PROPS & propBit(prop)) != 0 ? "1" : String.valueOf(lookupValue(prop));
+  }
+
+  /** Whether the given prop is present and holds an int rather than an Object value. */
+  private boolean hasIntValuedProp(Prop prop) {
+    return (OBJECT_PROPS & propBit(prop)) == 0 && hasProp(prop);
   }
 
   /**
@@ -999,7 +1141,6 @@ public class Node {
    * <p>We use a `Consumer` to avoid the cost of building a usually-empty list every time this
    * method is called.
    */
-  @SuppressWarnings("EnumOrdinal") // performance tuning
   public void validateProperties(Consumer<String> violationMessageConsumer) {
     if (propListHead == null) {
       // TODO(bradfordcsmith): Fix the bugs that prevent enabling this validation.
@@ -1026,12 +1167,8 @@ public class Node {
       violationMessageConsumer.accept("ROOT has properties");
     }
 
-    for (PropListItem propListItem = propListHead;
-        propListItem != null;
-        propListItem = propListItem.next) {
-      final Prop prop = propValues[propListItem.propType];
-      // Catch it if the definition of Prop ever changes so that the ordinals don't line up.
-      checkState(prop.ordinal() == propListItem.propType, "ordinal doesn't match: %s", prop);
+    for (long bits = getPropBits(); bits != 0; bits &= bits - 1) {
+      final Prop prop = propValues[Long.numberOfTrailingZeros(bits)];
 
       // TODO(bradfordcsmith): This is not yet an exhaustive list of validations.
       // Other validations should be added as it is found useful to have them.
@@ -1090,9 +1227,7 @@ public class Node {
           }
           break;
         case CLOSURE_UNAWARE_SHADOW:
-          PropListItem shadowProp = lookupProperty(Prop.CLOSURE_UNAWARE_SHADOW);
-          if (!(shadowProp instanceof Node.ObjectPropListItem)
-              || !(shadowProp.getObjectValue() instanceof Node)) {
+          if (!(getProp(Prop.CLOSURE_UNAWARE_SHADOW) instanceof Node)) {
             violationMessageConsumer.accept("CLOSURE_UNAWARE_SHADOW property must point to a Node");
           }
           break;
@@ -1103,30 +1238,15 @@ public class Node {
     }
   }
 
-  /**
-   * @param item The item to inspect
-   * @param prop The property to look for
-   * @return The replacement list if the property was removed, or 'item' otherwise.
-   */
-  @SuppressWarnings("EnumOrdinal") // performance tuning
-  private static @Nullable PropListItem rebuildListWithoutProp(
-      @Nullable PropListItem item, Prop prop) {
-    if (item == null) {
-      return null;
-    } else if (item.propType == prop.ordinal()) {
-      return item.next;
-    } else {
-      PropListItem result = rebuildListWithoutProp(item.next, prop);
-      return (result == item.next) ? item : item.chain(result);
-    }
-  }
-
   public final @Nullable Object getProp(Prop propType) {
-    PropListItem item = lookupProperty(propType);
-    if (item == null) {
+    if ((OBJECT_PROPS & propBit(propType)) == 0) {
+      if (hasProp(propType)) {
+        throw new UnsupportedOperationException(propType + " is not an Object property");
+      }
       return null;
     }
-    return item.getObjectValue();
+    ValuePropListItem item = lookupValue(propType);
+    return item == null ? null : ((ObjectPropListItem) item).objectValue;
   }
 
   public final boolean getBooleanProp(Prop propType) {
@@ -1135,31 +1255,61 @@ public class Node {
 
   /** Returns the integer value for the property, or 0 if the property is not defined. */
   private int getIntProp(Prop propType) {
-    PropListItem item = lookupProperty(propType);
+    long bit = propBit(propType);
+    if ((FLAG_PROPS & bit) != 0) {
+      return (getFlagBits(propListHead) & bit) != 0 ? 1 : 0;
+    }
+    ValuePropListItem item = lookupValue(propType);
     if (item == null) {
       return 0;
     }
-    return item.getIntValue();
+    if (!(item instanceof IntPropListItem intItem)) {
+      throw new UnsupportedOperationException(propType + " is not an int property");
+    }
+    return intItem.intValue;
   }
 
-  @SuppressWarnings("EnumOrdinal") // performance tuning
   public final void putProp(Prop prop, @Nullable Object value) {
-    this.propListHead = rebuildListWithoutProp(this.propListHead, prop);
+    checkArgument(
+        value == null || (OBJECT_PROPS & propBit(prop)) != 0,
+        "%s does not hold Object values",
+        prop);
+    PropListItem head = this.propListHead;
+    PropListItem oldValues = getValueItems(head);
+    PropListItem values = rebuildListWithoutProp(oldValues, prop);
     if (value != null) {
-      this.propListHead = new ObjectPropListItem((byte) prop.ordinal(), value, this.propListHead);
+      values = new ObjectPropListItem(prop, value, values);
+    } else if (values == oldValues) {
+      return;
     }
+    setProps(getFlagBits(head), values);
   }
 
   public final void putBooleanProp(Prop propType, boolean value) {
     putIntProp(propType, value ? 1 : 0);
   }
 
-  @SuppressWarnings("EnumOrdinal") // performance tuning
   public final void putIntProp(Prop prop, int value) {
-    this.propListHead = rebuildListWithoutProp(this.propListHead, prop);
+    long bit = propBit(prop);
+    PropListItem head = this.propListHead;
+    if ((FLAG_PROPS & bit) != 0) {
+      checkArgument(value == 0 || value == 1, "%s only holds boolean values", prop);
+      long flagBits = getFlagBits(head);
+      long newFlagBits = value == 0 ? flagBits & ~bit : flagBits | bit;
+      if (newFlagBits != flagBits) {
+        setProps(newFlagBits, getValueItems(head));
+      }
+      return;
+    }
+    checkArgument((INT_PROPS & bit) != 0, "%s does not hold int values", prop);
+    PropListItem oldValues = getValueItems(head);
+    PropListItem values = rebuildListWithoutProp(oldValues, prop);
     if (value != 0) {
-      this.propListHead = new IntPropListItem((byte) prop.ordinal(), value, this.propListHead);
+      values = new IntPropListItem(prop, value, values);
+    } else if (values == oldValues) {
+      return;
     }
+    setProps(getFlagBits(head), values);
   }
 
   static long nodePropertyToBit(NodeProperty prop) {
@@ -1184,17 +1334,15 @@ public class Node {
 
   public final long serializeProperties() {
     long propSet = 0;
-    for (PropListItem propListItem = this.propListHead;
-        propListItem != null;
-        propListItem = propListItem.next) {
-      Prop prop = propValues[propListItem.propType];
+    for (long bits = getPropBits(); bits != 0; bits &= bits - 1) {
+      Prop prop = propValues[Long.numberOfTrailingZeros(bits)];
 
       switch (prop) {
         case TYPE_BEFORE_CAST:
           propSet = setNodePropertyBit(propSet, NodeProperty.COLOR_FROM_CAST);
           break;
         case CONSTANT_VAR_FLAGS:
-          int intVal = propListItem.getIntValue();
+          int intVal = getIntProp(prop);
           if (anyBitSet(intVal, ConstantVarFlags.INFERRED)) {
             propSet = setNodePropertyBit(propSet, NodeProperty.IS_INFERRED_CONSTANT);
           }
@@ -1203,7 +1351,7 @@ public class Node {
           }
           break;
         case SIDE_EFFECT_FLAGS:
-          propSet = setNodePropertySideEffectFlags(propSet, propListItem.getIntValue());
+          propSet = setNodePropertySideEffectFlags(propSet, getIntProp(prop));
           break;
         case CLOSURE_UNAWARE_SHADOW:
           // This is a bit of an unusual case, because the CLOSURE_UNAWARE_SHADOW Prop is a Node
@@ -1214,7 +1362,7 @@ public class Node {
           propSet = setNodePropertyBit(propSet, NodeProperty.CLOSURE_UNAWARE_SHADOW);
           break;
         default:
-          if (propListItem instanceof Node.IntPropListItem) {
+          if (hasIntValuedProp(prop)) {
             NodeProperty nodeProperty = PropTranslator.serialize(prop);
             if (nodeProperty != null) {
               propSet = setNodePropertyBit(propSet, nodeProperty);
@@ -1250,12 +1398,12 @@ public class Node {
     return propSet;
   }
 
-  @SuppressWarnings("EnumOrdinal") // performance tuning
   public final void deserializeProperties(long propSet) {
     if (this.isRoot()) {
       checkState(this.propListHead == null, this.propListHead);
     } else {
-      checkState(this.propListHead.propType == Prop.SOURCE_FILE.ordinal(), this.propListHead);
+      // Only flags, such as the INCRDECR of a POST_INC or POST_DEC, may precede the SOURCE_FILE.
+      checkState((getPropBits() & ~FLAG_PROPS) == propBit(Prop.SOURCE_FILE), getPropBits());
     }
 
     // We'll gather the bits for CONST_VAR_FLAGS and SIDE_EFFECT_FLAGS into these variables.
@@ -1299,22 +1447,18 @@ public class Node {
           if (prop == null) {
             throw new IllegalStateException("Can not translate " + nodeProperty + " to AST Prop");
           }
-          this.propListHead = new IntPropListItem((byte) prop.ordinal(), 1, this.propListHead);
+          this.putIntProp(prop, 1);
           break;
       }
     }
 
     // Store the CONSTANT_VAR_FLAGS
     if (constantVarFlags != 0) {
-      this.propListHead =
-          new IntPropListItem(
-              (byte) Prop.CONSTANT_VAR_FLAGS.ordinal(), constantVarFlags, this.propListHead);
+      this.putIntProp(Prop.CONSTANT_VAR_FLAGS, constantVarFlags);
     }
 
     if (sideEffectFlags != 0) {
-      this.propListHead =
-          new IntPropListItem(
-              (byte) Prop.SIDE_EFFECT_FLAGS.ordinal(), sideEffectFlags, this.propListHead);
+      this.putIntProp(Prop.SIDE_EFFECT_FLAGS, sideEffectFlags);
     }
 
     // Make sure the deserialized properties are valid.
@@ -1369,18 +1513,12 @@ public class Node {
 
   // Gets all the property types, in sorted order.
   private byte[] getSortedPropTypes() {
-    int count = 0;
-    for (PropListItem x = propListHead; x != null; x = x.next) {
-      count++;
-    }
-
-    byte[] keys = new byte[count];
-    for (PropListItem x = propListHead; x != null; x = x.next) {
-      count--;
-      keys[count] = x.propType;
+    long propBits = getPropBits();
+    byte[] keys = new byte[Long.bitCount(propBits)];
+    int i = 0;
+    for (long bits = propBits; bits != 0; bits &= bits - 1) {
+      keys[i++] = (byte) Long.numberOfTrailingZeros(bits);
     }
-
-    Arrays.sort(keys);
     return keys;
   }
 
@@ -1483,11 +1621,10 @@ public class Node {
           sb.append(" [is_shadow_host]");
           continue;
         }
-        PropListItem x = lookupProperty(type);
         sb.append(" [");
         sb.append(Ascii.toLowerCase(String.valueOf(type)));
         sb.append(": ");
-        sb.append(x);
+        sb.append(propValueToString(type));
         sb.append(']');
       }
       if (this.originalName != null) {
@@ -1559,11 +1696,10 @@ public class Node {
       sb.append("\"props\":{");
       for (int i = 0; i < keys.length; i++) {
         Prop type = propValues[keys[i]];
-        PropListItem x = lookupProperty(type);
         sb.append(
             createJsonPair(
                 Ascii.toLowerCase(String.valueOf(type)),
-                x.toString().replace("\n", "\\n").replace("\"", "\\\"")));
+                propValueToString(type).replace("\n", "\\n").replace("\"", "\\\"")));
         if (i + 1 < keys.length) {
           sb.append(',');
         }
@@ -1659,34 +1795,39 @@ public class Node {
 
   /**
    * Linked list of properties. Since vast majority of nodes would have no more than 2 properties,
-   * linked list saves memory and provides fast lookup. If this does not holds, propListHead can be
-   * replaced by UintMap.
+   * linked list saves memory and provides fast lookup. The lists are immutable and may be shared
+   * with other nodes.
    */
   private transient @Nullable PropListItem propListHead;
 
   // ==========================================================================
   // Source position management
 
-  @SuppressWarnings("EnumOrdinal") // performance tuning
   public final void setStaticSourceFileFrom(Node other) {
     // Make sure source file prop nodes are not duplicated.
-    if (other.propListHead != null
-        && (this.propListHead == null
-            || (this.propListHead.propType == Prop.SOURCE_FILE.ordinal()
-                && this.propListHead.next == null))) {
-      // Either the node has only Prop.SOURCE_FILE as a property or has not properties.
-      PropListItem tail = other.propListHead;
+    PropListItem head = this.propListHead;
+    PropListItem values = getValueItems(head);
+    PropListItem tail = getValueItems(other.propListHead);
+    if (tail != null && (values == null || (isSourceFileItem(values) && values.next == null))) {
+      // Either the node has only Prop.SOURCE_FILE as a value property or has no value properties.
       while (tail.next != null) {
         tail = tail.next;
       }
-      if (tail.propType == Prop.SOURCE_FILE.ordinal()) {
-        propListHead = tail;
+      if (isSourceFileItem(tail)) {
+        if (tail != values) {
+          setProps(getFlagBits(head), tail);
+        }
         return;
       }
     }
     setStaticSourceFile(other.getStaticSourceFile());
   }
 
+  @SuppressWarnings("EnumOrdinal") // performance tuning
+  private static boolean isSourceFileItem(PropListItem item) {
+    return ((ValuePropListItem) item).propType == Prop.SOURCE_FILE.ordinal();
+  }
+
   @CanIgnoreReturnValue
   public final Node setStaticSourceFile(@Nullable StaticSourceFile file) {
     this.putProp(Prop.SOURCE_FILE, file);
@@ -1940,14 +2081,10 @@ public class Node {
   // ==========================================================================
   // Accessors
 
-  final @Nullable PropListItem getPropListHeadForTesting() {
+  final @Nullable Object getPropListHeadForTesting() {
     return propListHead;
   }
 
-  final void setPropListHead(@Nullable PropListItem propListHead) {
-    this.propListHead = propListHead;
-  }
-
   public final @Nullable Node getParent() {
     return parent;
   }
@@ -2184,21 +2321,8 @@ public class Node {
       return false;
     }
 
-    EnumSet<Prop> propSet = EnumSet.noneOf(Prop.class);
-    for (PropListItem propListItem = this.propListHead;
-        propListItem != null;
-        propListItem = propListItem.next) {
-      Prop prop = propValues[propListItem.propType];
-      propSet.add(prop);
-    }
-    for (PropListItem propListItem = node.propListHead;
-        propListItem != null;
-        propListItem = propListItem.next) {
-      Prop prop = propValues[propListItem.propType];
-      propSet.add(prop);
-    }
-
-    for (Prop prop : propSet) {
+    for (long bits = this.getPropBits() | node.getPropBits(); bits != 0; bits &= bits - 1) {
+      Prop prop = propValues[Long.numberOfTrailingZeros(bits)];
       if (propMapForEqualityKeys.contains(prop)) {
         Function<Node, Object> getter = PROP_MAP_FOR_EQUALITY.get(prop);
         if (!Objects.equals(getter.apply(this), getter.apply(node))) {
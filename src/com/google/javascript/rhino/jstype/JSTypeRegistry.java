@@ -267,6 +267,8 @@ public final class JSTypeRegistry {
 
   private final JSTypeResolver resolver;
 
+  private final TypeInternTable internTable = new TypeInternTable();
+
   public JSTypeRegistry(ErrorReporter reporter) {
     this(reporter, ImmutableSet.<String>of());
   }
@@ -1715,6 +1717,23 @@ public final class JSTypeRegistry {
     return this.resolver;
   }
 
+  TypeInternTable getInternTable() {
+    return this.internTable;
+  }
+
+  /** Returns the number of distinct templatized and union types currently interned. */
+  public int getInternedTypeCount() {
+    return this.internTable.size();
+  }
+
+  /**
+   * Returns how many times building a templatized or union type returned an existing
+   * interned type instead of a new one.
+   */
+  public long getInternedTypeReuseCount() {
+    return this.internTable.getReuseCount();
+  }
+
   public JSType evaluateTypeExpressionInGlobalScope(JSTypeExpression expr) {
     return expr.evaluate(null, this);
   }
@@ -2029,7 +2048,13 @@ public final class JSTypeRegistry {
     checkNotNull(baseType);
     // Only ObjectTypes can currently be templatized; extend this logic when
     // more types can be templatized.
-    return new TemplatizedType(this, baseType, templatizedTypes);
+    List<JSType> parts = new ArrayList<>(templatizedTypes.size() + 1);
+    parts.add(baseType);
+    parts.addAll(templatizedTypes);
+    return internTable.intern(
+        TypeInternTable.Kind.TEMPLATIZED,
+        parts,
+        () -> new TemplatizedType(this, baseType, templatizedTypes));
   }
 
   /**
@@ -52,7 +52,6 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.TreeSet;
 import org.jspecify.annotations.Nullable;
 
@@ -60,7 +59,7 @@ import org.jspecify.annotations.Nullable;
 final class PropertyMap {
   private static final PropertyMap EMPTY_MAP =
       new PropertyMap(
-          ImmutableMap.<String, Property>of(), ImmutableMap.<KnownSymbolType, Property>of());
+          PropertyTable.immutableEmpty(), ImmutableMap.<KnownSymbolType, Property>of());
 
   // A place to get the inheritance structure.
   // Because the extended interfaces are resolved dynamically, this gets
@@ -69,7 +68,7 @@ final class PropertyMap {
   private @Nullable ObjectType parentSource = null;
 
   // The map of our own properties.
-  private final Map<String, Property> properties;
+  private final PropertyTable properties;
 
   private Map<KnownSymbolType, Property> knownSymbols; // lazily initialized
 
@@ -102,11 +101,11 @@ final class PropertyMap {
   private int cachedKeySetCounter = 0;
 
   PropertyMap() {
-    this(new TreeMap<>(), null);
+    this(new PropertyTable(), null);
   }
 
   private PropertyMap(
-      Map<String, Property> underlyingMap, Map<KnownSymbolType, Property> underlyingknownSymbols) {
+      PropertyTable underlyingMap, Map<KnownSymbolType, Property> underlyingknownSymbols) {
     this.properties = underlyingMap;
     this.knownSymbols = underlyingknownSymbols;
   }
@@ -203,7 +202,7 @@ final class PropertyMap {
   }
 
   Set<String> getOwnPropertyNames() {
-    return properties.keySet();
+    return properties.names();
   }
 
   Set<KnownSymbolType> getOwnKnownSymbols() {
@@ -306,7 +305,7 @@ final class PropertyMap {
   }
 
   Iterable<Property> values() {
-    return properties.values();
+    return properties.properties();
   }
 
   @Override
@@ -318,8 +317,8 @@ final class PropertyMap {
     // Otherwise we can get into an infinite loop because the ObjectType hashCode
     // method calls this one.
     return this.knownSymbols == null
-        ? Objects.hashCode(this.properties.keySet())
-        : Objects.hash(this.properties.keySet(), this.knownSymbols.keySet());
+        ? Objects.hashCode(this.properties.names())
+        : Objects.hash(this.properties.names(), this.knownSymbols.keySet());
   }
 
   private void incrementCachedKeySetCounter() {
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.rhino.jstype;
+
+import static com.google.javascript.jscomp.base.JSCompObjects.identical;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.javascript.rhino.RhinoStringPool;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The own string-keyed properties of a {@link PropertyMap}, in an open-addressing hash table with
+ * linear probing.
+ *
+ * <p>Names are interned in the {@link RhinoStringPool} when they are added, so looking up a name
+ * that comes from the AST usually matches by identity. The hash of every name is kept next to it,
+ * so colliding names are rarely compared.
+ *
+ * <p>Properties are never removed. The names and properties are listed in name order, like a sorted
+ * map would list them, and these lists are cached until the next property is added or replaced.
+ */
+final class PropertyTable {
+
+  private static final int INITIAL_CAPACITY = 4;
+
+  private static final String[] NO_NAMES = new String[0];
+  private static final Property[] NO_PROPERTIES = new Property[0];
+  private static final int[] NO_HASHES = new int[0];
+
+  private String[] names = NO_NAMES;
+  private Property[] properties = NO_PROPERTIES;
+  private int[] hashes = NO_HASHES;
+  private int size = 0;
+
+  private final boolean mutable;
+
+  private @Nullable ImmutableSortedSet<String> sortedNames = null;
+  private @Nullable ImmutableList<Property> sortedProperties = null;
+
+  PropertyTable() {
+    this(true);
+  }
+
+  private PropertyTable(boolean mutable) {
+    this.mutable = mutable;
+  }
+
+  /** Returns a table that is always empty. */
+  static PropertyTable immutableEmpty() {
+    return new PropertyTable(false);
+  }
+
+  int size() {
+    return size;
+  }
+
+  @Nullable Property get(String name) {
+    if (size == 0) {
+      return null;
+    }
+    int hash = name.hashCode();
+    int mask = names.length - 1;
+    for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+      String candidate = names[i];
+      if (candidate == null) {
+        return null;
+      } else if (identical(candidate, name) || (hashes[i] == hash && candidate.equals(name))) {
+        return properties[i];
+      }
+    }
+  }
+
+  /** Adds or replaces the property with the given name, and returns the one it replaced. */
+  @Nullable Property put(String name, Property property) {
+    if (!mutable) {
+      throw new UnsupportedOperationException();
+    }
+    if (2 * (size + 1) > names.length) {
+      resize(Math.max(INITIAL_CAPACITY, 2 * names.length));
+    }
+    sortedProperties = null;
+    int hash = name.hashCode();
+    int mask = names.length - 1;
+    for (int i = spread(hash) & mask; ; i = (i + 1) & mask) {
+      String candidate = names[i];
+      if (candidate == null) {
+        names[i] = RhinoStringPool.addOrGet(name);
+        hashes[i] = hash;
+        properties[i] = property;
+        size++;
+        sortedNames = null;
+        return null;
+      } else if (identical(candidate, name) || (hashes[i] == hash && candidate.equals(name))) {
+        Property previous = properties[i];
+        properties[i] = property;
+        return previous;
+      }
+    }
+  }
+
+  /** Returns the names of the properties, in order. */
+  ImmutableSortedSet<String> names() {
+    if (sortedNames == null) {
+      ImmutableSortedSet.Builder<String> builder = ImmutableSortedSet.naturalOrder();
+      for (String name : names) {
+        if (name != null) {
+          builder.add(name);
+        }
+      }
+      sortedNames = builder.build();
+    }
+    return sortedNames;
+  }
+
+  /** Returns the properties, in the order of their names. */
+  ImmutableList<Property> properties() {
+    if (sortedProperties == null) {
+      ImmutableList.Builder<Property> builder = ImmutableList.builderWithExpectedSize(size);
+      for (String name : names()) {
+        builder.add(get(name));
+      }
+      sortedProperties = builder.build();
+    }
+    return sortedProperties;
+  }
+
+  private void resize(int capacity) {
+    String[] oldNames = names;
+    Property[] oldProperties = properties;
+    int[] oldHashes = hashes;
+    names = new String[capacity];
+    properties = new Property[capacity];
+    hashes = new int[capacity];
+    int mask = capacity - 1;
+    for (int j = 0; j < oldNames.length; j++) {
+      if (oldNames[j] == null) {
+        continue;
+      }
+      int i = spread(oldHashes[j]) & mask;
+      while (names[i] != null) {
+        i = (i + 1) & mask;
+      }
+      names[i] = oldNames[j];
+      properties[i] = oldProperties[j];
+      hashes[i] = oldHashes[j];
+    }
+  }
+
+  /** Mixes the high bits of a hash into the low bits that select a slot. */
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.rhino.jstype;
+
+import com.google.common.collect.MapMaker;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Canonicalizes the structural types built by a {@link JSTypeRegistry}, so that building the same
+ * templatized or union type twice returns the same object.
+ *
+ * <p>A type is identified by its kind and by the exact objects it was built from: the base type and
+ * type arguments of a templatized type, or the alternates of a union, in order. Only types that are
+ * resolved when they are built are interned. Unresolved types may still be modified in place by
+ * resolution, so they are never shared.
+ *
+ * <p>Record types are not interned. The JSDoc and definition node of their properties can be set
+ * after they are built, which would change every use of a shared record.
+ *
+ * <p>The table only holds weak references to the interned types.
+ */
+final class TypeInternTable {
+
+  /** The kinds of types that are interned. */
+  enum Kind {
+    TEMPLATIZED,
+    UNION
+  }
+
+  private final ConcurrentMap<Key, JSType> types = new MapMaker().weakValues().makeMap();
+
+  private final AtomicLong reuseCount = new AtomicLong();
+
+  /**
+   * Returns the interned type built from {@code parts}, or creates it with {@code factory} and
+   * interns it if it is resolved. {@code parts} are compared by identity. The list must not be
+   * modified afterwards.
+   */
+  @SuppressWarnings("unchecked") // The kind determines the class of the type.
+  <T extends JSType> T intern(Kind kind, List<?> parts, Supplier<T> factory) {
+    Key key = new Key(kind, parts);
+    @Nullable JSType existing = types.get(key);
+    if (existing != null) {
+      reuseCount.incrementAndGet();
+      return (T) existing;
+    }
+    T type = factory.get();
+    if (type.isResolved()) {
+      existing = types.putIfAbsent(key, type);
+      if (existing != null) {
+        reuseCount.incrementAndGet();
+        return (T) existing;
+      }
+    }
+    return type;
+  }
+
+  /** Returns the number of live interned types. */
+  int size() {
+    return types.size();
+  }
+
+  /** Returns how many times an existing type was returned instead of a new one. */
+  long getReuseCount() {
+    return reuseCount.get();
+  }
+
+  private static final class Key {
+    private final Kind kind;
+    private final List<?> parts;
+    private final int hashCode;
+
+    Key(Kind kind, List<?> parts) {
+      this.kind = kind;
+      this.parts = parts;
+      int hash = kind.ordinal();
+      for (Object part : parts) {
+        hash = 31 * hash + System.identityHashCode(part);
+      }
+      this.hashCode = hash;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object other) {
+      if (!(other instanceof Key that) || kind != that.kind || parts.size() != that.parts.size()) {
+        return false;
+      }
+      for (int i = 0; i < parts.size(); i++) {
+        if (parts.get(i) != that.parts.get(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
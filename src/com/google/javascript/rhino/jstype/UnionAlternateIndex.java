@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.rhino.jstype;
+
+import static com.google.javascript.jscomp.base.JSCompObjects.identical;
+
+import com.google.common.collect.Sets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Groups the alternates of a {@link UnionType.Builder} so that a new alternate only has to be
+ * compared with the alternates that it may be a subtype, supertype or duplicate of.
+ *
+ * <p>The groups only separate types that are never related by {@link
+ * JSType#isSubtypeWithoutStructuralTyping} or {@link JSType#equals}:
+ *
+ * <ul>
+ *   <li>value types of different classes, like {@code number} and {@code string};
+ *   <li>elements of different enums, and enum elements and the value types they don't wrap;
+ *   <li>value types and enum elements on one side, and object types on the other;
+ *   <li>nominal instance types that don't appear among each other's supertypes. The supertypes are
+ *       found by walking the implicit prototype chain and the implemented and extended interfaces.
+ * </ul>
+ *
+ * <p>Every other type, including unresolved and unknown types, proxies and bottom types, is a
+ * candidate for every alternate. Object types that have an unknown supertype are treated the same
+ * way, because they are subtypes of everything.
+ */
+final class UnionAlternateIndex {
+
+  private enum Kind {
+    /** A type that may be related to any other type. */
+    GENERAL,
+    /** A value type, grouped by its class. */
+    VALUE,
+    /** An enum element that wraps a value type, grouped by its enum. */
+    ENUM_ELEMENT,
+    /** A nominal instance type, grouped by its supertypes. */
+    NOMINAL,
+    /** Any other object type. */
+    OTHER_OBJECT
+  }
+
+  /**
+   * How an alternate is indexed. {@code valueClass} is the class of the value type, or of the value
+   * type an enum element wraps, and {@code supertypes} are the supertypes of a nominal type,
+   * including the type itself.
+   */
+  private record Category(
+      Kind kind, @Nullable JSTypeClass valueClass, @Nullable Set<ObjectType> supertypes) {
+    static final Category GENERAL = new Category(Kind.GENERAL, null, null);
+    static final Category OTHER_OBJECT = new Category(Kind.OTHER_OBJECT, null, null);
+  }
+
+  private final Map<JSType, Category> categories = new IdentityHashMap<>();
+
+  private final Set<JSType> generalTypes = Sets.newIdentityHashSet();
+  private final Map<JSTypeClass, Set<JSType>> valueTypesByClass = new EnumMap<>(JSTypeClass.class);
+  private final Map<JSTypeClass, Set<JSType>> enumElementsByValueClass =
+      new EnumMap<>(JSTypeClass.class);
+  private final Map<EnumType, Set<JSType>> enumElementsByEnum = new IdentityHashMap<>();
+  private final Set<JSType> nominalTypes = Sets.newIdentityHashSet();
+  private final Map<ObjectType, Set<JSType>> nominalTypesBySupertype = new IdentityHashMap<>();
+  private final Set<JSType> otherObjectTypes = Sets.newIdentityHashSet();
+
+  // The last type passed to getCandidates, which is usually added right after.
+  private @Nullable JSType lastCategorized = null;
+  private @Nullable Category lastCategory = null;
+
+  /**
+   * Returns the indexed alternates that may be related to {@code alternate}, or null if any of them
+   * may be.
+   */
+  @Nullable Set<JSType> getCandidates(JSType alternate) {
+    Category category = categorize(alternate);
+    Set<JSType> candidates = Sets.newIdentityHashSet();
+    switch (category.kind()) {
+      case GENERAL -> {
+        return null;
+      }
+      case VALUE -> {
+        addAll(candidates, valueTypesByClass.get(category.valueClass()));
+        addAll(candidates, enumElementsByValueClass.get(category.valueClass()));
+      }
+      case ENUM_ELEMENT -> {
+        addAll(candidates, valueTypesByClass.get(category.valueClass()));
+        addAll(candidates, enumElementsByEnum.get(alternate.toMaybeEnumElementType().getEnumType()));
+      }
+      case NOMINAL -> {
+        // The alternates that are supertypes of this one.
+        for (ObjectType supertype : category.supertypes()) {
+          if (!identical(supertype, alternate) && nominalTypes.contains(supertype)) {
+            candidates.add(supertype);
+          }
+        }
+        // The alternates that are subtypes of this one.
+        addAll(candidates, nominalTypesBySupertype.get(alternate.toObjectType()));
+        addAll(candidates, otherObjectTypes);
+      }
+      case OTHER_OBJECT -> {
+        addAll(candidates, nominalTypes);
+        addAll(candidates, otherObjectTypes);
+      }
+    }
+    addAll(candidates, generalTypes);
+    return candidates;
+  }
+
+  /** Adds an alternate to the index. */
+  void add(JSType alternate) {
+    Category category = categorize(alternate);
+    categories.put(alternate, category);
+    switch (category.kind()) {
+      case GENERAL -> generalTypes.add(alternate);
+      case VALUE -> groupOf(valueTypesByClass, category.valueClass()).add(alternate);
+      case ENUM_ELEMENT -> {
+        groupOf(enumElementsByValueClass, category.valueClass()).add(alternate);
+        groupOf(enumElementsByEnum, alternate.toMaybeEnumElementType().getEnumType())
+            .add(alternate);
+      }
+      case NOMINAL -> {
+        nominalTypes.add(alternate);
+        for (ObjectType supertype : category.supertypes()) {
+          groupOf(nominalTypesBySupertype, supertype).add(alternate);
+        }
+      }
+      case OTHER_OBJECT -> otherObjectTypes.add(alternate);
+    }
+  }
+
+  /** Removes an alternate from the index. */
+  void remove(JSType alternate) {
+    Category category = categories.remove(alternate);
+    if (category == null) {
+      return;
+    }
+    switch (category.kind()) {
+      case GENERAL -> generalTypes.remove(alternate);
+      case VALUE -> valueTypesByClass.get(category.valueClass()).remove(alternate);
+      case ENUM_ELEMENT -> {
+        enumElementsByValueClass.get(category.valueClass()).remove(alternate);
+        enumElementsByEnum.get(alternate.toMaybeEnumElementType().getEnumType()).remove(alternate);
+      }
+      case NOMINAL -> {
+        nominalTypes.remove(alternate);
+        for (ObjectType supertype : category.supertypes()) {
+          nominalTypesBySupertype.get(supertype).remove(alternate);
+        }
+      }
+      case OTHER_OBJECT -> otherObjectTypes.remove(alternate);
+    }
+  }
+
+  private Category categorize(JSType type) {
+    if (identical(type, lastCategorized)) {
+      return lastCategory;
+    }
+    Category category = computeCategory(type);
+    lastCategorized = type;
+    lastCategory = category;
+    return category;
+  }
+
+  private static Category computeCategory(JSType type) {
+    if (!type.isResolved() || type.isUnknownType() || type.isEmptyType()) {
+      return Category.GENERAL;
+    }
+    JSTypeClass typeClass = type.getTypeClass();
+    switch (typeClass) {
+      case BOOLEAN, BIGINT, NULL, NUMBER, STRING, VOID -> {
+        return new Category(Kind.VALUE, typeClass, null);
+      }
+      case ENUM_ELEMENT -> {
+        JSType primitiveType = type.toMaybeEnumElementType().getPrimitiveType();
+        return isValueType(primitiveType)
+            ? new Category(Kind.ENUM_ELEMENT, primitiveType.getTypeClass(), null)
+            : Category.GENERAL;
+      }
+      case ENUM, FUNCTION, INSTANCE_OBJECT, PROTOTYPE_OBJECT, RECORD, TEMPLATIZED -> {
+        Set<ObjectType> supertypes = findSupertypes(type.toObjectType());
+        if (supertypes == null) {
+          return Category.GENERAL;
+        } else if (typeClass == JSTypeClass.INSTANCE_OBJECT && !type.hasAnyTemplateTypes()) {
+          return new Category(Kind.NOMINAL, null, supertypes);
+        } else {
+          return Category.OTHER_OBJECT;
+        }
+      }
+      default -> {
+        return Category.GENERAL;
+      }
+    }
+  }
+
+  private static boolean isValueType(JSType type) {
+    return switch (type.getTypeClass()) {
+      case BOOLEAN, BIGINT, NULL, NUMBER, STRING, VOID -> true;
+      default -> false;
+    };
+  }
+
+  /**
+   * Returns every object type that {@code type} may be a nominal subtype of, including itself, or
+   * null if one of them is unknown.
+   */
+  private static @Nullable Set<ObjectType> findSupertypes(ObjectType type) {
+    Set<ObjectType> supertypes = Sets.newIdentityHashSet();
+    Deque<ObjectType> worklist = new ArrayDeque<>();
+    worklist.add(type);
+    while (!worklist.isEmpty()) {
+      ObjectType current = worklist.remove();
+      if (isUnknownOrEmpty(current)) {
+        return null;
+      }
+      current = ObjectType.deeplyUnwrap(current);
+      if (isUnknownOrEmpty(current)) {
+        return null;
+      } else if (!supertypes.add(current)) {
+        continue;
+      }
+      ObjectType implicitPrototype = current.getImplicitPrototype();
+      if (implicitPrototype != null) {
+        worklist.add(implicitPrototype);
+      }
+      for (ObjectType extendedInterface : current.getCtorExtendedInterfaces()) {
+        worklist.add(extendedInterface);
+      }
+      for (ObjectType implementedInterface : current.getCtorImplementedInterfaces()) {
+        worklist.add(implementedInterface);
+      }
+    }
+    return supertypes;
+  }
+
+  private static boolean isUnknownOrEmpty(ObjectType type) {
+    return type.isUnknownType() || type.isEmptyType();
+  }
+
+  private static <K> Set<JSType> groupOf(Map<K, Set<JSType>> groups, K key) {
+    return groups.computeIfAbsent(key, (k) -> Sets.newIdentityHashSet());
+  }
+
+  private static void addAll(Set<JSType> candidates, @Nullable Set<JSType> group) {
+    if (group != null) {
+      candidates.addAll(group);
+    }
+  }
+}
@@ -59,6 +59,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -84,6 +85,9 @@ public final class UnionType extends JSType {
    */
   private static final int MAX_UNION_SIZE = 30;
 
+  /** The number of alternates from which a {@link Builder} starts indexing them. */
+  private static final int INDEXING_THRESHOLD = 8;
+
   /**
    * The types that are unioned.
    *
@@ -660,6 +664,10 @@ public final class UnionType extends JSType {
     // one structural function, or just bails out and uses the top function type.
     private int functionTypePosition = -1;
 
+    // Once a union gets wide, comparing every new alternate with all the existing ones gets
+    // expensive, especially when wide unions are merged into each other during type inference. From
+    // then on, new alternates are only compared with the alternates that the index groups with them.
+    private @Nullable UnionAlternateIndex alternateIndex = null;
 
     /** Creates a builder for a new union. */
     private Builder(JSTypeRegistry registry) {
@@ -720,7 +728,7 @@ public final class UnionType extends JSType {
             return this;
           }
         }
-        alternates.add(alternate);
+        addToAlternates(alternate);
         return this;
       }
 
@@ -750,9 +758,17 @@ public final class UnionType extends JSType {
         FunctionType other = alternates.get(functionTypePosition).toMaybeFunctionType();
         FunctionType supremum = alternate.toMaybeFunctionType().supAndInfHelper(other, true);
         alternates.set(functionTypePosition, supremum);
+        if (this.alternateIndex != null) {
+          this.alternateIndex.remove(other);
+          this.alternateIndex.add(supremum);
+        }
         return this;
       }
 
+      // Only null if every alternate needs to be checked.
+      @Nullable Set<JSType> candidates =
+          (this.alternateIndex == null) ? null : this.alternateIndex.getCandidates(alternate);
+
       // Look through the alternates we've got so far,
       // and check if any of them are duplicates of
       // one another.
@@ -762,6 +778,9 @@ public final class UnionType extends JSType {
         if (!current.isResolved()) { // Defer de-duplicating unresolved alternates.
           continue;
         }
+        if (candidates != null && !candidates.contains(current)) {
+          continue; // Known to be unrelated to the alternate.
+        }
 
         // Unknown types may just be names that haven't
         // been resolved yet. So keep these in the union, and just use
@@ -846,6 +865,9 @@ public final class UnionType extends JSType {
 
         if (removeCurrent) {
           alternates.remove(index);
+          if (this.alternateIndex != null) {
+            this.alternateIndex.remove(current);
+          }
 
           if (index == functionTypePosition) {
             functionTypePosition = -1;
@@ -863,10 +885,22 @@ public final class UnionType extends JSType {
         functionTypePosition = alternates.size();
       }
 
-      alternates.add(alternate);
+      addToAlternates(alternate);
       return this;
     }
 
+    private void addToAlternates(JSType alternate) {
+      alternates.add(alternate);
+      if (this.alternateIndex != null) {
+        this.alternateIndex.add(alternate);
+      } else if (alternates.size() >= INDEXING_THRESHOLD) {
+        this.alternateIndex = new UnionAlternateIndex();
+        for (int i = 0; i < alternates.size(); i++) {
+          this.alternateIndex.add(alternates.get(i));
+        }
+      }
+    }
+
     private void mayRegisterDroppedProperties(JSType subtype, JSType supertype) {
       if (subtype.toMaybeRecordType() != null && supertype.toMaybeRecordType() != null) {
         registry.registerDroppedPropertiesInUnion(
@@ -890,6 +924,10 @@ public final class UnionType extends JSType {
         return this.finalAlternates.get(0);
       } else if (this.rebuildTarget != null) {
         return this.rebuildTarget;
+      } else if (this.alternatesResolvedBeforeBuild) {
+        return registry
+            .getInternTable()
+            .intern(TypeInternTable.Kind.UNION, this.finalAlternates, () -> new UnionType(this));
       } else {
         return new UnionType(this);
       }
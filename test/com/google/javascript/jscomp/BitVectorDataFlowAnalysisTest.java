@@ -0,0 +1,309 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import com.google.javascript.jscomp.ControlFlowGraph.Branch;
+import com.google.javascript.jscomp.DataFlowAnalysis.LinearFlowState;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
+import com.google.javascript.jscomp.graph.LatticeElement;
+import com.google.javascript.rhino.Node;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests {@link BitVectorDataFlowAnalysis} by solving the same problems with it and with {@link
+ * DataFlowAnalysis}.
+ *
+ * <p>The facts of the problems are the assignments {@code name = value;} of a function. An
+ * assignment makes its own fact hold and the facts of the other assignments to the same name no
+ * longer hold.
+ */
+@RunWith(JUnit4.class)
+public final class BitVectorDataFlowAnalysisTest {
+
+  @Test
+  public void testForwardUnionOnNestedLoops() {
+    compare(nestedLoops(25), /* forward= */ true, /* union= */ true);
+  }
+
+  @Test
+  public void testForwardIntersectionOnNestedLoops() {
+    compare(nestedLoops(25), /* forward= */ true, /* union= */ false);
+  }
+
+  @Test
+  public void testBackwardUnionOnNestedLoops() {
+    compare(nestedLoops(25), /* forward= */ false, /* union= */ true);
+  }
+
+  @Test
+  public void testBranchesAndExceptions() {
+    String src =
+        """
+        function f(a) {
+          x = 1;
+          try {
+            if (a) { y = x; } else { x = 2; throw a; }
+            while (a) { switch (a) { case 1: y = 3; break; default: x = y; continue; } }
+          } catch (e) {
+            y = 4;
+          } finally {
+            z = x;
+          }
+          return z;
+        }
+        """;
+    compare(src, /* forward= */ true, /* union= */ true);
+    compare(src, /* forward= */ true, /* union= */ false);
+    compare(src, /* forward= */ false, /* union= */ true);
+  }
+
+  @Test
+  public void testVisitsCodeWithoutLoopsOnce() {
+    ControlFlowGraph<Node> cfg =
+        createCfg("function f(a) { x = 1; if (a) { y = x; } else { x = 2; } z = a ? x : y; }");
+    TestBitVectorAnalysis forward = new TestBitVectorAnalysis(cfg, true, true);
+    forward.analyze();
+    TestBitVectorAnalysis backward = new TestBitVectorAnalysis(cfg, false, true);
+    backward.analyze();
+
+    assertThat(forward.getStepCount()).isEqualTo(cfg.getNodeCount());
+    assertThat(backward.getStepCount()).isEqualTo(cfg.getNodeCount());
+  }
+
+  @Test
+  public void testStepsOnNestedLoops() {
+    int depth = 25;
+    ControlFlowGraph<Node> cfg = createCfg(nestedLoops(depth));
+    TestBitVectorAnalysis analysis = new TestBitVectorAnalysis(cfg, true, true);
+    analysis.analyze();
+
+    assertThat(analysis.getStepCount()).isAtMost((depth + 3) * cfg.getNodeCount());
+  }
+
+  /** Returns a function with {@code depth} nested loops that each assign the same names. */
+  private static String nestedLoops(int depth) {
+    StringBuilder src = new StringBuilder("function f(a) {");
+    for (int i = 0; i < depth; i++) {
+      src.append("while (a) { x = ").append(i).append("; if (a) { y = x; continue; } ");
+    }
+    src.append("z = y;");
+    for (int i = 0; i < depth; i++) {
+      src.append(" y = z; if (a) { break; } }");
+    }
+    return src.append(" x = z; }").toString();
+  }
+
+  private static void compare(String src, boolean forward, boolean union) {
+    ControlFlowGraph<Node> cfg = createCfg(src);
+    Facts facts = new Facts(cfg);
+
+    ReferenceAnalysis reference = new ReferenceAnalysis(cfg, facts, forward, union);
+    reference.analyze();
+    Map<Node, LinearFlowState<BitLattice>> expected = new IdentityHashMap<>();
+    for (DiGraphNode<Node, Branch> node : cfg.getNodes()) {
+      if (node != cfg.getImplicitReturn()) {
+        expected.put(node.getValue(), node.getAnnotation());
+      }
+    }
+
+    TestBitVectorAnalysis analysis = new TestBitVectorAnalysis(cfg, forward, union);
+    analysis.analyze();
+    CompactControlFlowGraph graph = analysis.getGraph();
+    for (Map.Entry<Node, LinearFlowState<BitLattice>> entry : expected.entrySet()) {
+      int node = graph.getIndex(entry.getKey());
+      BitSet in = forward ? analysis.getBefore(node) : analysis.getAfter(node);
+      BitSet out = forward ? analysis.getAfter(node) : analysis.getBefore(node);
+      assertWithMessage("in at %s", entry.getKey())
+          .that(in)
+          .isEqualTo(entry.getValue().getIn().bits);
+      assertWithMessage("out at %s", entry.getKey())
+          .that(out)
+          .isEqualTo(entry.getValue().getOut().bits);
+    }
+  }
+
+  private static ControlFlowGraph<Node> createCfg(String src) {
+    Compiler compiler = new Compiler();
+    Node root = compiler.parseSyntheticCode("test.js", src);
+    return ControlFlowAnalysis.builder()
+        .setCompiler(compiler)
+        .setCfgRoot(root.getFirstChild())
+        .setIncludeEdgeAnnotations(true)
+        .computeCfg();
+  }
+
+  /** The GEN and KILL sets of the nodes of a graph. */
+  private static final class Facts {
+    final Map<Node, BitSet> gen = new IdentityHashMap<>();
+    final Map<Node, BitSet> kill = new IdentityHashMap<>();
+    int count;
+
+    Facts(ControlFlowGraph<Node> cfg) {
+      Map<String, BitSet> factsByName = new LinkedHashMap<>();
+      Map<Node, String> names = new IdentityHashMap<>();
+      NodeUtil.visitPreOrder(
+          cfg.getEntry().getValue(),
+          (n) -> {
+            if (n.isExprResult() && n.getFirstChild().isAssign()) {
+              Node lhs = n.getFirstFirstChild();
+              if (lhs.isName() && cfg.hasNode(n)) {
+                BitSet own = new BitSet();
+                own.set(count);
+                gen.put(n, own);
+                names.put(n, lhs.getString());
+                factsByName.computeIfAbsent(lhs.getString(), (k) -> new BitSet()).set(count++);
+              }
+            }
+          });
+      for (Map.Entry<Node, String> name : names.entrySet()) {
+        kill.put(name.getKey(), factsByName.get(name.getValue()));
+      }
+    }
+
+    BitSet flowThrough(Node n, BitSet input) {
+      BitSet result = (BitSet) input.clone();
+      if (kill.containsKey(n)) {
+        result.andNot(kill.get(n));
+      }
+      if (gen.containsKey(n)) {
+        result.or(gen.get(n));
+      }
+      return result;
+    }
+  }
+
+  private static final class TestBitVectorAnalysis extends BitVectorDataFlowAnalysis {
+    private final boolean forward;
+    private final boolean union;
+
+    TestBitVectorAnalysis(ControlFlowGraph<Node> cfg, boolean forward, boolean union) {
+      super(cfg);
+      this.forward = forward;
+      this.union = union;
+    }
+
+    @Override
+    boolean isForward() {
+      return forward;
+    }
+
+    @Override
+    boolean isUnion() {
+      return union;
+    }
+
+    @Override
+    BitSet computeGenKill(CompactControlFlowGraph graph, GenKillSets sets) {
+      Facts facts = new Facts(getCfg());
+      for (int i = 0; i < graph.getNodeCount(); i++) {
+        Node n = graph.getValue(i);
+        if (facts.gen.containsKey(n)) {
+          sets.gen(i).or(facts.gen.get(n));
+          sets.kill(i).or(facts.kill.get(n));
+        }
+      }
+      return new BitSet();
+    }
+  }
+
+  private static final class BitLattice implements LatticeElement {
+    final BitSet bits;
+
+    BitLattice(BitSet bits) {
+      this.bits = bits;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof BitLattice lattice && lattice.bits.equals(bits);
+    }
+
+    @Override
+    public int hashCode() {
+      return bits.hashCode();
+    }
+  }
+
+  private static final class ReferenceAnalysis extends DataFlowAnalysis<Node, BitLattice> {
+    private final Facts facts;
+    private final boolean forward;
+    private final boolean union;
+
+    ReferenceAnalysis(ControlFlowGraph<Node> cfg, Facts facts, boolean forward, boolean union) {
+      super(cfg);
+      this.facts = facts;
+      this.forward = forward;
+      this.union = union;
+    }
+
+    @Override
+    boolean isForward() {
+      return forward;
+    }
+
+    @Override
+    BitLattice createEntryLattice() {
+      return new BitLattice(new BitSet());
+    }
+
+    @Override
+    BitLattice createInitialEstimateLattice() {
+      BitSet bits = new BitSet();
+      if (!union) {
+        bits.set(0, facts.count);
+      }
+      return new BitLattice(bits);
+    }
+
+    @Override
+    FlowJoiner<BitLattice> createFlowJoiner() {
+      return new FlowJoiner<BitLattice>() {
+        BitSet result = null;
+
+        @Override
+        public void joinFlow(BitLattice input) {
+          if (result == null) {
+            result = (BitSet) input.bits.clone();
+          } else if (union) {
+            result.or(input.bits);
+          } else {
+            result.and(input.bits);
+          }
+        }
+
+        @Override
+        public BitLattice finish() {
+          return new BitLattice(result);
+        }
+      };
+    }
+
+    @Override
+    BitLattice flowThrough(Node node, BitLattice input) {
+      return new BitLattice(facts.flowThrough(node, input.bits));
+    }
+  }
+}
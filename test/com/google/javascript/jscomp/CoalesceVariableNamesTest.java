@@ -30,12 +30,21 @@ public final class CoalesceVariableNamesTest extends CompilerTestCase {
   // picking out which variable names are merged.
 
   private boolean usePseudoName = false;
+  private int dataFlowStepBudget = 0;
 
   @Override
   @Before
   public void setUp() throws Exception {
     super.setUp();
     usePseudoName = false;
+    dataFlowStepBudget = 0;
+  }
+
+  @Override
+  protected CompilerOptions getOptions() {
+    CompilerOptions options = super.getOptions();
+    options.setDataFlowBudgetPerFunction(dataFlowStepBudget, 0);
+    return options;
   }
 
   @Override
@@ -52,6 +61,16 @@ public final class CoalesceVariableNamesTest extends CompilerTestCase {
     };
   }
 
+  @Test
+  public void testDataFlowBudget() {
+    dataFlowStepBudget = 100;
+    inFunction("var x; var y; x=1; x; y=1; y", "var x; x=1; x; x=1; x");
+
+    // Out of budget, so the names are left as they are.
+    dataFlowStepBudget = 2;
+    inFunction("var x; var y; x=1; x; y=1; y");
+  }
+
   @Test
   public void testSimple() {
     inFunction("var x; var y; x=1; x; y=1; y; return y", "var x;        x=1; x; x=1; x; return x");
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.javascript.jscomp.ControlFlowGraph.Branch;
+import com.google.javascript.jscomp.graph.Annotation;
+import com.google.javascript.jscomp.graph.DiGraph;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
+import com.google.javascript.rhino.IR;
+import com.google.javascript.rhino.Node;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link CompactControlFlowGraph}. */
+@RunWith(JUnit4.class)
+public final class CompactControlFlowGraphTest {
+
+  private static final String LOOP =
+      """
+      function f(x) {
+        while (x) {
+          if (x > 1) { x--; continue; }
+          x = g(x);
+        }
+        try { g(x); } catch (e) { return e; } finally { x++; }
+        return x;
+      }
+      """;
+
+  @Test
+  public void testCopiesNodesAndEdges() {
+    ControlFlowGraph<Node> cfg = createCfg(LOOP);
+    CompactControlFlowGraph compact = CompactControlFlowGraph.copyOf(cfg);
+
+    assertThat(compact.getNodeCount()).isEqualTo(cfg.getNodeCount());
+    assertThat(compact.getEdgeCount()).isEqualTo(cfg.getEdges().size());
+    assertThat(compact.getValue(compact.getEntry())).isSameInstanceAs(cfg.getEntry().getValue());
+    assertThat(compact.getValue(compact.getImplicitReturn())).isNull();
+    assertThat(compact.getIndex(IR.name("unknown"))).isEqualTo(-1);
+
+    for (DiGraphNode<Node, Branch> node : cfg.getNodes()) {
+      int index =
+          node.getValue() == null ? compact.getImplicitReturn() : compact.getIndex(node.getValue());
+      assertThat(index).isAtLeast(0);
+
+      List<String> expectedOut = new ArrayList<>();
+      for (DiGraphEdge<Node, Branch> edge : node.getOutEdges()) {
+        expectedOut.add(edge.getValue() + " " + edge.getDestination().getValue());
+      }
+      List<String> actualOut = new ArrayList<>();
+      for (int e = compact.getOutEdgeStart(index); e < compact.getOutEdgeEnd(index); e++) {
+        assertThat(compact.getSource(e)).isEqualTo(index);
+        actualOut.add(compact.getBranch(e) + " " + compact.getValue(compact.getDestination(e)));
+      }
+      assertThat(actualOut).containsExactlyElementsIn(expectedOut).inOrder();
+
+      List<String> expectedIn = new ArrayList<>();
+      for (DiGraphEdge<Node, Branch> edge : node.getInEdges()) {
+        expectedIn.add(edge.getValue() + " " + edge.getSource().getValue());
+      }
+      List<String> actualIn = new ArrayList<>();
+      for (int i = compact.getInEdgeStart(index); i < compact.getInEdgeEnd(index); i++) {
+        int e = compact.getInEdge(i);
+        assertThat(compact.getDestination(e)).isEqualTo(index);
+        actualIn.add(compact.getBranch(e) + " " + compact.getValue(compact.getSource(e)));
+      }
+      assertThat(actualIn).containsExactlyElementsIn(expectedIn);
+    }
+  }
+
+  @Test
+  public void testNodesAreInReversePostorder() {
+    CompactControlFlowGraph compact =
+        CompactControlFlowGraph.copyOf(
+            createCfg("function f(x) { if (x) { g(); } else { h(); } var y = x; return y; }"));
+
+    // Without loops, every edge goes forward.
+    for (int e = 0; e < compact.getEdgeCount(); e++) {
+      assertThat(compact.getDestination(e)).isGreaterThan(compact.getSource(e));
+    }
+  }
+
+  @Test
+  public void testLoopHeaderComesBeforeItsBody() {
+    ControlFlowGraph<Node> cfg = createCfg("function f(x) { while (x) { x--; } return x; }");
+    CompactControlFlowGraph compact = CompactControlFlowGraph.copyOf(cfg);
+
+    int backEdges = 0;
+    for (int e = 0; e < compact.getEdgeCount(); e++) {
+      if (compact.getDestination(e) <= compact.getSource(e)) {
+        backEdges++;
+        assertThat(compact.getValue(compact.getDestination(e)).isWhile()).isTrue();
+      }
+    }
+    assertThat(backEdges).isEqualTo(1);
+  }
+
+  @Test
+  public void testUnreachableNodesComeLast() {
+    ControlFlowGraph<Node> cfg = createCfg("function f() { return; g(); }");
+    CompactControlFlowGraph compact = CompactControlFlowGraph.copyOf(cfg);
+
+    int last = compact.getNodeCount() - 1;
+    assertThat(compact.getValue(last).isExprResult()).isTrue();
+    assertThat(compact.getInEdgeEnd(last) - compact.getInEdgeStart(last)).isEqualTo(0);
+  }
+
+  @Test
+  public void testDiGraphView() {
+    ControlFlowGraph<Node> cfg = createCfg(LOOP);
+    DiGraph<Node, Branch> view = CompactControlFlowGraph.copyOf(cfg).asDiGraph();
+
+    assertThat(view.getNodeCount()).isEqualTo(cfg.getNodeCount());
+    for (DiGraphNode<Node, Branch> node : cfg.getNodes()) {
+      Node value = node.getValue();
+      assertThat(view.getNode(value).getValue()).isSameInstanceAs(value);
+      assertThat(values(view.getDirectedSuccNodes(value)))
+          .containsExactlyElementsIn(values(cfg.getDirectedSuccNodes(value)))
+          .inOrder();
+      assertThat(values(view.getDirectedPredNodes(value)))
+          .containsExactlyElementsIn(values(cfg.getDirectedPredNodes(value)));
+      assertThat(view.getNodeDegree(value)).isEqualTo(cfg.getNodeDegree(value));
+      for (DiGraphNode<Node, Branch> successor : cfg.getDirectedSuccNodes(value)) {
+        assertThat(view.isConnectedInDirection(value, successor.getValue())).isTrue();
+      }
+    }
+  }
+
+  @Test
+  public void testDiGraphViewAnnotations() {
+    DiGraph<Node, Branch> view = CompactControlFlowGraph.copyOf(createCfg(LOOP)).asDiGraph();
+    DiGraphNode<Node, Branch> node = view.getNodes().iterator().next();
+    node.setAnnotation(new Annotation() {});
+
+    view.clearNodeAnnotations();
+
+    assertThat((Object) node.getAnnotation()).isNull();
+    assertThat(node.getPriority()).isEqualTo(0);
+  }
+
+  @Test
+  public void testDiGraphViewIsReadOnly() {
+    DiGraph<Node, Branch> view = CompactControlFlowGraph.copyOf(createCfg(LOOP)).asDiGraph();
+    Node entry = view.getNodes().iterator().next().getValue();
+    Node unknown = IR.name("unknown");
+
+    assertThat(view.createNode(entry).getValue()).isSameInstanceAs(entry);
+    assertThat(view.getNode(unknown)).isNull();
+    assertThrows(UnsupportedOperationException.class, () -> view.createNode(unknown));
+    assertThrows(
+        UnsupportedOperationException.class, () -> view.connect(entry, Branch.UNCOND, entry));
+    assertThrows(IllegalArgumentException.class, () -> view.getOutEdges(unknown));
+  }
+
+  private static List<Node> values(List<? extends DiGraphNode<Node, Branch>> nodes) {
+    List<Node> values = new ArrayList<>();
+    for (DiGraphNode<Node, Branch> node : nodes) {
+      values.add(node.getValue());
+    }
+    return values;
+  }
+
+  private static ControlFlowGraph<Node> createCfg(String input) {
+    Compiler compiler = new Compiler();
+    Node root = compiler.parseSyntheticCode("cfgtest", input);
+    return ControlFlowAnalysis.builder()
+        .setCompiler(compiler)
+        .setCfgRoot(root.getFirstChild())
+        .setIncludeEdgeAnnotations(true)
+        .computeCfg();
+  }
+}
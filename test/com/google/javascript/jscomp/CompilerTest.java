@@ -41,6 +41,10 @@ import com.google.javascript.jscomp.Compiler.ScriptNodeLicensesOnlyTracker;
 import com.google.javascript.jscomp.CompilerOptions.LanguageMode;
 import com.google.javascript.jscomp.CompilerOptions.SegmentOfCompilationToRun;
 import com.google.javascript.jscomp.deps.ModuleLoader.ResolutionMode;
+import com.google.javascript.jscomp.graph.Graph;
+import com.google.javascript.jscomp.graph.GraphExporter;
+import com.google.javascript.jscomp.graph.GraphExporter.NumberedNode;
+import com.google.javascript.jscomp.graph.LinkedDirectedGraph;
 import com.google.javascript.jscomp.serialization.AstNode;
 import com.google.javascript.jscomp.serialization.LazyAst;
 import com.google.javascript.jscomp.serialization.NodeKind;
@@ -58,6 +62,7 @@ import com.google.javascript.rhino.jstype.JSTypeRegistry;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringWriter;
@@ -351,6 +356,35 @@ public final class CompilerTest {
     }
   }
 
+  @Test
+  public void testLogGraphInTheDebugGraphFormat() throws Exception {
+    Compiler compiler = new Compiler();
+    CompilerOptions options = new CompilerOptions();
+    File tempDir = Files.createTempDir();
+    options.setDebugLogDirectory(tempDir.toPath());
+    options.setDebugGraphFormat(GraphExporter.Format.BINARY);
+    options.setDebugGraphRoot("b");
+    compiler.initOptions(options);
+    LinkedDirectedGraph<String, String> graph = LinkedDirectedGraph.create();
+    graph.createNode("a");
+    graph.createNode("b");
+    graph.createNode("c");
+    graph.connect("a", "1", "b");
+    graph.connect("b", "2", "c");
+
+    compiler.logGraph(CompilerTest.class, "graph", graph);
+
+    File logFile = new File(new File(tempDir, "CompilerTest"), "graph.jscg");
+    Graph<NumberedNode, String> logged;
+    try (InputStream in = new FileInputStream(logFile)) {
+      logged = GraphExporter.readBinary(in);
+    }
+    assertThat(logged.getNodeCount()).isEqualTo(2);
+    assertThat(
+            logged.isConnected(new NumberedNode(0, "b"), "2", new NumberedNode(1, "c")))
+        .isTrue();
+  }
+
   @Test
   public void testMissingSourceMapFile() throws Exception {
     Compiler compiler = new Compiler();
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.javascript.jscomp.graph.Annotation;
+import com.google.javascript.rhino.Node;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests {@link ControlFlowGraphCache}. */
+@RunWith(JUnit4.class)
+public final class ControlFlowGraphCacheTest {
+
+  private Compiler compiler;
+  private ControlFlowGraphCache cache;
+  private Node outer;
+  private Node inner;
+
+  @Before
+  public void setUp() {
+    compiler = new Compiler();
+    Node script =
+        compiler.parseSyntheticCode(
+            "test.js", "function outer(x) { if (x) { return function inner() { x++; }; } }");
+    outer = script.getFirstChild();
+    inner = outer.getLastChild().getFirstChild().getLastChild().getFirstChild().getFirstChild();
+    assertThat(inner.isFunction()).isTrue();
+    cache = new ControlFlowGraphCache(compiler);
+  }
+
+  @Test
+  public void testReusesTheGraphOfAnUnchangedFunction() {
+    ControlFlowGraph<Node> first = cache.getCfg(outer);
+    cache.release(first);
+
+    assertThat(cache.getCfg(outer)).isSameInstanceAs(first);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testDoesntHandOutAGraphTwiceBeforeItIsReleased() {
+    ControlFlowGraph<Node> first = cache.getCfg(outer);
+    first.getEntry().setAnnotation(new Annotation() {});
+
+    ControlFlowGraph<Node> second = cache.getCfg(outer);
+
+    assertThat(second).isNotSameInstanceAs(first);
+    assertThat((Object) first.getEntry().getAnnotation()).isNotNull();
+    assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testRecomputesTheGraphOfAChangedFunction() {
+    ControlFlowGraph<Node> first = cache.getCfg(outer);
+    cache.release(first);
+
+    compiler.reportChangeToChangeScope(outer);
+
+    assertThat(cache.getCfg(outer)).isNotSameInstanceAs(first);
+    assertThat(cache.getHitCount()).isEqualTo(0);
+    assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void testDropsAGraphChangedBeforeItIsReleased() {
+    ControlFlowGraph<Node> first = cache.getCfg(outer);
+
+    compiler.reportChangeToChangeScope(outer);
+    cache.release(first);
+
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void testChangesInNestedFunctionsDontInvalidateTheGraph() {
+    ControlFlowGraph<Node> outerCfg = cache.getCfg(outer);
+    ControlFlowGraph<Node> innerCfg = cache.getCfg(inner);
+    cache.release(outerCfg);
+    cache.release(innerCfg);
+
+    compiler.reportChangeToChangeScope(inner);
+
+    assertThat(cache.getCfg(outer)).isSameInstanceAs(outerCfg);
+    assertThat(cache.getCfg(inner)).isNotSameInstanceAs(innerCfg);
+  }
+
+  @Test
+  public void testRecomputesTheGraphOfADeletedFunction() {
+    ControlFlowGraph<Node> first = cache.getCfg(inner);
+    cache.release(first);
+
+    compiler.reportFunctionDeleted(inner);
+
+    assertThat(cache.getCfg(inner)).isNotSameInstanceAs(first);
+  }
+
+  @Test
+  public void testClearsAnnotationsOfReleasedGraphs() {
+    ControlFlowGraph<Node> cfg = cache.getCfg(outer);
+    cfg.getEntry().setAnnotation(new Annotation() {});
+    cfg.getEdges().get(0).setAnnotation(new Annotation() {});
+
+    cache.release(cfg);
+
+    assertThat((Object) cfg.getEntry().getAnnotation()).isNull();
+    assertThat((Object) cfg.getEdges().get(0).getAnnotation()).isNull();
+  }
+
+  @Test
+  public void testEvictsTheLeastRecentlyUsedGraphs() {
+    StringBuilder code = new StringBuilder();
+    for (int i = 0; i <= ControlFlowGraphCache.MAX_CACHED_GRAPHS; i++) {
+      code.append("function f").append(i).append("() {}\n");
+    }
+    Node script = compiler.parseSyntheticCode("many.js", code.toString());
+    Node first = script.getFirstChild();
+    ControlFlowGraph<Node> firstCfg = cache.getCfg(first);
+    cache.release(firstCfg);
+    ControlFlowGraph<Node> secondCfg = cache.getCfg(first.getNext());
+    cache.release(secondCfg);
+    cache.release(cache.getCfg(first));
+
+    for (Node fn = first.getNext().getNext(); fn != null; fn = fn.getNext()) {
+      cache.release(cache.getCfg(fn));
+    }
+
+    assertThat(cache.size()).isEqualTo(ControlFlowGraphCache.MAX_CACHED_GRAPHS);
+    assertThat(cache.getCfg(first)).isSameInstanceAs(firstCfg);
+    assertThat(cache.getCfg(first.getNext())).isNotSameInstanceAs(secondCfg);
+  }
+
+  @Test
+  public void testClearKeepsTheCounts() {
+    cache.release(cache.getCfg(outer));
+    cache.release(cache.getCfg(outer));
+
+    cache.clear();
+
+    assertThat(cache.size()).isEqualTo(0);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    cache.getCfg(outer);
+    assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+}
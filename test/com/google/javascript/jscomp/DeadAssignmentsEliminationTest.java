@@ -16,6 +16,8 @@
 
 package com.google.javascript.jscomp;
 
+import static com.google.common.truth.Truth.assertThat;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -29,9 +31,19 @@ public final class DeadAssignmentsEliminationTest extends CompilerTestCase {
     super("var extern;");
   }
 
+  private int dataFlowStepBudget;
+
   @Before
   public void customSetUp() throws Exception {
     enableNormalize();
+    dataFlowStepBudget = 0;
+  }
+
+  @Override
+  protected CompilerOptions getOptions() {
+    CompilerOptions options = super.getOptions();
+    options.setDataFlowBudgetPerFunction(dataFlowStepBudget, 0);
+    return options;
   }
 
   @Override
@@ -53,6 +65,18 @@ public final class DeadAssignmentsEliminationTest extends CompilerTestCase {
     inFunction("var a; a=function f(){}");
   }
 
+  @Test
+  public void testDataFlowBudget() {
+    dataFlowStepBudget = 100;
+    inFunction("var a; a=1", "var a; 1");
+    assertThat(getLastCompiler().getDataFlowBudget().getSkippedCount()).isEqualTo(0);
+
+    // The liveness analysis needs more steps than there are statements.
+    dataFlowStepBudget = 2;
+    inFunction("var a; a=1; a=2; a=3");
+    assertThat(getLastCompiler().getDataFlowBudget().getSkippedCount()).isEqualTo(1);
+  }
+
   @Test
   public void testPropAssignmentNotRemoved() {
     // We only remove dead assignments when lhs is a name node.
@@ -18,11 +18,18 @@ package com.google.javascript.jscomp;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
+import static org.junit.Assert.assertThrows;
 
 import com.google.javascript.jscomp.graph.DiGraph;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
 import com.google.javascript.jscomp.graph.FixedPointGraphTraversal;
 import com.google.javascript.jscomp.graph.FixedPointGraphTraversal.EdgeCallback;
+import com.google.javascript.jscomp.graph.IndexedDiGraph;
 import com.google.javascript.jscomp.graph.LinkedDirectedGraph;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -237,4 +244,135 @@ public final class FixedPointGraphTraversalTest {
     assertThat(D.value).isEqualTo(2);
     assertThat(E.value).isEqualTo(1);
   }
+
+  @Test
+  public void testByComponents() {
+    for (int threads : new int[] {1, 4}) {
+      assertSameFixedPoint(reachGraph(), /* fromFirst= */ false, /* reverse= */ false, threads);
+      assertSameFixedPoint(reachGraph(), /* fromFirst= */ true, /* reverse= */ false, threads);
+      assertSameFixedPoint(reachGraph(), /* fromFirst= */ false, /* reverse= */ true, threads);
+    }
+  }
+
+  @Test
+  public void testByComponentsOnIndexedGraph() {
+    for (int threads : new int[] {1, 4}) {
+      for (boolean fromFirst : new boolean[] {false, true}) {
+        for (boolean reverse : new boolean[] {false, true}) {
+          List<BitSet> expected = propagate(reachGraph(), fromFirst, reverse, /* threads= */ 0);
+          List<BitSet> actual =
+              propagate(reachGraph(IndexedDiGraph.create()), fromFirst, reverse, threads);
+          assertThat(actual).isEqualTo(expected);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testByComponentsOnRandomGraphs() {
+    Random random = new Random(42);
+    for (int round = 0; round < 50; round++) {
+      int size = 1 + random.nextInt(100);
+      // Every other graph is indexed, which the traversal reads through its ids.
+      DiGraph<Reach, String> reachGraph =
+          round % 2 == 0 ? LinkedDirectedGraph.create() : IndexedDiGraph.create();
+      Reach[] nodes = new Reach[size];
+      for (int i = 0; i < size; i++) {
+        nodes[i] = new Reach();
+        reachGraph.createNode(nodes[i]);
+      }
+      double density = 2.5 / size;
+      for (int i = 0; i < size; i++) {
+        for (int j = 0; j < size; j++) {
+          if (random.nextDouble() < density) {
+            reachGraph.connect(nodes[i], "->", nodes[j]);
+          }
+        }
+      }
+      boolean fromFirst = random.nextBoolean();
+      boolean reverse = random.nextBoolean();
+      assertSameFixedPoint(reachGraph, fromFirst, reverse, 1);
+      assertSameFixedPoint(reachGraph, fromFirst, reverse, 3);
+    }
+  }
+
+  @Test
+  public void testByComponentsNotHalting() {
+    for (int threads : new int[] {1, 2}) {
+      FixedPointGraphTraversal<Counter, String> nonHalting =
+          FixedPointGraphTraversal.<Counter, String>newTraversal((source, e, dest) -> true)
+              .byComponents(threads);
+      IllegalStateException e =
+          assertThrows(IllegalStateException.class, () -> nonHalting.computeFixedPoint(graph, A));
+      assertThat(e).hasMessageThat().isEqualTo(FixedPointGraphTraversal.NON_HALTING_ERROR_MSG);
+    }
+  }
+
+  /** The set of nodes that reach a node. */
+  private static class Reach {
+    final BitSet nodes = new BitSet();
+  }
+
+  private static final EdgeCallback<Reach, String> REACH_CALLBACK =
+      (source, e, dest) -> {
+        int before = dest.nodes.cardinality();
+        dest.nodes.or(source.nodes);
+        return dest.nodes.cardinality() != before;
+      };
+
+  /** Returns a graph of the same form as the one created in {@link #setUp}. */
+  private static DiGraph<Reach, String> reachGraph() {
+    return reachGraph(LinkedDirectedGraph.create());
+  }
+
+  private static DiGraph<Reach, String> reachGraph(DiGraph<Reach, String> reachGraph) {
+    Reach[] nodes = new Reach[5];
+    for (int i = 0; i < 5; i++) {
+      nodes[i] = new Reach();
+      reachGraph.createNode(nodes[i]);
+    }
+    int[][] edges = {{0, 1}, {0, 2}, {0, 3}, {1, 3}, {2, 4}, {3, 4}, {4, 3}};
+    for (int[] edge : edges) {
+      reachGraph.connect(nodes[edge[0]], "->", nodes[edge[1]]);
+    }
+    return reachGraph;
+  }
+
+  /**
+   * Propagates the index of each node to the nodes it reaches, once with a single worklist and
+   * once by components, and checks that both give the same sets.
+   */
+  private static void assertSameFixedPoint(
+      DiGraph<Reach, String> reachGraph, boolean fromFirst, boolean reverse, int threads) {
+    List<BitSet> expected = propagate(reachGraph, fromFirst, reverse, 0);
+    List<BitSet> actual = propagate(reachGraph, fromFirst, reverse, threads);
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  private static List<BitSet> propagate(
+      DiGraph<Reach, String> reachGraph, boolean fromFirst, boolean reverse, int threads) {
+    List<Reach> nodes = new ArrayList<>();
+    for (DiGraphNode<Reach, String> node : reachGraph.getNodes()) {
+      node.getValue().nodes.clear();
+      node.getValue().nodes.set(nodes.size());
+      nodes.add(node.getValue());
+    }
+    FixedPointGraphTraversal<Reach, String> traversal =
+        reverse
+            ? FixedPointGraphTraversal.newReverseTraversal(REACH_CALLBACK)
+            : FixedPointGraphTraversal.newTraversal(REACH_CALLBACK);
+    if (threads > 0) {
+      traversal = traversal.byComponents(threads);
+    }
+    if (fromFirst) {
+      traversal.computeFixedPoint(reachGraph, nodes.get(0));
+    } else {
+      traversal.computeFixedPoint(reachGraph);
+    }
+    List<BitSet> result = new ArrayList<>();
+    for (Reach node : nodes) {
+      result.add((BitSet) node.nodes.clone());
+    }
+    return result;
+  }
 }
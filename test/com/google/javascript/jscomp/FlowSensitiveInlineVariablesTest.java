@@ -33,6 +33,8 @@ public final class FlowSensitiveInlineVariablesTest extends CompilerTestCase {
                             function hasSFX() {}
       """;
 
+  private int dataFlowStepBudget = 0;
+
   @Override
   public void setUp() throws Exception {
     super.setUp();
@@ -41,6 +43,13 @@ public final class FlowSensitiveInlineVariablesTest extends CompilerTestCase {
     enableNormalizeExpectedOutput();
   }
 
+  @Override
+  protected CompilerOptions getOptions() {
+    CompilerOptions options = super.getOptions();
+    options.setDataFlowBudgetPerFunction(dataFlowStepBudget, 0);
+    return options;
+  }
+
   @Override
   protected int getNumRepetitions() {
     // Test repeatedly inline.
@@ -66,6 +75,16 @@ public final class FlowSensitiveInlineVariablesTest extends CompilerTestCase {
     inline("var x; x = 1; x = x + 1", "var x; x = 1 + 1");
   }
 
+  @Test
+  public void testDataFlowBudget() {
+    dataFlowStepBudget = 1000;
+    inline("var x; x = 1; print(x)", "var x; print(1)");
+
+    // Each visit of a node is a step.
+    dataFlowStepBudget = 2;
+    noInline("var x; x = 1; print(x)");
+  }
+
   @Test
   public void testSimpleVar() {
     inline("var x = 1; print(x)", "var x; print(1)");
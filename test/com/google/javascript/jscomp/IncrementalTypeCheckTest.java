@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.testing.TestExternsBuilder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class IncrementalTypeCheckTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private static final String EXTERNS =
+      new TestExternsBuilder().addObject().addFunction().addString().build();
+
+  private static final String FOO_RETURNS_NUMBER =
+      """
+      /** @constructor */ function Foo() {}
+      /** @return {number} */ Foo.prototype.get = function() { return 1; };
+      """;
+
+  private static final String FOO_RETURNS_STRING =
+      """
+      /** @constructor */ function Foo() {}
+      /** @return {string} */ Foo.prototype.get = function() { return ''; };
+      """;
+
+  private static final String USES_FOO = "/** @type {string} */ var s = new Foo().get();";
+
+  private Path stateFile;
+
+  @Before
+  public void setUp() {
+    stateFile = folder.getRoot().toPath().resolve("state.json");
+  }
+
+  @Test
+  public void testReportsTheSameDiagnosticsWhenNothingChanged() {
+    ImmutableList<JSError> first = check(FOO_RETURNS_NUMBER, USES_FOO);
+    assertThat(first).hasSize(1);
+    assertThat(Files.exists(stateFile)).isTrue();
+
+    ImmutableList<JSError> second = check(FOO_RETURNS_NUMBER, USES_FOO);
+    assertThat(second).hasSize(1);
+    JSError error = second.get(0);
+    assertThat(error.type()).isEqualTo(TypeValidator.TYPE_MISMATCH_WARNING);
+    assertThat(error.description()).isEqualTo(first.get(0).description());
+    assertThat(error.sourceName()).isEqualTo("b.js");
+    assertThat(error.node()).isNotNull();
+  }
+
+  @Test
+  public void testReusesTheDiagnosticsOfUnaffectedInputs() throws Exception {
+    check(FOO_RETURNS_NUMBER, USES_FOO);
+    // Only diagnostics that come from the state can have this description.
+    String state = Files.readString(stateFile, UTF_8);
+    Files.writeString(stateFile, state.replace("initializing variable", "cached"), UTF_8);
+
+    ImmutableList<JSError> warnings = check(FOO_RETURNS_NUMBER, USES_FOO);
+
+    assertThat(warnings).hasSize(1);
+    assertThat(warnings.get(0).description()).startsWith("cached");
+  }
+
+  @Test
+  public void testRechecksInputsWhenADependencyChanges() {
+    assertThat(check(FOO_RETURNS_NUMBER, USES_FOO)).hasSize(1);
+
+    assertThat(check(FOO_RETURNS_STRING, USES_FOO)).isEmpty();
+    assertThat(check(FOO_RETURNS_NUMBER, USES_FOO)).hasSize(1);
+  }
+
+  @Test
+  public void testRechecksChangedInputs() {
+    assertThat(check(FOO_RETURNS_NUMBER, USES_FOO)).hasSize(1);
+
+    assertThat(check(FOO_RETURNS_NUMBER, "/** @type {number} */ var n = new Foo().get();"))
+        .isEmpty();
+  }
+
+  @Test
+  public void testRechecksDependentsWhenOnlyTheJSDocOfAClassChanges() {
+    String createsProperty = "var foo = new Foo(); foo.x = 1;";
+    assertThat(check("/** @constructor */ function Foo() {}", createsProperty)).isEmpty();
+
+    ImmutableList<JSError> warnings =
+        check("/** @constructor @struct */ function Foo() {}", createsProperty);
+
+    assertThat(warnings.stream().map(JSError::type))
+        .containsExactly(TypeCheck.ILLEGAL_PROPERTY_CREATION);
+  }
+
+  @Test
+  public void testRechecksDependentsWhenOnlyTheSuperclassChanges() {
+    String bar =
+        """
+        /** @constructor */ function Bar() {}
+        /** @return {number} */ Bar.prototype.get = function() { return 1; };
+        """;
+    String usesFoo = "/** @type {number} */ var n = new Foo().get();";
+    assertThat(check(bar + "/** @constructor @extends {Bar} */ function Foo() {}", usesFoo))
+        .isEmpty();
+
+    ImmutableList<JSError> warnings = check(bar + "/** @constructor */ function Foo() {}", usesFoo);
+
+    assertThat(warnings.stream().map(JSError::type))
+        .contains(TypeCheck.INEXISTENT_PROPERTY);
+  }
+
+  @Test
+  public void testKeepsTheSummariesOfUnaffectedInputs() throws Exception {
+    check(FOO_RETURNS_NUMBER, USES_FOO);
+    // Only a summary that is reused rather than recomputed can have this hash.
+    String state = Files.readString(stateFile, UTF_8);
+    String stale = state.replaceFirst("\"summaryHash\":\"\\w+\"", "\"summaryHash\":\"stale\"");
+    Files.writeString(stateFile, stale, UTF_8);
+
+    check(FOO_RETURNS_NUMBER, "/** @type {number} */ var n = new Foo().get();");
+
+    assertThat(Files.readString(stateFile, UTF_8)).contains("\"summaryHash\":\"stale\"");
+  }
+
+  @Test
+  public void testIgnoresAnUnreadableState() throws Exception {
+    Files.writeString(stateFile, "not json", UTF_8);
+
+    ImmutableList<JSError> warnings = check(FOO_RETURNS_NUMBER, USES_FOO);
+
+    assertThat(warnings.stream().map(JSError::type))
+        .containsExactly(IncrementalTypeCheck.READ_ERROR, TypeValidator.TYPE_MISMATCH_WARNING);
+  }
+
+  @Test
+  public void testCountsTheTypedNodesOfReusedInputs() {
+    double typedPercent = compile(FOO_RETURNS_NUMBER, USES_FOO).getErrorManager().getTypedPercent();
+    assertThat(typedPercent).isGreaterThan(0.0);
+
+    assertThat(compile(FOO_RETURNS_NUMBER, USES_FOO).getErrorManager().getTypedPercent())
+        .isEqualTo(typedPercent);
+  }
+
+  @Test
+  public void testRechecksInputsWhoseDiagnosticsCantBeAttachedToANode() throws Exception {
+    check(FOO_RETURNS_NUMBER, USES_FOO);
+    String state = Files.readString(stateFile, UTF_8);
+    String moved =
+        state
+            .replace("initializing variable", "cached")
+            .replaceFirst("\"nodeCharno\":\\d+", "\"nodeCharno\":1000");
+    Files.writeString(stateFile, moved, UTF_8);
+
+    ImmutableList<JSError> warnings = check(FOO_RETURNS_NUMBER, USES_FOO);
+
+    assertThat(warnings).hasSize(1);
+    assertThat(warnings.get(0).description()).startsWith("initializing variable");
+  }
+
+  @Test
+  public void testRechecksInputsWhoseDiagnosticsMatchSeveralNodes() throws Exception {
+    // Both NAME nodes of the export specifier are at the position of "x".
+    String exportsX = "const x = 1; export {x};";
+    check(FOO_RETURNS_NUMBER, USES_FOO + exportsX);
+    String state = Files.readString(stateFile, UTF_8);
+    int charno = USES_FOO.length() + exportsX.indexOf("x}");
+    String ambiguous =
+        state
+            .replace("initializing variable", "cached")
+            .replaceFirst("\"nodeToken\":\"\\w+\"", "\"nodeToken\":\"NAME\"")
+            .replaceFirst("\"nodeCharno\":\\d+", "\"nodeCharno\":" + charno)
+            .replaceFirst("\"nodeLength\":\\d+", "\"nodeLength\":1");
+    Files.writeString(stateFile, ambiguous, UTF_8);
+
+    ImmutableList<JSError> warnings = check(FOO_RETURNS_NUMBER, USES_FOO + exportsX);
+
+    assertThat(warnings).hasSize(1);
+    assertThat(warnings.get(0).description()).startsWith("initializing variable");
+  }
+
+  private ImmutableList<JSError> check(String a, String b) {
+    return compile(a, b).getWarnings();
+  }
+
+  private Compiler compile(String a, String b) {
+    Compiler compiler = new Compiler();
+    compiler.disableThreads();
+    CompilerOptions options = new CompilerOptions();
+    options.setCheckTypes(true);
+    options.setChecksOnly(true);
+    options.setIncrementalCheckStateFile(stateFile);
+    compiler.compile(
+        ImmutableList.of(SourceFile.fromCode("externs.js", EXTERNS)),
+        ImmutableList.of(SourceFile.fromCode("a.js", a), SourceFile.fromCode("b.js", b)),
+        options);
+    return compiler;
+  }
+}
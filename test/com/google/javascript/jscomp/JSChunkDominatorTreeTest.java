@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.javascript.jscomp.JSChunkDominatorTree.NO_CHUNK;
+
+import com.google.common.collect.Iterables;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link JSChunkDominatorTree}. */
+@RunWith(JUnit4.class)
+public final class JSChunkDominatorTreeTest {
+
+  @Test
+  public void testDominators() {
+    JSChunk a = new JSChunk("a");
+    JSChunk b = new JSChunk("b");
+    JSChunk c = new JSChunk("c");
+    JSChunk d = new JSChunk("d");
+    JSChunk e = new JSChunk("e");
+    JSChunk f = new JSChunk("f");
+    b.addDependency(a); //     __A__
+    c.addDependency(a); //    /  |  \
+    d.addDependency(b); //   B   C  |
+    e.addDependency(b); //  / \ /|  |
+    e.addDependency(c); // D   E | /
+    f.addDependency(a); //      \|/
+    f.addDependency(c); //       F
+    f.addDependency(e);
+    JSChunkDominatorTree tree = createTree(a, b, c, d, e, f);
+
+    assertThat(tree.getImmediateDominator(a.getIndex())).isEqualTo(NO_CHUNK);
+    assertThat(tree.getImmediateDominator(b.getIndex())).isEqualTo(a.getIndex());
+    assertThat(tree.getImmediateDominator(d.getIndex())).isEqualTo(b.getIndex());
+    assertThat(tree.getImmediateDominator(e.getIndex())).isEqualTo(a.getIndex());
+    assertThat(tree.getImmediateDominator(f.getIndex())).isEqualTo(a.getIndex());
+
+    assertThat(tree.getLowestCommonDominator(d.getIndex(), d.getIndex())).isEqualTo(d.getIndex());
+    assertThat(tree.getLowestCommonDominator(b.getIndex(), d.getIndex())).isEqualTo(b.getIndex());
+    assertThat(tree.getLowestCommonDominator(d.getIndex(), b.getIndex())).isEqualTo(b.getIndex());
+    // B is a common dependency of D and E, but E does not need to go through B.
+    assertThat(tree.getLowestCommonDominator(d.getIndex(), e.getIndex())).isEqualTo(a.getIndex());
+    assertThat(tree.getLowestCommonDominator(c.getIndex(), f.getIndex())).isEqualTo(a.getIndex());
+  }
+
+  @Test
+  public void testSeveralRoots() {
+    JSChunk a = new JSChunk("a");
+    JSChunk b = new JSChunk("b");
+    JSChunk c = new JSChunk("c");
+    JSChunk d = new JSChunk("d");
+    c.addDependency(a);
+    c.addDependency(b);
+    d.addDependency(c);
+    JSChunkDominatorTree tree = createTree(a, b, c, d);
+
+    assertThat(tree.getImmediateDominator(c.getIndex())).isEqualTo(NO_CHUNK);
+    assertThat(tree.getImmediateDominator(d.getIndex())).isEqualTo(c.getIndex());
+    assertThat(tree.getLowestCommonDominator(a.getIndex(), b.getIndex())).isEqualTo(NO_CHUNK);
+    assertThat(tree.getLowestCommonDominator(a.getIndex(), d.getIndex())).isEqualTo(NO_CHUNK);
+    assertThat(tree.getLowestCommonDominator(c.getIndex(), d.getIndex())).isEqualTo(c.getIndex());
+  }
+
+  @Test
+  public void testLongChain() {
+    JSChunk[] chunks = new JSChunk[1000];
+    for (int i = 0; i < chunks.length; i++) {
+      chunks[i] = new JSChunk("chunk" + i);
+      if (i > 0) {
+        chunks[i].addDependency(chunks[i - 1]);
+      }
+      if (i > 1 && i % 2 == 0) {
+        // Skipping a chunk does not change the dominators.
+        chunks[i].addDependency(chunks[i - 2]);
+      }
+    }
+    JSChunkDominatorTree tree = createTree(chunks);
+
+    assertThat(tree.getImmediateDominator(500)).isEqualTo(498);
+    assertThat(tree.getImmediateDominator(501)).isEqualTo(500);
+    assertThat(tree.getLowestCommonDominator(999, 501)).isEqualTo(500);
+    assertThat(tree.getLowestCommonDominator(3, 998)).isEqualTo(2);
+  }
+
+  /** Puts the chunks in a graph, which sets their indices, and returns the tree of all chunks. */
+  private static JSChunkDominatorTree createTree(JSChunk... chunks) {
+    JSChunkGraph graph = new JSChunkGraph(chunks);
+    return new JSChunkDominatorTree(Iterables.toArray(graph.getAllChunks(), JSChunk.class));
+  }
+}
@@ -18,6 +18,7 @@ package com.google.javascript.jscomp;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
+import static java.lang.Math.max;
 import static java.util.Collections.shuffle;
 import static org.junit.Assert.assertThrows;
 
@@ -32,6 +33,7 @@ import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 import org.jspecify.annotations.Nullable;
 import org.junit.Before;
@@ -320,6 +322,121 @@ public final class JSChunkGraphTest {
     assertSmallestCoveringSubtree(chunkF, chunkA, chunkF, chunkF);
   }
 
+  @Test
+  public void testSmallestCoveringSubtreeCopiesArgument() {
+    makeDeps();
+    makeGraph();
+    BitSet chunks = new BitSet();
+    chunks.set(chunkD.getIndex());
+    chunks.set(chunkE.getIndex());
+    assertSmallestCoveringSubtree(chunkB, graph, chunkA, chunks);
+    chunks.set(chunkC.getIndex());
+    assertSmallestCoveringSubtree(chunkA, graph, chunkA, chunks);
+    chunks.clear(chunkC.getIndex());
+    assertSmallestCoveringSubtree(chunkB, graph, chunkA, chunks);
+    assertSmallestCoveringSubtree(chunkC, graph, chunkC, chunks);
+  }
+
+  @Test
+  public void testDeepestCommonDepWithoutCommonDominator() {
+    //   A   B
+    //   |\ /|
+    //   | X  |
+    //   |/ \|
+    //   C   D
+    //   |   |
+    //   E   F
+    JSChunk a = new JSChunk("a");
+    JSChunk b = new JSChunk("b");
+    JSChunk c = new JSChunk("c");
+    JSChunk d = new JSChunk("d");
+    JSChunk e = new JSChunk("e");
+    JSChunk f = new JSChunk("f");
+    c.addDependency(a);
+    c.addDependency(b);
+    d.addDependency(a);
+    d.addDependency(b);
+    e.addDependency(c);
+    f.addDependency(d);
+    graph = new JSChunkGraph(new JSChunk[] {a, b, c, d, e, f});
+
+    assertDeepestCommonDep(null, a, b);
+    assertDeepestCommonDep(b, c, d);
+    assertDeepestCommonDep(b, e, f);
+    assertDeepestCommonDep(b, c, e);
+    assertDeepestCommonDepInclusive(b, e, f);
+    assertDeepestCommonDepInclusive(c, c, e);
+  }
+
+  @Test
+  public void testDeepestCommonDepOfEqualDepthPrefersTheLaterChunk() {
+    //     A
+    //    / \
+    //   B   C
+    //   |\ /|
+    //   | X |
+    //   |/ \|
+    //   D   E
+    // B and C have the same depth, and A is the lowest common dominator of D and E.
+    for (boolean cFirst : new boolean[] {false, true}) {
+      JSChunk a = new JSChunk("a");
+      JSChunk b = new JSChunk("b");
+      JSChunk c = new JSChunk("c");
+      JSChunk d = new JSChunk("d");
+      JSChunk e = new JSChunk("e");
+      b.addDependency(a);
+      c.addDependency(a);
+      d.addDependency(b);
+      d.addDependency(c);
+      e.addDependency(b);
+      e.addDependency(c);
+      graph =
+          new JSChunkGraph(
+              cFirst ? new JSChunk[] {a, c, b, d, e} : new JSChunk[] {a, b, c, d, e});
+
+      JSChunk later = cFirst ? b : c;
+      assertDeepestCommonDep(later, d, e);
+      assertDeepestCommonDepInclusive(later, d, e);
+    }
+  }
+
+  @Test
+  public void testDeepestCommonDepOnRandomGraphs() {
+    Random random = new Random(42);
+    for (int round = 0; round < 50; round++) {
+      int size = 1 + random.nextInt(40);
+      JSChunk[] chunks = new JSChunk[size];
+      for (int i = 0; i < size; i++) {
+        chunks[i] = new JSChunk("chunk" + i);
+        int depCount = i == 0 ? 0 : random.nextInt(4);
+        for (int j = 0; j < depCount; j++) {
+          // Mostly depend on recent chunks, which makes for deeper graphs.
+          JSChunk dep =
+              chunks[random.nextBoolean() ? random.nextInt(i) : max(0, i - 1 - random.nextInt(3))];
+          if (!chunks[i].getDependencies().contains(dep)) {
+            chunks[i].addDependency(dep);
+          }
+        }
+      }
+      graph = new JSChunkGraph(chunks);
+
+      for (JSChunk m1 : graph.getAllChunks()) {
+        for (JSChunk m2 : graph.getAllChunks()) {
+          // The deepest common dependency, where later chunks win among chunks of the same depth.
+          JSChunk expected = null;
+          for (JSChunk m : graph.getAllChunks()) {
+            if (graph.dependsOn(m1, m)
+                && graph.dependsOn(m2, m)
+                && (expected == null || m.getDepth() >= expected.getDepth())) {
+              expected = m;
+            }
+          }
+          assertDeepestCommonDepOneWay(expected, m1, m2, false);
+        }
+      }
+    }
+  }
+
   @Test
   public void testGetTransitiveDepsDeepestFirst() {
     makeDeps();
@@ -182,6 +182,30 @@ public final class LinkedFlowScopeTest extends CompilerTypeTestCase {
     assertScopesDiffer(chainB, joined);
   }
 
+  /** Joins many branches that each refine one variable, like the cases of a big switch. */
+  @Test
+  public void testJoinManyBranches() {
+    FlowScope base = localEntry;
+    for (int i = 0; i < LONG_CHAIN_LENGTH; i++) {
+      localScope.declare("local" + i, null, null, null, true);
+      base = base.inferSlotType("local" + i, getNativeNumberType());
+    }
+
+    LinkedFlowScope.FlowScopeJoinOp joiner = new LinkedFlowScope.FlowScopeJoinOp(compiler);
+    for (int i = 0; i < 100; i++) {
+      joiner.joinFlow(base.inferSlotType("local" + i, getNativeStringType()));
+    }
+    FlowScope joined = joiner.finish();
+
+    JSType numberOrString = createUnionType(getNativeNumberType(), getNativeStringType());
+    for (int i = 0; i < LONG_CHAIN_LENGTH; i++) {
+      assertTypeEquals(
+          i < 100 ? numberOrString : getNativeNumberType(),
+          joined.getSlot("local" + i).getType());
+    }
+    assertScopesSame(joined, join(joined, base));
+  }
+
   @Test
   public void testDiffer1() {
     FlowScope childA = localEntry.inferSlotType("localB", getNativeNumberType());
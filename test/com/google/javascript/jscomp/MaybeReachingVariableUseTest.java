@@ -23,7 +23,8 @@ import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
 /**
- * Tests for {@link MaybeReachingVariableUse}.
+ * Tests for the "may be" reaching uses that {@link SsaForm} finds from the effects computed by
+ * {@link VariableUseEffects}.
  *
  * <p>Each test case consist of a short code snippet that has an instruction labeled with `D:` and
  * one or more with label starting with `U:`. When `assertMatch` is called, the test suite verifies
@@ -18,6 +18,8 @@ package com.google.javascript.jscomp;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
 import org.junit.Test;
@@ -56,4 +58,96 @@ public final class MemoizedScopeCreatorTest {
     }
     assertThat(handled).isTrue();
   }
+
+  @Test
+  public void testChangeAwareReusesUnchangedScopes() {
+    Compiler compiler = new Compiler();
+    Node root = parse(compiler, "function f() { var x; } function g() { var y; }");
+    Node f = root.getFirstFirstChild();
+    Node g = f.getNext();
+    MemoizedScopeCreator creator =
+        MemoizedScopeCreator.createChangeAware(new SyntacticScopeCreator(compiler), compiler);
+    Scope globalScope = (Scope) creator.createScope(root, null);
+    Scope fScope = (Scope) creator.createScope(f, globalScope);
+    Scope gScope = (Scope) creator.createScope(g, globalScope);
+
+    Node fBody = f.getLastChild();
+    fBody.addChildToBack(IR.var(IR.name("z")));
+    compiler.reportChangeToEnclosingScope(fBody.getLastChild());
+
+    assertThat(creator.createScope(root, null)).isSameInstanceAs(globalScope);
+    assertThat(creator.createScope(f, globalScope)).isNotSameInstanceAs(fScope);
+    assertThat(creator.createScope(g, globalScope)).isSameInstanceAs(gScope);
+    assertThat(creator.getHitCount()).isEqualTo(2);
+    assertThat(creator.getMissCount()).isEqualTo(4);
+  }
+
+  @Test
+  public void testChangeAwareDetectsRenamedFunctionDeclaration() {
+    Compiler compiler = new Compiler();
+    Node root = parse(compiler, "function f() {}");
+    Node f = root.getFirstFirstChild();
+    MemoizedScopeCreator creator =
+        MemoizedScopeCreator.createChangeAware(new SyntacticScopeCreator(compiler), compiler);
+    Scope globalScope = (Scope) creator.createScope(root, null);
+    Scope fScope = (Scope) creator.createScope(f, globalScope);
+
+    // Only the function itself is reported as changed, not the script declaring it.
+    f.getFirstChild().setString("g");
+    compiler.reportChangeToChangeScope(f);
+
+    Scope newGlobalScope = (Scope) creator.createScope(root, null);
+    assertThat(newGlobalScope).isNotSameInstanceAs(globalScope);
+    assertThat(newGlobalScope.hasOwnSlot("g")).isTrue();
+    assertThat(newGlobalScope.hasOwnSlot("f")).isFalse();
+    // The old function scope has the old global scope as its parent, so it can't be reused.
+    assertThat(creator.createScope(f, newGlobalScope)).isNotSameInstanceAs(fScope);
+  }
+
+  @Test
+  public void testChangeAwareInvalidatedByScriptChange() {
+    Compiler compiler = new Compiler();
+    Node root = parse(compiler, "var a;");
+    Node script = root.getFirstChild();
+    MemoizedScopeCreator creator =
+        MemoizedScopeCreator.createChangeAware(new SyntacticScopeCreator(compiler), compiler);
+    Scope globalScope = (Scope) creator.createScope(root, null);
+
+    script.addChildToBack(IR.var(IR.name("b")));
+    compiler.reportChangeToChangeScope(script);
+
+    Scope newGlobalScope = (Scope) creator.createScope(root, null);
+    assertThat(newGlobalScope).isNotSameInstanceAs(globalScope);
+    assertThat(newGlobalScope.hasOwnSlot("b")).isTrue();
+  }
+
+  @Test
+  public void testChangeAwareEvictsScopesOfDetachedRoots() {
+    Compiler compiler = new Compiler();
+    Node root = parse(compiler, "function f() { var x; } function g() { var y; }");
+    Node f = root.getFirstFirstChild();
+    Node g = f.getNext();
+    MemoizedScopeCreator creator =
+        MemoizedScopeCreator.createChangeAware(new SyntacticScopeCreator(compiler), compiler);
+    Scope globalScope = (Scope) creator.createScope(root, null);
+    creator.createScope(f, globalScope);
+    Scope gScope = (Scope) creator.createScope(g, globalScope);
+
+    f.detach();
+    NodeUtil.markFunctionsDeleted(f, compiler);
+    creator.evictDetachedScopes();
+
+    assertThat(creator.getMemoizedScopeCount()).isEqualTo(2);
+    assertThat(creator.createScope(g, globalScope)).isSameInstanceAs(gScope);
+  }
+
+  private static Node parse(Compiler compiler, String js) {
+    compiler.init(
+        ImmutableList.of(SourceFile.fromCode("externs", "")),
+        ImmutableList.of(SourceFile.fromCode("source", js)),
+        new CompilerOptions());
+    compiler.parseInputs();
+    assertThat(compiler.getErrors()).isEmpty();
+    return compiler.getJsRoot();
+  }
 }
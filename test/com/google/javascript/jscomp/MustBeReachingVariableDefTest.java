@@ -23,7 +23,8 @@ import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
 /**
- * Tests for {@link MustBeReachingVariableDef}.
+ * Tests for the must-be-reaching definitions that {@link SsaForm} finds from the effects computed
+ * by {@link VariableDefEffects}.
  *
  * <p>Tests in this class look for the labels 'D:' and 'U:' in the input code and check whether the
  * definition of a var `x` at label `D:` is the must-reaching definition for its use at label `U:`.
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.Token;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class NodeKindIndexTest {
+
+  private Compiler compiler;
+  private NodeKindIndex index;
+
+  @Before
+  public void setUp() {
+    compiler = new Compiler();
+    index = null;
+  }
+
+  @Test
+  public void testFindsCallsByCalleeName() {
+    parse(
+        """
+        goog.require('a');
+        function f() { goog.require('b'); (0, goog.require)('c'); }
+        goog.provide('d');
+        """);
+
+    assertThat(callArgs("goog.require")).containsExactly("a", "b", "c");
+    assertThat(callArgs("goog.provide")).containsExactly("d");
+    assertThat(index().getCalls("goog.define"::equals)).isEmpty();
+  }
+
+  @Test
+  public void testResultsAreInTraversalOrder() {
+    parse("a(b('1'), '2'); function f() { b('3'); } a('4');");
+
+    assertThat(stringArgs(index().getCalls((name) -> name.equals("a") || name.equals("b"))))
+        .containsExactly("1", "2", "3", "4")
+        .inOrder();
+    assertThat(index().getNodes(Token.STRINGLIT, Token.CALL)).hasSize(8);
+    assertThat(index().getNodes(Token.CALL)).isEqualTo(index().getCalls((name) -> true));
+  }
+
+  @Test
+  public void testFindsNodesByToken() {
+    parse("var a = b == c; function f() { return d != e && a == 1; }");
+
+    assertThat(index().getNodes(Token.EQ)).hasSize(2);
+    assertThat(index().getNodes(Token.EQ, Token.NE)).hasSize(3);
+    assertThat(index().getNodes(Token.SHEQ)).isEmpty();
+  }
+
+  /** Returns the last argument of each call to the given function, which must be a string. */
+  private List<String> callArgs(String calleeName) {
+    return stringArgs(index().getCalls(calleeName::equals));
+  }
+
+  private NodeKindIndex index() {
+    if (index == null) {
+      index = new NodeKindIndex(compiler);
+    }
+    return index;
+  }
+
+  private Node parse(String js) {
+    compiler.init(
+        ImmutableList.of(SourceFile.fromCode("externs", "")),
+        ImmutableList.of(SourceFile.fromCode("source", js)),
+        new CompilerOptions());
+    compiler.parseInputs();
+    assertWithMessage("parse error").that(compiler.getErrors()).isEmpty();
+    return compiler.getJsRoot().getFirstChild();
+  }
+
+  private static List<String> stringArgs(List<Node> calls) {
+    List<String> result = new ArrayList<>();
+    for (Node call : calls) {
+      result.add(call.getLastChild().getString());
+    }
+    return result;
+  }
+}
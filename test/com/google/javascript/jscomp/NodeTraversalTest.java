@@ -995,6 +995,76 @@ public final class NodeTraversalTest {
     }
   }
 
+  @Test
+  public void testTraverseDeepAstWithSmallStack() throws Exception {
+    Compiler compiler = new Compiler();
+    int depth = 100_000;
+    Node expr = IR.name("x");
+    for (int i = 0; i < depth; i++) {
+      expr = IR.not(expr);
+    }
+    Node script = IR.script(IR.exprResult(expr));
+    AtomicInteger visits = new AtomicInteger();
+
+    // Much smaller than the stack needed to recurse once per level of the AST.
+    Thread thread =
+        new Thread(
+            null,
+            () ->
+                NodeTraversal.builder()
+                    .setCompiler(compiler)
+                    .setCallback(
+                        (AbstractPostOrderCallbackInterface)
+                            (t, n, parent) -> visits.incrementAndGet())
+                    .traverse(script),
+            "small-stack",
+            1 << 18);
+    thread.start();
+    thread.join();
+
+    // The NOT nodes, the NAME, the EXPR_RESULT and the SCRIPT.
+    assertThat(visits.get()).isEqualTo(depth + 3);
+  }
+
+  @Test
+  public void testTraversalCanBeReusedAfterCallbackThrows() {
+    Compiler compiler = new Compiler();
+    compiler.initCompilerOptionsIfTesting();
+    Node script = parse(compiler, "function f(a) { if (a) { g(a); } return [a, b]; }");
+    List<Node> visited = new ArrayList<>();
+    AtomicInteger throwAtVisit = new AtomicInteger(5);
+    NodeTraversal t =
+        NodeTraversal.builder()
+            .setCompiler(compiler)
+            .setCallback(
+                (AbstractPostOrderCallbackInterface)
+                    (traversal, n, parent) -> {
+                      if (throwAtVisit.decrementAndGet() == 0) {
+                        throw new IllegalStateException("visit failed");
+                      }
+                      visited.add(n);
+                    })
+            .build();
+
+    try {
+      t.traverse(script);
+      assertWithMessage("Expected the callback to throw").fail();
+    } catch (RuntimeException expected) {
+      assertThat(expected).hasMessageThat().contains("visit failed");
+    }
+
+    visited.clear();
+    t.traverse(script);
+
+    List<Node> expected = new ArrayList<>();
+    NodeTraversal.builder()
+        .setCompiler(compiler)
+        .setCallback(
+            (AbstractPostOrderCallbackInterface) (traversal, n, parent) -> expected.add(n))
+        .traverse(script);
+    assertThat(visited).containsExactlyElementsIn(expected).inOrder();
+  }
+
   @Test
   public void testTraverseComputedFieldsInClass() {
     Compiler compiler = new Compiler();
@@ -169,6 +169,9 @@ public final class PerformanceTrackerTest {
 
             DisambiguateProperties: not executed
             AmbiguateProperties: not executed
+            ControlFlowGraphCache: not used
+            SyntacticScopeCache: not used
+            DataFlow: not used
 
             Inputs:
             JS lines:   [0-9]+
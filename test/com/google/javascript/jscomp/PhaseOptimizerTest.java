@@ -25,6 +25,7 @@ import com.google.javascript.jscomp.PhaseOptimizer.Loop;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.Before;
@@ -166,6 +167,62 @@ public final class PhaseOptimizerTest {
     assertPasses("a", "b", "c");
   }
 
+  @Test
+  public void testConsecutiveTraversalPassesAreFused() {
+    dummyScript.addChildToBack(IR.exprResult(IR.name("x")));
+    List<String> visits = new ArrayList<>();
+    optimizer.consume(
+        ImmutableList.of(
+            createTraversalPassFactory("a", visits),
+            createTraversalPassFactory("b", visits),
+            createPassFactory("c", 0, true),
+            createTraversalPassFactory("d", visits)));
+    assertPasses("c");
+
+    // "a" and "b" visit each node before the shared traversal moves on to the next one.
+    assertThat(visits)
+        .containsExactly(
+            "a NAME", "b NAME", "a EXPR_RESULT", "b EXPR_RESULT", "a SCRIPT", "b SCRIPT",
+            "a ROOT", "b ROOT", "d NAME", "d EXPR_RESULT", "d SCRIPT", "d ROOT")
+        .inOrder();
+    // The fused passes are still reported one by one.
+    assertThat(tracker.getStats().keySet()).containsExactly("a", "b", "c", "d");
+    assertThat(tracker.getStats().get("a").runs).isEqualTo(1);
+    assertThat(tracker.getStats().get("b").runs).isEqualTo(1);
+  }
+
+  @Test
+  public void testTraversalPassesAreNotFusedWithDebugLogging() {
+    compiler.getOptions().setDebugLogDirectory(Path.of("debug_logs"));
+    List<String> visits = new ArrayList<>();
+    optimizer.consume(
+        ImmutableList.of(
+            createTraversalPassFactory("a", visits), createTraversalPassFactory("b", visits)));
+    optimizer.process(null, dummyRoot);
+
+    assertThat(visits).containsExactly("a SCRIPT", "a ROOT", "b SCRIPT", "b ROOT").inOrder();
+    assertThat(tracker.getStats().keySet()).containsExactly("a", "b");
+  }
+
+  @Test
+  public void testDefaultChecksHaveTraversalPassesToFuse() {
+    CompilerOptions options = new CompilerOptions();
+    options.setCheckSuspiciousCode(true);
+    ImmutableList<PassFactory> checks = new DefaultPassConfig(options).getChecks().build();
+
+    List<String> fusable = new ArrayList<>();
+    for (int i = 1; i < checks.size(); i++) {
+      if (checks.get(i - 1).getTraversalCallbackFactory() != null
+          && checks.get(i).getTraversalCallbackFactory() != null) {
+        fusable.add(checks.get(i - 1).getName() + "," + checks.get(i).getName());
+      }
+    }
+    assertThat(fusable)
+        .containsAtLeast(
+            "checkJsDocAndEs6Modules,checkTypeImportCodeReferences",
+            "suspiciousCode,checkControlFlow");
+  }
+
   @Test
   public void testDuplicateLoop() {
     Loop loop = optimizer.addFixedPointLoop();
@@ -203,6 +260,20 @@ public final class PhaseOptimizerTest {
         .build();
   }
 
+  private static PassFactory createTraversalPassFactory(String name, List<String> visits) {
+    return PassFactory.builder()
+        .setName(name)
+        .setTraversalCallback(
+            (compiler) ->
+                new NodeTraversal.AbstractPostOrderCallback() {
+                  @Override
+                  public void visit(NodeTraversal t, Node n, Node parent) {
+                    visits.add(name + " " + n.getToken());
+                  }
+                })
+        .build();
+  }
+
   private CompilerPass createPass(final String name, int numChanges) {
     final PhaseOptimizerTest self = this;
     final int[] numChangesClosure = new int[] {numChanges};
@@ -31,14 +31,16 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
-/** Utility for testing {@link MaybeReachingVariableUse} and {@link MustBeReachingVariableDef} */
+/**
+ * Utility for testing the reaching uses and definitions that {@link SsaForm} finds from the effects
+ * computed by {@link VariableUseEffects} and {@link VariableDefEffects}.
+ */
 final class ReachingUseDefTester {
   private final Compiler compiler;
   private final SyntacticScopeCreator scopeCreator;
   private final LabelFinder labelFinder;
   private Node root;
-  private MaybeReachingVariableUse reachingUse;
-  private MustBeReachingVariableDef reachingDef;
+  private SsaForm ssa;
 
   private ReachingUseDefTester(
       Compiler compiler, SyntacticScopeCreator scopeCreator, LabelFinder labelFinder) {
@@ -64,8 +66,8 @@ final class ReachingUseDefTester {
   }
 
   /**
-   * Runs `MaybeReachingVariableUse` pass to compute and store the may-be-reaching uses for all
-   * definitions of each variable in the test source.
+   * Builds the SSA form of the test source, to compute the may-be-reaching uses for all definitions
+   * of each variable.
    */
   void computeReachingUses(String src, boolean async) {
     Node script = parseScript(src, async);
@@ -79,13 +81,12 @@ final class ReachingUseDefTester {
     Map<String, Var> allVarsInFn = allVarsDeclaredInFunction.getAllVariables();
     DataFlowAnalysis.computeEscaped(
         funcBlockScope.getParent(), escaped, compiler, scopeCreator, allVarsInFn);
-    reachingUse = new MaybeReachingVariableUse(cfg, escaped, allVarsInFn);
-    reachingUse.analyze();
+    ssa = SsaForm.build(compiler, cfg, escaped, allVarsInFn);
   }
 
   /**
-   * Runs `MustBeReachingVariableDef` pass to compute and store the must-be-reaching definition for
-   * all uses of each variable in the test source.
+   * Builds the SSA form of the test source, to compute the must-be-reaching definition for all uses
+   * of each variable.
    */
   void computeReachingDef(String src) {
     Node script = parseScript(src, /* async= */ false);
@@ -99,8 +100,7 @@ final class ReachingUseDefTester {
     Map<String, Var> allVarsInFn = allVarsDeclaredInFunction.getAllVariables();
     DataFlowAnalysis.computeEscaped(
         funcBlockScope.getParent(), escaped, compiler, scopeCreator, allVarsInFn);
-    reachingDef = new MustBeReachingVariableDef(cfg, compiler, escaped, allVarsInFn);
-    reachingDef.analyze();
+    ssa = SsaForm.build(compiler, cfg, escaped, allVarsInFn);
   }
 
   private Node parseScript(String src, boolean async) {
@@ -129,14 +129,14 @@ final class ReachingUseDefTester {
    * Returns may-be-reaching uses of definition of variable `x` on the node extracted at label `D:`.
    */
   ImmutableSet<Node> getComputedUses() {
-    return ImmutableSet.copyOf(reachingUse.getUses("x", labelFinder.extractedDef));
+    return ImmutableSet.copyOf(ssa.getUses("x", labelFinder.extractedDef));
   }
 
   /**
    * Returns must-be-reaching definition of variable `x` on the use node extracted at label `U:`.
    */
   Node getComputedDef() {
-    return reachingDef.getDefNode("x", labelFinder.extractedUses.get(0));
+    return ssa.getDefNode("x", labelFinder.extractedUses.get(0));
   }
 
   // Run `LabelFinder` to find the `D:` and `U:` labels and save the def and uses of `x`
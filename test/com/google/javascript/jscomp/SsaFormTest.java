@@ -0,0 +1,274 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.base.Ticker;
+import com.google.javascript.jscomp.AbstractCompiler.LifeCycleStage;
+import com.google.javascript.jscomp.CompilerOptions.LanguageMode;
+import com.google.javascript.rhino.Node;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.jspecify.annotations.Nullable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/**
+ * Tests {@link SsaForm}. The reaching definitions and uses it finds are also tested by {@link
+ * MustBeReachingVariableDefTest} and {@link MaybeReachingVariableUseTest}.
+ */
+@RunWith(JUnit4.class)
+public final class SsaFormTest {
+
+  @Test
+  public void testStraightLine() {
+    Setup setup =
+        new Setup(
+            """
+            D1: var x = 1; D2: var y = x; U1: print(x, y);
+            D3: x = 2; U2: print(x, y);
+            D4: x = x + 1; U3: x;
+            """);
+
+    assertThat(setup.def("x", "U1")).isSameInstanceAs(setup.labeled("D1"));
+    assertThat(setup.def("y", "U1")).isSameInstanceAs(setup.labeled("D2"));
+    assertThat(setup.def("x", "U2")).isSameInstanceAs(setup.labeled("D3"));
+    // The definition of y read x, which changed since.
+    assertThat(setup.def("y", "U2")).isNull();
+    assertThat(setup.def("x", "U3")).isSameInstanceAs(setup.labeled("D4"));
+    assertThat(setup.uses("x", "D1")).containsExactly(setup.labeled("D2"), setup.labeled("U1"));
+    assertThat(setup.uses("x", "D3")).containsExactly(setup.labeled("U2"), setup.labeled("D4"));
+  }
+
+  @Test
+  public void testBranches() {
+    Setup setup =
+        new Setup("D1: var x = 1; if (param1) { D2: x = 2; } else { U1: print(x); } U2: print(x);");
+
+    assertThat(setup.def("x", "U1")).isSameInstanceAs(setup.labeled("D1"));
+    assertThat(setup.def("x", "U2")).isNull();
+    assertThat(setup.uses("x", "D1")).containsExactly(setup.labeled("U1"), setup.labeled("U2"));
+    assertThat(setup.uses("x", "D2")).containsExactly(setup.labeled("U2"));
+  }
+
+  @Test
+  public void testConditionalDefinition() {
+    Setup setup = new Setup("D1: var x = 0, y; D2: y && (x = 1); U1: print(x);");
+
+    assertThat(setup.def("x", "U1")).isNull();
+    assertThat(setup.uses("x", "D1")).containsExactly(setup.labeled("U1"));
+    assertThat(setup.uses("x", "D2")).containsExactly(setup.labeled("U1"));
+  }
+
+  @Test
+  public void testLoop() {
+    Setup setup =
+        new Setup("D1: var x = 0; while (param1) { U1: print(x); D2: x = 1; } U2: print(x);");
+
+    assertThat(setup.def("x", "U1")).isNull();
+    assertThat(setup.def("x", "U2")).isNull();
+    assertThat(setup.uses("x", "D1")).containsExactly(setup.labeled("U1"), setup.labeled("U2"));
+    assertThat(setup.uses("x", "D2")).containsExactly(setup.labeled("U1"), setup.labeled("U2"));
+  }
+
+  @Test
+  public void testDefinitionNoLongerReachesOnceWhatItReadsChanges() {
+    Setup setup =
+        new Setup("var y = 1; D1: var x = y; U1: print(x); if (param1) { y = 2; } U2: print(x);");
+
+    assertThat(setup.def("x", "U1")).isSameInstanceAs(setup.labeled("D1"));
+    assertThat(setup.def("x", "U2")).isNull();
+  }
+
+  @Test
+  public void testDefinitionNoLongerReachesOnceWhatItReadsChangesInALoop() {
+    Setup setup =
+        new Setup(
+            """
+            var y = 1, z = 1;
+            D1: var x = y;
+            while (param1) { z = 2; }
+            U1: print(x);
+            while (param2) { y = z; }
+            U2: print(x);
+            """);
+
+    assertThat(setup.def("x", "U1")).isSameInstanceAs(setup.labeled("D1"));
+    assertThat(setup.def("x", "U2")).isNull();
+    assertThat(setup.uses("x", "D1"))
+        .containsExactly(setup.labeled("U1"), setup.labeled("U2"))
+        .inOrder();
+  }
+
+  @Test
+  public void testEscapedAndUnreachable() {
+    Setup setup =
+        new Setup(
+            """
+            D1: var x = 1, y = 2;
+            function g() { return y; }
+            U1: print(x, y);
+            return;
+            D2: x = 3;
+            U2: print(x);
+            """);
+
+    assertThat(setup.def("x", "U1")).isSameInstanceAs(setup.labeled("D1"));
+    assertThat(setup.def("y", "U1")).isNull();
+    assertThat(setup.uses("y", "D1")).isEmpty();
+    assertThat(setup.def("x", "U2")).isNull();
+    assertThat(setup.uses("x", "D2")).isEmpty();
+  }
+
+  @Test
+  public void testNestedLoops() {
+    StringBuilder src = new StringBuilder("D1: var x = 0, y = 0;");
+    for (int i = 0; i < 10; i++) {
+      src.append("while (param1) { if (param2) { x = y; continue; } y = ").append(i).append(";");
+    }
+    src.append("U1: print(x);");
+    for (int i = 0; i < 10; i++) {
+      src.append("x = x + y; if (param2) { break; } }");
+    }
+    Setup setup = new Setup(src.toString());
+
+    assertThat(setup.def("x", "U1")).isNull();
+    assertThat(setup.uses("x", "D1")).contains(setup.labeled("U1"));
+  }
+
+  @Test
+  public void testEntryDefinition() {
+    Setup setup = new Setup("print(param1); var x; if (param2) { x = 1; } print(x);");
+    Node fn = setup.root;
+    Node firstUse = fn.getLastChild().getFirstChild();
+
+    assertThat(setup.ssa.getDefNode("param1", firstUse)).isSameInstanceAs(fn);
+    assertThat(setup.ssa.getDefNode("x", fn.getLastChild().getLastChild())).isNull();
+    assertThat(setup.ssa.getUses("param1", fn)).containsExactly(firstUse);
+  }
+
+  @Test
+  public void testWorkIsNotProportionalToNodesTimesVariables() {
+    int count = 500;
+    StringBuilder src = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      src.append("var v").append(i).append(" = param1;");
+    }
+    src.append("U1: print(v0);");
+    Setup setup = new Setup(src.toString());
+    DataFlowBudget.Meter meter =
+        new DataFlowBudget(setup.compiler, 10 * count, 0).start("test", setup.root);
+
+    SsaForm ssa = SsaForm.build(setup.compiler, setup.cfg, setup.escaped, setup.allVarsInFn, meter);
+
+    assertThat(meter.finish()).isTrue();
+    assertThat(ssa.getUses("v0", setup.root.getLastChild().getFirstChild()))
+        .containsExactly(setup.labeled("U1"));
+  }
+
+  @Test
+  public void testStopsWhenOutOfTime() {
+    StringBuilder src = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      src.append("var v").append(i).append(" = param1;");
+    }
+    Setup setup = new Setup(src.toString());
+    // Each look at the clock finds that another millisecond has passed.
+    Ticker ticker =
+        new Ticker() {
+          private long nanos = 0;
+
+          @Override
+          public long read() {
+            nanos += MILLISECONDS.toNanos(1);
+            return nanos;
+          }
+        };
+
+    DataFlowBudget.Meter meter =
+        new DataFlowBudget(setup.compiler, 0, 1, ticker).start("test", setup.root);
+    assertThat(SsaForm.build(setup.compiler, setup.cfg, setup.escaped, setup.allVarsInFn, meter))
+        .isNull();
+    assertThat(meter.finish()).isFalse();
+
+    meter = new DataFlowBudget(setup.compiler, 0, 10_000, ticker).start("test", setup.root);
+    assertThat(SsaForm.build(setup.compiler, setup.cfg, setup.escaped, setup.allVarsInFn, meter))
+        .isNotNull();
+    assertThat(meter.finish()).isTrue();
+  }
+
+  /** A function with its graph, and the SSA form of its variables. */
+  private static final class Setup {
+    final Compiler compiler;
+    final Node root;
+    final ControlFlowGraph<Node> cfg;
+    final Set<Var> escaped = new LinkedHashSet<>();
+    final Map<String, Var> allVarsInFn;
+    final SsaForm ssa;
+    final Map<String, Node> labeledStatements = new HashMap<>();
+
+    Setup(String src) {
+      compiler = new Compiler();
+      compiler.setLifeCycleStage(LifeCycleStage.NORMALIZED);
+      CompilerOptions options = new CompilerOptions();
+      options.setLanguage(LanguageMode.UNSUPPORTED);
+      compiler.initOptions(options);
+      Node script = compiler.parseTestCode("function _FUNCTION(param1, param2) {" + src + "}");
+      assertThat(compiler.getErrors()).isEmpty();
+      root = script.getFirstChild();
+      NodeUtil.visitPreOrder(
+          root,
+          (n) -> {
+            if (n.isLabel()) {
+              labeledStatements.put(n.getFirstChild().getString(), n.getLastChild());
+            }
+          });
+
+      SyntacticScopeCreator scopeCreator = new SyntacticScopeCreator(compiler);
+      Scope globalScope = scopeCreator.createScope(script, null);
+      Scope functionScope = scopeCreator.createScope(root, globalScope);
+      allVarsInFn =
+          NodeUtil.getAllVarsDeclaredInFunction(compiler, scopeCreator, functionScope)
+              .getAllVariables();
+      DataFlowAnalysis.computeEscaped(functionScope, escaped, compiler, scopeCreator, allVarsInFn);
+      cfg =
+          ControlFlowAnalysis.builder()
+              .setCompiler(compiler)
+              .setCfgRoot(root)
+              .setIncludeEdgeAnnotations(true)
+              .computeCfg();
+      ssa = SsaForm.build(compiler, cfg, escaped, allVarsInFn);
+    }
+
+    Node labeled(String label) {
+      return labeledStatements.get(label);
+    }
+
+    @Nullable Node def(String name, String useLabel) {
+      return ssa.getDefNode(name, labeled(useLabel));
+    }
+
+    Iterable<Node> uses(String name, String defLabel) {
+      return ssa.getUses(name, labeled(defLabel));
+    }
+  }
+}
@@ -46,6 +46,7 @@ import com.google.javascript.rhino.jstype.FunctionType;
 import com.google.javascript.rhino.jstype.JSType;
 import com.google.javascript.rhino.jstype.JSTypeNative;
 import com.google.javascript.rhino.jstype.ObjectType;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -123,6 +124,37 @@ public final class TypeCheckTest extends TypeCheckTestCase {
         .run();
   }
 
+  @Test
+  public void testCheckScriptReturnsTheDiagnosticsOfThatScript() {
+    Node externs = IR.root();
+    Node js =
+        IR.root(
+            compiler.parseTestCode("/** @type {number} */ var x = 'a';"),
+            compiler.parseTestCode("var y = x;"),
+            compiler.parseTestCode("/** @type {string} */ var z = 1;"));
+    IR.root(externs, js);
+    SemanticReverseAbstractInterpreter reverseInterpreter =
+        new SemanticReverseAbstractInterpreter(registry);
+    TypedScopeCreator scopeCreator = new TypedScopeCreator(compiler);
+    TypedScope topScope =
+        new TypeInferencePass(compiler, reverseInterpreter, scopeCreator)
+            .inferAllScopes(js.getParent());
+    TypeCheck typeCheck =
+        new TypeCheck(compiler, reverseInterpreter, registry, topScope, scopeCreator);
+
+    List<ImmutableList<JSError>> errorsByScript = new ArrayList<>();
+    typeCheck.process(externs, js, (script) -> errorsByScript.add(typeCheck.checkScript(script)));
+
+    assertThat(errorsByScript).hasSize(3);
+    assertThat(errorsByScript.get(0)).hasSize(1);
+    assertThat(errorsByScript.get(1)).isEmpty();
+    assertThat(errorsByScript.get(2)).hasSize(1);
+    // Both scripts are named "testcode", so the order of their warnings isn't defined.
+    assertThat(compiler.getWarnings())
+        .containsExactly(errorsByScript.get(0).get(0), errorsByScript.get(2).get(0));
+    assertThat(compiler.getTypeValidator().getMismatches()).hasSize(2);
+  }
+
   @Test
   public void testTypeCheck4() {
     newTest().addSource("/**@return {void}*/function foo(){ !foo(); }").run();
@@ -25,10 +25,12 @@ import static com.google.javascript.rhino.jstype.JSTypeNative.STRING_TYPE;
 import com.google.common.collect.ImmutableList;
 import com.google.common.truth.Correspondence;
 import com.google.common.truth.IterableSubject;
+import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.jstype.JSType;
 import com.google.javascript.rhino.jstype.JSTypeNative;
 import com.google.javascript.rhino.jstype.JSTypeRegistry;
+import com.google.javascript.rhino.testing.TestErrorReporter;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -37,11 +39,21 @@ import org.junit.runners.JUnit4;
 /** Type-checking tests that can use methods from CompilerTestCase */
 @RunWith(JUnit4.class)
 public final class TypeValidatorTest extends CompilerTestCase {
+  private boolean compactTypeMismatches;
+
   @Override
   @Before
   public void setUp() throws Exception {
     super.setUp();
     enableTypeCheck();
+    compactTypeMismatches = false;
+  }
+
+  @Override
+  protected CompilerOptions getOptions() {
+    CompilerOptions options = super.getOptions();
+    options.setCompactTypeMismatches(compactTypeMismatches);
+    return options;
   }
 
   @Override
@@ -62,6 +74,34 @@ public final class TypeValidatorTest extends CompilerTestCase {
         .containsExactly(fromNatives(STRING_TYPE, NUMBER_TYPE));
   }
 
+  @Test
+  public void testBasicMismatch_compact() {
+    compactTypeMismatches = true;
+    testWarning("/** @param {number} x */ function f(x) {} f('a');", TYPE_MISMATCH_WARNING);
+    this.assertThatRecordedMismatches()
+        .comparingElementsUsing(HAVE_SAME_TYPES)
+        .containsExactly(fromNatives(STRING_TYPE, NUMBER_TYPE));
+  }
+
+  @Test
+  public void testCompactMismatchesAreRecordedOncePerTypePair() {
+    JSTypeRegistry registry = new JSTypeRegistry(new TestErrorReporter());
+    JSType number = registry.getNativeType(NUMBER_TYPE);
+    JSType string = registry.getNativeType(STRING_TYPE);
+    Node first = IR.name("first");
+    Node second = IR.name("second");
+
+    TypeMismatch.Accumulator accumulator = new TypeMismatch.Accumulator(/* compact= */ true);
+    accumulator.registerMismatch(first, string, number);
+    accumulator.registerMismatch(second, string, number);
+    accumulator.registerMismatch(second, number, string);
+
+    assertThat(accumulator.getMismatches())
+        .containsExactly(
+            new TypeMismatch(string, number, first), new TypeMismatch(number, string, second))
+        .inOrder();
+  }
+
   @Test
   public void testFunctionMismatch() {
     testWarning(
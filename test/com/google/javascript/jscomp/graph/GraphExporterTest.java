@@ -0,0 +1,298 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.graph;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.primitives.Bytes;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
+import com.google.javascript.jscomp.graph.Graph.GraphEdge;
+import com.google.javascript.jscomp.graph.GraphExporter.NumberedNode;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link GraphExporter}. */
+@RunWith(JUnit4.class)
+public final class GraphExporterTest {
+
+  @Test
+  public void testDirectedDot() throws IOException {
+    LinkedDirectedGraph<String, String> graph = LinkedDirectedGraph.create();
+    graph.createNode("a");
+    graph.createNode("b");
+    graph.createNode("c");
+    graph.createNode("d");
+    graph.connect("a", "1", "c");
+    graph.connect("c", "2", "b");
+    graph.connect("c", "3", "a");
+    graph.connect("d", "4", "d");
+
+    // Nodes reachable from "a" are numbered before "b" is reached in the node order.
+    assertThat(toDot(GraphExporter.of(graph)))
+        .isEqualTo(
+            """
+            digraph  LinkedGraph {
+              node [color=lightblue2, style=filled];
+              n0 [label="a" color="white"];
+              n0 -> n1 [label="1" color="black"];
+              n1 [label="c" color="white"];
+              n1 -> n2 [label="2" color="black"];
+              n1 -> n0 [label="3" color="black"];
+              n2 [label="b" color="white"];
+              n3 [label="d" color="white"];
+              n3 -> n3 [label="4" color="black"];
+            }
+            """);
+  }
+
+  @Test
+  public void testRootedAt() throws IOException {
+    LinkedDirectedGraph<String, String> graph = LinkedDirectedGraph.create();
+    graph.createNode("a");
+    graph.createNode("b");
+    graph.createNode("c");
+    graph.connect("a", "1", "b");
+    graph.connect("c", "2", "b");
+
+    assertThat(toDot(GraphExporter.of(graph).rootedAt("c")))
+        .isEqualTo(
+            """
+            digraph  LinkedGraph {
+              node [color=lightblue2, style=filled];
+              n0 [label="c" color="white"];
+              n0 -> n1 [label="2" color="black"];
+              n1 [label="b" color="white"];
+            }
+            """);
+    assertThrows(IllegalArgumentException.class, () -> GraphExporter.of(graph).rootedAt("d"));
+  }
+
+  @Test
+  public void testUndirectedEdgesWrittenOnce() throws IOException {
+    LinkedUndirectedGraph<String, String> graph = LinkedUndirectedGraph.create();
+    graph.createNode("a");
+    graph.createNode("b");
+    graph.createNode("c");
+    graph.connect("a", "1", "b");
+    graph.connect("b", "2", "c");
+    graph.connect("c", "3", "a");
+    graph.connect("b", "4", "b");
+
+    assertThat(toDot(GraphExporter.of(graph)))
+        .isEqualTo(
+            """
+            graph  LinkedUndirectedGraph {
+              node [color=lightblue2, style=filled];
+              n0 [label="a" color="white"];
+              n0 -- n1 [label="1" color="black"];
+              n0 -- n2 [label="3" color="black"];
+              n1 [label="b" color="white"];
+              n1 -- n2 [label="2" color="black"];
+              n1 -- n1 [label="4" color="black"];
+              n2 [label="c" color="white"];
+            }
+            """);
+    // Rooting an undirected graph writes the connected component of the node.
+    assertThat(toDot(GraphExporter.of(graph).rootedAt("c")))
+        .isEqualTo(
+            """
+            graph  LinkedUndirectedGraph {
+              node [color=lightblue2, style=filled];
+              n0 [label="c" color="white"];
+              n0 -- n1 [label="2" color="black"];
+              n0 -- n2 [label="3" color="black"];
+              n1 [label="b" color="white"];
+              n1 -- n2 [label="1" color="black"];
+              n1 -- n1 [label="4" color="black"];
+              n2 [label="a" color="white"];
+            }
+            """);
+  }
+
+  @Test
+  public void testLabelsAreEscaped() throws IOException {
+    IndexedDiGraph<String, String> graph = IndexedDiGraph.create();
+    graph.createNode("say \"hi\"");
+    graph.createNode("a\\b");
+    graph.connect("say \"hi\"", "\"", "a\\b");
+
+    assertThat(toDot(GraphExporter.of(graph)))
+        .isEqualTo(
+            """
+            digraph  Graph {
+              node [color=lightblue2, style=filled];
+              n0 [label="say \\"hi\\"" color="white"];
+              n0 -> n1 [label="\\"" color="black"];
+              n1 [label="a\\\\b" color="white"];
+            }
+            """);
+  }
+
+  @Test
+  public void testBinary() throws IOException {
+    IndexedDiGraph<String, String> graph = IndexedDiGraph.create();
+    for (int i = 0; i < 200; i++) {
+      graph.createNode("node" + i);
+    }
+    for (int i = 0; i < 200; i++) {
+      graph.connect("node" + i, "e" + i, "node" + ((i * 7) % 200));
+      graph.connect("node" + i, "é", "node" + ((i + 1) % 200));
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    GraphExporter.of(graph).rootedAt("node150").writeBinary(bytes);
+    assertThat(new String(bytes.toByteArray(), 0, 4, UTF_8)).isEqualTo("JSCG");
+
+    // Read back the nodes and check each edge against the graph.
+    Graph<NumberedNode, String> read = GraphExporter.readBinary(toStream(bytes));
+    assertThat(read).isInstanceOf(DiGraph.class);
+    assertThat(read.getNodeCount()).isEqualTo(200);
+    assertThat(read.getNodes().iterator().next().getValue().label()).isEqualTo("node150");
+    for (GraphEdge<NumberedNode, String> edge : read.getEdges()) {
+      DiGraphEdge<NumberedNode, String> readEdge = (DiGraphEdge<NumberedNode, String>) edge;
+      assertThat(
+              graph.isConnectedInDirection(
+                  readEdge.getSource().getValue().label(),
+                  readEdge.getValue(),
+                  readEdge.getDestination().getValue().label()))
+          .isTrue();
+    }
+    assertThat(read.getEdges()).hasSize(400);
+  }
+
+  @Test
+  public void testBinaryUndirected() throws IOException {
+    LinkedUndirectedGraph<String, String> graph = LinkedUndirectedGraph.create();
+    graph.createNode("a");
+    graph.createNode("b");
+    graph.connect("a", "1", "b");
+    graph.connect("b", "2", "b");
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    GraphExporter.of(graph).writeBinary(bytes);
+    Graph<NumberedNode, String> read = GraphExporter.readBinary(toStream(bytes));
+
+    assertThat(read).isInstanceOf(UndiGraph.class);
+    NumberedNode a = new NumberedNode(0, "a");
+    NumberedNode b = new NumberedNode(1, "b");
+    assertThat(read.getNodeCount()).isEqualTo(2);
+    assertThat(read.isConnected(a, "1", b)).isTrue();
+    assertThat(read.isConnected(b, "2", b)).isTrue();
+    assertThat(read.isConnected(a, a)).isFalse();
+  }
+
+  @Test
+  public void testReadBinaryChecksTheFormat() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    LinkedDirectedGraph<String, String> graph = LinkedDirectedGraph.create();
+    graph.createNode("a");
+    graph.createNode("b");
+    graph.connect("a", "edge", "b");
+    GraphExporter.of(graph).writeBinary(bytes);
+    byte[] valid = bytes.toByteArray();
+
+    byte[] badMagic = valid.clone();
+    badMagic[0] = 'X';
+    assertReadFails(badMagic, "Not a graph file");
+    byte[] badVersion = valid.clone();
+    badVersion[4] = 2;
+    assertReadFails(badVersion, "Unsupported graph file version: 2");
+    byte[] badKind = valid.clone();
+    badKind[5] = 7;
+    assertReadFails(badKind, "Invalid graph kind: 7");
+    assertReadFails(Arrays.copyOf(valid, valid.length - 2), "Truncated graph file");
+
+    // The edge of "a" names node 1, just before the length and the bytes of its label.
+    byte[] missingNode = valid.clone();
+    int edgeTarget = Bytes.indexOf(valid, "edge".getBytes(UTF_8)) - 2;
+    assertThat(valid[edgeTarget]).isEqualTo((byte) 1);
+    missingNode[edgeTarget] = 5;
+    assertReadFails(missingNode, "Edge to missing node 5");
+  }
+
+  @Test
+  public void testRootedAtLabel() throws IOException {
+    LinkedDirectedGraph<String, String> graph = LinkedDirectedGraph.create();
+    graph.createNode("a");
+    graph.createNode("b");
+    graph.createNode("c");
+    graph.connect("a", "1", "b");
+    graph.connect("c", "2", "b");
+
+    assertThat(toDot(GraphExporter.of(graph).rootedAtLabel("c")))
+        .isEqualTo(toDot(GraphExporter.of(graph).rootedAt("c")));
+    // A label that no node has writes an empty graph, since the root of a log dump may only be
+    // in some of the logged graphs.
+    assertThat(toDot(GraphExporter.of(graph).rootedAtLabel("d")))
+        .isEqualTo(
+            """
+            digraph  LinkedGraph {
+              node [color=lightblue2, style=filled];
+            }
+            """);
+  }
+
+  @Test
+  public void testIndexedGraphIsNumberedLikeOtherGraphs() throws IOException {
+    LinkedDirectedGraph<String, String> linked = LinkedDirectedGraph.create();
+    IndexedDiGraph<String, String> indexed = IndexedDiGraph.create();
+    for (String node : new String[] {"a", "b", "c", "d"}) {
+      linked.createNode(node);
+      indexed.createNode(node);
+    }
+    String[][] edges = {{"a", "c"}, {"c", "b"}, {"c", "a"}, {"d", "d"}, {"d", "b"}};
+    for (String[] edge : edges) {
+      linked.connect(edge[0], "e", edge[1]);
+      indexed.connect(edge[0], "e", edge[1]);
+    }
+
+    String linkedDot = toDot(GraphExporter.of(linked).rootedAtLabel("d"));
+    String indexedDot = toDot(GraphExporter.of(indexed).rootedAtLabel("d"));
+    assertThat(indexedDot.substring(indexedDot.indexOf('\n')))
+        .isEqualTo(linkedDot.substring(linkedDot.indexOf('\n')));
+    linkedDot = toDot(GraphExporter.of(linked));
+    indexedDot = toDot(GraphExporter.of(indexed));
+    assertThat(indexedDot.substring(indexedDot.indexOf('\n')))
+        .isEqualTo(linkedDot.substring(linkedDot.indexOf('\n')));
+  }
+
+  private static void assertReadFails(byte[] bytes, String message) {
+    IOException e =
+        assertThrows(
+            IOException.class,
+            () -> GraphExporter.readBinary(new ByteArrayInputStream(bytes)));
+    assertThat(e).hasMessageThat().isEqualTo(message);
+  }
+
+  private static InputStream toStream(ByteArrayOutputStream bytes) {
+    return new ByteArrayInputStream(bytes.toByteArray());
+  }
+
+  private static String toDot(GraphExporter<?, ?> exporter) throws IOException {
+    StringBuilder builder = new StringBuilder();
+    exporter.writeDot(builder);
+    return builder.toString();
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.graph;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+import static org.junit.Assert.assertThrows;
+
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
+import com.google.javascript.jscomp.graph.GraphColoring.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link IndexedDiGraph}. */
+@RunWith(JUnit4.class)
+public final class IndexedDiGraphTest {
+
+  @Test
+  public void testIndices() {
+    IndexedDiGraph<String, String> graph = IndexedDiGraph.create();
+    assertThat(graph.createNodeIndex("a")).isEqualTo(0);
+    assertThat(graph.createNodeIndex("b")).isEqualTo(1);
+    assertThat(graph.createNodeIndex("a")).isEqualTo(0);
+    assertThat(graph.getIndex("c")).isEqualTo(-1);
+    assertThat(graph.getValue(1)).isEqualTo("b");
+
+    int edge = graph.connect(0, "->", 1);
+    assertThat(graph.getOutEdgeCount(0)).isEqualTo(1);
+    assertThat(graph.getOutEdge(0, 0)).isEqualTo(edge);
+    assertThat(graph.getInEdge(1, 0)).isEqualTo(edge);
+    assertThat(graph.getEdgeSource(edge)).isEqualTo(0);
+    assertThat(graph.getEdgeDestination(edge)).isEqualTo(1);
+    assertThat(graph.getEdgeValue(edge)).isEqualTo("->");
+    assertThat(graph.findEdge(0, 1, true, "->")).isEqualTo(edge);
+    assertThat(graph.findEdge(0, 1, true, "-->")).isEqualTo(-1);
+    assertThat(graph.findEdge(1, 0, false, null)).isEqualTo(-1);
+
+    assertThat(graph.getNode("a").getIndex()).isEqualTo(0);
+    assertThat(graph.getNode("a")).isSameInstanceAs(graph.getNodeView(0));
+    assertThat(graph.getNode("c")).isNull();
+  }
+
+  @Test
+  public void testEdgeViews() {
+    IndexedDiGraph<String, String> graph = IndexedDiGraph.create();
+    graph.createNode("a");
+    graph.createNode("b");
+    graph.connect("a", "->", "b");
+
+    DiGraphEdge<String, String> edge = graph.getOutEdges("a").get(0);
+    assertThat(edge).isEqualTo(graph.getInEdges("b").get(0));
+    assertThat(edge.getSource()).isSameInstanceAs(graph.getNode("a"));
+    assertThat(edge.getDestination()).isSameInstanceAs(graph.getNode("b"));
+    assertThrows(UnsupportedOperationException.class, () -> graph.getOutEdges("a").clear());
+  }
+
+  @Test
+  public void testDisconnect() {
+    IndexedDiGraph<String, String> graph = IndexedDiGraph.create();
+    graph.createNode("a");
+    graph.createNode("b");
+    int first = graph.connect(0, "1", 1);
+    graph.connect(1, "2", 0);
+    graph.connect(0, "3", 1);
+
+    graph.disconnectInDirection("a", "b");
+    assertThat(graph.isConnectedInDirection("a", "b")).isFalse();
+    assertThat(graph.isConnectedInDirection("b", "a")).isTrue();
+    assertThat(graph.getOutEdgeCount(0)).isEqualTo(0);
+    assertThat(graph.getInEdgeCount(1)).isEqualTo(0);
+    assertThat(graph.getEdgeIdCount()).isEqualTo(3);
+    assertThrows(IllegalArgumentException.class, () -> graph.getEdgeSource(first));
+  }
+
+  @Test
+  public void testAnnotationsAndPriorities() {
+    IndexedDiGraph<String, String> graph = IndexedDiGraph.create();
+    DiGraphNode<String, String> a = graph.createNode("a");
+    graph.createNode("b");
+    graph.connect("a", "->", "b");
+    a.setAnnotation(new Color(1));
+    graph.getOutEdges("a").get(0).setAnnotation(new Color(2));
+    assertThat(a.hasPriority()).isFalse();
+    a.setPriority(3);
+
+    // Grow the arrays past their initial size.
+    for (int i = 0; i < 100; i++) {
+      graph.connect(graph.createNodeIndex("n" + i), "->", 0);
+    }
+
+    assertThat(graph.getNode("a").<Color>getAnnotation()).isEqualTo(new Color(1));
+    assertThat(graph.getNode("b").<Color>getAnnotation()).isNull();
+    assertThat(graph.getInEdges("b").get(0).<Color>getAnnotation()).isEqualTo(new Color(2));
+    assertThat(graph.getNode("a").getPriority()).isEqualTo(3);
+    assertThat(graph.getNode("n5").hasPriority()).isFalse();
+
+    graph.pushNodeAnnotations();
+    assertThat(graph.getNode("a").<Color>getAnnotation()).isNull();
+    graph.popNodeAnnotations();
+    assertThat(graph.getNode("a").<Color>getAnnotation()).isEqualTo(new Color(1));
+
+    IndexedDiGraph<String, String> withoutAnnotations = IndexedDiGraph.createWithoutAnnotations();
+    DiGraphNode<String, String> node = withoutAnnotations.createNode("a");
+    assertThrows(UnsupportedOperationException.class, () -> node.setAnnotation(new Color(0)));
+  }
+
+  @Test
+  public void testSameAsLinkedDirectedGraph() {
+    Random random = new Random(42);
+    for (int round = 0; round < 20; round++) {
+      LinkedDirectedGraph<Integer, String> expected = LinkedDirectedGraph.create();
+      IndexedDiGraph<Integer, String> actual = IndexedDiGraph.create();
+      int size = 1 + random.nextInt(30);
+      for (int i = 0; i < size; i++) {
+        expected.createNode(i);
+        actual.createNode(i);
+      }
+      for (int step = 0; step < 100; step++) {
+        int a = random.nextInt(size);
+        int b = random.nextInt(size);
+        if (random.nextInt(5) == 0) {
+          expected.disconnectInDirection(a, b);
+          actual.disconnectInDirection(a, b);
+        } else {
+          String value = "e" + random.nextInt(3);
+          expected.connect(a, value, b);
+          actual.connect(a, value, b);
+        }
+      }
+
+      assertThat(actual.getNodeCount()).isEqualTo(expected.getNodeCount());
+      assertThat(describe(actual.getEdges())).isEqualTo(describe(expected.getEdges()));
+      for (int a = 0; a < size; a++) {
+        assertWithMessage("out edges of %s", a)
+            .that(describe(actual.getOutEdges(a)))
+            .isEqualTo(describe(expected.getOutEdges(a)));
+        assertWithMessage("in edges of %s", a)
+            .that(describe(actual.getInEdges(a)))
+            .isEqualTo(describe(expected.getInEdges(a)));
+        assertThat(actual.getNodeDegree(a)).isEqualTo(expected.getNodeDegree(a));
+        for (int b = 0; b < size; b++) {
+          assertThat(actual.isConnectedInDirection(a, b))
+              .isEqualTo(expected.isConnectedInDirection(a, b));
+          assertThat(actual.isConnectedInDirection(a, "e1", b))
+              .isEqualTo(expected.isConnectedInDirection(a, "e1", b));
+          assertThat(describe(actual.getEdges(a, b)))
+              .isEqualTo(describe(expected.getEdges(a, b)));
+        }
+      }
+    }
+  }
+
+  private static List<String> describe(List<? extends DiGraphEdge<Integer, String>> edges) {
+    List<String> result = new ArrayList<>();
+    for (DiGraphEdge<Integer, String> edge : edges) {
+      result.add(
+          edge.getSource().getValue()
+              + " "
+              + edge.getValue()
+              + " "
+              + edge.getDestination().getValue());
+    }
+    return result;
+  }
+}
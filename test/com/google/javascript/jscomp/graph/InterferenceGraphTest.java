@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.graph;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+import static java.util.Comparator.naturalOrder;
+
+import com.google.javascript.jscomp.graph.GraphColoring.GreedyGraphColoring;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link InterferenceGraph}. */
+@RunWith(JUnit4.class)
+public final class InterferenceGraphTest {
+
+  @Test
+  public void testNoEdge() {
+    InterferenceGraph graph = new InterferenceGraph(5);
+    for (int i = 0; i < 5; i++) {
+      graph.createNode(i);
+    }
+    assertThat(graph.color()).isEqualTo(1);
+    assertThat(graph.getPartitionSuperNode(3)).isEqualTo(3);
+    assertThat(graph.getPartitionSuperNode(0)).isEqualTo(3);
+  }
+
+  @Test
+  public void testGreedy() {
+    InterferenceGraph graph = new InterferenceGraph(5);
+    for (int i = 0; i < 4; i++) {
+      graph.createNode(i);
+    }
+    graph.connect(0, 2);
+    graph.connect(1, 2);
+    graph.connect(1, 3);
+    graph.connect(1, 3);
+
+    assertThat(graph.getNodeDegree(1)).isEqualTo(2);
+    assertThat(graph.color()).isEqualTo(2);
+    assertThat(graph.getPartitionSuperNode(0)).isEqualTo(0);
+    assertThat(graph.getPartitionSuperNode(1)).isEqualTo(0);
+    assertThat(graph.getPartitionSuperNode(2)).isEqualTo(2);
+    assertThat(graph.haveSameColor(2, 3)).isTrue();
+    assertThat(graph.hasNode(4)).isFalse();
+    assertThat(graph.getColor(4)).isEqualTo(-1);
+  }
+
+  @Test
+  public void testSelfEdgeCountsTwice() {
+    InterferenceGraph graph = new InterferenceGraph(3);
+    for (int i = 0; i < 3; i++) {
+      graph.createNode(i);
+    }
+    graph.connect(0, 1);
+    graph.connect(2, 2);
+
+    assertThat(graph.getNodeDegree(2)).isEqualTo(2);
+    assertThat(graph.color()).isEqualTo(2);
+    // Node 2 is colored first, so it represents the color of node 0.
+    assertThat(graph.getColor(2)).isEqualTo(0);
+    assertThat(graph.haveSameColor(0, 2)).isTrue();
+  }
+
+  @Test
+  public void testSameColoringAsGreedyGraphColoring() {
+    Random random = new Random(42);
+    for (int round = 0; round < 50; round++) {
+      int size = 1 + random.nextInt(60);
+      double density = random.nextDouble();
+      InterferenceGraph graph = new InterferenceGraph(size);
+      Graph<Integer, Void> expected = LinkedUndirectedGraph.create();
+      for (int i = 0; i < size; i++) {
+        if (random.nextInt(8) != 0) {
+          graph.createNode(i);
+          expected.createNode(i);
+        }
+      }
+      for (int i = 0; i < size; i++) {
+        for (int j = i; j < size; j++) {
+          if (graph.hasNode(i) && graph.hasNode(j) && random.nextDouble() < density) {
+            graph.connect(i, j);
+            expected.connect(i, null, j);
+          }
+        }
+      }
+
+      GraphColoring<Integer, Void> coloring =
+          new GreedyGraphColoring<>(expected, naturalOrder());
+      assertThat(graph.color()).isEqualTo(coloring.color());
+      for (int i = 0; i < size; i++) {
+        if (graph.hasNode(i)) {
+          assertWithMessage("super node of %s", i)
+              .that(graph.getPartitionSuperNode(i))
+              .isEqualTo(coloring.getPartitionSuperNode(i));
+        }
+      }
+    }
+  }
+}
@@ -202,6 +202,11 @@ public final class SerializeAndDeserializeAstTest extends CompilerTestCase {
     testSame("for (let x = 0; x < 10; ++x);");
   }
 
+  @Test
+  public void testParenthesizedPostIncrementAndDecrement() {
+    testSame("let x = 0; (x++); (x--);");
+  }
+
   @Test
   public void testForOfLoop() {
     testSame("for (let elem of []);");
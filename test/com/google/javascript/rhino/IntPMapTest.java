@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.rhino;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link IntPMap}. */
+@RunWith(JUnit4.class)
+public final class IntPMapTest {
+
+  @Test
+  public void testEmpty() {
+    IntPMap<String> map = IntPMap.empty();
+    assertThat(map.get(0)).isNull();
+    assertThat(map.values()).isEmpty();
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void testPlusAndMinus() {
+    IntPMap<String> map = IntPMap.<String>empty().plus(5, "a").plus(3, "b").plus(12, "c");
+    assertThat(map.get(5)).isEqualTo("a");
+    assertThat(map.get(3)).isEqualTo("b");
+    assertThat(map.get(12)).isEqualTo("c");
+    assertThat(map.get(4)).isNull();
+    assertThat(map.values()).containsExactly("b", "a", "c").inOrder();
+
+    map = map.minus(3).assertCorrectStructure();
+    assertThat(map.get(3)).isNull();
+    assertThat(map.values()).containsExactly("a", "c").inOrder();
+
+    map = map.minus(5).minus(12);
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void testPlusAndMinus_returnSameMapWhenUnchanged() {
+    IntPMap<String> map = IntPMap.<String>empty().plus(1, "a").plus(2, "b");
+    assertThat(map.plus(1, "a")).isSameInstanceAs(map);
+    assertThat(map.minus(7)).isSameInstanceAs(map);
+  }
+
+  @Test
+  public void testReconcile_callsJoinerForDifferingValues() {
+    IntPMap<String> left = IntPMap.<String>empty().plus(1, "a").plus(2, "b").plus(3, "c");
+    IntPMap<String> right = IntPMap.<String>empty().plus(2, "b").plus(3, "x").plus(4, "d");
+
+    IntPMap<String> result =
+        left.reconcile(right, (key, thisVal, thatVal) -> key + ":" + thisVal + "/" + thatVal)
+            .assertCorrectStructure();
+
+    assertThat(result.values()).containsExactly("1:a/null", "b", "3:c/x", "4:null/d").inOrder();
+  }
+
+  @Test
+  public void testReconcile_reusesSharedSubtrees() {
+    IntPMap<String> base = IntPMap.empty();
+    for (int i = 0; i < 1000; i++) {
+      base = base.plus(i, "v" + i);
+    }
+    IntPMap<String> changed = base.plus(500, "changed");
+    List<Integer> joinedKeys = new ArrayList<>();
+
+    IntPMap<String> result =
+        base.reconcile(
+            changed,
+            (key, thisVal, thatVal) -> {
+              joinedKeys.add(key);
+              return thatVal;
+            });
+
+    assertThat(joinedKeys).containsExactly(500);
+    assertThat(result).isSameInstanceAs(changed);
+    assertThat(base.reconcile(base, (key, thisVal, thatVal) -> "unused")).isSameInstanceAs(base);
+  }
+
+  @Test
+  public void testEquivalent() {
+    IntPMap<String> left = IntPMap.<String>empty().plus(1, "a").plus(2, "b");
+    IntPMap<String> right = IntPMap.<String>empty().plus(2, "B").plus(1, "A");
+
+    assertThat(left.equivalent(right, String::equalsIgnoreCase)).isTrue();
+    assertThat(left.equivalent(right, String::equals)).isFalse();
+    assertThat(left.equivalent(right.plus(3, "c"), String::equalsIgnoreCase)).isFalse();
+  }
+
+  @Test
+  public void testRandomOperationsAgreeWithTreeMap() {
+    Random random = new Random(42);
+    for (int run = 0; run < 20; run++) {
+      IntPMap<Integer> map1 = IntPMap.empty();
+      IntPMap<Integer> map2 = IntPMap.empty();
+      TreeMap<Integer, Integer> expected1 = new TreeMap<>();
+      TreeMap<Integer, Integer> expected2 = new TreeMap<>();
+      for (int i = 0; i < 200; i++) {
+        int key = random.nextInt(300);
+        int value = random.nextInt(3);
+        if (random.nextInt(4) == 0) {
+          map1 = map1.minus(key);
+          expected1.remove(key);
+        } else {
+          map1 = map1.plus(key, value);
+          expected1.put(key, value);
+        }
+        key = random.nextInt(300);
+        map2 = map2.plus(key, value);
+        expected2.put(key, value);
+      }
+      map1.assertCorrectStructure();
+      assertThat(map1.values()).containsExactlyElementsIn(expected1.values()).inOrder();
+
+      IntPMap<Integer> sum =
+          map1.reconcile(
+                  map2,
+                  (key, v1, v2) -> (v1 != null ? v1 : 0) + (v2 != null ? v2 : 0) + 10)
+              .assertCorrectStructure();
+      TreeMap<Integer, Integer> expectedSum = new TreeMap<>();
+      for (int key = 0; key < 300; key++) {
+        Integer v1 = expected1.get(key);
+        Integer v2 = expected2.get(key);
+        if (v1 == null && v2 == null) {
+          continue;
+        }
+        expectedSum.put(
+            key,
+            Objects.equals(v1, v2)
+                ? v1
+                : (v1 != null ? v1 : 0) + (v2 != null ? v2 : 0) + 10);
+        assertThat(sum.get(key)).isEqualTo(expectedSum.get(key));
+      }
+      assertThat(sum.values()).containsExactlyElementsIn(expectedSum.values()).inOrder();
+    }
+  }
+}
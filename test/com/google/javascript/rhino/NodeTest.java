@@ -643,7 +643,7 @@ public class NodeTest {
     n.setSideEffectFlags(5);
     Node m = new Node(Token.TRUE);
     m.clonePropsFrom(n);
-    assertThat(n.getPropListHeadForTesting()).isEqualTo(m.getPropListHeadForTesting());
+    assertThat(n.getPropListHeadForTesting()).isSameInstanceAs(m.getPropListHeadForTesting());
     assertThat(n.getSideEffectFlags()).isEqualTo(5);
     assertThat(m.getSideEffectFlags()).isEqualTo(5);
   }
@@ -658,7 +658,7 @@ public class NodeTest {
     n.setSideEffectFlags(6);
     assertThat(n.getSideEffectFlags()).isEqualTo(6);
     assertThat(m.getSideEffectFlags()).isEqualTo(5);
-    assertThat(m.getPropListHeadForTesting() == n.getPropListHeadForTesting()).isFalse();
+    assertThat(m.getPropListHeadForTesting()).isNotSameInstanceAs(n.getPropListHeadForTesting());
 
     m.setSideEffectFlags(7);
     assertThat(n.getSideEffectFlags()).isEqualTo(6);
@@ -684,17 +684,82 @@ public class NodeTest {
 
     n.putBooleanProp(Node.IS_CONSTANT_NAME, false);
 
-    assertThat(n.lookupProperty(Node.IS_CONSTANT_NAME)).isNull();
+    assertThat(n.hasProp(Node.IS_CONSTANT_NAME)).isFalse();
     assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isFalse();
 
     n.putBooleanProp(Node.IS_CONSTANT_NAME, true);
 
-    assertThat(n.lookupProperty(Node.IS_CONSTANT_NAME)).isNotNull();
+    assertThat(n.hasProp(Node.IS_CONSTANT_NAME)).isTrue();
     assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isTrue();
 
     n.putBooleanProp(Node.IS_CONSTANT_NAME, false);
 
-    assertThat(n.lookupProperty(Node.IS_CONSTANT_NAME)).isNull();
+    assertThat(n.hasProp(Node.IS_CONSTANT_NAME)).isFalse();
+    assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isFalse();
+  }
+
+  @Test
+  public void testBooleanPropsOnlyHoldBooleans() {
+    Node n = getCall("A");
+    n.setSourceFileForTesting("a.js");
+
+    n.putBooleanProp(Node.FREE_CALL, true);
+    n.putBooleanProp(Node.IS_CONSTANT_NAME, true);
+    n.putBooleanProp(Node.FREE_CALL, false);
+
+    assertThat(n.getSourceFileName()).isEqualTo("a.js");
+    assertThat(n.getBooleanProp(Node.FREE_CALL)).isFalse();
+    assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isTrue();
+    assertThrows(IllegalArgumentException.class, () -> n.putIntProp(Node.FREE_CALL, 2));
+    assertThrows(IllegalArgumentException.class, () -> n.putProp(Node.FREE_CALL, "x"));
+  }
+
+  @Test
+  public void testRemoveValuePropKeepsOtherValues() {
+    Node n = getCall("A");
+    n.setSourceFileForTesting("a.js");
+    n.setSideEffectFlags(5);
+    n.setChangeTime(300);
+    n.putBooleanProp(Node.FREE_CALL, true);
+
+    n.setSideEffectFlags(SideEffectFlags.ALL_SIDE_EFFECTS);
+
+    assertThat(n.getSourceFileName()).isEqualTo("a.js");
+    assertThat(n.getChangeTime()).isEqualTo(300);
+    assertThat(n.getBooleanProp(Node.FREE_CALL)).isTrue();
+    assertThat(n.getSideEffectFlags()).isEqualTo(SideEffectFlags.ALL_SIDE_EFFECTS);
+
+    n.setChangeTime(0);
+
+    assertThat(n.getSourceFileName()).isEqualTo("a.js");
+    assertThat(n.getChangeTime()).isEqualTo(0);
+    assertThat(n.hasProp(Node.Prop.CHANGE_TIME)).isFalse();
+  }
+
+  @Test
+  public void testIntPropsHoldOnlyInts() {
+    Node n = getCall("A");
+    n.setChangeTime(100_000);
+    n.setSideEffectFlags(5);
+
+    assertThat(n.getChangeTime()).isEqualTo(100_000);
+    assertThat(n.getSideEffectFlags()).isEqualTo(5);
+    assertThrows(UnsupportedOperationException.class, () -> n.getProp(Node.Prop.CHANGE_TIME));
+    assertThrows(IllegalArgumentException.class, () -> n.putProp(Node.Prop.CHANGE_TIME, 1));
+    assertThrows(IllegalArgumentException.class, () -> n.putIntProp(Node.Prop.SOURCE_FILE, 1));
+  }
+
+  @Test
+  public void testStaticSourceFileFromKeepsFlags() {
+    Node n = getVarRef("a");
+    n.setSourceFileForTesting("a.js");
+    Node m = getVarRef("b");
+    m.putBooleanProp(Node.IS_CONSTANT_NAME, true);
+
+    m.setStaticSourceFileFrom(n);
+
+    assertThat(m.getSourceFileName()).isEqualTo("a.js");
+    assertThat(m.getBooleanProp(Node.IS_CONSTANT_NAME)).isTrue();
     assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isFalse();
   }
 
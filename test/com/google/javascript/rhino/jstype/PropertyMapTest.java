@@ -172,4 +172,19 @@ public class PropertyMapTest {
     assertThat(child.getOwnProperty(symbolKey)).isNull();
     assertThat(child.findClosest(symbolKey).getValue().getType()).isEqualTo(numberType);
   }
+
+  @Test
+  public void getOwnPropertyNames_manyProperties_inNameOrder() {
+    PropertyMap properties = new PropertyMap();
+
+    for (int i = 99; i >= 0; i--) {
+      String name = "p" + i;
+      properties.putProperty(name, new Property(name, numberType, /* inferred= */ false, null));
+    }
+
+    assertThat(properties.getOwnPropertyNames()).hasSize(100);
+    assertThat(properties.getOwnPropertyNames()).isInOrder();
+    assertThat(properties.getOwnProperty("p42").getName()).isEqualTo("p42");
+    assertThat(properties.getOwnProperty("p100")).isNull();
+  }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.rhino.jstype;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.javascript.rhino.testing.TestErrorReporter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class PropertyTableTest {
+  private JSType numberType;
+
+  @Before
+  public void setUp() {
+    JSTypeRegistry registry = new JSTypeRegistry(new TestErrorReporter());
+    this.numberType = registry.getNativeType(JSTypeNative.NUMBER_TYPE);
+  }
+
+  @Test
+  public void testPutAndGet() {
+    PropertyTable table = new PropertyTable();
+    for (int i = 0; i < 1000; i++) {
+      assertThat(table.put("p" + i, property("p" + i))).isNull();
+    }
+
+    assertThat(table.size()).isEqualTo(1000);
+    for (int i = 0; i < 1000; i++) {
+      // A new string, so that the name is not found by identity.
+      assertThat(table.get(new String("p" + i)).getName()).isEqualTo("p" + i);
+    }
+    assertThat(table.get("p1000")).isNull();
+  }
+
+  @Test
+  public void testPutReplacesProperty() {
+    PropertyTable table = new PropertyTable();
+    Property first = property("x");
+    Property second = property("x");
+
+    table.put("x", first);
+
+    assertThat(table.put("x", second)).isSameInstanceAs(first);
+    assertThat(table.get("x")).isSameInstanceAs(second);
+    assertThat(table.size()).isEqualTo(1);
+    assertThat(table.properties()).containsExactly(second);
+  }
+
+  @Test
+  public void testNamesAndPropertiesAreInNameOrder() {
+    PropertyTable table = new PropertyTable();
+    Property c = property("c");
+    Property a = property("a");
+    Property b = property("b");
+
+    table.put("c", c);
+    table.put("a", a);
+    table.put("b", b);
+
+    assertThat(table.names()).containsExactly("a", "b", "c").inOrder();
+    assertThat(table.properties()).containsExactly(a, b, c).inOrder();
+  }
+
+  @Test
+  public void testImmutableEmptyTable() {
+    PropertyTable table = PropertyTable.immutableEmpty();
+
+    assertThat(table.get("x")).isNull();
+    assertThat(table.names()).isEmpty();
+    assertThrows(UnsupportedOperationException.class, () -> table.put("x", property("x")));
+  }
+
+  private Property property(String name) {
+    return new Property(name, numberType, /* inferred= */ false, null);
+  }
+}
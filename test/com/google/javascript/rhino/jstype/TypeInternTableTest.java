@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.rhino.jstype;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.javascript.rhino.JSDocInfo;
+import com.google.javascript.rhino.testing.BaseJSTypeTestCase;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class TypeInternTableTest extends BaseJSTypeTestCase {
+
+  @Test
+  public void testTemplatizedTypesAreInterned() {
+    JSType arrayOfNumber = registry.createTemplatizedType(ARRAY_TYPE, NUMBER_TYPE);
+
+    assertThat(registry.createTemplatizedType(ARRAY_TYPE, NUMBER_TYPE))
+        .isSameInstanceAs(arrayOfNumber);
+    assertThat(registry.createTemplatizedType(ARRAY_TYPE, STRING_TYPE))
+        .isNotSameInstanceAs(arrayOfNumber);
+  }
+
+  @Test
+  public void testRecordTypesAreNotInterned() {
+    JSType record = registry.createRecordType(ImmutableMap.of("a", NUMBER_TYPE));
+    JSType sameRecord = registry.createRecordType(ImmutableMap.of("a", NUMBER_TYPE));
+
+    assertThat(sameRecord).isNotSameInstanceAs(record);
+    sameRecord.toMaybeRecordType().setPropertyJSDocInfo("a", JSDocInfo.builder().build());
+    assertThat(record.toMaybeRecordType().getOwnPropertyJSDocInfo("a")).isNull();
+  }
+
+  @Test
+  public void testUnionTypesAreInterned() {
+    JSType numberOrString = registry.createUnionType(NUMBER_TYPE, STRING_TYPE);
+    long reuseCount = registry.getInternedTypeReuseCount();
+
+    assertThat(registry.createUnionType(NUMBER_TYPE, STRING_TYPE)).isSameInstanceAs(numberOrString);
+    assertThat(registry.getInternedTypeReuseCount()).isEqualTo(reuseCount + 1);
+  }
+}
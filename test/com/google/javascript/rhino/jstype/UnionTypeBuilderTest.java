@@ -45,6 +45,8 @@ import static org.junit.Assert.assertThrows;
 import com.google.common.collect.ImmutableMap;
 import com.google.javascript.rhino.testing.BaseJSTypeTestCase;
 import com.google.javascript.rhino.testing.MapBasedScope;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -269,6 +271,61 @@ public class UnionTypeBuilderTest extends BaseJSTypeTestCase {
     assertType(result).isEqualTo(arrayOfUnknown);
   }
 
+  @Test
+  public void testWideUnionOfEnumElements() {
+    UnionType.Builder builder = UnionType.builder(registry);
+    for (int i = 0; i < 12; i++) {
+      builder.addAlternate(createEnumElementType("E" + i, NUMBER_TYPE));
+    }
+    builder.addAlternate(STRING_TYPE);
+    JSType union = builder.build();
+    assertThat(union.toMaybeUnionType().getAlternates()).hasSize(13);
+
+    // Each element is a subtype of number, but not of the other alternates.
+    JSType widened =
+        UnionType.builder(registry).addAlternate(union).addAlternate(NUMBER_TYPE).build();
+    assertThat(widened.toString()).isEqualTo("(number|string)");
+  }
+
+  @Test
+  public void testWideUnionOfEnumElements_keepsDistinctEnums() {
+    EnumElementType first = createEnumElementType("First", STRING_TYPE);
+    UnionType.Builder builder = UnionType.builder(registry);
+    for (int i = 0; i < 12; i++) {
+      builder.addAlternate(createEnumElementType("E" + i, STRING_TYPE));
+    }
+    builder.addAlternate(first).addAlternate(first).addAlternate(NUMBER_TYPE);
+
+    assertThat(builder.build().toMaybeUnionType().getAlternates()).hasSize(14);
+  }
+
+  @Test
+  public void testWideUnionOfNominalTypes() {
+    List<ObjectType> unrelatedTypes = new ArrayList<>();
+    try (JSTypeResolver.Closer closer = this.registry.getResolver().openForDefinition()) {
+      for (int i = 0; i < 12; i++) {
+        unrelatedTypes.add(
+            FunctionType.builder(registry)
+                .forConstructor()
+                .withName("C" + i)
+                .build()
+                .getInstanceType());
+      }
+    }
+    UnionType.Builder builder = UnionType.builder(registry).addAlternates(unrelatedTypes);
+    builder.addAlternate(sub).addAlternate(NUMBER_TYPE).addAlternate(base);
+
+    JSType union = builder.build();
+    assertThat(union.toMaybeUnionType().getAlternates()).hasSize(14);
+    assertThat(union.toMaybeUnionType().getAlternates()).contains(base);
+    assertThat(union.toMaybeUnionType().getAlternates()).doesNotContain(sub);
+
+    // Object is a supertype of every alternate but number.
+    JSType widened =
+        UnionType.builder(registry).addAlternate(union).addAlternate(OBJECT_TYPE).build();
+    assertThat(widened.toString()).isEqualTo("(Object|number)");
+  }
+
   @Test
   public void testAfterBuild_cannotRebuild() {
     UnionType.Builder builder = UnionType.builder(registry);
@@ -302,6 +359,14 @@ public class UnionTypeBuilderTest extends BaseJSTypeTestCase {
     assertThat(builder.build().toString()).isEqualTo(expected);
   }
 
+  private EnumElementType createEnumElementType(String name, JSType elementType) {
+    return EnumType.builder(registry)
+        .setName(name)
+        .setElementType(elementType)
+        .build()
+        .getElementsType();
+  }
+
   private FunctionType createFunctionWithReturn(JSType type) {
     return FunctionType.builder(registry)
         .withParameters(registry.createParameters())